@@ -0,0 +1,46 @@
+package com.VOLTSBankApp.benchmark;
+
+import com.VOLTSBankApp.dao.AccountDAO;
+import com.VOLTSBankApp.model.Money;
+import com.VOLTSBankApp.model.Transaction;
+import com.VOLTSBankApp.storage.Storage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DepositWithdrawBenchmark - Deposit then withdraw the same amount through AccountDAO
+ * Runs on the in-memory ledger; MySqlLedgerBenchmark times the same round trip against MySQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DepositWithdrawBenchmark {
+    private static final Money AMOUNT = Money.ofPula(1);
+
+    private AccountDAO accountDAO;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SeededDataset.seedInMemory(Storage.useInMemory());
+        accountDAO = new AccountDAO();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Storage.useJdbc();
+    }
+
+    @Benchmark
+    public long roundTrip() {
+        Transaction deposit = accountDAO.deposit(SeededDataset.CHEQUE_ACCOUNT, AMOUNT, "Benchmark deposit");
+        Transaction withdrawal = accountDAO.withdraw(SeededDataset.CHEQUE_ACCOUNT, AMOUNT, "Benchmark withdrawal");
+        if (deposit == null || withdrawal == null) {
+            throw new IllegalStateException("Round trip failed");
+        }
+        return withdrawal.getBalanceAfter().getThebe();
+    }
+}
@@ -0,0 +1,65 @@
+package com.VOLTSBankApp.benchmark;
+
+import com.VOLTSBankApp.dao.TransactionDAO;
+import com.VOLTSBankApp.model.Transaction;
+import com.VOLTSBankApp.storage.Storage;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * HistoryBenchmark - First page, a middle page and a full stream of one account's history
+ * Runs on the in-memory ledger; MySqlHistoryBenchmark times the same fetches against MySQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class HistoryBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private TransactionDAO transactionDAO;
+    private String accountNumber;
+    private Transaction middle;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SeededDataset.seedInMemory(Storage.useInMemory(), size);
+        transactionDAO = new TransactionDAO();
+        accountNumber = SeededDataset.historyAccount(size);
+
+        // Keyset cursor for the row halfway down the newest-first history
+        List<Transaction> firstHalf = transactionDAO.getRecentTransactions(accountNumber, size / 2);
+        middle = firstHalf.get(firstHalf.size() - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Storage.useJdbc();
+    }
+
+    @Benchmark
+    public int firstPage() {
+        return transactionDAO.getTransactionPage(accountNumber, null, PAGE_SIZE).getTransactions().size();
+    }
+
+    @Benchmark
+    public int middlePage() {
+        return transactionDAO.getTransactionPage(accountNumber, middle, PAGE_SIZE).getTransactions().size();
+    }
+
+    @Benchmark
+    public long fullStream() throws SQLException {
+        try (Stream<Transaction> stream = transactionDAO.streamTransactionsByAccount(accountNumber)) {
+            return stream.mapToLong(t -> t.getAmount().getThebe()).sum();
+        }
+    }
+}
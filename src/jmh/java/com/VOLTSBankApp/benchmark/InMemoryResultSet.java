@@ -0,0 +1,104 @@
+package com.VOLTSBankApp.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * InMemoryResultSet - Read-only ResultSet over prepared rows
+ * Lets the row-mapping benchmarks measure the DAO row mappers without JDBC driver or
+ * network cost. Columns are read by label, or by index when the select list is given.
+ */
+public final class InMemoryResultSet implements InvocationHandler {
+    private final List<Map<String, Object>> rows;
+    private final String[] columns;
+    private int position = -1;
+    private boolean lastWasNull;
+
+    private InMemoryResultSet(List<Map<String, Object>> rows, String[] columns) {
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    /**
+     * Create a ResultSet positioned before the first row
+     * columns is the select list, so index 1 reads columns[0]; pass none for label access only.
+     */
+    public static ResultSet of(List<Map<String, Object>> rows, String... columns) {
+        return (ResultSet) Proxy.newProxyInstance(InMemoryResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, new InMemoryResultSet(rows, columns));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "next":
+                return ++position < rows.size();
+            case "beforeFirst":
+                position = -1;
+                return null;
+            case "wasNull":
+                return lastWasNull;
+            case "close":
+                return null;
+            case "isClosed":
+                return false;
+            case "getString": {
+                Object value = column(args[0]);
+                return value == null ? null : value.toString();
+            }
+            case "getInt": {
+                Object value = column(args[0]);
+                return value == null ? 0 : ((Number) value).intValue();
+            }
+            case "getLong": {
+                Object value = column(args[0]);
+                return value == null ? 0L : ((Number) value).longValue();
+            }
+            case "getBigDecimal":
+                return (BigDecimal) column(args[0]);
+            case "getTimestamp":
+                return (java.sql.Timestamp) column(args[0]);
+            case "getDate":
+                return (java.sql.Date) column(args[0]);
+            case "getObject":
+                return column(args[0]);
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "InMemoryResultSet[" + rows.size() + " rows]";
+            default:
+                throw new SQLException("Not supported by InMemoryResultSet: " + method.getName());
+        }
+    }
+
+    private Object column(Object label) throws SQLException {
+        if (position < 0 || position >= rows.size()) {
+            throw new SQLException("No current row");
+        }
+        if (label instanceof Integer) {
+            int index = (Integer) label;
+            if (index < 1 || index > columns.length) {
+                throw new SQLException("Column index out of range: " + index);
+            }
+            label = columns[index - 1];
+        }
+        if (!(label instanceof String)) {
+            throw new SQLException("Unsupported column reference: " + label);
+        }
+        Map<String, Object> row = rows.get(position);
+        if (!row.containsKey(label)) {
+            throw new SQLException("Column not found: " + label);
+        }
+        Object value = row.get(label);
+        lastWasNull = value == null;
+        return value;
+    }
+}
@@ -0,0 +1,56 @@
+package com.VOLTSBankApp.benchmark;
+
+import com.VOLTSBankApp.interfaces.InterestBearing;
+import com.VOLTSBankApp.model.Account;
+import com.VOLTSBankApp.model.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InterestBenchmark - Month-end interest over seeded savings and investment accounts
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class InterestBenchmark {
+    private static final int ACCOUNTS = 10_000;
+
+    private List<Account> accounts;
+    private List<Money> openingBalances;
+
+    @Setup
+    public void setUp() {
+        accounts = SeededDataset.interestAccounts(ACCOUNTS);
+        openingBalances = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            openingBalances.add(account.getBalance());
+        }
+    }
+
+    @Benchmark
+    public long monthEnd() {
+        long totalThebe = 0;
+        for (int i = 0; i < accounts.size(); i++) {
+            Account account = accounts.get(i);
+            // calculateInterest() credits the balance, so start every pass from the seed
+            account.setBalance(openingBalances.get(i));
+            totalThebe += ((InterestBearing) account).calculateInterest().getThebe();
+        }
+        return totalThebe;
+    }
+
+    @Benchmark
+    public long timesPpm() {
+        long totalThebe = 0;
+        for (Money balance : openingBalances) {
+            totalThebe += Money.timesPpm(balance.getThebe(), 50_000);
+        }
+        return totalThebe;
+    }
+}
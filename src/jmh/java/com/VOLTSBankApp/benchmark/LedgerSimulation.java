@@ -0,0 +1,195 @@
+package com.VOLTSBankApp.benchmark;
+
+import com.VOLTSBankApp.dao.AccountDAO;
+import com.VOLTSBankApp.dao.CustomerDAO;
+import com.VOLTSBankApp.dao.TransactionJournal;
+import com.VOLTSBankApp.metrics.LatencyHistogram;
+import com.VOLTSBankApp.model.Account;
+import com.VOLTSBankApp.model.ChequeAccount;
+import com.VOLTSBankApp.model.Customer;
+import com.VOLTSBankApp.model.Money;
+import com.VOLTSBankApp.model.Transaction;
+import com.VOLTSBankApp.storage.InMemoryLedgerStore;
+import com.VOLTSBankApp.schema.SchemaMigrator;
+import com.VOLTSBankApp.storage.Storage;
+import com.VOLTSBankApp.util.DatabaseConnection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LedgerSimulation - Random deposit/withdraw load through AccountDAO on either storage engine
+ *
+ *   java -cp target/benchmarks.jar com.VOLTSBankApp.benchmark.LedgerSimulation [options]
+ *
+ * Options:
+ *   --storage=memory|jdbc   engine behind the DAOs (default memory)
+ *   --transactions=1000000  operations to run across all threads
+ *   --accounts=1000         cheque accounts to spread them over
+ *   --threads=8             concurrent callers
+ *
+ * Every run is seeded (SeededDataset.SEED), so both engines see the same operation mix.
+ * At the end the sum of balances is checked against the opening balances plus every
+ * applied credit and debit. The jdbc engine creates BNCH-SIM- accounts; remove them
+ * by running SeededDataset.
+ */
+public class LedgerSimulation {
+    private static final String ACCOUNT_PREFIX = SeededDataset.ACCOUNT_PREFIX + "SIM-";
+    private static final String PASSWORD = "benchmark";
+    private static final Money OPENING_BALANCE = Money.ofPula(1_000);
+    private static final int MAX_AMOUNT_THEBE = 50_000;
+
+    public static void main(String[] args) throws Exception {
+        String storage = "memory";
+        int transactions = 1_000_000;
+        int accounts = 1_000;
+        int threads = 8;
+
+        for (String arg : args) {
+            if (arg.startsWith("--storage=")) {
+                storage = arg.substring("--storage=".length());
+            } else if (arg.startsWith("--transactions=")) {
+                transactions = Integer.parseInt(arg.substring("--transactions=".length()));
+            } else if (arg.startsWith("--accounts=")) {
+                accounts = Integer.parseInt(arg.substring("--accounts=".length()));
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+            } else {
+                System.err.println("Unknown option: " + arg);
+                return;
+            }
+        }
+
+        InMemoryLedgerStore memory = null;
+        if (storage.equals("memory")) {
+            memory = Storage.useInMemory();
+        } else if (storage.equals("jdbc")) {
+            Storage.useJdbc();
+            if (!DatabaseConnection.testConnection()) {
+                System.err.println("Database unavailable");
+                return;
+            }
+            SchemaMigrator.ensureMigrated();
+        } else {
+            System.err.println("Unknown storage engine: " + storage);
+            return;
+        }
+
+        try {
+            run(storage, memory, transactions, accounts, threads);
+        } finally {
+            TransactionJournal.shutdown();
+            DatabaseConnection.closeConnection();
+        }
+    }
+
+    private static void run(String storage, InMemoryLedgerStore memory, int transactions,
+                            int accountCount, int threads) throws InterruptedException {
+        AccountDAO accountDAO = new AccountDAO();
+        List<String> accountNumbers = setUpAccounts(accountDAO, ACCOUNT_PREFIX, accountCount, OPENING_BALANCE);
+        if (accountNumbers == null) {
+            return;
+        }
+
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder applied = new LongAdder();
+        LongAdder refused = new LongAdder();
+        LongAdder netThebe = new LongAdder();
+
+        System.out.println("Running " + transactions + " operations on " + accountCount +
+                " accounts with " + threads + " threads (" + storage + ")...");
+        List<Thread> workers = new ArrayList<>(threads);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int operations = transactions / threads + (t < transactions % threads ? 1 : 0);
+            SplittableRandom random = new SplittableRandom(SeededDataset.SEED + t);
+            Thread worker = new Thread(() -> {
+                AccountDAO dao = new AccountDAO();
+                for (int i = 0; i < operations; i++) {
+                    String accountNumber = accountNumbers.get(random.nextInt(accountNumbers.size()));
+                    Money amount = Money.ofThebe(1 + random.nextInt(MAX_AMOUNT_THEBE));
+                    boolean deposit = random.nextInt(10) < 6;
+
+                    long began = System.nanoTime();
+                    Transaction transaction = deposit
+                            ? dao.deposit(accountNumber, amount, "Simulated deposit")
+                            : dao.withdraw(accountNumber, amount, "Simulated withdrawal");
+                    latency.record(System.nanoTime() - began);
+
+                    if (transaction == null) {
+                        refused.increment();
+                    } else {
+                        applied.increment();
+                        netThebe.add(deposit ? amount.getThebe() : -amount.getThebe());
+                    }
+                }
+            }, "volts-simulation-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long expected = OPENING_BALANCE.getThebe() * accountNumbers.size() + netThebe.sum();
+        long actual = 0;
+        for (String accountNumber : accountNumbers) {
+            actual += accountDAO.getAccountByNumber(accountNumber).getBalance().getThebe();
+        }
+
+        System.out.println("\nStorage:        " + storage);
+        System.out.println("Applied:        " + applied.sum() + " (refused " + refused.sum() + ")");
+        System.out.println("Elapsed:        " + String.format("%.2f s", seconds));
+        System.out.println("Throughput:     " + String.format("%.0f ops/s", transactions / seconds));
+        System.out.println("Latency p50:    " + String.format("%.1f us", latency.getPercentileNanos(0.50) / 1_000.0));
+        System.out.println("Latency p99:    " + String.format("%.1f us", latency.getPercentileNanos(0.99) / 1_000.0));
+        System.out.println("Latency max:    " + String.format("%.1f us", latency.getMaxNanos() / 1_000.0));
+        if (memory != null) {
+            System.out.println("Rows stored:    " + memory.getTransactionCount());
+            System.out.println("Column memory:  " + memory.getTransactionColumnBytes() / (1024 * 1024) + " MiB");
+        }
+        System.out.println("Balances:       " + Money.format(actual) + " (expected " + Money.format(expected) + ")");
+        System.out.println(actual == expected ? "SUCCESS: balances reconcile" : "ERROR: balances do not reconcile");
+    }
+
+    /**
+     * Create (or reset) the simulation customer and count cheque accounts through the DAOs
+     */
+    static List<String> setUpAccounts(AccountDAO accountDAO, String prefix, int count, Money openingBalance) {
+        CustomerDAO customerDAO = new CustomerDAO();
+        Customer customer = customerDAO.authenticate(SeededDataset.CUSTOMER_EMAIL, PASSWORD);
+        if (customer == null) {
+            customerDAO.createCustomer(new Customer("Bench", "Mark", "Benchmark Data", "70000000",
+                    SeededDataset.CUSTOMER_EMAIL, PASSWORD));
+            customer = customerDAO.authenticate(SeededDataset.CUSTOMER_EMAIL, PASSWORD);
+        }
+        if (customer == null) {
+            System.err.println("Could not create the simulation customer");
+            return null;
+        }
+
+        List<String> accountNumbers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String accountNumber = String.format("%s%06d", prefix, i);
+            Account existing = accountDAO.getAccountByNumber(accountNumber);
+            boolean ready;
+            if (existing != null) {
+                ready = accountDAO.updateAccountBalance(accountNumber, openingBalance);
+            } else {
+                ChequeAccount account = new ChequeAccount(accountNumber, "Gaborone Main", customer,
+                        "Benchmark Employer", "Plot 1, Gaborone");
+                account.setBalance(openingBalance);
+                ready = accountDAO.createAccount(account);
+            }
+            if (!ready) {
+                System.err.println("Could not set up account " + accountNumber);
+                return null;
+            }
+            accountNumbers.add(accountNumber);
+        }
+        return accountNumbers;
+    }
+}
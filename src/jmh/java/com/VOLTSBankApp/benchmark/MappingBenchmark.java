@@ -0,0 +1,54 @@
+package com.VOLTSBankApp.benchmark;
+
+import com.VOLTSBankApp.dao.RowMappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MappingBenchmark - Account and transaction row mappers over prepared rows
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+    private static final int ROWS = 1_000;
+
+    private List<Map<String, Object>> accountRows;
+    private List<Map<String, Object>> transactionRows;
+
+    @Setup
+    public void setUp() {
+        accountRows = SeededDataset.accountRows(ROWS);
+        transactionRows = SeededDataset.transactionRows(ROWS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long mapAccountRows() throws SQLException {
+        long checksum = 0;
+        ResultSet rs = InMemoryResultSet.of(accountRows, RowMappers.ACCOUNT.getColumns());
+        while (rs.next()) {
+            checksum += RowMappers.ACCOUNT.map(rs).getBalance().getThebe();
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long mapTransactionRows() throws SQLException {
+        long checksum = 0;
+        ResultSet rs = InMemoryResultSet.of(transactionRows, RowMappers.TRANSACTION.getColumns());
+        while (rs.next()) {
+            checksum += RowMappers.TRANSACTION.map(rs).getAmount().getThebe();
+        }
+        return checksum;
+    }
+}
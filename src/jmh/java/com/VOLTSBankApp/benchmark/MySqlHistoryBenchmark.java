@@ -0,0 +1,95 @@
+package com.VOLTSBankApp.benchmark;
+
+import com.VOLTSBankApp.dao.TransactionDAO;
+import com.VOLTSBankApp.dao.TransactionJournal;
+import com.VOLTSBankApp.model.Transaction;
+import com.VOLTSBankApp.schema.SchemaMigrator;
+import com.VOLTSBankApp.storage.Storage;
+import com.VOLTSBankApp.util.DatabaseConnection;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * MySqlHistoryBenchmark - HistoryBenchmark's fetches against MySQL
+ * Seeds one BNCH- history per size, once; see MySqlLedgerBenchmark for the connection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MySqlHistoryBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private TransactionDAO transactionDAO;
+    private String accountNumber;
+    private Transaction middle;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Storage.useJdbc();
+        if (!DatabaseConnection.testConnection()) {
+            throw new IllegalStateException("Database unavailable; run HistoryBenchmark instead");
+        }
+        SchemaMigrator.ensureMigrated();
+        SeededDataset.ensureSeeded(new int[]{size});
+        transactionDAO = new TransactionDAO();
+        accountNumber = SeededDataset.historyAccount(size);
+        middle = cursorAt(accountNumber, size / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TransactionJournal.shutdown();
+        DatabaseConnection.closeConnection();
+    }
+
+    @Benchmark
+    public int firstPage() {
+        return transactionDAO.getTransactionPage(accountNumber, null, PAGE_SIZE).getTransactions().size();
+    }
+
+    @Benchmark
+    public int middlePage() {
+        return transactionDAO.getTransactionPage(accountNumber, middle, PAGE_SIZE).getTransactions().size();
+    }
+
+    @Benchmark
+    public long fullStream() throws SQLException {
+        try (Stream<Transaction> stream = transactionDAO.streamTransactionsByAccount(accountNumber)) {
+            return stream.mapToLong(t -> t.getAmount().getThebe()).sum();
+        }
+    }
+
+    /**
+     * Keyset cursor for the row at the given newest-first position
+     */
+    private static Transaction cursorAt(String accountNumber, int offset) throws SQLException {
+        String sql = "SELECT transaction_id, transaction_date FROM transactions WHERE account_number = ? " +
+                "ORDER BY transaction_date DESC, transaction_id DESC LIMIT 1 OFFSET ?";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, accountNumber);
+            pstmt.setInt(2, offset);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                Transaction cursor = new Transaction();
+                cursor.setTransactionId(rs.getInt(1));
+                cursor.setTransactionDate(rs.getTimestamp(2).toLocalDateTime());
+                return cursor;
+            }
+        }
+    }
+}
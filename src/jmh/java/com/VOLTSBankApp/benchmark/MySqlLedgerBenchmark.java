@@ -0,0 +1,154 @@
+package com.VOLTSBankApp.benchmark;
+
+import com.VOLTSBankApp.dao.AccountDAO;
+import com.VOLTSBankApp.dao.Statements;
+import com.VOLTSBankApp.dao.TransactionArchive;
+import com.VOLTSBankApp.dao.TransactionDAO;
+import com.VOLTSBankApp.dao.TransactionJournal;
+import com.VOLTSBankApp.model.Money;
+import com.VOLTSBankApp.model.Transaction;
+import com.VOLTSBankApp.schema.SchemaMigrator;
+import com.VOLTSBankApp.storage.Storage;
+import com.VOLTSBankApp.util.DatabaseConnection;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MySqlLedgerBenchmark - Round trips, statement reuse and journal appends against MySQL
+ * Uses the connection configured in DatabaseConnection and seeds BNCH- rows (see
+ * SeededDataset); point it at a scratch schema, not production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MySqlLedgerBenchmark {
+    private static final int JOURNAL_ROWS_PER_INVOCATION = 500;
+    private static final Money AMOUNT = Money.ofPula(1);
+
+    private AccountDAO accountDAO;
+    private TransactionDAO transactionDAO;
+
+    /**
+     * An unpooled connection, so the pool's statement cache settings do not matter
+     */
+    @State(Scope.Benchmark)
+    public static class LookupConnection {
+        @Param({"false", "true"})
+        public boolean statementCache;
+
+        private Connection conn;
+
+        @Setup(Level.Trial)
+        public void open() throws SQLException {
+            conn = DatabaseConnection.openUnpooled(statementCache);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            conn.close();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Storage.useJdbc();
+        if (!DatabaseConnection.testConnection()) {
+            throw new IllegalStateException("Database unavailable; run the in-memory benchmarks instead");
+        }
+        SchemaMigrator.ensureMigrated();
+        SeededDataset.ensureSeeded(new int[0]);
+        accountDAO = new AccountDAO();
+        transactionDAO = new TransactionDAO();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TransactionJournal.shutdown();
+        DatabaseConnection.closeConnection();
+    }
+
+    /**
+     * Deposit then withdraw the same amount, each one atomic DB transaction
+     */
+    @Benchmark
+    public long roundTrip() {
+        Transaction deposit = accountDAO.deposit(SeededDataset.CHEQUE_ACCOUNT, AMOUNT, "Benchmark deposit");
+        Transaction withdrawal = accountDAO.withdraw(SeededDataset.CHEQUE_ACCOUNT, AMOUNT, "Benchmark withdrawal");
+        if (deposit == null || withdrawal == null) {
+            throw new IllegalStateException("Round trip failed");
+        }
+        return withdrawal.getBalanceAfter().getThebe();
+    }
+
+    /**
+     * Prepare, execute and close the DAOs' hottest lookups, with or without statement caching
+     */
+    @Benchmark
+    public long accountLookup(LookupConnection lookup) throws SQLException {
+        long checksum = 0;
+        try (PreparedStatement pstmt = lookup.conn.prepareStatement(Statements.ACCOUNT_BY_NUMBER)) {
+            pstmt.setString(1, SeededDataset.CHEQUE_ACCOUNT);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    checksum += rs.getBigDecimal("balance").unscaledValue().longValue();
+                }
+            }
+        }
+        try (PreparedStatement pstmt = lookup.conn.prepareStatement(Statements.TRANSACTIONS_RECENT)) {
+            pstmt.setString(1, SeededDataset.CHEQUE_ACCOUNT);
+            pstmt.setTimestamp(2, Timestamp.valueOf(TransactionArchive.getInstance().getLiveFrom()));
+            pstmt.setInt(3, 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    checksum += rs.getInt("transaction_id");
+                }
+            }
+        }
+        return checksum;
+    }
+
+    /**
+     * Concurrent journal appends, group-committed
+     */
+    @Benchmark
+    @OperationsPerInvocation(JOURNAL_ROWS_PER_INVOCATION)
+    public long journalGroupCommit() {
+        List<CompletableFuture<Transaction>> pending = new ArrayList<>(JOURNAL_ROWS_PER_INVOCATION);
+        for (int i = 0; i < JOURNAL_ROWS_PER_INVOCATION; i++) {
+            pending.add(transactionDAO.createTransactionAsync(journalRow()));
+        }
+        long checksum = 0;
+        for (CompletableFuture<Transaction> future : pending) {
+            checksum += future.join().getTransactionId();
+        }
+        return checksum;
+    }
+
+    /**
+     * The same appends one row per commit
+     */
+    @Benchmark
+    public long journalOneRowPerCommit() {
+        Transaction transaction = journalRow();
+        if (!transactionDAO.createTransaction(transaction)) {
+            throw new IllegalStateException("Journal append failed");
+        }
+        return transaction.getTransactionId();
+    }
+
+    private static Transaction journalRow() {
+        return new Transaction(SeededDataset.CHEQUE_ACCOUNT, "DEPOSIT", AMOUNT, AMOUNT, "Benchmark journal row");
+    }
+}
@@ -0,0 +1,336 @@
+package com.VOLTSBankApp.benchmark;
+
+import com.VOLTSBankApp.model.Account;
+import com.VOLTSBankApp.model.AccountType;
+import com.VOLTSBankApp.model.ChequeAccount;
+import com.VOLTSBankApp.model.Customer;
+import com.VOLTSBankApp.model.InvestmentAccount;
+import com.VOLTSBankApp.model.Money;
+import com.VOLTSBankApp.model.SavingsAccount;
+import com.VOLTSBankApp.model.Transaction;
+import com.VOLTSBankApp.storage.InMemoryLedgerStore;
+import com.VOLTSBankApp.util.DatabaseConnection;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * SeededDataset - Reproducible benchmark data, both in memory and in the database
+ * Everything is generated from a fixed seed, so two runs against the same schema see
+ * identical rows. Database rows live under one benchmark customer and accounts prefixed
+ * BNCH- so they can be dropped without touching real data. The benchmarks jar (mvn -P jmh
+ * package) removes them all with
+ *   java -cp target/benchmarks.jar com.VOLTSBankApp.benchmark.SeededDataset
+ */
+public class SeededDataset {
+    public static final long SEED = 20251001L;
+    public static final String CUSTOMER_EMAIL = "bench.customer@volts.invalid";
+    public static final String ACCOUNT_PREFIX = "BNCH-";
+    public static final String CHEQUE_ACCOUNT = ACCOUNT_PREFIX + "CHQ";
+
+    private static final int INSERT_ROWS_PER_STATEMENT = 1_000;
+    private static final int STATEMENTS_PER_COMMIT = 50;
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final String[] TRANSACTION_TYPES = {"DEPOSIT", "WITHDRAWAL", "INTEREST"};
+
+    public static void main(String[] args) throws SQLException {
+        try {
+            drop();
+            System.out.println("Benchmark rows removed.");
+        } finally {
+            DatabaseConnection.closeConnection();
+        }
+    }
+
+    /**
+     * Account number holding a history of the given number of transactions
+     */
+    public static String historyAccount(int rows) {
+        return ACCOUNT_PREFIX + "H" + rows;
+    }
+
+    // ---------------------------------------------------------------- in-memory fixtures
+
+    /**
+     * Account rows keyed by accounts column name, mixing all three account types
+     */
+    public static List<Map<String, Object>> accountRows(int count) {
+        Random random = new Random(SEED);
+        AccountType[] types = AccountType.values();
+        List<Map<String, Object>> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AccountType type = types[i % types.length];
+            Map<String, Object> row = new HashMap<>();
+            row.put("account_number", ACCOUNT_PREFIX + i);
+            row.put("account_type", type.name());
+            row.put("branch", "Gaborone Main");
+            row.put("balance", randomAmount(random).toDecimal());
+            row.put("accrued_interest", BigDecimal.valueOf(random.nextInt(10_000), 2));
+            row.put("employer_name", type == AccountType.CHEQUE ? "Benchmark Employer" : null);
+            row.put("employer_address", type == AccountType.CHEQUE ? "Plot 1, Gaborone" : null);
+            row.put("date_opened", Timestamp.valueOf(HISTORY_START.plusDays(i % 365)));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Transaction rows keyed by transactions column name
+     */
+    public static List<Map<String, Object>> transactionRows(int count) {
+        Random random = new Random(SEED);
+        List<Map<String, Object>> rows = new ArrayList<>(count);
+        long balance = 0;
+        for (int i = 0; i < count; i++) {
+            String type = TRANSACTION_TYPES[random.nextInt(TRANSACTION_TYPES.length)];
+            Money amount = randomAmount(random);
+            balance += type.equals("WITHDRAWAL") ? -amount.getThebe() : amount.getThebe();
+
+            Map<String, Object> row = new HashMap<>();
+            row.put("transaction_id", i + 1);
+            row.put("account_number", CHEQUE_ACCOUNT);
+            row.put("transaction_type", type);
+            row.put("amount", amount.toDecimal());
+            row.put("balance_after", Money.ofThebe(balance).toDecimal());
+            row.put("description", "Benchmark " + type.toLowerCase());
+            row.put("transaction_date", Timestamp.valueOf(HISTORY_START.plusMinutes(i)));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Savings and investment accounts with seeded balances for the interest benchmark
+     */
+    public static List<Account> interestAccounts(int count) {
+        Random random = new Random(SEED);
+        List<Account> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Account account = i % 2 == 0 ? new SavingsAccount() : new InvestmentAccount();
+            account.setAccountNumber(ACCOUNT_PREFIX + i);
+            account.setBalance(randomAmount(random));
+            accounts.add(account);
+        }
+        return accounts;
+    }
+
+    /**
+     * Seed the in-memory ledger with the benchmark customer, the cheque account and one
+     * history account per size, the same shape ensureSeeded() creates in the database
+     */
+    public static void seedInMemory(InMemoryLedgerStore store, int... historySizes) {
+        Customer customer = new Customer("Bench", "Mark", "Benchmark Data", "70000000", CUSTOMER_EMAIL, "benchmark");
+        store.createCustomer(customer);
+        store.createAccount(chequeAccount(CHEQUE_ACCOUNT, customer, Money.ofPula(1_000)));
+
+        for (int rows : historySizes) {
+            String accountNumber = historyAccount(rows);
+            store.createAccount(chequeAccount(accountNumber, customer, Money.ZERO));
+            Random random = new Random(SEED + rows);
+            long balance = 0;
+            for (int i = 0; i < rows; i++) {
+                String type = TRANSACTION_TYPES[random.nextInt(TRANSACTION_TYPES.length)];
+                Money amount = randomAmount(random);
+                balance += type.equals("WITHDRAWAL") ? -amount.getThebe() : amount.getThebe();
+                store.appendTransaction(new Transaction(accountNumber, type, amount, Money.ofThebe(balance),
+                        "Benchmark " + type.toLowerCase()));
+            }
+            store.setBalance(accountNumber, Money.ofThebe(balance));
+        }
+    }
+
+    private static ChequeAccount chequeAccount(String accountNumber, Customer customer, Money balance) {
+        ChequeAccount account = new ChequeAccount(accountNumber, "Gaborone Main", customer,
+                "Benchmark Employer", "Plot 1, Gaborone");
+        account.setBalance(balance);
+        return account;
+    }
+
+    private static Money randomAmount(Random random) {
+        // BWP 1.00 to BWP 5000.00
+        return Money.ofThebe(100 + random.nextInt(500_000));
+    }
+
+    // ---------------------------------------------------------------- database fixtures
+
+    /**
+     * Create the benchmark customer, cheque account and one history account per size.
+     * Histories that already hold the right number of rows are left alone, so the
+     * expensive 1M-row seed only runs once.
+     */
+    public static void ensureSeeded(int[] historySizes) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            int customerId = ensureCustomer(conn);
+            ensureAccount(conn, customerId, CHEQUE_ACCOUNT, AccountType.CHEQUE, Money.ofPula(1_000));
+
+            for (int rows : historySizes) {
+                String accountNumber = historyAccount(rows);
+                ensureAccount(conn, customerId, accountNumber, AccountType.CHEQUE, Money.ZERO);
+                int existing = countTransactions(conn, accountNumber);
+                if (existing == rows) {
+                    System.out.println("  " + accountNumber + ": " + rows + " rows already seeded");
+                    continue;
+                }
+                System.out.println("  " + accountNumber + ": seeding " + rows + " rows...");
+                deleteTransactions(conn, accountNumber);
+                seedHistory(conn, accountNumber, rows, new Random(SEED + rows));
+            }
+        }
+    }
+
+    /**
+     * Remove every benchmark row
+     */
+    public static void drop() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement transactions = conn.prepareStatement(
+                         "DELETE FROM transactions WHERE account_number LIKE ?");
+                 PreparedStatement accounts = conn.prepareStatement(
+                         "DELETE FROM accounts WHERE account_number LIKE ?");
+                 PreparedStatement customers = conn.prepareStatement(
+                         "DELETE FROM customers WHERE email = ?")) {
+                transactions.setString(1, ACCOUNT_PREFIX + "%");
+                transactions.executeUpdate();
+                accounts.setString(1, ACCOUNT_PREFIX + "%");
+                accounts.executeUpdate();
+                customers.setString(1, CUSTOMER_EMAIL);
+                customers.executeUpdate();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private static int ensureCustomer(Connection conn) throws SQLException {
+        try (PreparedStatement select = conn.prepareStatement(
+                "SELECT customer_id FROM customers WHERE email = ?")) {
+            select.setString(1, CUSTOMER_EMAIL);
+            try (ResultSet rs = select.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+        }
+
+        try (PreparedStatement insert = conn.prepareStatement(
+                "INSERT INTO customers (first_name, surname, email, phone_number, address, password) " +
+                        "VALUES ('Bench', 'Mark', ?, '70000000', 'Benchmark Data', 'benchmark')",
+                Statement.RETURN_GENERATED_KEYS)) {
+            insert.setString(1, CUSTOMER_EMAIL);
+            insert.executeUpdate();
+            try (ResultSet keys = insert.getGeneratedKeys()) {
+                keys.next();
+                return keys.getInt(1);
+            }
+        }
+    }
+
+    private static void ensureAccount(Connection conn, int customerId, String accountNumber,
+                                      AccountType type, Money balance) throws SQLException {
+        try (PreparedStatement insert = conn.prepareStatement(
+                "INSERT IGNORE INTO accounts (account_number, customer_id, account_type, balance, " +
+                        "branch, accrued_interest, employer_name, employer_address) " +
+                        "VALUES (?, ?, ?, ?, 'Gaborone Main', 0, 'Benchmark Employer', 'Plot 1, Gaborone')")) {
+            insert.setString(1, accountNumber);
+            insert.setInt(2, customerId);
+            insert.setString(3, type.name());
+            insert.setBigDecimal(4, balance.toDecimal());
+            insert.executeUpdate();
+        }
+    }
+
+    private static int countTransactions(Connection conn, String accountNumber) throws SQLException {
+        try (PreparedStatement count = conn.prepareStatement(
+                "SELECT COUNT(*) FROM transactions WHERE account_number = ?")) {
+            count.setString(1, accountNumber);
+            try (ResultSet rs = count.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private static void deleteTransactions(Connection conn, String accountNumber) throws SQLException {
+        try (PreparedStatement delete = conn.prepareStatement(
+                "DELETE FROM transactions WHERE account_number = ?")) {
+            delete.setString(1, accountNumber);
+            delete.executeUpdate();
+        }
+    }
+
+    /**
+     * Insert rows in multi-row INSERT statements, committing every few statements
+     */
+    private static void seedHistory(Connection conn, String accountNumber, int rows, Random random)
+            throws SQLException {
+        conn.setAutoCommit(false);
+        try (PreparedStatement full = conn.prepareStatement(insertSql(INSERT_ROWS_PER_STATEMENT))) {
+            long balance = 0;
+            int inStatement = 0;
+            int statements = 0;
+            PreparedStatement target = full;
+            for (int i = 0; i < rows; i++) {
+                int remaining = rows - i;
+                if (inStatement == 0 && remaining < INSERT_ROWS_PER_STATEMENT) {
+                    // Tail: one statement sized to the leftover rows
+                    target = conn.prepareStatement(insertSql(remaining));
+                }
+
+                String type = TRANSACTION_TYPES[random.nextInt(TRANSACTION_TYPES.length)];
+                Money amount = randomAmount(random);
+                balance += type.equals("WITHDRAWAL") ? -amount.getThebe() : amount.getThebe();
+
+                int p = inStatement * 6;
+                target.setString(p + 1, accountNumber);
+                target.setString(p + 2, type);
+                target.setBigDecimal(p + 3, amount.toDecimal());
+                target.setBigDecimal(p + 4, Money.ofThebe(balance).toDecimal());
+                target.setString(p + 5, "Benchmark " + type.toLowerCase());
+                target.setTimestamp(p + 6, Timestamp.valueOf(HISTORY_START.plusMinutes(i)));
+
+                if (++inStatement == INSERT_ROWS_PER_STATEMENT || i == rows - 1) {
+                    target.executeUpdate();
+                    if (target != full) {
+                        target.close();
+                    }
+                    inStatement = 0;
+                    if (++statements % STATEMENTS_PER_COMMIT == 0) {
+                        conn.commit();
+                    }
+                }
+            }
+
+            // Keep the account balance consistent with its history
+            try (PreparedStatement update = conn.prepareStatement(
+                    "UPDATE accounts SET balance = ? WHERE account_number = ?")) {
+                update.setBigDecimal(1, Money.ofThebe(balance).toDecimal());
+                update.setString(2, accountNumber);
+                update.executeUpdate();
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private static String insertSql(int rowsPerStatement) {
+        StringBuilder sql = new StringBuilder("INSERT INTO transactions (account_number, transaction_type, " +
+                "amount, balance_after, description, transaction_date) VALUES ");
+        for (int i = 0; i < rowsPerStatement; i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?)");
+        }
+        return sql.toString();
+    }
+}
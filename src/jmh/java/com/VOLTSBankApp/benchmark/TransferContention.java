@@ -0,0 +1,169 @@
+package com.VOLTSBankApp.benchmark;
+
+import com.VOLTSBankApp.dao.AccountDAO;
+import com.VOLTSBankApp.dao.TransactionDAO;
+import com.VOLTSBankApp.dao.TransactionJournal;
+import com.VOLTSBankApp.dao.TransactionSummary;
+import com.VOLTSBankApp.dao.TransferReceipt;
+import com.VOLTSBankApp.metrics.LatencyHistogram;
+import com.VOLTSBankApp.model.Money;
+import com.VOLTSBankApp.schema.SchemaMigrator;
+import com.VOLTSBankApp.storage.Storage;
+import com.VOLTSBankApp.util.DatabaseConnection;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TransferContention - Concurrent transfers between a small, overlapping set of accounts
+ *
+ *   java -cp target/benchmarks.jar com.VOLTSBankApp.benchmark.TransferContention [options]
+ *
+ * Options:
+ *   --storage=memory|jdbc   engine behind the DAOs (default memory)
+ *   --transfers=200000      transfers to run across all threads
+ *   --accounts=16           accounts to move money between; fewer means more contention
+ *   --threads=8             concurrent callers
+ *
+ * Every thread picks random ordered pairs, so the same two accounts are constantly
+ * transferred in both directions at once - the pattern that deadlocks without a canonical
+ * lock order. At the end money must be conserved across the accounts and the TRANSFER_OUT
+ * and TRANSFER_IN totals written during the run must match. The jdbc engine creates
+ * BNCH-XFER- accounts; remove them by running SeededDataset.
+ */
+public class TransferContention {
+    private static final String ACCOUNT_PREFIX = SeededDataset.ACCOUNT_PREFIX + "XFER-";
+    private static final Money OPENING_BALANCE = Money.ofPula(10_000);
+    private static final int MAX_AMOUNT_THEBE = 500_000;
+
+    public static void main(String[] args) throws Exception {
+        String storage = "memory";
+        int transfers = 200_000;
+        int accounts = 16;
+        int threads = 8;
+
+        for (String arg : args) {
+            if (arg.startsWith("--storage=")) {
+                storage = arg.substring("--storage=".length());
+            } else if (arg.startsWith("--transfers=")) {
+                transfers = Integer.parseInt(arg.substring("--transfers=".length()));
+            } else if (arg.startsWith("--accounts=")) {
+                accounts = Integer.parseInt(arg.substring("--accounts=".length()));
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+            } else {
+                System.err.println("Unknown option: " + arg);
+                return;
+            }
+        }
+        if (accounts < 2) {
+            System.err.println("--accounts must be at least 2");
+            return;
+        }
+
+        if (storage.equals("memory")) {
+            Storage.useInMemory();
+        } else if (storage.equals("jdbc")) {
+            Storage.useJdbc();
+            if (!DatabaseConnection.testConnection()) {
+                System.err.println("Database unavailable");
+                return;
+            }
+            SchemaMigrator.ensureMigrated();
+        } else {
+            System.err.println("Unknown storage engine: " + storage);
+            return;
+        }
+
+        try {
+            run(storage, transfers, accounts, threads);
+        } finally {
+            TransactionJournal.shutdown();
+            DatabaseConnection.closeConnection();
+        }
+    }
+
+    private static void run(String storage, int transfers, int accountCount, int threads)
+            throws InterruptedException {
+        AccountDAO accountDAO = new AccountDAO();
+        List<String> accountNumbers = LedgerSimulation.setUpAccounts(accountDAO, ACCOUNT_PREFIX,
+                accountCount, OPENING_BALANCE);
+        if (accountNumbers == null) {
+            return;
+        }
+
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder applied = new LongAdder();
+        LongAdder refused = new LongAdder();
+        LongAdder movedThebe = new LongAdder();
+
+        System.out.println("Running " + transfers + " transfers between " + accountCount +
+                " accounts with " + threads + " threads (" + storage + ")...");
+        LocalDateTime runStarted = LocalDateTime.now().withNano(0);
+        List<Thread> workers = new ArrayList<>(threads);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int operations = transfers / threads + (t < transfers % threads ? 1 : 0);
+            SplittableRandom random = new SplittableRandom(SeededDataset.SEED + t);
+            Thread worker = new Thread(() -> {
+                AccountDAO dao = new AccountDAO();
+                for (int i = 0; i < operations; i++) {
+                    int from = random.nextInt(accountNumbers.size());
+                    int to = (from + 1 + random.nextInt(accountNumbers.size() - 1)) % accountNumbers.size();
+                    Money amount = Money.ofThebe(1 + random.nextInt(MAX_AMOUNT_THEBE));
+
+                    long began = System.nanoTime();
+                    TransferReceipt receipt = dao.transfer(accountNumbers.get(from), accountNumbers.get(to),
+                            amount, "Contention benchmark");
+                    latency.record(System.nanoTime() - began);
+
+                    if (receipt == null) {
+                        refused.increment();
+                    } else {
+                        applied.increment();
+                        movedThebe.add(amount.getThebe());
+                    }
+                }
+            }, "volts-transfer-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long expected = OPENING_BALANCE.getThebe() * accountNumbers.size();
+        long actual = 0;
+        TransactionDAO transactionDAO = new TransactionDAO();
+        TransactionSummary transfersWritten = new TransactionSummary();
+        for (String accountNumber : accountNumbers) {
+            actual += accountDAO.getAccountByNumber(accountNumber).getBalance().getThebe();
+            TransactionSummary summary = transactionDAO.getTransactionSummary(accountNumber, runStarted, null);
+            transfersWritten.add("TRANSFER_OUT", summary.getTransferOutCount(), summary.getTransferOutTotal());
+            transfersWritten.add("TRANSFER_IN", summary.getTransferInCount(), summary.getTransferInTotal());
+        }
+        boolean paired = transfersWritten.getTransferOutCount() == applied.sum()
+                && transfersWritten.getTransferInCount() == applied.sum()
+                && transfersWritten.getTransferOutTotal().getThebe() == movedThebe.sum()
+                && transfersWritten.getTransferInTotal().getThebe() == movedThebe.sum();
+
+        System.out.println("\nStorage:        " + storage);
+        System.out.println("Applied:        " + applied.sum() + " (refused " + refused.sum() + ")");
+        System.out.println("Moved:          BWP " + Money.format(movedThebe.sum()));
+        System.out.println("Elapsed:        " + String.format("%.2f s", seconds));
+        System.out.println("Throughput:     " + String.format("%.0f transfers/s", transfers / seconds));
+        System.out.println("Latency p50:    " + String.format("%.1f us", latency.getPercentileNanos(0.50) / 1_000.0));
+        System.out.println("Latency p99:    " + String.format("%.1f us", latency.getPercentileNanos(0.99) / 1_000.0));
+        System.out.println("Latency max:    " + String.format("%.1f us", latency.getMaxNanos() / 1_000.0));
+        System.out.println("Transfer rows:  " + transfersWritten.getTransferOutCount() + " out / " +
+                transfersWritten.getTransferInCount() + " in");
+        System.out.println("Balances:       " + Money.format(actual) + " (expected " + Money.format(expected) + ")");
+        System.out.println(actual == expected && paired
+                ? "SUCCESS: money conserved and every transfer paired"
+                : "ERROR: transfers do not reconcile");
+    }
+}
@@ -1,6 +1,21 @@
 package com.VOLTSBankApp;
 
+import com.VOLTSBankApp.controller.BackgroundLoader;
+import com.VOLTSBankApp.dao.AccountDAO;
+import com.VOLTSBankApp.dao.BalanceSnapshotDAO;
+import com.VOLTSBankApp.dao.DashboardDAO;
+import com.VOLTSBankApp.dao.Statements;
+import com.VOLTSBankApp.dao.TransactionJournal;
+import com.VOLTSBankApp.metrics.DaoMetrics;
+import com.VOLTSBankApp.metrics.MetricsHttpServer;
+import com.VOLTSBankApp.schema.QueryPlanCheck;
+import com.VOLTSBankApp.schema.SchemaMigrator;
+import com.VOLTSBankApp.service.InterestRunEngine;
+import com.VOLTSBankApp.service.LoginService;
+import com.VOLTSBankApp.service.StatementGenerator;
+import com.VOLTSBankApp.storage.Storage;
 import com.VOLTSBankApp.util.DatabaseConnection;
+import com.VOLTSBankApp.util.StatementRegistry;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -9,19 +24,50 @@ import javafx.scene.control.Alert;
 import javafx.stage.Stage;
 
 public class Main extends Application {
+    // Set by init() when startup cannot go on; start() reports it on the FX thread
+    private volatile String startupError;
+
+    /**
+     * Connection test, migrations and the query plan check
+     * JavaFX runs init() on its launcher thread, so none of this blocks the FX thread.
+     */
+    @Override
+    public void init() {
+        if (Storage.isInMemory()) {
+            System.out.println("🧪 Using the in-memory ledger; nothing will be saved.");
+            return;
+        }
+
+        // Test database connection
+        System.out.println("🔄 Testing database connection...");
+        if (!DatabaseConnection.testConnection()) {
+            System.err.println("❌ Database connection failed!");
+            startupError = "Database connection failed. Please start XAMPP MySQL.";
+            return;
+        }
+        System.out.println("✅ Database connected successfully!");
+
+        try {
+            SchemaMigrator.migrate();
+            // Statements outside the Statements class register when their class loads
+            StatementRegistry.load(DashboardDAO.class, BalanceSnapshotDAO.class,
+                    InterestRunEngine.class, StatementGenerator.class);
+            QueryPlanCheck.run(Statements.all());
+        } catch (Exception e) {
+            System.err.println("❌ Error:");
+            e.printStackTrace();
+            startupError = "Failed to prepare the database:\n" + e.getMessage();
+        }
+    }
 
     @Override
     public void start(Stage primaryStage) {
+        if (startupError != null) {
+            showErrorAndExit(startupError);
+            return;
+        }
         try {
-            // Test database connection
-            System.out.println("🔄 Testing database connection...");
-            if (DatabaseConnection.testConnection()) {
-                System.out.println("✅ Database connected successfully!");
-            } else {
-                System.err.println("❌ Database connection failed!");
-                showErrorAndExit("Database connection failed. Please start XAMPP MySQL.");
-                return;
-            }
+            MetricsHttpServer.start();
 
             // Load Login screen
             System.out.println("📂 Loading FXML...");
@@ -55,6 +101,14 @@ public class Main extends Application {
 
     @Override
     public void stop() {
+        System.out.println("Account cache: " + AccountDAO.getCacheStats());
+        System.out.println("Logins: " + LoginService.getInstance());
+        System.out.print("DAO metrics:\n" + DaoMetrics.report());
+        MetricsHttpServer.stop();
+        BackgroundLoader.shutdown();
+        LoginService.shutdown();
+        // Write any queued transaction rows while the pool is still open
+        TransactionJournal.shutdown();
         DatabaseConnection.closeConnection();
         System.out.println("Application closed.");
     }
@@ -1,16 +1,25 @@
 package com.VOLTSBankApp.controller;
 
 import com.VOLTSBankApp.dao.AccountDAO;
+import com.VOLTSBankApp.dao.AccountSummary;
 import com.VOLTSBankApp.dao.CustomerDAO;
 import com.VOLTSBankApp.dao.TransactionDAO;
+import com.VOLTSBankApp.dao.TransactionPage;
 import com.VOLTSBankApp.model.*;
+import com.VOLTSBankApp.service.AccountNumberGenerator;
+import com.VOLTSBankApp.service.InterestRunEngine;
+import com.VOLTSBankApp.service.InterestRunResult;
 import com.VOLTSBankApp.view.AccountView;
 import com.VOLTSBankApp.interfaces.InterestBearing;
 
+import java.sql.SQLException;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Scanner;
 
 public class AccountController {
+    private static final int PAGE_SIZE = 20;
+
     private AccountDAO accountDAO;
     private CustomerDAO customerDAO;
     private TransactionDAO transactionDAO;
@@ -55,6 +64,9 @@ public class AccountController {
                     handleDeleteAccount();
                     break;
                 case 7:
+                    handleMonthEndInterestRun();
+                    break;
+                case 8:
                     running = false;
                     System.out.println("Returning to main menu...");
                     break;
@@ -89,8 +101,17 @@ public class AccountController {
         System.out.print("Branch: ");
         String branch = scanner.nextLine();
 
+        if (typeChoice < 1 || typeChoice > 3) {
+            System.out.println("Invalid account type!");
+            return;
+        }
+
         Account account = null;
-        String accountNumber = generateAccountNumber(customer.getCustomerId(), typeChoice);
+        String accountNumber = generateAccountNumber(typeChoice);
+        if (accountNumber == null) {
+            System.out.println("\nERROR: Could not allocate an account number!");
+            return;
+        }
 
         switch (typeChoice) {
             case 1:
@@ -119,10 +140,10 @@ public class AccountController {
      * Create Savings Account
      */
     private SavingsAccount createSavingsAccount(String accountNumber, String branch, Customer customer) {
-        double initialDeposit = getDoubleInput("Initial deposit (optional, BWP): ");
+        Money initialDeposit = getMoneyInput("Initial deposit (optional, BWP): ");
 
         SavingsAccount account = new SavingsAccount(accountNumber, branch, customer);
-        if (initialDeposit > 0) {
+        if (initialDeposit.isPositive()) {
             account.deposit(initialDeposit);
         }
 
@@ -134,13 +155,13 @@ public class AccountController {
      */
     private InvestmentAccount createInvestmentAccount(String accountNumber, String branch, Customer customer) {
         System.out.println("Minimum opening balance: BWP " +
-                String.format("%.2f", InvestmentAccount.getMinimumOpeningBalance()));
+                InvestmentAccount.getMinimumOpeningBalance());
 
-        double initialDeposit = getDoubleInput("Initial deposit (BWP): ");
+        Money initialDeposit = getMoneyInput("Initial deposit (BWP): ");
 
-        if (initialDeposit < InvestmentAccount.getMinimumOpeningBalance()) {
+        if (initialDeposit.isLessThan(InvestmentAccount.getMinimumOpeningBalance())) {
             System.out.println("ERROR: Initial deposit must be at least BWP " +
-                    String.format("%.2f", InvestmentAccount.getMinimumOpeningBalance()));
+                    InvestmentAccount.getMinimumOpeningBalance());
             return null;
         }
 
@@ -165,8 +186,8 @@ public class AccountController {
         ChequeAccount account = new ChequeAccount(accountNumber, branch, customer,
                 employerName, employerAddress);
 
-        double initialDeposit = getDoubleInput("Initial deposit (optional, BWP): ");
-        if (initialDeposit > 0) {
+        Money initialDeposit = getMoneyInput("Initial deposit (optional, BWP): ");
+        if (initialDeposit.isPositive()) {
             account.deposit(initialDeposit);
         }
 
@@ -212,21 +233,21 @@ public class AccountController {
             return;
         }
 
-        customerDAO.loadCustomerAccounts(customer);
+        List<AccountSummary> accounts = accountDAO.getAccountSummaries(customerId);
 
         System.out.println("\nCustomer: " + customer.getFullName());
 
-        if (customer.getAccounts().isEmpty()) {
+        if (accounts.isEmpty()) {
             System.out.println("No accounts found for this customer.");
         } else {
-            accountView.displayAccountList(customer.getAccounts());
+            accountView.displayAccountList(accounts);
 
             // Calculate and display total balance
-            double totalBalance = customer.getAccounts().stream()
-                    .mapToDouble(Account::getBalance)
+            long totalBalance = accounts.stream()
+                    .mapToLong(a -> a.getBalance().getThebe())
                     .sum();
             System.out.println("\nTotal Balance across all accounts: BWP " +
-                    String.format("%.2f", totalBalance));
+                    Money.format(totalBalance));
         }
     }
 
@@ -252,16 +273,15 @@ public class AccountController {
         }
 
         InterestBearing interestAccount = (InterestBearing) account;
-        double oldBalance = account.getBalance();
+        Money oldBalance = account.getBalance();
         double interestRate = interestAccount.getInterestRate();
 
         // Calculate and pay interest
-        interestAccount.calculateInterest();
-        double newBalance = account.getBalance();
-        double interestPaid = newBalance - oldBalance;
+        Money interestPaid = interestAccount.calculateInterest();
+        Money newBalance = account.getBalance();
 
         // Update in database
-        double accruedInterest = 0;
+        Money accruedInterest = Money.ZERO;
         if (account instanceof SavingsAccount) {
             accruedInterest = ((SavingsAccount) account).getAccruedInterest();
         } else if (account instanceof InvestmentAccount) {
@@ -281,14 +301,54 @@ public class AccountController {
 
             System.out.println("\nSUCCESS: Interest paid successfully!");
             System.out.println("Interest Rate: " + String.format("%.3f%%", interestRate * 100));
-            System.out.println("Interest Paid: BWP " + String.format("%.2f", interestPaid));
-            System.out.println("Old Balance: BWP " + String.format("%.2f", oldBalance));
-            System.out.println("New Balance: BWP " + String.format("%.2f", newBalance));
+            System.out.println("Interest Paid: BWP " + interestPaid);
+            System.out.println("Old Balance: BWP " + oldBalance);
+            System.out.println("New Balance: BWP " + newBalance);
         } else {
             System.out.println("ERROR: Failed to update account with interest!");
         }
     }
 
+    /**
+     * Handle month-end interest run for all interest-bearing accounts
+     */
+    private void handleMonthEndInterestRun() {
+        System.out.println("\n=== Month-End Interest Run ===");
+
+        String defaultRunId = YearMonth.now().toString();
+        System.out.print("Run ID [" + defaultRunId + "]: ");
+        String runId = scanner.nextLine().trim();
+        if (runId.isEmpty()) {
+            runId = defaultRunId;
+        }
+
+        System.out.println("Paying interest to all Savings and Investment accounts...");
+        System.out.println("(Re-running the same Run ID resumes after the last committed chunk)");
+
+        try {
+            InterestRunResult result = new InterestRunEngine().run(runId);
+
+            System.out.println("\nRun ID: " + result.getRunId());
+            System.out.println("Accounts Paid: " + result.getAccountsPaid());
+            System.out.println("Accounts Already Paid (skipped): " + result.getAccountsSkipped());
+            System.out.println("Chunks Committed: " + result.getChunksCommitted());
+            System.out.println("Total Interest Paid: BWP " + result.getInterestPaid());
+            System.out.println("Elapsed: " + String.format("%.2f s", result.getElapsedSeconds()) +
+                    " (" + String.format("%.1f", result.getAccountsPerSecond()) + " accounts/s)");
+
+            if (result.isComplete()) {
+                System.out.println("\nSUCCESS: Interest run completed!");
+            } else {
+                System.out.println("\nWARNING: " + result.getChunksFailed() +
+                        " chunk(s) failed. Run again with the same Run ID to resume.");
+            }
+        } catch (SQLException e) {
+            System.err.println("Error running month-end interest");
+            e.printStackTrace();
+            System.out.println("ERROR: Interest run failed! Run again with the same Run ID to resume.");
+        }
+    }
+
     /**
      * Handle view account transactions
      */
@@ -306,16 +366,9 @@ public class AccountController {
 
         System.out.println("\nAccount: " + accountNumber + " (" +
                 account.getAccountType().getDisplayName() + ")");
-        System.out.println("Current Balance: BWP " + String.format("%.2f", account.getBalance()));
+        System.out.println("Current Balance: BWP " + account.getBalance());
 
-        List<Transaction> transactions = transactionDAO.getTransactionsByAccount(accountNumber);
-
-        if (transactions.isEmpty()) {
-            System.out.println("\nNo transactions found.");
-        } else {
-            System.out.println("\n--- All Transactions ---");
-            accountView.displayTransactionList(transactions);
-        }
+        pageThroughTransactions(accountNumber);
     }
 
     /**
@@ -335,9 +388,9 @@ public class AccountController {
 
         accountView.displayAccountDetails(account);
 
-        if (account.getBalance() > 0) {
+        if (account.getBalance().isPositive()) {
             System.out.println("\nWARNING: This account has a balance of BWP " +
-                    String.format("%.2f", account.getBalance()));
+                    account.getBalance());
         }
 
         System.out.print("\nAre you sure you want to delete this account? (yes/no): ");
@@ -356,26 +409,55 @@ public class AccountController {
 
     /**
      * Generate account number
-     * Format: [TYPE][CUSTOMER_ID][SEQUENCE]
+     * Format: [TYPE][SEQUENCE][CHECK DIGIT], unique across app instances
      */
-    private String generateAccountNumber(int customerId, int accountType) {
-        String prefix;
+    private String generateAccountNumber(int accountType) {
+        AccountType type;
         switch (accountType) {
             case 1:
-                prefix = "SAV";
+                type = AccountType.SAVINGS;
                 break;
             case 2:
-                prefix = "INV";
-                break;
-            case 3:
-                prefix = "CHQ";
+                type = AccountType.INVESTMENT;
                 break;
             default:
-                prefix = "ACC";
+                type = AccountType.CHEQUE;
+        }
+
+        try {
+            return AccountNumberGenerator.getInstance().nextAccountNumber(type);
+        } catch (SQLException e) {
+            System.err.println("Error generating account number");
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Page through an account's transactions, newest first
+     */
+    private void pageThroughTransactions(String accountNumber) {
+        TransactionPage page = transactionDAO.getTransactionPage(accountNumber, null, PAGE_SIZE);
+        if (page.isEmpty()) {
+            System.out.println("\nNo transactions found.");
+            return;
         }
 
-        long timestamp = System.currentTimeMillis() % 100000;
-        return String.format("%s%03d%05d", prefix, customerId, timestamp);
+        int pageNumber = 1;
+        while (true) {
+            System.out.println("\n--- Transactions (Page " + pageNumber + ") ---");
+            accountView.displayTransactionList(page.getTransactions());
+
+            if (!page.hasMore()) {
+                break;
+            }
+            System.out.print("Show next page? (yes/no): ");
+            if (!scanner.nextLine().equalsIgnoreCase("yes")) {
+                break;
+            }
+            page = transactionDAO.getTransactionPage(accountNumber, page.getLast(), PAGE_SIZE);
+            pageNumber++;
+        }
     }
 
     /**
@@ -393,15 +475,15 @@ public class AccountController {
     }
 
     /**
-     * Get double input with validation
+     * Get money input with validation
      */
-    private double getDoubleInput(String prompt) {
+    private Money getMoneyInput(String prompt) {
         System.out.print(prompt);
-        while (!scanner.hasNextDouble()) {
+        while (!scanner.hasNextBigDecimal()) {
             scanner.next();
             System.out.print("Invalid input. Please enter a number: ");
         }
-        double value = scanner.nextDouble();
+        Money value = Money.fromDecimal(scanner.nextBigDecimal());
         scanner.nextLine(); // Consume newline
         return value;
     }
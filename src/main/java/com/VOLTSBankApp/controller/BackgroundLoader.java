@@ -0,0 +1,136 @@
+package com.VOLTSBankApp.controller;
+
+import javafx.concurrent.Task;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * BackgroundLoader - Runs a blocking DAO call off the JavaFX application thread
+ * One loader backs one screen action (login, dashboard refresh). At most one load runs
+ * at a time; loads requested while busy are coalesced into a single follow-up load, and
+ * only the newest result is delivered. Callbacks run on the FX thread via Task's handlers.
+ * All methods must be called from the FX thread.
+ */
+public class BackgroundLoader<T> {
+    private static final int IO_THREADS = 2;
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    // Shared by every screen; small because each load holds a pooled connection
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(IO_THREADS, r -> {
+        Thread thread = new Thread(r, "volts-fx-io-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String name;
+    private final Consumer<Boolean> busyHandler;
+
+    private Task<T> current;
+    private Request<T> pending;
+
+    /**
+     * @param busyHandler called with true when loading starts and false when it ends,
+     *                    e.g. to show a progress indicator and disable buttons; a queued
+     *                    follow-up load does not repeat the true, so calls always pair up
+     */
+    public BackgroundLoader(String name, Consumer<Boolean> busyHandler) {
+        this.name = name;
+        this.busyHandler = busyHandler;
+    }
+
+    /**
+     * Start a load, or queue it to run once the load in progress finishes
+     */
+    public void load(Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        Request<T> request = new Request<>(work, onSuccess, onFailure);
+        if (current != null) {
+            // Coalesce: whatever is already queued is superseded by this request
+            pending = request;
+            System.out.println("⏳ " + name + " already loading, coalescing request");
+            return;
+        }
+        busyHandler.accept(true);
+        start(request);
+    }
+
+    /**
+     * Drop the load in progress and any queued load, e.g. when navigating away
+     */
+    public void cancel() {
+        pending = null;
+        if (current != null) {
+            // No interrupt: aborting a JDBC read mid-stream would poison the pooled connection,
+            // so the query is left to finish and its result is discarded
+            current.cancel(false);
+            current = null;
+            busyHandler.accept(false);
+            System.out.println("🛑 " + name + " cancelled");
+        }
+    }
+
+    public boolean isLoading() {
+        return current != null;
+    }
+
+    /**
+     * Stop the shared worker threads on application shutdown
+     */
+    public static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+
+    private void start(Request<T> request) {
+        Task<T> task = new Task<T>() {
+            @Override
+            protected T call() throws Exception {
+                return request.work.call();
+            }
+        };
+        task.setOnSucceeded(event -> finish(task, request, true));
+        task.setOnFailed(event -> finish(task, request, false));
+
+        current = task;
+        EXECUTOR.execute(task);
+    }
+
+    private void finish(Task<T> task, Request<T> request, boolean succeeded) {
+        if (task != current) {
+            // Cancelled after the query had already completed
+            return;
+        }
+        current = null;
+
+        if (pending != null) {
+            // A newer request arrived while this one ran; its result supersedes this one
+            Request<T> next = pending;
+            pending = null;
+            start(next);
+            return;
+        }
+
+        busyHandler.accept(false);
+        if (succeeded) {
+            request.onSuccess.accept(task.getValue());
+        } else {
+            System.err.println("Error in background load: " + name);
+            task.getException().printStackTrace();
+            request.onFailure.accept(task.getException());
+        }
+    }
+
+    private static final class Request<T> {
+        private final Callable<T> work;
+        private final Consumer<T> onSuccess;
+        private final Consumer<Throwable> onFailure;
+
+        Request(Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+            this.work = work;
+            this.onSuccess = onSuccess;
+            this.onFailure = onFailure;
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package com.VOLTSBankApp.controller;
 
 import com.VOLTSBankApp.dao.CustomerDAO;
+import com.VOLTSBankApp.dao.CustomerPage;
 import com.VOLTSBankApp.model.Customer;
+import com.VOLTSBankApp.service.ImportReport;
+import com.VOLTSBankApp.service.LoginService;
+import com.VOLTSBankApp.service.OnboardingImporter;
 import com.VOLTSBankApp.view.CustomerView;
 
-import java.util.List;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Scanner;
 
 /**
@@ -12,6 +19,7 @@ import java.util.Scanner;
  * This is a console-based controller for customer management operations
  */
 public class CustomerController {
+    private static final int CUSTOMER_PAGE_SIZE = 20;
 
     private CustomerDAO customerDAO;
     private CustomerView customerView;
@@ -50,6 +58,9 @@ public class CustomerController {
                     handleViewAllCustomers();
                     break;
                 case 6:
+                    handleBulkImport();
+                    break;
+                case 7:
                     running = false;
                     System.out.println("Returning to main menu...");
                     break;
@@ -107,6 +118,7 @@ public class CustomerController {
 
         // Save to database
         if (customerDAO.createCustomer(customer)) {
+            LoginService.getInstance().forget(email);
             System.out.println("\nSUCCESS: Customer registered successfully!");
             System.out.println("Customer ID: " + customer.getCustomerId());
         } else {
@@ -183,6 +195,7 @@ public class CustomerController {
 
         // Update in database
         if (customerDAO.updateCustomer(customer)) {
+            LoginService.getInstance().forget(customer.getEmail());
             System.out.println("\nSUCCESS: Customer updated successfully!");
         } else {
             System.out.println("\nERROR: Failed to update customer!");
@@ -221,17 +234,77 @@ public class CustomerController {
     }
 
     /**
-     * Handle view all customers
+     * Handle view all customers, one page at a time
      */
     private void handleViewAllCustomers() {
         System.out.println("\n=== All Customers ===");
+        System.out.print("Search by name or email prefix (Enter for all): ");
+        String search = scanner.nextLine().trim();
 
-        List<Customer> customers = customerDAO.getAllCustomers();
-
-        if (customers.isEmpty()) {
+        CustomerPage page = customerDAO.getCustomerPage(search, null, CUSTOMER_PAGE_SIZE);
+        if (page.isEmpty()) {
             System.out.println("No customers found.");
-        } else {
-            customerView.displayCustomerList(customers);
+            return;
+        }
+
+        int pageNumber = 1;
+        int shown = 0;
+        while (true) {
+            customerView.displayCustomerPage(page, pageNumber);
+            shown += page.getCustomers().size();
+            if (!page.hasMore()) {
+                System.out.println("Total Customers: " + shown);
+                return;
+            }
+            System.out.print("Press Enter for the next page, or q to stop: ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+                return;
+            }
+            page = customerDAO.getCustomerPage(search, page.getLast(), CUSTOMER_PAGE_SIZE);
+            pageNumber++;
+        }
+    }
+
+    /**
+     * Handle bulk onboarding of customers and accounts from a CSV or JSON Lines file
+     */
+    private void handleBulkImport() {
+        System.out.println("\n=== Bulk Import Customers ===");
+        System.out.println("CSV header: first_name,surname,email,phone_number,address,password," +
+                "account_type,branch,opening_balance,employer_name,employer_address");
+        System.out.println("(.jsonl/.ndjson/.json files are read as one JSON object per line)");
+
+        System.out.print("Input file: ");
+        Path input = Paths.get(scanner.nextLine().trim());
+        if (!Files.isReadable(input)) {
+            System.out.println("ERROR: Cannot read " + input);
+            return;
+        }
+        Path rejectFile = input.resolveSibling(input.getFileName() + ".rejects.tsv");
+
+        System.out.println("Importing...");
+        try {
+            ImportReport report = new OnboardingImporter().importFile(input, rejectFile);
+
+            System.out.println("\nRows Read: " + report.getRowsRead());
+            System.out.println("Customers Created: " + report.getCustomersCreated());
+            System.out.println("Accounts Created: " + report.getAccountsCreated());
+            System.out.println("Rows Rejected: " + report.getRowsRejected());
+            System.out.println("Batches Committed: " + report.getBatchesCommitted() +
+                    " (failed: " + report.getBatchesFailed() + ")");
+            System.out.println("Elapsed: " + String.format("%.2f s", report.getElapsedSeconds()) +
+                    " (" + String.format("%.1f", report.getRowsPerSecond()) + " rows/s)");
+
+            if (report.getRowsRejected() > 0) {
+                System.out.println("\nWARNING: Rejected rows written to " + rejectFile);
+            } else {
+                System.out.println("\nSUCCESS: Import completed!");
+            }
+        } catch (IOException | RuntimeException e) {
+            // A failed stage stops the whole import and surfaces here
+            System.err.println("Error importing customers");
+            e.printStackTrace();
+            System.out.println("ERROR: Import failed: " + e.getMessage());
         }
     }
 
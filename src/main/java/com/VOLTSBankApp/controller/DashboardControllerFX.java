@@ -1,8 +1,13 @@
 package com.VOLTSBankApp.controller;
 
 import com.VOLTSBankApp.dao.AccountDAO;
+import com.VOLTSBankApp.dao.AccountSummary;
+import com.VOLTSBankApp.dao.DashboardDAO;
+import com.VOLTSBankApp.dao.DashboardSnapshot;
 import com.VOLTSBankApp.model.Account;
 import com.VOLTSBankApp.model.Customer;
+import com.VOLTSBankApp.model.Money;
+import com.VOLTSBankApp.model.Transaction;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -13,8 +18,10 @@ import javafx.scene.control.*;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.util.List;
 
 public class DashboardControllerFX {
+    static final int RECENT_TRANSACTIONS = 5;
 
     @FXML private Label welcomeLabel;
     @FXML private Label totalBalanceLabel;
@@ -25,12 +32,24 @@ public class DashboardControllerFX {
     @FXML private Button withdrawButton;
     @FXML private Button payInterestButton;
     @FXML private Button logoutButton;
+    @FXML private Button refreshButton;
+    @FXML private ProgressIndicator refreshProgress;
 
     private Customer customer;
+    private DashboardSnapshot snapshot;
+    private DashboardDAO dashboardDAO;
     private AccountDAO accountDAO;
+    private BackgroundLoader<DashboardSnapshot> refreshLoader;
+    private BackgroundLoader<Account> detailsLoader;
+    // Both loaders share refreshProgress; it shows while either is busy
+    private int activeLoads;
 
     public void initialize() {
+        dashboardDAO = new DashboardDAO();
         accountDAO = new AccountDAO();
+        refreshLoader = new BackgroundLoader<>("Dashboard refresh", this::setLoading);
+        detailsLoader = new BackgroundLoader<>("Account details", this::setLoading);
+        refreshProgress.setVisible(false);
         System.out.println("✅ DashboardController initialized");
     }
 
@@ -40,36 +59,76 @@ public class DashboardControllerFX {
         refreshDashboard();
     }
 
+    /**
+     * Show a snapshot that was already loaded (e.g. at login) without another round trip
+     */
+    public void setSnapshot(DashboardSnapshot snapshot) {
+        this.customer = snapshot.getCustomer();
+        welcomeLabel.setText("Welcome, " + customer.getFullName());
+        showSnapshot(snapshot);
+    }
+
+    /**
+     * Reload in the background; repeated calls while loading collapse into one reload
+     */
     public void refreshDashboard() {
         System.out.println("🔄 Refreshing dashboard...");
 
-        // Reload accounts from database
-        accountDAO.loadAccountsForCustomer(customer);
+        // Reload customer, accounts and recent activity in one round trip
+        int customerId = customer.getCustomerId();
+        refreshLoader.load(
+                () -> dashboardDAO.loadSnapshot(customerId, RECENT_TRANSACTIONS),
+                this::onSnapshotLoaded,
+                e -> showError("Refresh Failed", "Could not load your accounts. Please try again."));
+    }
+
+    private void setLoading(boolean busy) {
+        activeLoads += busy ? 1 : -1;
+        refreshProgress.setVisible(activeLoads > 0);
+    }
+
+    private void onSnapshotLoaded(DashboardSnapshot loaded) {
+        if (loaded == null) {
+            showError("Refresh Failed", "Could not load your accounts. Please try again.");
+            return;
+        }
+        this.customer = loaded.getCustomer();
+        showSnapshot(loaded);
+    }
+
+    private void showSnapshot(DashboardSnapshot snapshot) {
+        this.snapshot = snapshot;
 
         ObservableList<String> accountItems = FXCollections.observableArrayList();
-        double totalBalance = 0;
+        long totalBalance = 0;
 
-        if (customer.getAccounts().isEmpty()) {
+        if (snapshot.getAccounts().isEmpty()) {
             accountListView.setPlaceholder(
                     new Label("No accounts yet. Click 'Create Account' to get started!")
             );
         } else {
-            for (Account account : customer.getAccounts()) {
-                String displayText = String.format("%s - %s | BWP %.2f",
+            for (AccountSummary account : snapshot.getAccounts()) {
+                String displayText = String.format("%s - %s | BWP %s",
                         account.getAccountType().getDisplayName(),
                         account.getAccountNumber(),
                         account.getBalance());
                 accountItems.add(displayText);
-                totalBalance += account.getBalance();
+                totalBalance += account.getBalance().getThebe();
             }
         }
 
         accountListView.setItems(accountItems);
-        totalBalanceLabel.setText(String.format("BWP %.2f", totalBalance));
+        totalBalanceLabel.setText("BWP " + Money.format(totalBalance));
 
-        System.out.println("✅ Dashboard refreshed");
-        System.out.println("   Total accounts: " + customer.getAccounts().size());
-        System.out.println("   Total balance: BWP " + String.format("%.2f", totalBalance));
+        System.out.println("✅ Dashboard refreshed (snapshot loaded in " +
+                String.format("%.1f ms", snapshot.getLoadMillis()) + ")");
+        System.out.println("   Total accounts: " + snapshot.getAccounts().size());
+        System.out.println("   Total balance: BWP " + Money.format(totalBalance));
+    }
+
+    @FXML
+    private void handleRefresh() {
+        refreshDashboard();
     }
 
     @FXML
@@ -92,16 +151,26 @@ public class DashboardControllerFX {
         }
 
         String accountNumber = extractAccountNumber(selected);
-        Account account = findAccountByNumber(accountNumber);
-
-        if (account != null) {
-            showAccountDetails(account);
+        if (snapshot.findAccount(accountNumber) == null) {
+            return;
         }
+
+        // The list holds summary rows; the dialog needs the full account
+        detailsLoader.load(
+                () -> accountDAO.getAccountByNumber(accountNumber),
+                account -> {
+                    if (account != null) {
+                        showAccountDetails(account);
+                    } else {
+                        showError("Account Details", "This account no longer exists. Please refresh.");
+                    }
+                },
+                e -> showError("Account Details", "Could not load the account. Please try again."));
     }
 
     @FXML
     private void handleDeposit() {
-        if (customer.getAccounts().isEmpty()) {
+        if (!hasAccounts()) {
             showWarning("No Accounts",
                     "You don't have any accounts yet.\nPlease create an account first.");
             return;
@@ -113,7 +182,7 @@ public class DashboardControllerFX {
 
     @FXML
     private void handleWithdraw() {
-        if (customer.getAccounts().isEmpty()) {
+        if (!hasAccounts()) {
             showWarning("No Accounts",
                     "You don't have any accounts yet.\nPlease create an account first.");
             return;
@@ -125,7 +194,7 @@ public class DashboardControllerFX {
 
     @FXML
     private void handlePayInterest() {
-        if (customer.getAccounts().isEmpty()) {
+        if (!hasAccounts()) {
             showWarning("No Accounts",
                     "You don't have any accounts yet.\nPlease create an account first.");
             return;
@@ -146,6 +215,9 @@ public class DashboardControllerFX {
 
         alert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
+                // Don't let a late refresh repaint a screen we are leaving
+                refreshLoader.cancel();
+                detailsLoader.cancel();
                 try {
                     FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/Login.fxml"));
                     Parent root = loader.load();
@@ -170,7 +242,7 @@ public class DashboardControllerFX {
 
         String details = String.format(
                 "Account Number: %s\n" +
-                        "Balance: BWP %.2f\n" +
+                        "Balance: BWP %s\n" +
                         "Branch: %s\n" +
                         "Date Opened: %s\n\n" +
                         "%s",
@@ -182,6 +254,17 @@ public class DashboardControllerFX {
                 account.getAccountDetails()
         );
 
+        List<Transaction> recent = snapshot.getRecentTransactions(account.getAccountNumber());
+        if (!recent.isEmpty()) {
+            StringBuilder activity = new StringBuilder(details).append("\n\nRecent Activity:");
+            for (Transaction transaction : recent) {
+                activity.append("\n").append(transaction.getTransactionType())
+                        .append("  BWP ").append(transaction.getAmount())
+                        .append("  (").append(transaction.getTransactionDate().toLocalDate()).append(")");
+            }
+            details = activity.toString();
+        }
+
         alert.setContentText(details);
         alert.showAndWait();
     }
@@ -193,13 +276,8 @@ public class DashboardControllerFX {
         return listItem.substring(start, end);
     }
 
-    private Account findAccountByNumber(String accountNumber) {
-        for (Account account : customer.getAccounts()) {
-            if (account.getAccountNumber().equals(accountNumber)) {
-                return account;
-            }
-        }
-        return null;
+    private boolean hasAccounts() {
+        return snapshot != null && !snapshot.getAccounts().isEmpty();
     }
 
     private void showInfo(String title, String message) {
@@ -1,7 +1,10 @@
 package com.VOLTSBankApp.controller;
 
-import com.VOLTSBankApp.dao.CustomerDAO;
+import com.VOLTSBankApp.dao.DashboardDAO;
+import com.VOLTSBankApp.dao.DashboardSnapshot;
 import com.VOLTSBankApp.model.Customer;
+import com.VOLTSBankApp.service.LoginResult;
+import com.VOLTSBankApp.service.LoginService;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -27,16 +30,25 @@ public class LoginControllerFX {
     @FXML
     private Label messageLabel;
 
-    private CustomerDAO customerDAO;
+    @FXML
+    private ProgressIndicator loginProgress;
+
+    private LoginService loginService;
+    private DashboardDAO dashboardDAO;
+    private BackgroundLoader<DashboardSnapshot> loginLoader;
 
     public void initialize() {
-        customerDAO = new CustomerDAO();
+        loginService = LoginService.getInstance();
+        dashboardDAO = new DashboardDAO();
+        loginLoader = new BackgroundLoader<>("Login", this::setBusy);
         messageLabel.setText("");
+        loginProgress.setVisible(false);
         System.out.println("✅ LoginController initialized");
     }
 
     @FXML
     private void handleLogin() {
+        long loginStartedAt = System.nanoTime();
         String email = emailField.getText().trim();
         String password = passwordField.getText();
 
@@ -57,33 +69,57 @@ public class LoginControllerFX {
             return;
         }
 
-        try {
-            // Authenticate user
-            Customer customer = customerDAO.authenticate(email, password);
+        // Authenticate and load the dashboard off the FX thread
+        loginLoader.load(
+                () -> loadDashboardFor(email, password),
+                snapshot -> onLoginLoaded(snapshot, loginStartedAt),
+                e -> showError("Login failed: " + e.getMessage()));
+    }
 
-            if (customer != null) {
-                // Load customer accounts
-                customerDAO.loadCustomerAccounts(customer);
+    /**
+     * Runs on a background thread; returns null for invalid credentials
+     */
+    private DashboardSnapshot loadDashboardFor(String email, String password) {
+        LoginResult result = loginService.authenticate(email, password);
+        if (result.getStatus() == LoginResult.Status.INVALID_CREDENTIALS) {
+            return null;
+        }
+        if (!result.isSuccess()) {
+            throw new IllegalStateException(result.getMessage());
+        }
+        Customer customer = result.getCustomer();
 
-                System.out.println("✅ Login successful for: " + customer.getFullName());
-                System.out.println("   Customer ID: " + customer.getCustomerId());
-                System.out.println("   Number of accounts: " + customer.getAccounts().size());
+        // Load accounts and recent activity in one round trip
+        DashboardSnapshot snapshot = dashboardDAO.loadSnapshot(
+                customer.getCustomerId(), DashboardControllerFX.RECENT_TRANSACTIONS);
+        if (snapshot == null) {
+            throw new IllegalStateException("Could not load your accounts. Please try again.");
+        }
+        return snapshot;
+    }
 
-                showSuccess("Login successful! Welcome " + customer.getFullName());
+    private void onLoginLoaded(DashboardSnapshot snapshot, long loginStartedAt) {
+        if (snapshot == null) {
+            System.out.println("❌ Login failed: Invalid credentials");
+            showError("Invalid email or password. Please try again.");
+            return;
+        }
+        Customer customer = snapshot.getCustomer();
 
-                // Open Dashboard
-                openDashboard(customer);
+        System.out.println("✅ Login successful for: " + customer.getFullName());
+        System.out.println("   Customer ID: " + customer.getCustomerId());
+        System.out.println("   Number of accounts: " + snapshot.getAccounts().size());
 
-            } else {
-                System.out.println("❌ Login failed: Invalid credentials");
-                showError("Invalid email or password. Please try again.");
-            }
+        showSuccess("Login successful! Welcome " + customer.getFullName());
 
-        } catch (Exception e) {
-            System.err.println("❌ Login error: " + e.getMessage());
-            e.printStackTrace();
-            showError("Login failed: " + e.getMessage());
-        }
+        // Open Dashboard
+        openDashboard(snapshot, loginStartedAt);
+    }
+
+    private void setBusy(boolean busy) {
+        loginProgress.setVisible(busy);
+        loginButton.setDisable(busy);
+        registerButton.setDisable(busy);
     }
 
     @FXML
@@ -96,7 +132,7 @@ public class LoginControllerFX {
                         "Password: password123");
     }
 
-    private void openDashboard(Customer customer) {
+    private void openDashboard(DashboardSnapshot snapshot, long loginStartedAt) {
         try {
             System.out.println("📂 Loading Dashboard...");
 
@@ -106,7 +142,7 @@ public class LoginControllerFX {
 
             // Get Dashboard controller and set customer
             DashboardControllerFX dashboardController = loader.getController();
-            dashboardController.setCustomer(customer);
+            dashboardController.setSnapshot(snapshot);
 
             // Get current stage and switch scene
             Stage stage = (Stage) loginButton.getScene().getWindow();
@@ -115,6 +151,8 @@ public class LoginControllerFX {
             stage.setTitle("VOLTS Bank - Dashboard");
 
             System.out.println("✅ Dashboard opened successfully");
+            System.out.println("   Time to first paint: " +
+                    String.format("%.1f ms", (System.nanoTime() - loginStartedAt) / 1_000_000.0));
 
         } catch (Exception e) {
             System.err.println("❌ Error opening dashboard:");
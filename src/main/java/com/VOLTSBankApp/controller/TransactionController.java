@@ -1,15 +1,36 @@
 package com.VOLTSBankApp.controller;
 
 import com.VOLTSBankApp.dao.AccountDAO;
+import com.VOLTSBankApp.dao.BalanceSnapshotDAO;
+import com.VOLTSBankApp.dao.TransactionArchive;
 import com.VOLTSBankApp.dao.TransactionDAO;
+import com.VOLTSBankApp.dao.TransactionPage;
+import com.VOLTSBankApp.dao.TransactionSummary;
+import com.VOLTSBankApp.dao.TransferReceipt;
 import com.VOLTSBankApp.model.*;
+import com.VOLTSBankApp.service.ArchiveRunResult;
+import com.VOLTSBankApp.service.StatementGenerator;
+import com.VOLTSBankApp.service.StatementResult;
+import com.VOLTSBankApp.service.StatementRunResult;
+import com.VOLTSBankApp.service.TransactionArchiver;
+import com.VOLTSBankApp.storage.Storage;
 import com.VOLTSBankApp.view.TransactionView;
 import com.VOLTSBankApp.interfaces.Withdrawable;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Scanner;
 
 public class TransactionController {
+    private static final int PAGE_SIZE = 20;
+
     private TransactionDAO transactionDAO;
     private AccountDAO accountDAO;
     private TransactionView transactionView;
@@ -46,6 +67,21 @@ public class TransactionController {
                     handleTransactionReport();
                     break;
                 case 5:
+                    handleExportStatement();
+                    break;
+                case 6:
+                    handleMonthEndStatements();
+                    break;
+                case 7:
+                    handleTransfer();
+                    break;
+                case 8:
+                    handleBalanceAsOf();
+                    break;
+                case 9:
+                    handleArchiveOldTransactions();
+                    break;
+                case 10:
                     running = false;
                     System.out.println("Returning to main menu...");
                     break;
@@ -73,11 +109,11 @@ public class TransactionController {
 
         System.out.println("Account: " + account.getAccountNumber());
         System.out.println("Type: " + account.getAccountType().getDisplayName());
-        System.out.println("Current Balance: BWP " + String.format("%.2f", account.getBalance()));
+        System.out.println("Current Balance: BWP " + account.getBalance());
 
-        double amount = getDoubleInput("\nEnter deposit amount (BWP): ");
+        Money amount = getMoneyInput("\nEnter deposit amount (BWP): ");
 
-        if (amount <= 0) {
+        if (!amount.isPositive()) {
             System.out.println("ERROR: Deposit amount must be positive!");
             return;
         }
@@ -89,33 +125,15 @@ public class TransactionController {
         }
 
         // Perform deposit
-        double oldBalance = account.getBalance();
-        if (account.deposit(amount)) {
-            double newBalance = account.getBalance();
-
-            // Update database
-            if (accountDAO.updateAccountBalance(accountNumber, newBalance)) {
-                // Record transaction
-                Transaction transaction = new Transaction(
-                        accountNumber,
-                        "DEPOSIT",
-                        amount,
-                        newBalance,
-                        description
-                );
-
-                if (transactionDAO.createTransaction(transaction)) {
-                    System.out.println("\n✓ SUCCESS: Deposit completed successfully!");
-                    System.out.println("Amount Deposited: BWP " + String.format("%.2f", amount));
-                    System.out.println("Previous Balance: BWP " + String.format("%.2f", oldBalance));
-                    System.out.println("New Balance: BWP " + String.format("%.2f", newBalance));
-                    System.out.println("Transaction ID: " + transaction.getTransactionId());
-                } else {
-                    System.out.println("WARNING: Deposit successful but transaction record failed!");
-                }
-            } else {
-                System.out.println("ERROR: Failed to update account balance!");
-            }
+        Money oldBalance = account.getBalance();
+        Transaction transaction = accountDAO.deposit(accountNumber, amount, description);
+
+        if (transaction != null) {
+            System.out.println("\n✓ SUCCESS: Deposit completed successfully!");
+            System.out.println("Amount Deposited: BWP " + amount);
+            System.out.println("Previous Balance: BWP " + oldBalance);
+            System.out.println("New Balance: BWP " + transaction.getBalanceAfter());
+            System.out.println("Transaction ID: " + transaction.getTransactionId());
         } else {
             System.out.println("ERROR: Deposit failed!");
         }
@@ -139,7 +157,7 @@ public class TransactionController {
 
         System.out.println("Account: " + account.getAccountNumber());
         System.out.println("Type: " + account.getAccountType().getDisplayName());
-        System.out.println("Current Balance: BWP " + String.format("%.2f", account.getBalance()));
+        System.out.println("Current Balance: BWP " + account.getBalance());
 
         // Check if account supports withdrawals
         if (!(account instanceof Withdrawable)) {
@@ -150,19 +168,19 @@ public class TransactionController {
 
         Withdrawable withdrawableAccount = (Withdrawable) account;
         System.out.println("Available Balance: BWP " +
-                String.format("%.2f", withdrawableAccount.getAvailableBalance()));
+                withdrawableAccount.getAvailableBalance());
 
-        double amount = getDoubleInput("\nEnter withdrawal amount (BWP): ");
+        Money amount = getMoneyInput("\nEnter withdrawal amount (BWP): ");
 
-        if (amount <= 0) {
+        if (!amount.isPositive()) {
             System.out.println("ERROR: Withdrawal amount must be positive!");
             return;
         }
 
-        if (amount > withdrawableAccount.getAvailableBalance()) {
+        if (amount.isGreaterThan(withdrawableAccount.getAvailableBalance())) {
             System.out.println("ERROR: Insufficient funds!");
             System.out.println("Available: BWP " +
-                    String.format("%.2f", withdrawableAccount.getAvailableBalance()));
+                    withdrawableAccount.getAvailableBalance());
             return;
         }
 
@@ -173,7 +191,7 @@ public class TransactionController {
         }
 
         // Confirm withdrawal
-        System.out.print("\nConfirm withdrawal of BWP " + String.format("%.2f", amount) + "? (yes/no): ");
+        System.out.print("\nConfirm withdrawal of BWP " + amount + "? (yes/no): ");
         String confirmation = scanner.nextLine();
 
         if (!confirmation.equalsIgnoreCase("yes")) {
@@ -182,35 +200,85 @@ public class TransactionController {
         }
 
         // Perform withdrawal
-        double oldBalance = account.getBalance();
-        if (withdrawableAccount.withdraw(amount)) {
-            double newBalance = account.getBalance();
-
-            // Update database
-            if (accountDAO.updateAccountBalance(accountNumber, newBalance)) {
-                // Record transaction
-                Transaction transaction = new Transaction(
-                        accountNumber,
-                        "WITHDRAWAL",
-                        amount,
-                        newBalance,
-                        description
-                );
-
-                if (transactionDAO.createTransaction(transaction)) {
-                    System.out.println("\n✓ SUCCESS: Withdrawal completed successfully!");
-                    System.out.println("Amount Withdrawn: BWP " + String.format("%.2f", amount));
-                    System.out.println("Previous Balance: BWP " + String.format("%.2f", oldBalance));
-                    System.out.println("New Balance: BWP " + String.format("%.2f", newBalance));
-                    System.out.println("Transaction ID: " + transaction.getTransactionId());
-                } else {
-                    System.out.println("WARNING: Withdrawal successful but transaction record failed!");
-                }
-            } else {
-                System.out.println("ERROR: Failed to update account balance!");
-            }
+        Money oldBalance = account.getBalance();
+        Transaction transaction = accountDAO.withdraw(accountNumber, amount, description);
+
+        if (transaction != null) {
+            System.out.println("\n✓ SUCCESS: Withdrawal completed successfully!");
+            System.out.println("Amount Withdrawn: BWP " + amount);
+            System.out.println("Previous Balance: BWP " + oldBalance);
+            System.out.println("New Balance: BWP " + transaction.getBalanceAfter());
+            System.out.println("Transaction ID: " + transaction.getTransactionId());
+        } else {
+            System.out.println("ERROR: Withdrawal failed! Funds may have changed since the balance was shown.");
+        }
+    }
+
+    /**
+     * Handle a transfer between two accounts, e.g. a customer's Investment and Cheque accounts
+     */
+    private void handleTransfer() {
+        System.out.println("\n=== Transfer Funds ===");
+
+        System.out.print("From Account Number: ");
+        String fromNumber = scanner.nextLine().trim();
+        Account from = accountDAO.getAccountByNumber(fromNumber);
+        if (from == null) {
+            System.out.println("ERROR: Account not found!");
+            return;
+        }
+        if (!(from instanceof Withdrawable)) {
+            System.out.println("ERROR: " + from.getAccountType().getDisplayName() +
+                    " accounts are deposit-only and cannot send transfers.");
+            return;
+        }
+
+        System.out.print("To Account Number: ");
+        String toNumber = scanner.nextLine().trim();
+        if (toNumber.equals(fromNumber)) {
+            System.out.println("ERROR: Choose two different accounts!");
+            return;
+        }
+        Account to = accountDAO.getAccountByNumber(toNumber);
+        if (to == null) {
+            System.out.println("ERROR: Account not found!");
+            return;
+        }
+
+        System.out.println("From: " + from.getAccountNumber() + " (" + from.getAccountType().getDisplayName() +
+                "), balance BWP " + from.getBalance());
+        System.out.println("To:   " + to.getAccountNumber() + " (" + to.getAccountType().getDisplayName() +
+                "), balance BWP " + to.getBalance());
+
+        Money amount = getMoneyInput("\nEnter transfer amount (BWP): ");
+        if (!amount.isPositive()) {
+            System.out.println("ERROR: Transfer amount must be positive!");
+            return;
+        }
+        if (amount.isGreaterThan(((Withdrawable) from).getAvailableBalance())) {
+            System.out.println("ERROR: Insufficient funds!");
+            return;
+        }
+
+        System.out.print("Description (optional): ");
+        String description = scanner.nextLine();
+
+        System.out.print("\nConfirm transfer of BWP " + amount + " to " + toNumber + "? (yes/no): ");
+        if (!scanner.nextLine().equalsIgnoreCase("yes")) {
+            System.out.println("Transfer cancelled.");
+            return;
+        }
+
+        TransferReceipt receipt = accountDAO.transfer(fromNumber, toNumber, amount, description);
+        if (receipt != null) {
+            System.out.println("\n✓ SUCCESS: Transfer completed successfully!");
+            System.out.println("Amount Transferred: BWP " + amount);
+            System.out.println("From Balance: BWP " + receipt.getDebit().getBalanceAfter());
+            System.out.println("To Balance: BWP " + receipt.getCredit().getBalanceAfter());
+            System.out.println("Transaction IDs: " + receipt.getDebit().getTransactionId() +
+                    " / " + receipt.getCredit().getTransactionId());
         } else {
-            System.out.println("ERROR: Withdrawal failed!");
+            System.out.println("ERROR: Transfer failed! Funds may have changed since the balance was shown.");
         }
     }
 
@@ -232,12 +300,13 @@ public class TransactionController {
 
         System.out.println("\nAccount: " + account.getAccountNumber());
         System.out.println("Type: " + account.getAccountType().getDisplayName());
-        System.out.println("Current Balance: BWP " + String.format("%.2f", account.getBalance()));
+        System.out.println("Current Balance: BWP " + account.getBalance());
 
         System.out.println("\nSelect option:");
         System.out.println("1. View All Transactions");
         System.out.println("2. View Recent Transactions (Last 10)");
         System.out.println("3. View by Transaction Type");
+        System.out.println("4. View by Date Range");
 
         int option = getIntInput("Enter choice: ");
 
@@ -245,18 +314,25 @@ public class TransactionController {
 
         switch (option) {
             case 1:
-                transactions = transactionDAO.getTransactionsByAccount(accountNumber);
-                break;
+                pageThroughTransactions(accountNumber, null, null, null);
+                return;
             case 2:
                 transactions = transactionDAO.getRecentTransactions(accountNumber, 10);
                 break;
             case 3:
-                System.out.print("Enter transaction type (DEPOSIT/WITHDRAWAL/INTEREST/OPENING): ");
-                String type = scanner.nextLine().toUpperCase();
-                transactions = transactionDAO.getTransactionsByAccount(accountNumber);
-                // Filter by type
-                transactions.removeIf(t -> !t.getTransactionType().equals(type));
-                break;
+                System.out.print("Enter transaction type (DEPOSIT/WITHDRAWAL/INTEREST/OPENING/TRANSFER_IN/TRANSFER_OUT): ");
+                String type = scanner.nextLine().trim().toUpperCase();
+                pageThroughTransactions(accountNumber, type, null, null);
+                return;
+            case 4:
+                LocalDate fromDate = getDateInput("From date (yyyy-MM-dd): ");
+                LocalDate toDate = getDateInput("To date (yyyy-MM-dd): ");
+                if (fromDate == null || toDate == null) {
+                    return;
+                }
+                pageThroughTransactions(accountNumber, null,
+                        fromDate.atStartOfDay(), toDate.plusDays(1).atStartOfDay());
+                return;
             default:
                 System.out.println("Invalid option!");
                 return;
@@ -286,60 +362,37 @@ public class TransactionController {
             return;
         }
 
-        List<Transaction> transactions = transactionDAO.getTransactionsByAccount(accountNumber);
+        // Statistics are aggregated by the database
+        TransactionSummary summary = transactionDAO.getTransactionSummary(accountNumber, null, null);
 
-        if (transactions.isEmpty()) {
+        if (summary.isEmpty()) {
             System.out.println("\nNo transactions found for this account.");
             return;
         }
 
-        // Calculate statistics
-        int totalTransactions = transactions.size();
-        double totalDeposits = 0;
-        double totalWithdrawals = 0;
-        double totalInterest = 0;
-        int depositCount = 0;
-        int withdrawalCount = 0;
-        int interestCount = 0;
-
-        for (Transaction t : transactions) {
-            switch (t.getTransactionType()) {
-                case "DEPOSIT":
-                case "OPENING":
-                    totalDeposits += t.getAmount();
-                    depositCount++;
-                    break;
-                case "WITHDRAWAL":
-                    totalWithdrawals += t.getAmount();
-                    withdrawalCount++;
-                    break;
-                case "INTEREST":
-                    totalInterest += t.getAmount();
-                    interestCount++;
-                    break;
-            }
-        }
-
         // Display report
         System.out.println("\n╔════════════════════════════════════════════════════╗");
         System.out.println("║           TRANSACTION REPORT                       ║");
         System.out.println("╠════════════════════════════════════════════════════╣");
         System.out.printf("║ Account Number    : %-30s ║%n", accountNumber);
         System.out.printf("║ Account Type      : %-30s ║%n", account.getAccountType().getDisplayName());
-        System.out.printf("║ Current Balance   : BWP %-25s ║%n", String.format("%.2f", account.getBalance()));
+        System.out.printf("║ Current Balance   : BWP %-25s ║%n", account.getBalance());
         System.out.println("╠════════════════════════════════════════════════════╣");
-        System.out.printf("║ Total Transactions: %-30d ║%n", totalTransactions);
+        System.out.printf("║ Total Transactions: %-30d ║%n", summary.getTotalCount());
         System.out.println("╠════════════════════════════════════════════════════╣");
         System.out.printf("║ Deposits          : %-5d (BWP %16s) ║%n",
-                depositCount, String.format("%.2f", totalDeposits));
+                summary.getDepositCount(), summary.getDepositTotal());
         System.out.printf("║ Withdrawals       : %-5d (BWP %16s) ║%n",
-                withdrawalCount, String.format("%.2f", totalWithdrawals));
+                summary.getWithdrawalCount(), summary.getWithdrawalTotal());
         System.out.printf("║ Interest Payments : %-5d (BWP %16s) ║%n",
-                interestCount, String.format("%.2f", totalInterest));
+                summary.getInterestCount(), summary.getInterestTotal());
+        System.out.printf("║ Transfers In      : %-5d (BWP %16s) ║%n",
+                summary.getTransferInCount(), summary.getTransferInTotal());
+        System.out.printf("║ Transfers Out     : %-5d (BWP %16s) ║%n",
+                summary.getTransferOutCount(), summary.getTransferOutTotal());
         System.out.println("╠════════════════════════════════════════════════════╣");
 
-        double netChange = totalDeposits + totalInterest - totalWithdrawals;
-        System.out.printf("║ Net Change        : BWP %-26s ║%n", String.format("%.2f", netChange));
+        System.out.printf("║ Net Change        : BWP %-26s ║%n", summary.getNetChange());
         System.out.println("╚════════════════════════════════════════════════════╝");
 
         // Show recent transactions
@@ -348,6 +401,187 @@ public class TransactionController {
         transactionView.displayTransactionList(recentTransactions);
     }
 
+    /**
+     * Handle a historical balance lookup from the daily balance snapshots
+     */
+    private void handleBalanceAsOf() {
+        System.out.println("\n=== Balance As Of Date ===");
+
+        System.out.print("Enter Account Number: ");
+        String accountNumber = scanner.nextLine().trim();
+        if (accountDAO.getAccountByNumber(accountNumber) == null) {
+            System.out.println("ERROR: Account not found!");
+            return;
+        }
+
+        LocalDate date = getDateInput("Date (yyyy-MM-dd): ");
+        if (date == null) {
+            return;
+        }
+
+        try {
+            Money balance = new BalanceSnapshotDAO().getBalanceAsOf(accountNumber, date);
+            System.out.println("Closing balance on " + date + ": BWP " + balance);
+        } catch (SQLException e) {
+            System.out.println("ERROR: Could not look up the balance: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Handle statement export for one account and date range
+     */
+    private void handleExportStatement() {
+        System.out.println("\n=== Export Statement ===");
+
+        System.out.print("Enter Account Number: ");
+        String accountNumber = scanner.nextLine();
+
+        Account account = accountDAO.getAccountByNumber(accountNumber);
+
+        if (account == null) {
+            System.out.println("ERROR: Account not found!");
+            return;
+        }
+
+        LocalDate fromDate = getDateInput("From date (yyyy-MM-dd): ");
+        LocalDate toDate = getDateInput("To date (yyyy-MM-dd): ");
+        if (fromDate == null || toDate == null) {
+            return;
+        }
+        if (toDate.isBefore(fromDate)) {
+            System.out.println("ERROR: To date is before from date!");
+            return;
+        }
+
+        Path file = Paths.get("statements", accountNumber + "_" + fromDate + "_" + toDate + ".csv");
+        try {
+            StatementResult result = new StatementGenerator().generate(accountNumber, fromDate, toDate, file);
+
+            System.out.println("\nOpening Balance: BWP " + result.getOpeningBalance());
+            System.out.println("Total Credits: BWP " + result.getTotalCredits());
+            System.out.println("Total Debits: BWP " + result.getTotalDebits());
+            System.out.println("Closing Balance: BWP " + result.getClosingBalance());
+            System.out.println("Transactions: " + result.getTransactionCount());
+
+            if (result.isReconciled()) {
+                System.out.println("\nSUCCESS: Statement written to " + result.getFile().toAbsolutePath());
+            } else {
+                System.out.println("\nWARNING: Statement written to " + result.getFile().toAbsolutePath() +
+                        " but its totals do not reconcile with the recorded balances.");
+            }
+        } catch (SQLException | IOException e) {
+            System.err.println("Error exporting statement");
+            e.printStackTrace();
+            System.out.println("ERROR: Statement export failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Handle month-end statement generation for every account
+     */
+    private void handleMonthEndStatements() {
+        System.out.println("\n=== Month-End Statements ===");
+
+        System.out.print("Enter month (yyyy-MM): ");
+        String input = scanner.nextLine().trim();
+        YearMonth month;
+        try {
+            month = YearMonth.parse(input);
+        } catch (DateTimeParseException e) {
+            System.out.println("ERROR: Invalid month '" + input + "'. Use yyyy-MM.");
+            return;
+        }
+
+        Path outputDir = Paths.get("statements", month.toString());
+        System.out.println("Generating statements...");
+        try {
+            StatementRunResult result = new StatementGenerator().generateMonthEnd(month, outputDir);
+
+            System.out.println("\nStatements Written: " + result.getStatementsWritten());
+            System.out.println("Transactions Written: " + result.getTransactionsWritten());
+            System.out.println("Failed: " + result.getStatementsFailed());
+            System.out.println("Not Reconciled: " + result.getStatementsUnreconciled());
+            System.out.println("Elapsed: " + String.format("%.2f s", result.getElapsedSeconds()) +
+                    " (" + String.format("%.1f", result.getStatementsPerSecond()) + " statements/s)");
+
+            if (result.isComplete()) {
+                System.out.println("\nSUCCESS: Statements written to " + outputDir.toAbsolutePath());
+            } else {
+                System.out.println("\nWARNING: Some statements failed. Run again to regenerate them.");
+            }
+        } catch (SQLException | IOException e) {
+            System.err.println("Error generating month-end statements");
+            e.printStackTrace();
+            System.out.println("ERROR: Statement run failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Handle moving months older than the archive horizon out of the live table
+     */
+    private void handleArchiveOldTransactions() {
+        System.out.println("\n=== Archive Old Transactions ===");
+
+        if (Storage.isInMemory()) {
+            System.out.println("ERROR: The in-memory ledger is not archived.");
+            return;
+        }
+
+        TransactionArchiver archiver = new TransactionArchiver();
+        System.out.println("Archiving months that ended more than " + archiver.getHorizonMonths() +
+                " months ago...");
+        System.out.println("Archived months leave the live table on a run at least " +
+                TransactionArchive.CATALOG_TTL_MILLIS / 1000 + " s later, once other instances see the archive.");
+        try {
+            ArchiveRunResult result = archiver.run();
+            if (result.isEmpty()) {
+                System.out.println("\nNothing to archive.");
+                return;
+            }
+
+            System.out.println("\nMonths Archived: " + result.getMonthsArchived());
+            System.out.println("Live Partitions Dropped: " + result.getMonthsDropped());
+            System.out.println("Transactions Archived: " + result.getRowsArchived());
+            System.out.println("Archive Size: " + result.getArchiveBytes() / 1024 + " KiB (" +
+                    String.format("%.0f%%", result.getCompressionRatio() * 100) + " of the live table space)");
+            System.out.println("Elapsed: " + String.format("%.2f s", result.getElapsedSeconds()));
+            System.out.println("\nSUCCESS: Archive files are in " + TransactionArchive.getDirectory().toAbsolutePath());
+        } catch (SQLException | IOException e) {
+            System.err.println("Error archiving transactions");
+            e.printStackTrace();
+            System.out.println("ERROR: Archive run failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Page through an account's transactions, newest first
+     * Type and date filters are optional and applied in SQL
+     */
+    private void pageThroughTransactions(String accountNumber, String type,
+                                         LocalDateTime from, LocalDateTime to) {
+        TransactionPage page = transactionDAO.getTransactionPage(accountNumber, type, from, to, null, PAGE_SIZE);
+        if (page.isEmpty()) {
+            System.out.println("\nNo transactions found.");
+            return;
+        }
+
+        int pageNumber = 1;
+        while (true) {
+            System.out.println("\n--- Transactions (Page " + pageNumber + ") ---");
+            transactionView.displayTransactionList(page.getTransactions());
+
+            if (!page.hasMore()) {
+                break;
+            }
+            System.out.print("Show next page? (yes/no): ");
+            if (!scanner.nextLine().equalsIgnoreCase("yes")) {
+                break;
+            }
+            page = transactionDAO.getTransactionPage(accountNumber, type, from, to, page.getLast(), PAGE_SIZE);
+            pageNumber++;
+        }
+    }
+
     /**
      * Get integer input with validation
      */
@@ -363,15 +597,29 @@ public class TransactionController {
     }
 
     /**
-     * Get double input with validation
+     * Get date input; returns null after reporting an invalid date
+     */
+    private LocalDate getDateInput(String prompt) {
+        System.out.print(prompt);
+        String input = scanner.nextLine().trim();
+        try {
+            return LocalDate.parse(input);
+        } catch (DateTimeParseException e) {
+            System.out.println("ERROR: Invalid date '" + input + "'. Use yyyy-MM-dd.");
+            return null;
+        }
+    }
+
+    /**
+     * Get money input with validation
      */
-    private double getDoubleInput(String prompt) {
+    private Money getMoneyInput(String prompt) {
         System.out.print(prompt);
-        while (!scanner.hasNextDouble()) {
+        while (!scanner.hasNextBigDecimal()) {
             scanner.next();
             System.out.print("Invalid input. Please enter a number: ");
         }
-        double value = scanner.nextDouble();
+        Money value = Money.fromDecimal(scanner.nextBigDecimal());
         scanner.nextLine(); // Consume newline
         return value;
     }
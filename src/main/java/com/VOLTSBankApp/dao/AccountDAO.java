@@ -1,70 +1,103 @@
 package com.VOLTSBankApp.dao;
 
 import com.VOLTSBankApp.interfaces.InterestBearing;
+import com.VOLTSBankApp.metrics.DaoMetrics;
 import com.VOLTSBankApp.model.*;
+import com.VOLTSBankApp.storage.LedgerStore;
+import com.VOLTSBankApp.storage.Storage;
+import com.VOLTSBankApp.util.BoundedCache;
 import com.VOLTSBankApp.util.DatabaseConnection;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 public class AccountDAO {
+    private static final int CACHE_MAX_SIZE = 10_000;
+    private static final long CACHE_TTL_MILLIS = 30_000;
+    private static final int MAX_TRANSFER_ATTEMPTS = 3;
+
+    // Shared by every AccountDAO; holds private copies that are never handed out
+    private static final BoundedCache<String, Account> CACHE =
+            new BoundedCache<>(CACHE_MAX_SIZE, CACHE_TTL_MILLIS);
+
+    // Non-JDBC engine, or null for MySQL
+    private final LedgerStore store;
+
+    public AccountDAO() {
+        this(Storage.getStore());
+    }
+
+    public AccountDAO(LedgerStore store) {
+        this.store = store;
+    }
 
     /**
      * Create new account
+     * The OPENING transaction row is written on the same connection and committed with the account.
      */
     public boolean createAccount(Account account) {
-        String sql = "INSERT INTO accounts (account_number, customer_id, account_type, balance, " +
-                "branch, accrued_interest, employer_name, employer_address) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        if (store != null) {
+            return store.createAccount(account);
+        }
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, account.getAccountNumber());
-            pstmt.setInt(2, account.getCustomer().getCustomerId());
-            pstmt.setString(3, account.getAccountType().name());
-            pstmt.setDouble(4, account.getBalance());
-            pstmt.setString(5, account.getBranch());
-
-            // Set accrued interest for interest-bearing accounts
-            if (account instanceof InterestBearing) {
-                if (account instanceof SavingsAccount) {
-                    pstmt.setDouble(6, ((SavingsAccount) account).getAccruedInterest());
-                } else if (account instanceof InvestmentAccount) {
-                    pstmt.setDouble(6, ((InvestmentAccount) account).getAccruedInterest());
+        DaoMetrics.Call call = DaoMetrics.begin("AccountDAO.createAccount");
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(Statements.ACCOUNT_INSERT);
+                 PreparedStatement opening = conn.prepareStatement(Statements.OPENING_TRANSACTION_INSERT)) {
+
+                pstmt.setString(1, account.getAccountNumber());
+                pstmt.setInt(2, account.getCustomer().getCustomerId());
+                pstmt.setString(3, account.getAccountType().name());
+                pstmt.setBigDecimal(4, account.getBalance().toDecimal());
+                pstmt.setString(5, account.getBranch());
+
+                // Set accrued interest for interest-bearing accounts
+                if (account instanceof InterestBearing) {
+                    if (account instanceof SavingsAccount) {
+                        pstmt.setBigDecimal(6, ((SavingsAccount) account).getAccruedInterest().toDecimal());
+                    } else if (account instanceof InvestmentAccount) {
+                        pstmt.setBigDecimal(6, ((InvestmentAccount) account).getAccruedInterest().toDecimal());
+                    }
+                } else {
+                    pstmt.setBigDecimal(6, Money.ZERO.toDecimal());
                 }
-            } else {
-                pstmt.setDouble(6, 0.0);
-            }
 
-            // Set employer details for cheque accounts
-            if (account instanceof ChequeAccount) {
-                ChequeAccount chequeAccount = (ChequeAccount) account;
-                pstmt.setString(7, chequeAccount.getEmployerName());
-                pstmt.setString(8, chequeAccount.getEmployerAddress());
-            } else {
-                pstmt.setNull(7, Types.VARCHAR);
-                pstmt.setNull(8, Types.VARCHAR);
-            }
+                // Set employer details for cheque accounts
+                if (account instanceof ChequeAccount) {
+                    ChequeAccount chequeAccount = (ChequeAccount) account;
+                    pstmt.setString(7, chequeAccount.getEmployerName());
+                    pstmt.setString(8, chequeAccount.getEmployerAddress());
+                } else {
+                    pstmt.setNull(7, Types.VARCHAR);
+                    pstmt.setNull(8, Types.VARCHAR);
+                }
 
-            int result = pstmt.executeUpdate();
-
-            // Record opening transaction
-            if (result > 0 && account.getBalance() > 0) {
-                TransactionDAO transactionDAO = new TransactionDAO();
-                Transaction transaction = new Transaction(
-                        account.getAccountNumber(),
-                        "OPENING",
-                        account.getBalance(),
-                        account.getBalance(),
-                        "Account opening deposit"
-                );
-                transactionDAO.createTransaction(transaction);
-            }
+                int result = pstmt.executeUpdate();
+                call.rows(result);
 
-            return result > 0;
+                // Record opening transaction
+                if (result > 0 && account.getBalance().isPositive()) {
+                    opening.setString(1, account.getAccountNumber());
+                    opening.setBigDecimal(2, account.getBalance().toDecimal());
+                    opening.setBigDecimal(3, account.getBalance().toDecimal());
+                    opening.executeUpdate();
+                }
+
+                conn.commit();
+                return result > 0;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
         } catch (SQLException e) {
+            call.failed(e);
             System.err.println("Error creating account");
             e.printStackTrace();
+        } finally {
+            call.end();
         }
         return false;
     }
@@ -73,20 +106,36 @@ public class AccountDAO {
      * Get account by account number
      */
     public Account getAccountByNumber(String accountNumber) {
-        String sql = "SELECT * FROM accounts WHERE account_number = ?";
+        if (store != null) {
+            return store.findAccount(accountNumber);
+        }
 
+        Account cached = CACHE.get(accountNumber);
+        if (cached != null) {
+            return copyAccount(cached);
+        }
+
+        long stamp = CACHE.stamp();
+
+        DaoMetrics.Call call = DaoMetrics.begin("AccountDAO.getAccountByNumber");
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(Statements.ACCOUNT_BY_NUMBER)) {
 
             pstmt.setString(1, accountNumber);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractAccountFromResultSet(rs);
+                Account account = RowMappers.ACCOUNT.map(rs);
+                CACHE.putIfFresh(accountNumber, copyAccount(account), stamp);
+                call.rows(1);
+                return account;
             }
         } catch (SQLException e) {
+            call.failed(e);
             System.err.println("Error getting account");
             e.printStackTrace();
+        } finally {
+            call.end();
         }
         return null;
     }
@@ -95,63 +144,380 @@ public class AccountDAO {
      * Load all accounts for a customer
      */
     public void loadAccountsForCustomer(Customer customer) {
-        String sql = "SELECT * FROM accounts WHERE customer_id = ?";
+        if (store != null) {
+            customer.getAccounts().clear();
+            for (Account account : store.findAccountsByCustomer(customer.getCustomerId())) {
+                account.setCustomer(customer);
+                customer.addAccount(account);
+            }
+            return;
+        }
 
+        long stamp = CACHE.stamp();
+
+        DaoMetrics.Call call = DaoMetrics.begin("AccountDAO.loadAccountsForCustomer");
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(Statements.ACCOUNTS_BY_CUSTOMER)) {
 
             pstmt.setInt(1, customer.getCustomerId());
             ResultSet rs = pstmt.executeQuery();
 
             customer.getAccounts().clear();
             while (rs.next()) {
-                Account account = extractAccountFromResultSet(rs);
+                Account account = RowMappers.ACCOUNT.map(rs);
+                CACHE.putIfFresh(account.getAccountNumber(), copyAccount(account), stamp);
                 account.setCustomer(customer);
                 customer.addAccount(account);
             }
+            call.rows(customer.getAccounts().size());
         } catch (SQLException e) {
+            call.failed(e);
             System.err.println("Error loading customer accounts");
             e.printStackTrace();
+        } finally {
+            call.end();
         }
     }
 
+    /**
+     * List a customer's accounts as summary rows, in account-number order
+     * Reads only the four columns a list shows; use getAccountByNumber for one account's details.
+     */
+    public List<AccountSummary> getAccountSummaries(int customerId) {
+        List<AccountSummary> summaries = new ArrayList<>();
+        if (store != null) {
+            for (Account account : store.findAccountsByCustomer(customerId)) {
+                summaries.add(summarize(account));
+            }
+            summaries.sort(Comparator.comparing(AccountSummary::getAccountNumber));
+            return summaries;
+        }
+
+        DaoMetrics.Call call = DaoMetrics.begin("AccountDAO.getAccountSummaries");
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(Statements.ACCOUNT_SUMMARIES_BY_CUSTOMER)) {
+
+            pstmt.setInt(1, customerId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    summaries.add(RowMappers.ACCOUNT_SUMMARY.map(rs));
+                }
+            }
+            call.rows(summaries.size());
+        } catch (SQLException e) {
+            call.failed(e);
+            System.err.println("Error listing customer accounts");
+            e.printStackTrace();
+        } finally {
+            call.end();
+        }
+        return summaries;
+    }
+
+    /**
+     * Summary row for an account already in memory
+     */
+    public static AccountSummary summarize(Account account) {
+        return new AccountSummary(account.getAccountNumber(), account.getAccountType(),
+                account.getBranch(), account.getBalance());
+    }
+
     /**
      * Update account balance
      */
-    public boolean updateAccountBalance(String accountNumber, double newBalance) {
-        String sql = "UPDATE accounts SET balance = ? WHERE account_number = ?";
+    public boolean updateAccountBalance(String accountNumber, Money newBalance) {
+        if (store != null) {
+            return store.setBalance(accountNumber, newBalance);
+        }
 
+        DaoMetrics.Call call = DaoMetrics.begin("AccountDAO.updateAccountBalance");
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(Statements.ACCOUNT_SET_BALANCE)) {
 
-            pstmt.setDouble(1, newBalance);
+            pstmt.setBigDecimal(1, newBalance.toDecimal());
             pstmt.setString(2, accountNumber);
 
-            return pstmt.executeUpdate() > 0;
+            int rows = pstmt.executeUpdate();
+            call.rows(rows);
+            return rows > 0;
         } catch (SQLException e) {
+            call.failed(e);
             System.err.println("Error updating account balance");
             e.printStackTrace();
+        } finally {
+            call.end();
+            CACHE.invalidate(accountNumber);
         }
         return false;
     }
 
+    /**
+     * Deposit funds and record the transaction atomically
+     * Returns the recorded transaction (with new balance and id), or null if the account does not exist
+     */
+    public Transaction deposit(String accountNumber, Money amount, String description) {
+        return applyBalanceChange(Statements.ACCOUNT_CREDIT, false, accountNumber, amount, "DEPOSIT", description);
+    }
+
+    /**
+     * Withdraw funds and record the transaction atomically
+     * The balance guard runs in the UPDATE itself, so concurrent withdrawals cannot overdraw.
+     * Returns the recorded transaction, or null if the account is missing, deposit-only or has insufficient funds
+     */
+    public Transaction withdraw(String accountNumber, Money amount, String description) {
+        return applyBalanceChange(Statements.ACCOUNT_DEBIT, true, accountNumber, amount, "WITHDRAWAL", description);
+    }
+
+    /**
+     * Apply a relative balance update, read back the new balance and insert the
+     * transaction row in one DB transaction. The UPDATE takes the row lock first,
+     * so concurrent callers on the same account serialize instead of losing updates.
+     */
+    private Transaction applyBalanceChange(String updateSql, boolean overdraftGuard, String accountNumber,
+                                           Money amount, String transactionType, String description) {
+        if (!amount.isPositive()) {
+            return null;
+        }
+        if (store != null) {
+            return store.applyBalanceChange(accountNumber, amount, overdraftGuard, transactionType, description);
+        }
+
+        DaoMetrics.Call call = DaoMetrics.begin(transactionType.equals("DEPOSIT") ?
+                "AccountDAO.deposit" : "AccountDAO.withdraw");
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement update = conn.prepareStatement(updateSql);
+                 PreparedStatement select = conn.prepareStatement(Statements.ACCOUNT_BALANCE);
+                 PreparedStatement insert = conn.prepareStatement(Statements.TRANSACTION_INSERT,
+                         Statement.RETURN_GENERATED_KEYS)) {
+
+                update.setBigDecimal(1, amount.toDecimal());
+                update.setString(2, accountNumber);
+                if (overdraftGuard) {
+                    update.setBigDecimal(3, amount.toDecimal());
+                }
+                if (update.executeUpdate() == 0) {
+                    conn.rollback();
+                    return null;
+                }
+
+                select.setString(1, accountNumber);
+                Money newBalance;
+                try (ResultSet rs = select.executeQuery()) {
+                    if (!rs.next()) {
+                        conn.rollback();
+                        return null;
+                    }
+                    newBalance = Money.fromDecimal(rs.getBigDecimal(1));
+                }
+
+                Transaction transaction = new Transaction(accountNumber, transactionType,
+                        amount, newBalance, description);
+                insert.setString(1, accountNumber);
+                insert.setString(2, transactionType);
+                insert.setBigDecimal(3, amount.toDecimal());
+                insert.setBigDecimal(4, newBalance.toDecimal());
+                insert.setString(5, description);
+                insert.executeUpdate();
+
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    if (keys.next()) {
+                        transaction.setTransactionId(keys.getInt(1));
+                    }
+                }
+
+                conn.commit();
+                call.rows(1);
+                return transaction;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            call.failed(e);
+            System.err.println("Error applying " + transactionType.toLowerCase() + " to account");
+            e.printStackTrace();
+        } finally {
+            call.end();
+            CACHE.invalidate(accountNumber);
+        }
+        return null;
+    }
+
+    /**
+     * Move funds between two accounts and record both sides in one DB transaction
+     * Returns the TRANSFER_OUT/TRANSFER_IN pair, or null if either account is missing, the
+     * source is deposit-only or short of funds, or both numbers name the same account.
+     */
+    public TransferReceipt transfer(String fromAccount, String toAccount, Money amount, String description) {
+        if (!amount.isPositive() || fromAccount == null || toAccount == null || fromAccount.equals(toAccount)) {
+            return null;
+        }
+        if (store != null) {
+            return store.transfer(fromAccount, toAccount, amount, description);
+        }
+
+        DaoMetrics.Call call = DaoMetrics.begin("AccountDAO.transfer");
+        try {
+            TransferReceipt receipt = retryIfDeadlocked(
+                    () -> transferOnce(fromAccount, toAccount, amount, description));
+            call.rows(receipt == null ? 0 : 2);
+            return receipt;
+        } catch (SQLException e) {
+            call.failed(e);
+            System.err.println("Error transferring between accounts");
+            e.printStackTrace();
+        } finally {
+            call.end();
+            CACHE.invalidate(fromAccount);
+            CACHE.invalidate(toAccount);
+        }
+        return null;
+    }
+
+    /**
+     * Run a transfer attempt, retrying up to MAX_TRANSFER_ATTEMPTS times if it is picked as a
+     * deadlock victim. Ordered locking rules out deadlocks between transfers, but another
+     * writer could still deadlock with one. Any other error is thrown straight away.
+     */
+    static TransferReceipt retryIfDeadlocked(TransferAttempt transfer) throws SQLException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transfer.run();
+            } catch (SQLException e) {
+                if (!"40001".equals(e.getSQLState()) || attempt == MAX_TRANSFER_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * The order a transfer locks its two accounts in: account-number order, whichever way
+     * the money moves
+     */
+    static String[] lockOrder(String fromAccount, String toAccount) {
+        return fromAccount.compareTo(toAccount) < 0
+                ? new String[]{fromAccount, toAccount} : new String[]{toAccount, fromAccount};
+    }
+
+    /**
+     * One database transaction of a transfer, as retried by retryIfDeadlocked
+     */
+    interface TransferAttempt {
+        TransferReceipt run() throws SQLException;
+    }
+
+    /**
+     * One attempt at a transfer. Both rows are locked by their UPDATEs in lockOrder, so two
+     * transfers over the same pair always queue on the same first lock instead of each
+     * holding the other's row.
+     */
+    private TransferReceipt transferOnce(String fromAccount, String toAccount, Money amount,
+                                         String description) throws SQLException {
+        String[] lockOrder = lockOrder(fromAccount, toAccount);
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement debit = conn.prepareStatement(Statements.ACCOUNT_DEBIT);
+                 PreparedStatement credit = conn.prepareStatement(Statements.ACCOUNT_CREDIT);
+                 PreparedStatement select = conn.prepareStatement(Statements.ACCOUNT_PAIR_BALANCES);
+                 PreparedStatement insert = conn.prepareStatement(Statements.TRANSFER_INSERT,
+                         Statement.RETURN_GENERATED_KEYS)) {
+
+                for (String accountNumber : lockOrder) {
+                    PreparedStatement update = accountNumber.equals(fromAccount) ? debit : credit;
+                    update.setBigDecimal(1, amount.toDecimal());
+                    update.setString(2, accountNumber);
+                    if (update == debit) {
+                        update.setBigDecimal(3, amount.toDecimal());
+                    }
+                    if (update.executeUpdate() == 0) {
+                        conn.rollback();
+                        return null;
+                    }
+                }
+
+                Money fromBalance = null;
+                Money toBalance = null;
+                select.setString(1, fromAccount);
+                select.setString(2, toAccount);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        Money balance = Money.fromDecimal(rs.getBigDecimal(2));
+                        if (fromAccount.equals(rs.getString(1))) {
+                            fromBalance = balance;
+                        } else {
+                            toBalance = balance;
+                        }
+                    }
+                }
+                if (fromBalance == null || toBalance == null) {
+                    conn.rollback();
+                    return null;
+                }
+
+                String outDescription = description == null || description.isBlank()
+                        ? "Transfer to " + toAccount : description;
+                String inDescription = description == null || description.isBlank()
+                        ? "Transfer from " + fromAccount : description;
+                Transaction out = new Transaction(fromAccount, "TRANSFER_OUT", amount, fromBalance, outDescription);
+                Transaction in = new Transaction(toAccount, "TRANSFER_IN", amount, toBalance, inDescription);
+
+                int p = 1;
+                for (Transaction transaction : new Transaction[]{out, in}) {
+                    insert.setString(p++, transaction.getAccountNumber());
+                    insert.setBigDecimal(p++, amount.toDecimal());
+                    insert.setBigDecimal(p++, transaction.getBalanceAfter().toDecimal());
+                    insert.setString(p++, transaction.getDescription());
+                }
+                insert.executeUpdate();
+
+                // A multi-row INSERT hands out consecutive ids in row order
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    if (keys.next()) {
+                        out.setTransactionId(keys.getInt(1));
+                    }
+                    if (keys.next()) {
+                        in.setTransactionId(keys.getInt(1));
+                    }
+                }
+
+                conn.commit();
+                return new TransferReceipt(out, in);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
     /**
      * Update account with interest
      */
-    public boolean updateAccountWithInterest(String accountNumber, double newBalance, double accruedInterest) {
-        String sql = "UPDATE accounts SET balance = ?, accrued_interest = ? WHERE account_number = ?";
+    public boolean updateAccountWithInterest(String accountNumber, Money newBalance, Money accruedInterest) {
+        if (store != null) {
+            return store.setBalanceAndInterest(accountNumber, newBalance, accruedInterest);
+        }
 
+        DaoMetrics.Call call = DaoMetrics.begin("AccountDAO.updateAccountWithInterest");
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(Statements.ACCOUNT_SET_BALANCE_AND_INTEREST)) {
 
-            pstmt.setDouble(1, newBalance);
-            pstmt.setDouble(2, accruedInterest);
+            pstmt.setBigDecimal(1, newBalance.toDecimal());
+            pstmt.setBigDecimal(2, accruedInterest.toDecimal());
             pstmt.setString(3, accountNumber);
 
-            return pstmt.executeUpdate() > 0;
+            int rows = pstmt.executeUpdate();
+            call.rows(rows);
+            return rows > 0;
         } catch (SQLException e) {
+            call.failed(e);
             System.err.println("Error updating account with interest");
             e.printStackTrace();
+        } finally {
+            call.end();
+            CACHE.invalidate(accountNumber);
         }
         return false;
     }
@@ -160,67 +526,72 @@ public class AccountDAO {
      * Delete account
      */
     public boolean deleteAccount(String accountNumber) {
-        String sql = "DELETE FROM accounts WHERE account_number = ?";
+        if (store != null) {
+            return store.deleteAccount(accountNumber);
+        }
 
+        DaoMetrics.Call call = DaoMetrics.begin("AccountDAO.deleteAccount");
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(Statements.ACCOUNT_DELETE)) {
 
             pstmt.setString(1, accountNumber);
-            return pstmt.executeUpdate() > 0;
+            int rows = pstmt.executeUpdate();
+            call.rows(rows);
+            return rows > 0;
         } catch (SQLException e) {
+            call.failed(e);
             System.err.println("Error deleting account");
             e.printStackTrace();
+        } finally {
+            call.end();
+            CACHE.invalidate(accountNumber);
         }
         return false;
     }
 
     /**
-     * Extract account object from ResultSet
+     * Drop every cached account, e.g. after a bulk job updated the accounts table directly
      */
-    private Account extractAccountFromResultSet(ResultSet rs) throws SQLException {
-        String accountType = rs.getString("account_type");
-        String accountNumber = rs.getString("account_number");
-        String branch = rs.getString("branch");
-        double balance = rs.getDouble("balance");
-        double accruedInterest = rs.getDouble("accrued_interest");
+    public static void invalidateCache() {
+        CACHE.invalidateAll();
+    }
 
-        Account account = null;
+    /**
+     * Get account cache metrics (hits, misses, evictions)
+     */
+    public static BoundedCache.Stats getCacheStats() {
+        return CACHE.getStats();
+    }
 
-        switch (AccountType.valueOf(accountType)) {
+    /**
+     * Copy an account so cached instances are never shared with callers
+     */
+    private Account copyAccount(Account source) {
+        Account copy;
+        switch (source.getAccountType()) {
             case SAVINGS:
                 SavingsAccount savingsAccount = new SavingsAccount();
-                savingsAccount.setAccountNumber(accountNumber);
-                savingsAccount.setBranch(branch);
-                savingsAccount.setBalance(balance);
-                account = savingsAccount;
+                savingsAccount.setAccruedInterest(((SavingsAccount) source).getAccruedInterest());
+                copy = savingsAccount;
                 break;
-
             case INVESTMENT:
                 InvestmentAccount investmentAccount = new InvestmentAccount();
-                investmentAccount.setAccountNumber(accountNumber);
-                investmentAccount.setBranch(branch);
-                investmentAccount.setBalance(balance);
-                account = investmentAccount;
+                investmentAccount.setAccruedInterest(((InvestmentAccount) source).getAccruedInterest());
+                copy = investmentAccount;
                 break;
-
             case CHEQUE:
                 ChequeAccount chequeAccount = new ChequeAccount();
-                chequeAccount.setAccountNumber(accountNumber);
-                chequeAccount.setBranch(branch);
-                chequeAccount.setBalance(balance);
-                chequeAccount.setEmployerName(rs.getString("employer_name"));
-                chequeAccount.setEmployerAddress(rs.getString("employer_address"));
-                account = chequeAccount;
+                chequeAccount.setEmployerName(((ChequeAccount) source).getEmployerName());
+                chequeAccount.setEmployerAddress(((ChequeAccount) source).getEmployerAddress());
+                copy = chequeAccount;
                 break;
+            default:
+                throw new IllegalArgumentException("Unknown account type: " + source.getAccountType());
         }
-
-        if (account != null) {
-            Timestamp timestamp = rs.getTimestamp("date_opened");
-            if (timestamp != null) {
-                account.setDateOpened(timestamp.toLocalDateTime());
-            }
-        }
-
-        return account;
+        copy.setAccountNumber(source.getAccountNumber());
+        copy.setBranch(source.getBranch());
+        copy.setBalance(source.getBalance());
+        copy.setDateOpened(source.getDateOpened());
+        return copy;
     }
 }
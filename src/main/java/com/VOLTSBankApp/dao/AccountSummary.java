@@ -0,0 +1,36 @@
+package com.VOLTSBankApp.dao;
+
+import com.VOLTSBankApp.model.AccountType;
+import com.VOLTSBankApp.model.Money;
+
+/**
+ * AccountSummary - One row of an account list: number, type, branch and balance
+ * Load the full Account with AccountDAO.getAccountByNumber when a screen needs its details.
+ */
+public class AccountSummary {
+    private final String accountNumber;
+    private final AccountType accountType;
+    private final String branch;
+    private final Money balance;
+
+    public AccountSummary(String accountNumber, AccountType accountType, String branch, Money balance) {
+        this.accountNumber = accountNumber;
+        this.accountType = accountType;
+        this.branch = branch;
+        this.balance = balance;
+    }
+
+    public String getAccountNumber() { return accountNumber; }
+    public AccountType getAccountType() { return accountType; }
+    public String getBranch() { return branch; }
+    public Money getBalance() { return balance; }
+
+    @Override
+    public String toString() {
+        return "AccountSummary{" +
+                "accountNumber='" + accountNumber + '\'' +
+                ", accountType=" + accountType +
+                ", balance=" + balance +
+                '}';
+    }
+}
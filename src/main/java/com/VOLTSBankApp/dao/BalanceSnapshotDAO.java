@@ -0,0 +1,277 @@
+package com.VOLTSBankApp.dao;
+
+import com.VOLTSBankApp.metrics.DaoMetrics;
+import com.VOLTSBankApp.model.Money;
+import com.VOLTSBankApp.model.Transaction;
+import com.VOLTSBankApp.schema.SchemaMigrator;
+import com.VOLTSBankApp.storage.LedgerStore;
+import com.VOLTSBankApp.storage.Storage;
+import com.VOLTSBankApp.util.DatabaseConnection;
+import com.VOLTSBankApp.util.MultiRowStatement;
+import com.VOLTSBankApp.util.StatementRegistry;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BalanceSnapshotDAO - End-of-day balances per account, kept in daily_balances
+ *
+ * refresh() folds the transactions added since the previous refresh into one row per
+ * account and day: that day's closing balance and the id of the last transaction it
+ * covers. getBalanceAsOf() then reads the newest snapshot on or before the date and
+ * replays only the rows no refresh has folded yet, i.e. whatever arrived since the last
+ * refresh. Run refresh() at least daily to keep that to one day.
+ */
+public class BalanceSnapshotDAO {
+    public static final int DEFAULT_REFRESH_BATCH = 5_000;
+
+    // Rows younger than this are left for the next refresh, so a transaction that
+    // commits after a later id is already visible is never skipped by the watermark
+    private static final int REFRESH_LAG_SECONDS = 60;
+
+    private static final String LOCK_PROGRESS_SQL = StatementRegistry.define(
+            "SELECT last_transaction_id FROM daily_balance_progress WHERE id = 1 FOR UPDATE");
+
+    private static final String UPDATE_PROGRESS_SQL = StatementRegistry.define(
+            "UPDATE daily_balance_progress SET last_transaction_id = ? WHERE id = 1");
+
+    private static final String NEW_TRANSACTIONS_SQL = StatementRegistry.define(
+            "SELECT transaction_id, account_number, transaction_date, balance_after FROM transactions " +
+                    "WHERE transaction_id > ? AND transaction_date < ? ORDER BY transaction_id LIMIT ?");
+
+    // Assignments run left to right: the balance compares against the old last_transaction_id
+    private static final MultiRowStatement UPSERT = new MultiRowStatement(
+            "INSERT INTO daily_balances (account_number, balance_date, closing_balance, last_transaction_id) VALUES ",
+            "(?, ?, ?, ?)",
+            " ON DUPLICATE KEY UPDATE " +
+                    "closing_balance = IF(VALUES(last_transaction_id) > last_transaction_id, " +
+                    "VALUES(closing_balance), closing_balance), " +
+                    "last_transaction_id = GREATEST(last_transaction_id, VALUES(last_transaction_id))",
+            64, 16, 4, 1);
+
+    private static final String LATEST_SNAPSHOT_SQL = StatementRegistry.define(
+            "SELECT closing_balance FROM daily_balances " +
+                    "WHERE account_number = ? AND balance_date <= ? ORDER BY balance_date DESC LIMIT 1");
+
+    // Every row at or below the watermark is already in a snapshot, so only newer rows are read
+    private static final String REPLAY_SQL = StatementRegistry.define(
+            "SELECT balance_after FROM transactions WHERE account_number = ? " +
+                    "AND transaction_id > (SELECT last_transaction_id FROM daily_balance_progress WHERE id = 1) " +
+                    "AND transaction_date < ? ORDER BY transaction_id DESC LIMIT 1");
+
+    private static final String CLOSING_BALANCES_SQL = StatementRegistry.define(
+            "SELECT s.account_number, s.closing_balance FROM daily_balances s " +
+                    "JOIN (SELECT account_number, MAX(balance_date) AS balance_date FROM daily_balances " +
+                    "WHERE account_number BETWEEN ? AND ? AND balance_date <= ? GROUP BY account_number) latest " +
+                    "ON latest.account_number = s.account_number AND latest.balance_date = s.balance_date");
+
+    // Non-JDBC engine, or null for MySQL
+    private final LedgerStore store;
+
+    public BalanceSnapshotDAO() {
+        this(Storage.getStore());
+    }
+
+    public BalanceSnapshotDAO(LedgerStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Fold every settled transaction since the last refresh into daily_balances
+     * Returns the number of transactions folded. Concurrent refreshes queue on the progress row.
+     */
+    public long refresh() throws SQLException {
+        return refresh(DEFAULT_REFRESH_BATCH);
+    }
+
+    public long refresh(int batchSize) throws SQLException {
+        if (store != null) {
+            // The in-memory engine answers as-of queries straight from its columns
+            return 0;
+        }
+        SchemaMigrator.ensureMigrated();
+
+        long folded = 0;
+        DaoMetrics.Call call = DaoMetrics.begin("BalanceSnapshotDAO.refresh");
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusSeconds(REFRESH_LAG_SECONDS));
+            conn.setAutoCommit(false);
+            try {
+                int rows;
+                do {
+                    rows = refreshBatch(conn, cutoff, batchSize);
+                    conn.commit();
+                    folded += rows;
+                } while (rows == batchSize);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            call.rows(folded);
+            return folded;
+        } catch (SQLException e) {
+            call.failed(e);
+            throw e;
+        } finally {
+            call.end();
+        }
+    }
+
+    /**
+     * Balance at the end of the given day
+     * One primary-key lookup for the newest snapshot on or before the date, then one
+     * index lookup among the transactions no refresh has folded in yet.
+     */
+    public Money getBalanceAsOf(String accountNumber, LocalDate date) throws SQLException {
+        LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
+        if (store != null) {
+            List<Transaction> last = store.findTransactions(accountNumber, null, null, endOfDay, null, 1);
+            return last.isEmpty() ? Money.ZERO : last.get(0).getBalanceAfter();
+        }
+        SchemaMigrator.ensureMigrated();
+
+        DaoMetrics.Call call = DaoMetrics.begin("BalanceSnapshotDAO.getBalanceAsOf");
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement snapshot = conn.prepareStatement(LATEST_SNAPSHOT_SQL);
+             PreparedStatement replay = conn.prepareStatement(REPLAY_SQL)) {
+
+            Money balance = Money.ZERO;
+            snapshot.setString(1, accountNumber);
+            snapshot.setDate(2, Date.valueOf(date));
+            try (ResultSet rs = snapshot.executeQuery()) {
+                if (rs.next()) {
+                    balance = Money.fromDecimal(rs.getBigDecimal(1));
+                }
+            }
+
+            // balance_after is a running balance, so the newest unfolded row is the answer
+            replay.setString(1, accountNumber);
+            replay.setTimestamp(2, Timestamp.valueOf(endOfDay));
+            try (ResultSet rs = replay.executeQuery()) {
+                if (rs.next()) {
+                    balance = Money.fromDecimal(rs.getBigDecimal(1));
+                }
+            }
+            call.rows(1);
+            return balance;
+        } catch (SQLException e) {
+            call.failed(e);
+            throw e;
+        } finally {
+            call.end();
+        }
+    }
+
+    /**
+     * End-of-day balances for every account in [firstAccount, lastAccount] from snapshots alone
+     * Only exact once refresh() has run after the day ended; accounts with no snapshot on
+     * or before the date are absent (their balance was zero).
+     */
+    public Map<String, Money> getClosingBalances(String firstAccount, String lastAccount, LocalDate date)
+            throws SQLException {
+        Map<String, Money> balances = new HashMap<>();
+        if (store != null) {
+            return balances;
+        }
+        SchemaMigrator.ensureMigrated();
+
+        DaoMetrics.Call call = DaoMetrics.begin("BalanceSnapshotDAO.getClosingBalances");
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(CLOSING_BALANCES_SQL)) {
+
+            pstmt.setString(1, firstAccount);
+            pstmt.setString(2, lastAccount);
+            pstmt.setDate(3, Date.valueOf(date));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    balances.put(rs.getString(1), Money.fromDecimal(rs.getBigDecimal(2)));
+                }
+            }
+            call.rows(balances.size());
+            return balances;
+        } catch (SQLException e) {
+            call.failed(e);
+            throw e;
+        } finally {
+            call.end();
+        }
+    }
+
+    /**
+     * Fold one batch past the watermark and advance it, inside the caller's transaction
+     */
+    private int refreshBatch(Connection conn, Timestamp cutoff, int batchSize) throws SQLException {
+        int watermark;
+        try (PreparedStatement lock = conn.prepareStatement(LOCK_PROGRESS_SQL);
+             ResultSet rs = lock.executeQuery()) {
+            watermark = rs.next() ? rs.getInt(1) : 0;
+        }
+
+        // Last row per (account, day) wins; rows arrive in id order
+        Map<String, DayClose> closes = new LinkedHashMap<>();
+        int rows = 0;
+        int lastId = watermark;
+        try (PreparedStatement select = conn.prepareStatement(NEW_TRANSACTIONS_SQL)) {
+            select.setInt(1, watermark);
+            select.setTimestamp(2, cutoff);
+            select.setInt(3, batchSize);
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    lastId = rs.getInt(1);
+                    String accountNumber = rs.getString(2);
+                    LocalDate day = rs.getTimestamp(3).toLocalDateTime().toLocalDate();
+                    closes.put(accountNumber + '|' + day,
+                            new DayClose(accountNumber, day, rs.getBigDecimal(4), lastId));
+                    rows++;
+                }
+            }
+        }
+        if (rows == 0) {
+            return 0;
+        }
+
+        List<DayClose> pending = new ArrayList<>(closes.values());
+        int done = 0;
+        while (done < pending.size()) {
+            int chunk = UPSERT.rowsFor(pending.size() - done);
+            try (PreparedStatement upsert = conn.prepareStatement(UPSERT.sql(chunk))) {
+                int p = 1;
+                for (DayClose close : pending.subList(done, done + chunk)) {
+                    upsert.setString(p++, close.accountNumber);
+                    upsert.setDate(p++, Date.valueOf(close.day));
+                    upsert.setBigDecimal(p++, close.balance);
+                    upsert.setInt(p++, close.transactionId);
+                }
+                upsert.executeUpdate();
+            }
+            done += chunk;
+        }
+
+        try (PreparedStatement progress = conn.prepareStatement(UPDATE_PROGRESS_SQL)) {
+            progress.setInt(1, lastId);
+            progress.executeUpdate();
+        }
+        return rows;
+    }
+
+    private static final class DayClose {
+        private final String accountNumber;
+        private final LocalDate day;
+        private final BigDecimal balance;
+        private final int transactionId;
+
+        DayClose(String accountNumber, LocalDate day, BigDecimal balance, int transactionId) {
+            this.accountNumber = accountNumber;
+            this.day = day;
+            this.balance = balance;
+            this.transactionId = transactionId;
+        }
+    }
+}
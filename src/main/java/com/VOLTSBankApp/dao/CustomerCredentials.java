@@ -0,0 +1,23 @@
+package com.VOLTSBankApp.dao;
+
+/**
+ * CustomerCredentials - The two columns a login needs: customer id and password hash
+ */
+public class CustomerCredentials {
+    private final int customerId;
+    private final String passwordHash;
+
+    public CustomerCredentials(int customerId, String passwordHash) {
+        this.customerId = customerId;
+        this.passwordHash = passwordHash;
+    }
+
+    public int getCustomerId() { return customerId; }
+    public String getPasswordHash() { return passwordHash; }
+
+    @Override
+    public String toString() {
+        // Never print the hash
+        return "CustomerCredentials{customerId=" + customerId + '}';
+    }
+}
@@ -1,44 +1,123 @@
 package com.VOLTSBankApp.dao;
 
+import com.VOLTSBankApp.metrics.DaoMetrics;
 import com.VOLTSBankApp.model.Customer;
+import com.VOLTSBankApp.storage.LedgerStore;
+import com.VOLTSBankApp.storage.Storage;
 import com.VOLTSBankApp.util.DatabaseConnection;
+import com.VOLTSBankApp.util.PasswordHasher;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class CustomerDAO {
+    private static final int MAX_PAGE_SIZE = 500;
+
+    // Non-JDBC engine, or null for MySQL
+    private final LedgerStore store;
+
+    public CustomerDAO() {
+        this(Storage.getStore());
+    }
+
+    public CustomerDAO(LedgerStore store) {
+        this.store = store;
+    }
 
     /**
-     * Authenticate customer login
+     * Authenticate customer login on the calling thread
+     * Interactive logins should go through LoginService, which adds throttling and caching.
      */
     public Customer authenticate(String email, String password) {
-        String sql = "SELECT * FROM customers WHERE email = ? AND password = ?";
+        CustomerCredentials credentials;
+        try {
+            credentials = findCredentials(email);
+        } catch (SQLException e) {
+            System.err.println("Error authenticating customer");
+            e.printStackTrace();
+            return null;
+        }
+        if (credentials == null || !PasswordHasher.verify(password, credentials.getPasswordHash())) {
+            return null;
+        }
+        return getCustomerById(credentials.getCustomerId());
+    }
 
+    /**
+     * Look up only the id and password hash for an email, or null if it is not registered
+     * Throws instead of returning null on a database error, so callers never mistake an
+     * outage for an unknown email. The connection is returned before any hashing happens.
+     */
+    public CustomerCredentials findCredentials(String email) throws SQLException {
+        if (store != null) {
+            return store.findCredentials(email);
+        }
+
+        DaoMetrics.Call call = DaoMetrics.begin("CustomerDAO.findCredentials");
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(Statements.CUSTOMER_CREDENTIALS)) {
 
             pstmt.setString(1, email);
-            pstmt.setString(2, password);
-
-            ResultSet rs = pstmt.executeQuery();
 
-            if (rs.next()) {
-                return extractCustomerFromResultSet(rs);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    call.rows(1);
+                    return new CustomerCredentials(rs.getInt(1), rs.getString(2));
+                }
             }
+            return null;
         } catch (SQLException e) {
-            System.err.println("Error authenticating customer");
+            call.failed(e);
+            throw e;
+        } finally {
+            call.end();
+        }
+    }
+
+    /**
+     * Replace a customer's stored password hash, e.g. to upgrade a legacy plaintext password
+     */
+    public boolean updatePasswordHash(int customerId, String passwordHash) {
+        if (store != null) {
+            return store.updatePasswordHash(customerId, passwordHash);
+        }
+
+        DaoMetrics.Call call = DaoMetrics.begin("CustomerDAO.updatePasswordHash");
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(Statements.CUSTOMER_SET_PASSWORD)) {
+
+            pstmt.setString(1, passwordHash);
+            pstmt.setInt(2, customerId);
+            int rows = pstmt.executeUpdate();
+            call.rows(rows);
+            return rows > 0;
+        } catch (SQLException e) {
+            call.failed(e);
+            System.err.println("Error updating password hash");
             e.printStackTrace();
+        } finally {
+            call.end();
         }
-        return null;
+        return false;
     }
 
     /**
      * Create new customer
      */
     public boolean createCustomer(Customer customer) {
-        String sql = "INSERT INTO customers (first_name, surname, email, phone_number, address, password) VALUES (?, ?, ?, ?, ?, ?)";
+        // Only the hash is ever stored, and the caller's copy no longer holds the plaintext
+        customer.setPassword(PasswordHasher.hash(customer.getPassword()));
+
+        if (store != null) {
+            return store.createCustomer(customer);
+        }
 
+        DaoMetrics.Call call = DaoMetrics.begin("CustomerDAO.createCustomer");
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(Statements.CUSTOMER_INSERT)) {
 
             // Split the full name into first_name and surname
             String[] nameParts = customer.getFirstName().split(" ", 2);
@@ -53,6 +132,7 @@ public class CustomerDAO {
             pstmt.setString(6, customer.getPassword());
 
             int rowsAffected = pstmt.executeUpdate();
+            call.rows(rowsAffected);
 
             if (rowsAffected > 0) {
                 System.out.println("✅ Customer registered successfully!");
@@ -60,8 +140,11 @@ public class CustomerDAO {
             }
 
         } catch (SQLException e) {
+            call.failed(e);
             System.err.println("Error creating customer");
             e.printStackTrace();
+        } finally {
+            call.end();
         }
         return false;
     }
@@ -70,20 +153,27 @@ public class CustomerDAO {
      * Get customer by ID
      */
     public Customer getCustomerById(int customerId) {
-        String sql = "SELECT * FROM customers WHERE customer_id = ?";
+        if (store != null) {
+            return store.findCustomer(customerId);
+        }
 
+        DaoMetrics.Call call = DaoMetrics.begin("CustomerDAO.getCustomerById");
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(Statements.CUSTOMER_BY_ID)) {
 
             pstmt.setInt(1, customerId);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractCustomerFromResultSet(rs);
+                call.rows(1);
+                return RowMappers.CUSTOMER.map(rs);
             }
         } catch (SQLException e) {
+            call.failed(e);
             System.err.println("Error getting customer by ID");
             e.printStackTrace();
+        } finally {
+            call.end();
         }
         return null;
     }
@@ -92,11 +182,13 @@ public class CustomerDAO {
      * Update customer information
      */
     public boolean updateCustomer(Customer customer) {
-        String sql = "UPDATE customers SET first_name = ?, surname = ?, address = ?, " +
-                "phone_number = ?, email = ? WHERE customer_id = ?";
+        if (store != null) {
+            return store.updateCustomer(customer);
+        }
 
+        DaoMetrics.Call call = DaoMetrics.begin("CustomerDAO.updateCustomer");
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(Statements.CUSTOMER_UPDATE)) {
 
             pstmt.setString(1, customer.getFirstName());
             pstmt.setString(2, customer.getSurname());
@@ -105,10 +197,15 @@ public class CustomerDAO {
             pstmt.setString(5, customer.getEmail());
             pstmt.setInt(6, customer.getCustomerId());
 
-            return pstmt.executeUpdate() > 0;
+            int rows = pstmt.executeUpdate();
+            call.rows(rows);
+            return rows > 0;
         } catch (SQLException e) {
+            call.failed(e);
             System.err.println("Error updating customer");
             e.printStackTrace();
+        } finally {
+            call.end();
         }
         return false;
     }
@@ -117,61 +214,142 @@ public class CustomerDAO {
      * Delete customer
      */
     public boolean deleteCustomer(int customerId) {
-        String sql = "DELETE FROM customers WHERE customer_id = ?";
+        if (store != null) {
+            return store.deleteCustomer(customerId);
+        }
 
+        DaoMetrics.Call call = DaoMetrics.begin("CustomerDAO.deleteCustomer");
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(Statements.CUSTOMER_DELETE)) {
 
             pstmt.setInt(1, customerId);
-            return pstmt.executeUpdate() > 0;
+            int rows = pstmt.executeUpdate();
+            call.rows(rows);
+            return rows > 0;
         } catch (SQLException e) {
+            call.failed(e);
             System.err.println("Error deleting customer");
             e.printStackTrace();
+        } finally {
+            call.end();
+            // Deleting a customer may cascade to their accounts
+            AccountDAO.invalidateCache();
         }
         return false;
     }
 
     /**
-     * Get all customers
+     * Get all customers, without the password column, in one list
+     * Prefer getCustomerPage for anything a person scrolls through.
      */
-    public java.util.List<Customer> getAllCustomers() {
-        java.util.List<Customer> customers = new java.util.ArrayList<>();
-        String sql = "SELECT * FROM customers ORDER BY customer_id";
+    public List<Customer> getAllCustomers() {
+        if (store != null) {
+            return store.listCustomers();
+        }
 
+        List<Customer> customers = new ArrayList<>();
+        DaoMetrics.Call call = DaoMetrics.begin("CustomerDAO.getAllCustomers");
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql);
+             PreparedStatement pstmt = conn.prepareStatement(Statements.CUSTOMERS_ALL);
              ResultSet rs = pstmt.executeQuery()) {
 
             while (rs.next()) {
-                customers.add(extractCustomerFromResultSet(rs));
+                customers.add(RowMappers.CUSTOMER.map(rs));
             }
+            call.rows(customers.size());
         } catch (SQLException e) {
+            call.failed(e);
             System.err.println("Error getting all customers");
             e.printStackTrace();
+        } finally {
+            call.end();
         }
         return customers;
     }
 
     /**
-     * Load all accounts for a customer
+     * Get one page of customers in customer_id order, without the password column
+     * Seeks past the cursor's customer_id instead of using OFFSET. search is optional and
+     * matches the start of the email, first name or surname. Pass null for the first page.
      */
-    public void loadCustomerAccounts(Customer customer) {
-        AccountDAO accountDAO = new AccountDAO();
-        accountDAO.loadAccountsForCustomer(customer);
+    public CustomerPage getCustomerPage(String search, Customer after, int pageSize) {
+        int afterId = after == null ? 0 : after.getCustomerId();
+        int limit = Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+        String prefix = search == null || search.isBlank() ? null : search.trim();
+
+        if (store != null) {
+            // One extra row tells us whether another page exists
+            List<Customer> customers = store.findCustomers(prefix, afterId, limit + 1);
+            Map<Integer, Integer> accountCounts = new HashMap<>();
+            for (Customer customer : customers) {
+                accountCounts.put(customer.getCustomerId(),
+                        store.findAccountsByCustomer(customer.getCustomerId()).size());
+            }
+            return toPage(customers, accountCounts, limit);
+        }
+
+        List<Customer> customers = new ArrayList<>(limit + 1);
+        Map<Integer, Integer> accountCounts = new HashMap<>();
+        String sql = prefix != null ? Statements.CUSTOMER_SEARCH_PAGE : Statements.CUSTOMER_PAGE;
+
+        DaoMetrics.Call call = DaoMetrics.begin("CustomerDAO.getCustomerPage");
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            // One extra row tells us whether another page exists
+            int index = 1;
+            if (prefix != null) {
+                String pattern = escapeLike(prefix) + "%";
+                for (int column = 0; column < 3; column++) {
+                    pstmt.setString(index++, pattern);
+                    pstmt.setInt(index++, afterId);
+                    pstmt.setInt(index++, limit + 1);
+                }
+            } else {
+                pstmt.setInt(index++, afterId);
+            }
+            pstmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                int countColumn = RowMappers.CUSTOMER.width() + 1;
+                while (rs.next()) {
+                    Customer customer = RowMappers.CUSTOMER.map(rs);
+                    customers.add(customer);
+                    accountCounts.put(customer.getCustomerId(), rs.getInt(countColumn));
+                }
+            }
+            call.rows(customers.size());
+        } catch (SQLException e) {
+            call.failed(e);
+            System.err.println("Error getting customer page");
+            e.printStackTrace();
+        } finally {
+            call.end();
+        }
+
+        return toPage(customers, accountCounts, limit);
+    }
+
+    private CustomerPage toPage(List<Customer> customers, Map<Integer, Integer> accountCounts, int pageSize) {
+        boolean hasMore = customers.size() > pageSize;
+        if (hasMore) {
+            accountCounts.remove(customers.remove(pageSize).getCustomerId());
+        }
+        return new CustomerPage(customers, accountCounts, hasMore);
+    }
+
+    /**
+     * Escape LIKE wildcards so a search for "a_b" matches only that text
+     */
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     /**
-     * Extract customer object from ResultSet
+     * Load all accounts for a customer
      */
-    private Customer extractCustomerFromResultSet(ResultSet rs) throws SQLException {
-        Customer customer = new Customer();
-        customer.setCustomerId(rs.getInt("customer_id"));
-        customer.setFirstName(rs.getString("first_name"));
-        customer.setSurname(rs.getString("surname"));
-        customer.setAddress(rs.getString("address"));
-        customer.setPhoneNumber(rs.getString("phone_number"));
-        customer.setEmail(rs.getString("email"));
-        customer.setPassword(rs.getString("password"));
-        return customer;
+    public void loadCustomerAccounts(Customer customer) {
+        AccountDAO accountDAO = new AccountDAO(store);
+        accountDAO.loadAccountsForCustomer(customer);
     }
 }
@@ -0,0 +1,40 @@
+package com.VOLTSBankApp.dao;
+
+import com.VOLTSBankApp.model.Customer;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CustomerPage - One keyset page of the customer list, in customer_id order
+ * Customers carry no password and no loaded accounts; getAccountCount() has the count.
+ * Pass getLast() back to the DAO as the cursor for the following page.
+ */
+public class CustomerPage {
+    private final List<Customer> customers;
+    private final Map<Integer, Integer> accountCounts;
+    private final boolean hasMore;
+
+    public CustomerPage(List<Customer> customers, Map<Integer, Integer> accountCounts, boolean hasMore) {
+        this.customers = customers;
+        this.accountCounts = accountCounts;
+        this.hasMore = hasMore;
+    }
+
+    public List<Customer> getCustomers() { return customers; }
+
+    public boolean hasMore() { return hasMore; }
+
+    public boolean isEmpty() { return customers.isEmpty(); }
+
+    public int getAccountCount(Customer customer) {
+        return accountCounts.getOrDefault(customer.getCustomerId(), 0);
+    }
+
+    /**
+     * Cursor for the next page, or null for an empty page
+     */
+    public Customer getLast() {
+        return customers.isEmpty() ? null : customers.get(customers.size() - 1);
+    }
+}
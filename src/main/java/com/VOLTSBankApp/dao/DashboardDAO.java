@@ -0,0 +1,143 @@
+package com.VOLTSBankApp.dao;
+
+import com.VOLTSBankApp.metrics.DaoMetrics;
+import com.VOLTSBankApp.model.Account;
+import com.VOLTSBankApp.model.Customer;
+import com.VOLTSBankApp.model.Transaction;
+import com.VOLTSBankApp.storage.LedgerStore;
+import com.VOLTSBankApp.storage.Storage;
+import com.VOLTSBankApp.util.DatabaseConnection;
+import com.VOLTSBankApp.util.StatementRegistry;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DashboardDAO {
+    // Customer, account summary and transaction columns sit side by side in each row
+    private static final int ACCOUNT_COLUMN = RowMappers.CUSTOMER.width() + 1;
+    private static final int TRANSACTION_COLUMN = ACCOUNT_COLUMN + RowMappers.ACCOUNT_SUMMARY.width();
+
+    // The LATERAL subquery reads only the newest rows of each account, backwards along
+    // idx_transactions_history (account_number, transaction_date), and only from the live
+    // months: rows moved to TransactionArchive never show on the dashboard, which keeps
+    // this query off the archive files. Needs MySQL 8.0.14 or later.
+    private static final String SNAPSHOT_SQL = StatementRegistry.define(
+            "SELECT " + RowMappers.CUSTOMER.columns("c") + ", " +
+                    RowMappers.ACCOUNT_SUMMARY.columns("a") + ", " +
+                    RowMappers.TRANSACTION.columns("t") + " " +
+                    "FROM customers c " +
+                    "LEFT JOIN accounts a ON a.customer_id = c.customer_id " +
+                    "LEFT JOIN LATERAL (" +
+                    "SELECT " + RowMappers.TRANSACTION.columns("tx") + " FROM transactions tx " +
+                    "WHERE tx.account_number = a.account_number AND tx.transaction_date >= ? " +
+                    "ORDER BY tx.transaction_date DESC, tx.transaction_id DESC LIMIT ?" +
+                    ") t ON TRUE " +
+                    "WHERE c.customer_id = ? " +
+                    "ORDER BY a.account_number, t.transaction_date DESC, t.transaction_id DESC");
+
+    // Non-JDBC engine, or null for MySQL
+    private final LedgerStore store;
+
+    public DashboardDAO() {
+        this(Storage.getStore());
+    }
+
+    public DashboardDAO(LedgerStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Load a customer, a summary of each of their accounts and the last recentPerAccount
+     * transactions of each account in a single round trip. Returns null if the customer
+     * does not exist. Archived transactions are left out, so an account whose recent
+     * activity has all been archived shows none.
+     */
+    public DashboardSnapshot loadSnapshot(int customerId, int recentPerAccount) {
+        long start = System.nanoTime();
+        if (store != null) {
+            return loadSnapshotFromStore(customerId, recentPerAccount, start);
+        }
+
+        DaoMetrics.Call call = DaoMetrics.begin("DashboardDAO.loadSnapshot");
+        try {
+            Timestamp liveFrom = Timestamp.valueOf(TransactionArchive.getInstance().getLiveFrom());
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(SNAPSHOT_SQL)) {
+
+                pstmt.setTimestamp(1, liveFrom);
+                pstmt.setInt(2, recentPerAccount);
+                pstmt.setInt(3, customerId);
+
+                Customer customer = null;
+                List<AccountSummary> accounts = new ArrayList<>();
+                Map<String, List<Transaction>> recentTransactions = new HashMap<>();
+                AccountSummary currentAccount = null;
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        call.rows(1);
+                        if (customer == null) {
+                            customer = RowMappers.CUSTOMER.map(rs);
+                        }
+
+                        String accountNumber = rs.getString(ACCOUNT_COLUMN);
+                        if (accountNumber == null) {
+                            continue; // customer without accounts
+                        }
+
+                        // Rows arrive grouped by account
+                        if (currentAccount == null || !currentAccount.getAccountNumber().equals(accountNumber)) {
+                            currentAccount = RowMappers.ACCOUNT_SUMMARY.map(rs, ACCOUNT_COLUMN);
+                            accounts.add(currentAccount);
+                        }
+
+                        rs.getInt(TRANSACTION_COLUMN);
+                        if (!rs.wasNull()) {
+                            recentTransactions.computeIfAbsent(accountNumber, k -> new ArrayList<>())
+                                    .add(RowMappers.TRANSACTION.map(rs, TRANSACTION_COLUMN));
+                        }
+                    }
+                }
+
+                if (customer == null) {
+                    return null;
+                }
+                return new DashboardSnapshot(customer, accounts, recentTransactions, System.nanoTime() - start);
+            }
+        } catch (SQLException e) {
+            call.failed(e);
+            System.err.println("Error loading dashboard snapshot");
+            e.printStackTrace();
+        } finally {
+            call.end();
+        }
+        return null;
+    }
+
+    /**
+     * Same snapshot assembled from the in-process engine, which has no round trips to save
+     */
+    private DashboardSnapshot loadSnapshotFromStore(int customerId, int recentPerAccount, long start) {
+        Customer customer = store.findCustomer(customerId);
+        if (customer == null) {
+            return null;
+        }
+
+        List<AccountSummary> accounts = new ArrayList<>();
+        Map<String, List<Transaction>> recentTransactions = new HashMap<>();
+        for (Account account : store.findAccountsByCustomer(customerId)) {
+            accounts.add(AccountDAO.summarize(account));
+            List<Transaction> recent = store.findTransactions(account.getAccountNumber(),
+                    null, null, null, null, recentPerAccount);
+            if (!recent.isEmpty()) {
+                recentTransactions.put(account.getAccountNumber(), recent);
+            }
+        }
+        accounts.sort(Comparator.comparing(AccountSummary::getAccountNumber));
+        return new DashboardSnapshot(customer, accounts, recentTransactions, System.nanoTime() - start);
+    }
+}
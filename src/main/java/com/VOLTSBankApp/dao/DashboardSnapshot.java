@@ -0,0 +1,54 @@
+package com.VOLTSBankApp.dao;
+
+import com.VOLTSBankApp.model.Customer;
+import com.VOLTSBankApp.model.Transaction;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DashboardSnapshot - Customer, a summary row per account and each account's recent
+ * activity, loaded together in one query
+ */
+public class DashboardSnapshot {
+    private final Customer customer;
+    private final List<AccountSummary> accounts;
+    private final Map<String, List<Transaction>> recentTransactions;
+    private final long loadNanos;
+
+    public DashboardSnapshot(Customer customer, List<AccountSummary> accounts,
+                             Map<String, List<Transaction>> recentTransactions, long loadNanos) {
+        this.customer = customer;
+        this.accounts = accounts;
+        this.recentTransactions = recentTransactions;
+        this.loadNanos = loadNanos;
+    }
+
+    public Customer getCustomer() { return customer; }
+
+    /**
+     * The customer's accounts in account-number order
+     */
+    public List<AccountSummary> getAccounts() { return accounts; }
+
+    public AccountSummary findAccount(String accountNumber) {
+        for (AccountSummary account : accounts) {
+            if (account.getAccountNumber().equals(accountNumber)) {
+                return account;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Most recent transactions for one account, newest first
+     */
+    public List<Transaction> getRecentTransactions(String accountNumber) {
+        return recentTransactions.getOrDefault(accountNumber, Collections.emptyList());
+    }
+
+    public double getLoadMillis() {
+        return loadNanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,73 @@
+package com.VOLTSBankApp.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * RowMapper - A fixed column list and the code that reads exactly those columns by index
+ *
+ * The SELECT list is built from getColumns(), so the query and the reader cannot drift
+ * apart. map(rs, first) reads the columns starting at position first, which lets a join
+ * place several projections side by side in one row.
+ */
+public final class RowMapper<T> {
+
+    /**
+     * Reads one row whose projected columns start at position first
+     */
+    @FunctionalInterface
+    public interface Reader<T> {
+        T read(ResultSet rs, int first) throws SQLException;
+    }
+
+    private final String[] columns;
+    private final Reader<T> reader;
+
+    public RowMapper(Reader<T> reader, String... columns) {
+        this.columns = columns.clone();
+        this.reader = reader;
+    }
+
+    /**
+     * Column list for a SELECT, e.g. "account_number, balance"
+     */
+    public String columns() {
+        return String.join(", ", columns);
+    }
+
+    /**
+     * Column list qualified with a table alias, e.g. "a.account_number, a.balance"
+     */
+    public String columns(String alias) {
+        StringBuilder list = new StringBuilder();
+        for (String column : columns) {
+            if (list.length() > 0) {
+                list.append(", ");
+            }
+            list.append(alias).append('.').append(column);
+        }
+        return list.toString();
+    }
+
+    public String[] getColumns() {
+        return columns.clone();
+    }
+
+    public int width() {
+        return columns.length;
+    }
+
+    /**
+     * Map the current row of a result selected with columns()
+     */
+    public T map(ResultSet rs) throws SQLException {
+        return reader.read(rs, 1);
+    }
+
+    /**
+     * Map this projection's columns from position first onwards
+     */
+    public T map(ResultSet rs, int first) throws SQLException {
+        return reader.read(rs, first);
+    }
+}
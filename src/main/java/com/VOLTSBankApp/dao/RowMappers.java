@@ -0,0 +1,96 @@
+package com.VOLTSBankApp.dao;
+
+import com.VOLTSBankApp.model.*;
+
+import java.sql.Timestamp;
+
+/**
+ * RowMappers - The projections the DAOs read, one per use case
+ * Customer projections never include the password; only CustomerDAO.findCredentials reads it.
+ */
+public final class RowMappers {
+
+    /**
+     * Everything the account details screen shows; employer columns are only read for cheque accounts
+     */
+    public static final RowMapper<Account> ACCOUNT = new RowMapper<>((rs, i) -> {
+        String accountNumber = rs.getString(i);
+        AccountType accountType = AccountType.valueOf(rs.getString(i + 1));
+        String branch = rs.getString(i + 2);
+        Money balance = Money.fromDecimal(rs.getBigDecimal(i + 3));
+
+        Account account;
+        switch (accountType) {
+            case SAVINGS:
+                SavingsAccount savingsAccount = new SavingsAccount();
+                savingsAccount.setAccruedInterest(Money.fromDecimal(rs.getBigDecimal(i + 4)));
+                account = savingsAccount;
+                break;
+            case INVESTMENT:
+                InvestmentAccount investmentAccount = new InvestmentAccount();
+                investmentAccount.setAccruedInterest(Money.fromDecimal(rs.getBigDecimal(i + 4)));
+                account = investmentAccount;
+                break;
+            case CHEQUE:
+                ChequeAccount chequeAccount = new ChequeAccount();
+                chequeAccount.setEmployerName(rs.getString(i + 5));
+                chequeAccount.setEmployerAddress(rs.getString(i + 6));
+                account = chequeAccount;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown account type: " + accountType);
+        }
+        account.setAccountNumber(accountNumber);
+        account.setBranch(branch);
+        account.setBalance(balance);
+
+        Timestamp opened = rs.getTimestamp(i + 7);
+        if (opened != null) {
+            account.setDateOpened(opened.toLocalDateTime());
+        }
+        return account;
+    }, "account_number", "account_type", "branch", "balance", "accrued_interest",
+            "employer_name", "employer_address", "date_opened");
+
+    /**
+     * One line of an account list
+     */
+    public static final RowMapper<AccountSummary> ACCOUNT_SUMMARY = new RowMapper<>((rs, i) ->
+            new AccountSummary(rs.getString(i), AccountType.valueOf(rs.getString(i + 1)),
+                    rs.getString(i + 2), Money.fromDecimal(rs.getBigDecimal(i + 3))),
+            "account_number", "account_type", "branch", "balance");
+
+    /**
+     * Customer profile without the password
+     */
+    public static final RowMapper<Customer> CUSTOMER = new RowMapper<>((rs, i) -> {
+        Customer customer = new Customer();
+        customer.setCustomerId(rs.getInt(i));
+        customer.setFirstName(rs.getString(i + 1));
+        customer.setSurname(rs.getString(i + 2));
+        customer.setEmail(rs.getString(i + 3));
+        customer.setPhoneNumber(rs.getString(i + 4));
+        customer.setAddress(rs.getString(i + 5));
+        return customer;
+    }, "customer_id", "first_name", "surname", "email", "phone_number", "address");
+
+    public static final RowMapper<Transaction> TRANSACTION = new RowMapper<>((rs, i) -> {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(rs.getInt(i));
+        transaction.setAccountNumber(rs.getString(i + 1));
+        transaction.setTransactionType(rs.getString(i + 2));
+        transaction.setAmount(Money.fromDecimal(rs.getBigDecimal(i + 3)));
+        transaction.setBalanceAfter(Money.fromDecimal(rs.getBigDecimal(i + 4)));
+        transaction.setDescription(rs.getString(i + 5));
+
+        Timestamp timestamp = rs.getTimestamp(i + 6);
+        if (timestamp != null) {
+            transaction.setTransactionDate(timestamp.toLocalDateTime());
+        }
+        return transaction;
+    }, "transaction_id", "account_number", "transaction_type", "amount", "balance_after",
+            "description", "transaction_date");
+
+    private RowMappers() {
+    }
+}
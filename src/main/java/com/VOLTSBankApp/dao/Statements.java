@@ -0,0 +1,170 @@
+package com.VOLTSBankApp.dao;
+
+import com.VOLTSBankApp.util.MultiRowStatement;
+import com.VOLTSBankApp.util.StatementRegistry;
+
+import java.util.List;
+
+/**
+ * Statements - Every statement AccountDAO, CustomerDAO, TransactionDAO, TransactionJournal and
+ * OnboardingImporter prepare
+ * Declared once here so the same SQL text reaches the driver's per-connection cache from
+ * every caller; two DAO methods that run the same statement share one constant. Queries
+ * with optional filters are declared once per combination of filters. SELECT lists come
+ * from RowMappers, so each query fetches exactly what its mapper reads.
+ */
+public final class Statements {
+    // accounts
+    public static final String ACCOUNT_INSERT = StatementRegistry.define(
+            "INSERT INTO accounts (account_number, customer_id, account_type, balance, " +
+                    "branch, accrued_interest, employer_name, employer_address) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+    public static final MultiRowStatement IMPORT_ACCOUNTS_INSERT = new MultiRowStatement(
+            "INSERT INTO accounts (account_number, customer_id, account_type, balance, " +
+                    "branch, accrued_interest, employer_name, employer_address) VALUES ",
+            "(?, ?, ?, ?, ?, ?, ?, ?)", "", 64, 16, 4, 1);
+    public static final String ACCOUNT_BY_NUMBER = StatementRegistry.define(
+            "SELECT " + RowMappers.ACCOUNT.columns() + " FROM accounts WHERE account_number = ?");
+    public static final String ACCOUNTS_BY_CUSTOMER = StatementRegistry.define(
+            "SELECT " + RowMappers.ACCOUNT.columns() + " FROM accounts WHERE customer_id = ?");
+    public static final String ACCOUNT_SUMMARIES_BY_CUSTOMER = StatementRegistry.define(
+            "SELECT " + RowMappers.ACCOUNT_SUMMARY.columns() + " FROM accounts " +
+                    "WHERE customer_id = ? ORDER BY account_number");
+    public static final String ACCOUNT_BALANCE = StatementRegistry.define(
+            "SELECT balance FROM accounts WHERE account_number = ?");
+    public static final String ACCOUNT_PAIR_BALANCES = StatementRegistry.define(
+            "SELECT account_number, balance FROM accounts WHERE account_number IN (?, ?)");
+    public static final String ACCOUNT_SET_BALANCE = StatementRegistry.define(
+            "UPDATE accounts SET balance = ? WHERE account_number = ?");
+    public static final String ACCOUNT_SET_BALANCE_AND_INTEREST = StatementRegistry.define(
+            "UPDATE accounts SET balance = ?, accrued_interest = ? WHERE account_number = ?");
+    public static final String ACCOUNT_CREDIT = StatementRegistry.define(
+            "UPDATE accounts SET balance = balance + ? WHERE account_number = ?");
+    // The balance guard runs in the UPDATE itself, so concurrent debits cannot overdraw
+    public static final String ACCOUNT_DEBIT = StatementRegistry.define(
+            "UPDATE accounts SET balance = balance - ? WHERE account_number = ? " +
+                    "AND account_type <> 'SAVINGS' AND balance >= ?");
+    public static final String ACCOUNT_DELETE = StatementRegistry.define(
+            "DELETE FROM accounts WHERE account_number = ?");
+
+    // customers
+    public static final String CUSTOMER_INSERT = StatementRegistry.define(
+            "INSERT INTO customers (first_name, surname, email, phone_number, address, password) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)");
+    public static final String CUSTOMER_CREDENTIALS = StatementRegistry.define(
+            "SELECT customer_id, password FROM customers WHERE email = ?");
+    public static final String CUSTOMER_BY_ID = StatementRegistry.define(
+            "SELECT " + RowMappers.CUSTOMER.columns() + " FROM customers WHERE customer_id = ?");
+    public static final String CUSTOMERS_ALL = StatementRegistry.defineScan(
+            "SELECT " + RowMappers.CUSTOMER.columns() + " FROM customers ORDER BY customer_id");
+    public static final String CUSTOMER_UPDATE = StatementRegistry.define(
+            "UPDATE customers SET first_name = ?, surname = ?, address = ?, " +
+                    "phone_number = ?, email = ? WHERE customer_id = ?");
+    public static final String CUSTOMER_SET_PASSWORD = StatementRegistry.define(
+            "UPDATE customers SET password = ? WHERE customer_id = ?");
+    public static final String CUSTOMER_DELETE = StatementRegistry.define(
+            "DELETE FROM customers WHERE customer_id = ?");
+    public static final MultiRowStatement CUSTOMER_EMAILS_IN = new MultiRowStatement(
+            "SELECT LOWER(email) FROM customers WHERE email IN (", "?", ")", 64, 16, 4, 1);
+    public static final MultiRowStatement IMPORT_CUSTOMERS_INSERT = new MultiRowStatement(
+            "INSERT INTO customers (first_name, surname, email, phone_number, address, password) VALUES ",
+            "(?, ?, ?, ?, ?, ?)", "", 64, 16, 4, 1);
+    public static final String CUSTOMER_PAGE = StatementRegistry.define(
+            "SELECT " + RowMappers.CUSTOMER.columns("c") + ", " +
+                    "(SELECT COUNT(*) FROM accounts a WHERE a.customer_id = c.customer_id) AS account_count " +
+                    "FROM customers c WHERE c.customer_id > ? ORDER BY c.customer_id LIMIT ?");
+    // One range seek per column index rather than an OR the optimizer would scan for; each
+    // branch is cut to the page size, so the UNION never holds more than three pages of ids
+    public static final String CUSTOMER_SEARCH_PAGE = StatementRegistry.define(
+            "SELECT " + RowMappers.CUSTOMER.columns("c") + ", " +
+                    "(SELECT COUNT(*) FROM accounts a WHERE a.customer_id = c.customer_id) AS account_count " +
+                    "FROM customers c " +
+                    "JOIN ((SELECT customer_id FROM customers WHERE email LIKE ? AND customer_id > ?" +
+                    " ORDER BY customer_id LIMIT ?)" +
+                    " UNION (SELECT customer_id FROM customers WHERE first_name LIKE ? AND customer_id > ?" +
+                    " ORDER BY customer_id LIMIT ?)" +
+                    " UNION (SELECT customer_id FROM customers WHERE surname LIKE ? AND customer_id > ?" +
+                    " ORDER BY customer_id LIMIT ?))" +
+                    " m ON m.customer_id = c.customer_id ORDER BY c.customer_id LIMIT ?");
+
+    // transactions
+    public static final String TRANSACTION_INSERT = StatementRegistry.define(
+            "INSERT INTO transactions (account_number, transaction_type, amount, " +
+                    "balance_after, description) VALUES (?, ?, ?, ?, ?)");
+    public static final String OPENING_TRANSACTION_INSERT = StatementRegistry.define(
+            "INSERT INTO transactions (account_number, transaction_type, amount, " +
+                    "balance_after, description) VALUES (?, 'OPENING', ?, ?, 'Account opening deposit')");
+    public static final String TRANSFER_INSERT = StatementRegistry.define(
+            "INSERT INTO transactions (account_number, transaction_type, amount, balance_after, description) " +
+                    "VALUES (?, 'TRANSFER_OUT', ?, ?, ?), (?, 'TRANSFER_IN', ?, ?, ?)");
+    // Journal group commits and imported OPENING rows; 64 rows keeps the longest text
+    // well inside the driver's cache limit
+    public static final MultiRowStatement TRANSACTION_ROWS_INSERT = new MultiRowStatement(
+            "INSERT INTO transactions (account_number, transaction_type, amount, balance_after, description) " +
+                    "VALUES ", "(?, ?, ?, ?, ?)", "", 64, 16, 4, 1);
+    public static final String TRANSACTION_BY_ID = StatementRegistry.define(
+            "SELECT " + RowMappers.TRANSACTION.columns() + " FROM transactions WHERE transaction_id = ?");
+    public static final String TRANSACTIONS_BY_ACCOUNT = StatementRegistry.define(
+            "SELECT " + RowMappers.TRANSACTION.columns() + " FROM transactions " +
+                    "WHERE account_number = ? AND transaction_date >= ? ORDER BY transaction_date DESC");
+    public static final String TRANSACTIONS_RECENT = StatementRegistry.define(
+            "SELECT " + RowMappers.TRANSACTION.columns() + " FROM transactions " +
+                    "WHERE account_number = ? AND transaction_date >= ? ORDER BY transaction_date DESC LIMIT ?");
+    public static final String TRANSACTIONS_STREAM = StatementRegistry.define(
+            "SELECT " + RowMappers.TRANSACTION.columns() + " FROM transactions " +
+                    "WHERE account_number = ? AND transaction_date >= ? " +
+                    "ORDER BY transaction_date DESC, transaction_id DESC");
+    public static final String TRANSACTION_DELETE = StatementRegistry.define(
+            "DELETE FROM transactions WHERE transaction_id = ?");
+    public static final String TRANSACTION_SUMMARY = StatementRegistry.define(summarySql(false));
+    public static final String TRANSACTION_SUMMARY_UNTIL = StatementRegistry.define(summarySql(true));
+
+    // getTransactionPage() filters: every combination, indexed by transactionPage()
+    private static final String[] TRANSACTION_PAGES = new String[8];
+
+    static {
+        for (int shape = 0; shape < TRANSACTION_PAGES.length; shape++) {
+            TRANSACTION_PAGES[shape] = StatementRegistry.define(
+                    pageSql((shape & 1) != 0, (shape & 2) != 0, (shape & 4) != 0));
+        }
+    }
+
+    private Statements() {
+    }
+
+    /**
+     * Live history page newest first, with the optional type, upper date bound and keyset cursor
+     * Binds account_number, liveStart, [type], [to], [cursor date, cursor date, cursor id], limit.
+     */
+    public static String transactionPage(boolean typed, boolean bounded, boolean seeking) {
+        return TRANSACTION_PAGES[(typed ? 1 : 0) | (bounded ? 2 : 0) | (seeking ? 4 : 0)];
+    }
+
+    private static String pageSql(boolean typed, boolean bounded, boolean seeking) {
+        StringBuilder sql = new StringBuilder("SELECT " + RowMappers.TRANSACTION.columns() +
+                " FROM transactions WHERE account_number = ? AND transaction_date >= ?");
+        if (typed) {
+            sql.append(" AND transaction_type = ?");
+        }
+        if (bounded) {
+            sql.append(" AND transaction_date < ?");
+        }
+        if (seeking) {
+            sql.append(" AND (transaction_date < ? OR (transaction_date = ? AND transaction_id < ?))");
+        }
+        return sql.append(" ORDER BY transaction_date DESC, transaction_id DESC LIMIT ?").toString();
+    }
+
+    private static String summarySql(boolean bounded) {
+        return "SELECT transaction_type, COUNT(*), SUM(amount) " +
+                "FROM transactions WHERE account_number = ? AND transaction_date >= ?" +
+                (bounded ? " AND transaction_date < ?" : "") + " GROUP BY transaction_type";
+    }
+
+    /**
+     * Every statement declared here; calling this also makes sure they are registered
+     */
+    public static List<String> all() {
+        return StatementRegistry.statements();
+    }
+}
@@ -0,0 +1,319 @@
+package com.VOLTSBankApp.dao;
+
+import com.VOLTSBankApp.metrics.DaoMetrics;
+import com.VOLTSBankApp.model.Transaction;
+import com.VOLTSBankApp.storage.TransactionArchiveFile;
+import com.VOLTSBankApp.util.BoundedCache;
+import com.VOLTSBankApp.util.DatabaseConnection;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * TransactionArchive - Reads the months TransactionArchiver has moved out of transactions
+ *
+ * The transaction_archive catalog has one row per archived month: its file, row count, id
+ * range, date range and CRC32. Months are archived oldest first, so every row dated before
+ * getLiveFrom() is in the archive and the live table is only read from there on, which also
+ * lets MySQL prune the archived months' partitions. The catalog is re-read every
+ * CATALOG_TTL_MILLIS, so another instance's archive run shows up within that time; the
+ * archiver keeps a month's partition until that long after cataloguing it, so a reader
+ * going by a stale catalog still finds the rows live. A few decoded months are cached
+ * since history reads tend to revisit the same ones.
+ */
+public final class TransactionArchive {
+    public static final String DIRECTORY_PROPERTY = "volts.archive.dir";
+
+    public static final long CATALOG_TTL_MILLIS = 30_000;
+    private static final int CACHED_MONTHS = 4;
+    private static final long CACHED_MONTH_TTL_MILLIS = 10 * 60_000;
+
+    // The TIMESTAMP range starts in 1970; the live lower bound until a month is archived
+    private static final LocalDateTime BEFORE_ANY_TRANSACTION = LocalDateTime.of(1970, 1, 2, 0, 0);
+
+    // MySQL's ER_NO_SUCH_TABLE
+    private static final int NO_SUCH_TABLE = 1146;
+
+    private static final String CATALOG_SQL =
+            "SELECT archive_month, file_name, row_count, first_transaction_id, last_transaction_id, " +
+                    "first_date, last_date, file_crc FROM transaction_archive ORDER BY archive_month DESC";
+
+    private static final String REGISTER_SQL =
+            "INSERT INTO transaction_archive (archive_month, file_name, row_count, first_transaction_id, " +
+                    "last_transaction_id, first_date, last_date, file_crc) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final TransactionArchive INSTANCE = new TransactionArchive();
+
+    private final BoundedCache<YearMonth, TransactionArchiveFile> files =
+            new BoundedCache<>(CACHED_MONTHS, CACHED_MONTH_TTL_MILLIS);
+    // Newest month first
+    private volatile List<ArchivedMonth> catalog;
+    private volatile long catalogLoadedAt;
+
+    private TransactionArchive() {
+    }
+
+    public static TransactionArchive getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Directory the archive files live in, from -Dvolts.archive.dir (default archive/transactions)
+     */
+    public static Path getDirectory() {
+        return Paths.get(System.getProperty(DIRECTORY_PROPERTY, "archive/transactions"));
+    }
+
+    public static String fileName(YearMonth month) {
+        return "transactions-" + month + ".vta";
+    }
+
+    /**
+     * Archived months, newest first
+     */
+    public List<ArchivedMonth> getMonths() throws SQLException {
+        List<ArchivedMonth> months = catalog;
+        if (months == null || System.nanoTime() - catalogLoadedAt > CATALOG_TTL_MILLIS * 1_000_000L) {
+            months = loadCatalog();
+            catalog = months;
+            catalogLoadedAt = System.nanoTime();
+        }
+        return months;
+    }
+
+    /**
+     * Start of the oldest month still in the live table; everything before it is archived
+     */
+    public LocalDateTime getLiveFrom() throws SQLException {
+        List<ArchivedMonth> months = getMonths();
+        return months.isEmpty() ? BEFORE_ANY_TRANSACTION : months.get(0).getMonth().plusMonths(1).atDay(1).atStartOfDay();
+    }
+
+    /**
+     * One account's archived rows, newest first, with the same filters as the live page query
+     * limit 0 returns every match.
+     */
+    public List<Transaction> find(String accountNumber, String transactionType, LocalDateTime from,
+                                  LocalDateTime to, Transaction after, int limit) throws SQLException {
+        List<Transaction> transactions = new ArrayList<>();
+        for (ArchivedMonth month : getMonths()) {
+            if (limit > 0 && transactions.size() >= limit) {
+                break;
+            }
+            if (from != null && month.getLastDate() != null && month.getLastDate().isBefore(from)) {
+                // Older months are older still
+                break;
+            }
+            if (!month.overlaps(to, after)) {
+                continue;
+            }
+            int remaining = limit > 0 ? limit - transactions.size() : 0;
+            transactions.addAll(load(month).find(accountNumber, transactionType, from, to, after, remaining));
+        }
+        return transactions;
+    }
+
+    /**
+     * One account's rows in a single archived month, oldest first, for from (inclusive) to to (exclusive)
+     * The month is decoded for this call only rather than cached, so a statement spanning many
+     * archived months holds one of them at a time.
+     */
+    public List<Transaction> readMonth(ArchivedMonth month, String accountNumber, LocalDateTime from,
+                                       LocalDateTime to) throws SQLException {
+        if (!month.overlaps(to, null) || (from != null && month.getLastDate().isBefore(from))) {
+            return new ArrayList<>();
+        }
+        List<Transaction> transactions = load(month, false).find(accountNumber, null, from, to, null, 0);
+        Collections.reverse(transactions);
+        return transactions;
+    }
+
+    /**
+     * Add one account's archived per-type counts and totals for from..to (both optional) to summary
+     */
+    public void summarize(String accountNumber, LocalDateTime from, LocalDateTime to,
+                          TransactionSummary summary) throws SQLException {
+        for (ArchivedMonth month : getMonths()) {
+            if (from != null && month.getLastDate() != null && month.getLastDate().isBefore(from)) {
+                break;
+            }
+            if (month.overlaps(to, null)) {
+                load(month).summarize(accountNumber, from, to, summary);
+            }
+        }
+    }
+
+    /**
+     * An archived row by id, or null; only months whose id range covers it are read
+     */
+    public Transaction findById(int transactionId) throws SQLException {
+        for (ArchivedMonth month : getMonths()) {
+            if (month.getRowCount() > 0 && transactionId >= month.getFirstTransactionId()
+                    && transactionId <= month.getLastTransactionId()) {
+                Transaction transaction = load(month).findById(transactionId);
+                if (transaction != null) {
+                    return transaction;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stream one account's archived rows, newest first, decoding a month only when the
+     * stream reaches it
+     */
+    public Stream<Transaction> stream(String accountNumber) throws SQLException {
+        return getMonths().stream()
+                .filter(month -> month.getRowCount() > 0)
+                .flatMap(month -> {
+                    try {
+                        return load(month).find(accountNumber, null, null, null, null, 0).stream();
+                    } catch (SQLException e) {
+                        throw new IllegalStateException("Error reading transaction archive", e);
+                    }
+                });
+    }
+
+    /**
+     * Record a verified archive file in the catalog
+     */
+    public void register(Connection conn, ArchivedMonth month) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(REGISTER_SQL)) {
+            pstmt.setDate(1, Date.valueOf(month.getMonth().atDay(1)));
+            pstmt.setString(2, month.getFileName());
+            pstmt.setInt(3, month.getRowCount());
+            pstmt.setInt(4, month.getFirstTransactionId());
+            pstmt.setInt(5, month.getLastTransactionId());
+            pstmt.setTimestamp(6, month.getFirstDate() == null ? null : Timestamp.valueOf(month.getFirstDate()));
+            pstmt.setTimestamp(7, month.getLastDate() == null ? null : Timestamp.valueOf(month.getLastDate()));
+            pstmt.setLong(8, month.getFileCrc());
+            pstmt.executeUpdate();
+        }
+        invalidate();
+    }
+
+    /**
+     * Re-read the catalog on next use, e.g. after this process archived a month
+     */
+    public void invalidate() {
+        catalog = null;
+    }
+
+    /**
+     * Read the catalog; a schema the migrations have not reached yet has nothing archived
+     * Reads never migrate: startup and the archiver do that.
+     */
+    private List<ArchivedMonth> loadCatalog() throws SQLException {
+        List<ArchivedMonth> months = new ArrayList<>();
+        DaoMetrics.Call call = DaoMetrics.begin("TransactionArchive.loadCatalog");
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(CATALOG_SQL)) {
+            while (rs.next()) {
+                Timestamp firstDate = rs.getTimestamp(6);
+                Timestamp lastDate = rs.getTimestamp(7);
+                months.add(new ArchivedMonth(YearMonth.from(rs.getDate(1).toLocalDate()), rs.getString(2),
+                        rs.getInt(3), rs.getInt(4), rs.getInt(5),
+                        firstDate == null ? null : firstDate.toLocalDateTime(),
+                        lastDate == null ? null : lastDate.toLocalDateTime(), rs.getLong(8)));
+            }
+            call.rows(months.size());
+        } catch (SQLException e) {
+            if (e.getErrorCode() == NO_SUCH_TABLE) {
+                return Collections.emptyList();
+            }
+            call.failed(e);
+            throw e;
+        } finally {
+            call.end();
+        }
+        return Collections.unmodifiableList(months);
+    }
+
+    private TransactionArchiveFile load(ArchivedMonth month) throws SQLException {
+        return load(month, true);
+    }
+
+    /**
+     * A month's decoded file, from the cache if it is there; cache false leaves a miss uncached
+     */
+    private TransactionArchiveFile load(ArchivedMonth month, boolean cache) throws SQLException {
+        TransactionArchiveFile file = files.get(month.getMonth());
+        if (file != null) {
+            return file;
+        }
+
+        DaoMetrics.Call call = DaoMetrics.begin("TransactionArchive.load");
+        try {
+            file = TransactionArchiveFile.read(getDirectory().resolve(month.getFileName()), month.getFileCrc());
+            if (cache) {
+                files.put(month.getMonth(), file);
+            }
+            call.rows(file.size());
+            return file;
+        } catch (IOException e) {
+            SQLException failure = new SQLException("Error reading archived month " + month.getMonth(), e);
+            call.failed(failure);
+            throw failure;
+        } finally {
+            call.end();
+        }
+    }
+
+    /**
+     * One row of the transaction_archive catalog
+     */
+    public static final class ArchivedMonth {
+        private final YearMonth month;
+        private final String fileName;
+        private final int rowCount;
+        private final int firstTransactionId;
+        private final int lastTransactionId;
+        private final LocalDateTime firstDate;
+        private final LocalDateTime lastDate;
+        private final long fileCrc;
+
+        public ArchivedMonth(YearMonth month, String fileName, int rowCount, int firstTransactionId,
+                             int lastTransactionId, LocalDateTime firstDate, LocalDateTime lastDate, long fileCrc) {
+            this.month = month;
+            this.fileName = fileName;
+            this.rowCount = rowCount;
+            this.firstTransactionId = firstTransactionId;
+            this.lastTransactionId = lastTransactionId;
+            this.firstDate = firstDate;
+            this.lastDate = lastDate;
+            this.fileCrc = fileCrc;
+        }
+
+        public YearMonth getMonth() { return month; }
+        public String getFileName() { return fileName; }
+        public int getRowCount() { return rowCount; }
+        public int getFirstTransactionId() { return firstTransactionId; }
+        public int getLastTransactionId() { return lastTransactionId; }
+        public LocalDateTime getFirstDate() { return firstDate; }
+        public LocalDateTime getLastDate() { return lastDate; }
+        public long getFileCrc() { return fileCrc; }
+
+        /**
+         * Whether any row could be before both to (exclusive) and the after cursor
+         */
+        private boolean overlaps(LocalDateTime to, Transaction after) {
+            if (rowCount == 0) {
+                return false;
+            }
+            if (to != null && !firstDate.isBefore(to)) {
+                return false;
+            }
+            return after == null || !firstDate.isAfter(after.getTransactionDate());
+        }
+    }
+}
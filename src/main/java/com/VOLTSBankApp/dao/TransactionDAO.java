@@ -1,149 +1,454 @@
 package com.VOLTSBankApp.dao;
 
+import com.VOLTSBankApp.metrics.DaoMetrics;
+import com.VOLTSBankApp.model.Money;
 import com.VOLTSBankApp.model.Transaction;
+import com.VOLTSBankApp.storage.LedgerStore;
+import com.VOLTSBankApp.storage.Storage;
 import com.VOLTSBankApp.util.DatabaseConnection;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class TransactionDAO {
-    /**
-     * Create new transaction
-     */
-    public boolean createTransaction(Transaction transaction) {
-        String sql = "INSERT INTO transactions (account_number, transaction_type, amount, " +
-                "balance_after, description) VALUES (?, ?, ?, ?, ?)";
+    // Longest createTransaction() waits for the journal to commit its row
+    public static final long JOURNAL_TIMEOUT_SECONDS = 30;
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+    // Non-JDBC engine, or null for MySQL
+    private final LedgerStore store;
 
-            pstmt.setString(1, transaction.getAccountNumber());
-            pstmt.setString(2, transaction.getTransactionType());
-            pstmt.setDouble(3, transaction.getAmount());
-            pstmt.setDouble(4, transaction.getBalanceAfter());
-            pstmt.setString(5, transaction.getDescription());
+    public TransactionDAO() {
+        this(Storage.getStore());
+    }
 
-            int result = pstmt.executeUpdate();
+    public TransactionDAO(LedgerStore store) {
+        this.store = store;
+    }
 
-            if (result > 0) {
-                ResultSet rs = pstmt.getGeneratedKeys();
-                if (rs.next()) {
-                    transaction.setTransactionId(rs.getInt(1));
-                }
-                return true;
+    /**
+     * Create new transaction
+     * Waits for the journal's group commit, so the id is set when this returns true.
+     * Gives up after JOURNAL_TIMEOUT_SECONDS; the row may still be written after that.
+     */
+    public boolean createTransaction(Transaction transaction) {
+        DaoMetrics.Call call = DaoMetrics.begin("TransactionDAO.createTransaction");
+        try {
+            createTransactionAsync(transaction).get(JOURNAL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            call.rows(1);
+            return true;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                call.failed((SQLException) e.getCause());
             }
-        } catch (SQLException e) {
             System.err.println("Error creating transaction");
-            e.printStackTrace();
+            e.getCause().printStackTrace();
+        } catch (TimeoutException e) {
+            System.err.println("Error creating transaction: journal did not commit it within " +
+                    JOURNAL_TIMEOUT_SECONDS + "s");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Interrupted while creating transaction");
+        } finally {
+            call.end();
         }
         return false;
     }
 
     /**
-     * Get all transactions for an account
+     * Queue a transaction for the next group commit
+     * The future completes with the transaction, id set, once the row is durable.
+     */
+    public CompletableFuture<Transaction> createTransactionAsync(Transaction transaction) {
+        if (store != null) {
+            return store.appendTransaction(transaction)
+                    ? CompletableFuture.completedFuture(transaction)
+                    : CompletableFuture.failedFuture(new IllegalArgumentException(
+                            "Unknown account: " + transaction.getAccountNumber()));
+        }
+        return TransactionJournal.getInstance().append(transaction);
+    }
+
+    /**
+     * Get all transactions for an account, the archived months after the live ones
      */
     public List<Transaction> getTransactionsByAccount(String accountNumber) {
-        List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM transactions WHERE account_number = ? ORDER BY transaction_date DESC";
+        if (store != null) {
+            return store.findTransactions(accountNumber, null, null, null, null, 0);
+        }
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        List<Transaction> transactions = new ArrayList<>();
+        DaoMetrics.Call call = DaoMetrics.begin("TransactionDAO.getTransactionsByAccount");
+        try {
+            // Catalog reads take their own connection, so they happen before or after this one
+            TransactionArchive archive = TransactionArchive.getInstance();
+            LocalDateTime liveFrom = archive.getLiveFrom();
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(Statements.TRANSACTIONS_BY_ACCOUNT)) {
 
-            pstmt.setString(1, accountNumber);
-            ResultSet rs = pstmt.executeQuery();
+                pstmt.setString(1, accountNumber);
+                pstmt.setTimestamp(2, Timestamp.valueOf(liveFrom));
+                ResultSet rs = pstmt.executeQuery();
 
-            while (rs.next()) {
-                transactions.add(extractTransactionFromResultSet(rs));
+                while (rs.next()) {
+                    transactions.add(RowMappers.TRANSACTION.map(rs));
+                }
             }
+            transactions.addAll(archive.find(accountNumber, null, null, null, null, 0));
+            call.rows(transactions.size());
         } catch (SQLException e) {
+            call.failed(e);
             System.err.println("Error getting transactions");
             e.printStackTrace();
+        } finally {
+            call.end();
         }
         return transactions;
     }
 
     /**
      * Get recent transactions (limit)
+     * Only reads the archive when the live months hold fewer than limit rows.
      */
     public List<Transaction> getRecentTransactions(String accountNumber, int limit) {
+        if (store != null) {
+            return store.findTransactions(accountNumber, null, null, null, null, limit);
+        }
+
         List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM transactions WHERE account_number = ? " +
-                "ORDER BY transaction_date DESC LIMIT ?";
+        DaoMetrics.Call call = DaoMetrics.begin("TransactionDAO.getRecentTransactions");
+        try {
+            TransactionArchive archive = TransactionArchive.getInstance();
+            LocalDateTime liveFrom = archive.getLiveFrom();
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(Statements.TRANSACTIONS_RECENT)) {
+
+                pstmt.setString(1, accountNumber);
+                pstmt.setTimestamp(2, Timestamp.valueOf(liveFrom));
+                pstmt.setInt(3, limit);
+                ResultSet rs = pstmt.executeQuery();
+
+                while (rs.next()) {
+                    transactions.add(RowMappers.TRANSACTION.map(rs));
+                }
+            }
+            if (transactions.size() < limit) {
+                transactions.addAll(archive.find(accountNumber, null, null, null, null,
+                        limit - transactions.size()));
+            }
+            call.rows(transactions.size());
+        } catch (SQLException e) {
+            call.failed(e);
+            System.err.println("Error getting recent transactions");
+            e.printStackTrace();
+        } finally {
+            call.end();
+        }
+        return transactions;
+    }
+
+    /**
+     * Get one page of an account's history, newest first
+     * Seeks past the cursor on (transaction_date, transaction_id) instead of using OFFSET,
+     * so every page costs the same index range scan. Pass null for the first page.
+     */
+    public TransactionPage getTransactionPage(String accountNumber, Transaction after, int pageSize) {
+        return getTransactionPage(accountNumber, null, null, null, after, pageSize);
+    }
+
+    /**
+     * Get one page of an account's history filtered in SQL
+     * transactionType, from (inclusive) and to (exclusive) are optional; pass null to skip a filter.
+     * The live table is read from TransactionArchive.getLiveFrom() on, and a page that runs
+     * past it, or a cursor already before it, continues in the archived months.
+     */
+    public TransactionPage getTransactionPage(String accountNumber, String transactionType,
+                                              LocalDateTime from, LocalDateTime to,
+                                              Transaction after, int pageSize) {
+        if (store != null) {
+            // One extra row tells us whether another page exists
+            return toPage(store.findTransactions(accountNumber, transactionType, from, to, after, pageSize + 1),
+                    pageSize);
+        }
+
+        List<Transaction> transactions = new ArrayList<>(pageSize + 1);
+        DaoMetrics.Call call = DaoMetrics.begin("TransactionDAO.getTransactionPage");
+        try {
+            TransactionArchive archive = TransactionArchive.getInstance();
+            LocalDateTime liveFrom = archive.getLiveFrom();
+            LocalDateTime liveStart = from != null && from.isAfter(liveFrom) ? from : liveFrom;
+
+            if ((to == null || to.isAfter(liveStart))
+                    && (after == null || !after.getTransactionDate().isBefore(liveFrom))) {
+                // One extra row tells us whether another page exists
+                readLivePage(accountNumber, transactionType, liveStart, to, after, pageSize + 1, transactions);
+            }
+            if (transactions.size() <= pageSize && (from == null || from.isBefore(liveFrom))) {
+                transactions.addAll(archive.find(accountNumber, transactionType, from, to, after,
+                        pageSize + 1 - transactions.size()));
+            }
+            call.rows(transactions.size());
+        } catch (SQLException e) {
+            call.failed(e);
+            System.err.println("Error getting transaction page");
+            e.printStackTrace();
+        } finally {
+            call.end();
+        }
+
+        return toPage(transactions, pageSize);
+    }
+
+    /**
+     * Read up to limit live rows, newest first, dated from liveStart on
+     */
+    private void readLivePage(String accountNumber, String transactionType, LocalDateTime liveStart,
+                              LocalDateTime to, Transaction after, int limit,
+                              List<Transaction> transactions) throws SQLException {
+        String sql = Statements.transactionPage(transactionType != null, to != null, after != null);
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setString(1, accountNumber);
-            pstmt.setInt(2, limit);
-            ResultSet rs = pstmt.executeQuery();
+            int index = 1;
+            pstmt.setString(index++, accountNumber);
+            pstmt.setTimestamp(index++, Timestamp.valueOf(liveStart));
+            if (transactionType != null) {
+                pstmt.setString(index++, transactionType);
+            }
+            if (to != null) {
+                pstmt.setTimestamp(index++, Timestamp.valueOf(to));
+            }
+            if (after != null) {
+                Timestamp afterDate = Timestamp.valueOf(after.getTransactionDate());
+                pstmt.setTimestamp(index++, afterDate);
+                pstmt.setTimestamp(index++, afterDate);
+                pstmt.setInt(index++, after.getTransactionId());
+            }
+            pstmt.setInt(index, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    transactions.add(RowMappers.TRANSACTION.map(rs));
+                }
+            }
+        }
+    }
+
+    private TransactionPage toPage(List<Transaction> transactions, int pageSize) {
+        boolean hasMore = transactions.size() > pageSize;
+        if (hasMore) {
+            transactions.remove(pageSize);
+        }
+        return new TransactionPage(transactions, hasMore);
+    }
+
+    /**
+     * Get per-type counts and totals for an account, aggregated with GROUP BY
+     * from (inclusive) and to (exclusive) are optional; pass null for the whole history.
+     * Archived months in the range are added from the archive.
+     */
+    public TransactionSummary getTransactionSummary(String accountNumber, LocalDateTime from, LocalDateTime to) {
+        if (store != null) {
+            return store.summarize(accountNumber, from, to);
+        }
+
+        TransactionSummary summary = new TransactionSummary();
+        String sql = to != null ? Statements.TRANSACTION_SUMMARY_UNTIL : Statements.TRANSACTION_SUMMARY;
+
+        DaoMetrics.Call call = DaoMetrics.begin("TransactionDAO.getTransactionSummary");
+        try {
+            TransactionArchive archive = TransactionArchive.getInstance();
+            LocalDateTime liveFrom = archive.getLiveFrom();
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                pstmt.setString(1, accountNumber);
+                pstmt.setTimestamp(2, Timestamp.valueOf(from != null && from.isAfter(liveFrom) ? from : liveFrom));
+                if (to != null) {
+                    pstmt.setTimestamp(3, Timestamp.valueOf(to));
+                }
 
-            while (rs.next()) {
-                transactions.add(extractTransactionFromResultSet(rs));
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        summary.add(rs.getString(1), rs.getLong(2), Money.fromDecimal(rs.getBigDecimal(3)));
+                        call.rows(1);
+                    }
+                }
+            }
+            if (from == null || from.isBefore(liveFrom)) {
+                archive.summarize(accountNumber, from, to, summary);
             }
         } catch (SQLException e) {
-            System.err.println("Error getting recent transactions");
+            call.failed(e);
+            System.err.println("Error getting transaction summary");
             e.printStackTrace();
+        } finally {
+            call.end();
         }
-        return transactions;
+        return summary;
     }
 
     /**
-     * Extract transaction from ResultSet
+     * Stream an account's full history, newest first, without materializing it
+     * The live rows come first, then the archived months, each decoded once the stream reaches it.
+     * The stream holds a pooled connection until closed; always use try-with-resources.
      */
-    private Transaction extractTransactionFromResultSet(ResultSet rs) throws SQLException {
-        Transaction transaction = new Transaction();
-        transaction.setTransactionId(rs.getInt("transaction_id"));
-        transaction.setAccountNumber(rs.getString("account_number"));
-        transaction.setTransactionType(rs.getString("transaction_type"));
-        transaction.setAmount(rs.getDouble("amount"));
-        transaction.setBalanceAfter(rs.getDouble("balance_after"));
-        transaction.setDescription(rs.getString("description"));
+    public Stream<Transaction> streamTransactionsByAccount(String accountNumber) throws SQLException {
+        if (store != null) {
+            return store.streamTransactions(accountNumber);
+        }
 
-        Timestamp timestamp = rs.getTimestamp("transaction_date");
-        if (timestamp != null) {
-            transaction.setTransactionDate(timestamp.toLocalDateTime());
+        // Timed from open until the stream is closed
+        DaoMetrics.Call call = DaoMetrics.begin("TransactionDAO.streamTransactionsByAccount");
+        LocalDateTime liveFrom;
+        Stream<Transaction> archived;
+        Connection conn;
+        try {
+            // Catalog reads take their own connection, so they happen before this one is taken
+            TransactionArchive archive = TransactionArchive.getInstance();
+            liveFrom = archive.getLiveFrom();
+            archived = archive.stream(accountNumber);
+            conn = DatabaseConnection.getConnection();
+        } catch (SQLException e) {
+            call.failed(e);
+            call.end();
+            throw e;
+        }
+        PreparedStatement pstmt = null;
+        try {
+            pstmt = conn.prepareStatement(Statements.TRANSACTIONS_STREAM,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Connector/J streams row by row instead of buffering the whole result
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+            pstmt.setString(1, accountNumber);
+            pstmt.setTimestamp(2, Timestamp.valueOf(liveFrom));
+            ResultSet rs = pstmt.executeQuery();
+            PreparedStatement statement = pstmt;
+            Stream<Transaction> live = streamResultSet(rs, call).onClose(() -> {
+                // Cursor, then statement, then the connection back to the pool, even if one fails
+                try {
+                    try {
+                        try {
+                            rs.close();
+                        } finally {
+                            statement.close();
+                        }
+                    } finally {
+                        conn.close();
+                    }
+                } catch (SQLException e) {
+                    call.failed(e);
+                    System.err.println("Error closing transaction stream");
+                    e.printStackTrace();
+                } finally {
+                    call.end();
+                }
+            });
+            return Stream.concat(live, archived);
+        } catch (SQLException e) {
+            call.failed(e);
+            call.end();
+            if (pstmt != null) {
+                pstmt.close();
+            }
+            conn.close();
+            throw e;
         }
+    }
 
-        return transaction;
+    /**
+     * Adapt a forward-only ResultSet to a sequential Stream
+     */
+    private Stream<Transaction> streamResultSet(ResultSet rs, DaoMetrics.Call call) {
+        Spliterator<Transaction> spliterator = new Spliterators.AbstractSpliterator<Transaction>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Transaction> action) {
+                try {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                    call.rows(1);
+                    action.accept(RowMappers.TRANSACTION.map(rs));
+                    return true;
+                } catch (SQLException e) {
+                    call.failed(e);
+                    throw new IllegalStateException("Error reading transaction stream", e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
     }
 
     /**
      * Delete transaction
      */
     public boolean deleteTransaction(int transactionId) {
-        String sql = "DELETE FROM transactions WHERE transaction_id = ?";
+        if (store != null) {
+            return store.deleteTransaction(transactionId);
+        }
 
+        DaoMetrics.Call call = DaoMetrics.begin("TransactionDAO.deleteTransaction");
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(Statements.TRANSACTION_DELETE)) {
 
             pstmt.setInt(1, transactionId);
-            return pstmt.executeUpdate() > 0;
+            int rows = pstmt.executeUpdate();
+            call.rows(rows);
+            return rows > 0;
         } catch (SQLException e) {
+            call.failed(e);
             System.err.println("Error deleting transaction");
             e.printStackTrace();
+        } finally {
+            call.end();
         }
         return false;
     }
 
     /**
-     * Get transaction by ID
+     * Get transaction by ID, from the archive if it is no longer live
      */
     public Transaction getTransactionById(int transactionId) {
-        String sql = "SELECT * FROM transactions WHERE transaction_id = ?";
+        if (store != null) {
+            return store.findTransaction(transactionId);
+        }
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        DaoMetrics.Call call = DaoMetrics.begin("TransactionDAO.getTransactionById");
+        try {
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(Statements.TRANSACTION_BY_ID)) {
 
-            pstmt.setInt(1, transactionId);
-            ResultSet rs = pstmt.executeQuery();
+                pstmt.setInt(1, transactionId);
+                ResultSet rs = pstmt.executeQuery();
 
-            if (rs.next()) {
-                return extractTransactionFromResultSet(rs);
+                if (rs.next()) {
+                    call.rows(1);
+                    return RowMappers.TRANSACTION.map(rs);
+                }
+            }
+            Transaction archived = TransactionArchive.getInstance().findById(transactionId);
+            if (archived != null) {
+                call.rows(1);
             }
+            return archived;
         } catch (SQLException e) {
+            call.failed(e);
             System.err.println("Error getting transaction by ID");
             e.printStackTrace();
+        } finally {
+            call.end();
         }
         return null;
     }
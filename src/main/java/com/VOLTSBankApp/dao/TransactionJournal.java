@@ -0,0 +1,292 @@
+package com.VOLTSBankApp.dao;
+
+import com.VOLTSBankApp.metrics.DaoMetrics;
+import com.VOLTSBankApp.model.Transaction;
+import com.VOLTSBankApp.util.DatabaseConnection;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransactionJournal - Append-only writer that group-commits transaction rows
+ * Concurrent appends are queued and a single flusher thread writes each group in one
+ * commit, using the fixed-size multi-row INSERTs of Statements.TRANSACTION_ROWS_INSERT so only a
+ * handful of statement texts ever reach the driver's cache. Each caller gets a future that completes with the
+ * generated id once its row is committed, or exceptionally if it could not be written.
+ */
+public class TransactionJournal {
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+    public static final long DEFAULT_MAX_DELAY_MICROS = 1_000;
+
+    // Wakes the flusher on close(); never written
+    private static final Entry SHUTDOWN = new Entry(null, null);
+
+    private static volatile TransactionJournal instance;
+
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final BatchWriter writer;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Thread flusher;
+    // Guards closed, so no row is queued after close() has queued SHUTDOWN
+    private final Object appendLock = new Object();
+    private boolean closed;
+
+    /**
+     * Shared journal used by TransactionDAO
+     */
+    public static TransactionJournal getInstance() {
+        TransactionJournal current = instance;
+        if (current != null) {
+            return current;
+        }
+        synchronized (TransactionJournal.class) {
+            if (instance == null) {
+                instance = new TransactionJournal(DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY_MICROS);
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * Flush and stop the shared journal on application shutdown
+     */
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance.close();
+            instance = null;
+        }
+    }
+
+    public TransactionJournal(int maxBatchSize, long maxDelayMicros) {
+        this(maxBatchSize, maxDelayMicros, TransactionJournal::insert);
+    }
+
+    TransactionJournal(int maxBatchSize, long maxDelayMicros, BatchWriter writer) {
+        if (maxBatchSize < 1 || maxDelayMicros < 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive and maxDelayMicros not negative");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(maxDelayMicros);
+        this.writer = writer;
+        this.flusher = new Thread(this::flushLoop, "volts-transaction-journal");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queue a transaction row; the future completes with the same transaction once its id is set
+     */
+    public CompletableFuture<Transaction> append(Transaction transaction) {
+        CompletableFuture<Transaction> future = new CompletableFuture<>();
+        synchronized (appendLock) {
+            if (closed) {
+                future.completeExceptionally(new IllegalStateException("Transaction journal is closed"));
+                return future;
+            }
+            queue.add(new Entry(transaction, future));
+        }
+        return future;
+    }
+
+    /**
+     * Rows waiting for the next group commit
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * Stop accepting rows, write everything already queued and stop the flusher
+     */
+    public void close() {
+        synchronized (appendLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(SHUTDOWN);
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Rows the flusher left behind if it stopped early, e.g. because close() was interrupted
+        List<Entry> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        while (!remaining.isEmpty()) {
+            int size = Math.min(maxBatchSize, remaining.size());
+            List<Entry> batch = new ArrayList<>(remaining.subList(0, size));
+            remaining.subList(0, size).clear();
+            flush(batch);
+        }
+    }
+
+    private void flushLoop() {
+        List<Entry> batch = new ArrayList<>(maxBatchSize);
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                Entry first = queue.take();
+                if (first == SHUTDOWN) {
+                    return;
+                }
+                batch.add(first);
+                stopping = collect(batch);
+            } catch (InterruptedException e) {
+                // Only close() stops the flusher; keep whatever was collected
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch = new ArrayList<>(maxBatchSize);
+            }
+        }
+    }
+
+    /**
+     * Top up the batch until it is full or the oldest row has waited maxDelay
+     * Returns true if the shutdown marker was reached
+     */
+    private boolean collect(List<Entry> batch) throws InterruptedException {
+        queue.drainTo(batch, maxBatchSize - batch.size());
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (batch.size() < maxBatchSize && !batch.contains(SHUTDOWN)) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+            queue.drainTo(batch, maxBatchSize - batch.size());
+        }
+        return batch.remove(SHUTDOWN);
+    }
+
+    /**
+     * Write one batch in a single transaction; if it fails, retry row by row so
+     * one bad row does not fail the others in its group
+     */
+    private void flush(List<Entry> batch) {
+        DaoMetrics.Call call = DaoMetrics.begin("TransactionJournal.flush");
+        try {
+            write(batch);
+            call.rows(batch.size());
+            complete(batch);
+            return;
+        } catch (SQLException e) {
+            call.failed(e);
+        } catch (RuntimeException e) {
+            // Fall through to the row-by-row retry, which reports it per caller
+        } finally {
+            call.end();
+        }
+
+        for (Entry entry : batch) {
+            List<Entry> single = List.of(entry);
+            try {
+                write(single);
+                complete(single);
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("Error writing journal row for account " +
+                        entry.transaction.getAccountNumber());
+                e.printStackTrace();
+                entry.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void write(List<Entry> batch) throws SQLException {
+        List<Transaction> rows = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            rows.add(entry.transaction);
+        }
+        writer.write(rows);
+    }
+
+    /**
+     * Write a batch as one database transaction, in chunks of the registered row counts
+     */
+    private static void insert(List<Transaction> batch) throws SQLException {
+        int[] ids = new int[batch.size()];
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int done = 0;
+                while (done < batch.size()) {
+                    int rows = Statements.TRANSACTION_ROWS_INSERT.rowsFor(batch.size() - done);
+                    insertChunk(conn, batch.subList(done, done + rows), ids, done);
+                    done += rows;
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        for (int i = 0; i < ids.length; i++) {
+            batch.get(i).setTransactionId(ids[i]);
+        }
+    }
+
+    /**
+     * One multi-row INSERT; its generated ids go into ids from offset on
+     */
+    private static void insertChunk(Connection conn, List<Transaction> chunk, int[] ids, int offset)
+            throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(Statements.TRANSACTION_ROWS_INSERT.sql(chunk.size()),
+                Statement.RETURN_GENERATED_KEYS)) {
+            int p = 1;
+            for (Transaction transaction : chunk) {
+                pstmt.setString(p++, transaction.getAccountNumber());
+                pstmt.setString(p++, transaction.getTransactionType());
+                pstmt.setBigDecimal(p++, transaction.getAmount().toDecimal());
+                pstmt.setBigDecimal(p++, transaction.getBalanceAfter().toDecimal());
+                pstmt.setString(p++, transaction.getDescription());
+            }
+            pstmt.executeUpdate();
+
+            // Connector/J returns one key per row of a multi-row INSERT, in row order
+            int count = 0;
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                while (keys.next() && count < chunk.size()) {
+                    ids[offset + count++] = keys.getInt(1);
+                }
+            }
+            if (count != chunk.size()) {
+                throw new SQLException("Expected " + chunk.size() + " generated keys but got " + count);
+            }
+        }
+    }
+
+    private void complete(List<Entry> batch) {
+        for (Entry entry : batch) {
+            entry.future.complete(entry.transaction);
+        }
+    }
+
+    /**
+     * Writes one batch atomically and sets each row's transaction id
+     */
+    interface BatchWriter {
+        void write(List<Transaction> batch) throws SQLException;
+    }
+
+    private static final class Entry {
+        private final Transaction transaction;
+        private final CompletableFuture<Transaction> future;
+
+        Entry(Transaction transaction, CompletableFuture<Transaction> future) {
+            this.transaction = transaction;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.VOLTSBankApp.dao;
+
+import com.VOLTSBankApp.model.Transaction;
+
+import java.util.List;
+
+/**
+ * TransactionPage - One keyset page of an account's history, newest first
+ * Pass getLast() back to the DAO as the cursor for the following page.
+ */
+public class TransactionPage {
+    private final List<Transaction> transactions;
+    private final boolean hasMore;
+
+    public TransactionPage(List<Transaction> transactions, boolean hasMore) {
+        this.transactions = transactions;
+        this.hasMore = hasMore;
+    }
+
+    public List<Transaction> getTransactions() { return transactions; }
+
+    public boolean hasMore() { return hasMore; }
+
+    public boolean isEmpty() { return transactions.isEmpty(); }
+
+    /**
+     * Cursor for the next page, or null for an empty page
+     */
+    public Transaction getLast() {
+        return transactions.isEmpty() ? null : transactions.get(transactions.size() - 1);
+    }
+}
@@ -0,0 +1,88 @@
+package com.VOLTSBankApp.dao;
+
+import com.VOLTSBankApp.model.Money;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * TransactionSummary - Per-type transaction counts and totals aggregated by the storage engine
+ * Totals are held in thebe.
+ */
+public class TransactionSummary {
+    private final Map<String, Long> counts = new TreeMap<>();
+    private final Map<String, Long> totals = new TreeMap<>();
+
+    public void add(String transactionType, long count, Money total) {
+        counts.merge(transactionType, count, Long::sum);
+        totals.merge(transactionType, total.getThebe(), Long::sum);
+    }
+
+    public long getCount(String transactionType) {
+        return counts.getOrDefault(transactionType, 0L);
+    }
+
+    public Money getTotal(String transactionType) {
+        return Money.ofThebe(totals.getOrDefault(transactionType, 0L));
+    }
+
+    public Map<String, Long> getCounts() { return counts; }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (long count : counts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return counts.isEmpty();
+    }
+
+    // Deposits include the opening deposit, as in the console report
+    public long getDepositCount() {
+        return getCount("DEPOSIT") + getCount("OPENING");
+    }
+
+    public Money getDepositTotal() {
+        return getTotal("DEPOSIT").plus(getTotal("OPENING"));
+    }
+
+    public long getWithdrawalCount() {
+        return getCount("WITHDRAWAL");
+    }
+
+    public Money getWithdrawalTotal() {
+        return getTotal("WITHDRAWAL");
+    }
+
+    public long getInterestCount() {
+        return getCount("INTEREST");
+    }
+
+    public Money getInterestTotal() {
+        return getTotal("INTEREST");
+    }
+
+    public long getTransferInCount() {
+        return getCount("TRANSFER_IN");
+    }
+
+    public Money getTransferInTotal() {
+        return getTotal("TRANSFER_IN");
+    }
+
+    public long getTransferOutCount() {
+        return getCount("TRANSFER_OUT");
+    }
+
+    public Money getTransferOutTotal() {
+        return getTotal("TRANSFER_OUT");
+    }
+
+    public Money getNetChange() {
+        return getDepositTotal().plus(getInterestTotal()).plus(getTransferInTotal())
+                .minus(getWithdrawalTotal()).minus(getTransferOutTotal());
+    }
+}
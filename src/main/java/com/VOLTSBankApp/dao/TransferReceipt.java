@@ -0,0 +1,37 @@
+package com.VOLTSBankApp.dao;
+
+import com.VOLTSBankApp.model.Money;
+import com.VOLTSBankApp.model.Transaction;
+
+/**
+ * TransferReceipt - The paired rows one committed transfer wrote
+ * getDebit() is the TRANSFER_OUT row on the source account, getCredit() the TRANSFER_IN
+ * row on the target; each carries its account's balance after the transfer.
+ */
+public class TransferReceipt {
+    private final Transaction debit;
+    private final Transaction credit;
+
+    public TransferReceipt(Transaction debit, Transaction credit) {
+        this.debit = debit;
+        this.credit = credit;
+    }
+
+    public Transaction getDebit() { return debit; }
+    public Transaction getCredit() { return credit; }
+
+    public Money getAmount() {
+        return debit.getAmount();
+    }
+
+    @Override
+    public String toString() {
+        return "TransferReceipt{" +
+                "from=" + debit.getAccountNumber() +
+                ", to=" + credit.getAccountNumber() +
+                ", amount=" + getAmount() +
+                ", debitId=" + debit.getTransactionId() +
+                ", creditId=" + credit.getTransactionId() +
+                '}';
+    }
+}
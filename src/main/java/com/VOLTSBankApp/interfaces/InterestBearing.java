@@ -1,7 +1,9 @@
 package com.VOLTSBankApp.interfaces;
 
+import com.VOLTSBankApp.model.Money;
+
 public interface InterestBearing {
-    void calculateInterest();
+    Money calculateInterest();
     double getInterestRate();
-    double getAvailableBalance();
+    Money getAvailableBalance();
 }
\ No newline at end of file
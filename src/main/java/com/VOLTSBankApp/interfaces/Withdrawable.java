@@ -1,7 +1,9 @@
 package com.VOLTSBankApp.interfaces;
 
+import com.VOLTSBankApp.model.Money;
+
 public interface Withdrawable {
-    boolean withdraw(double amount);
-    double getAvailableBalance();
+    boolean withdraw(Money amount);
+    Money getAvailableBalance();
 }
 
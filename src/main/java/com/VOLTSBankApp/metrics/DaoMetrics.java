@@ -0,0 +1,342 @@
+package com.VOLTSBankApp.metrics;
+
+import com.VOLTSBankApp.util.ConnectionPool;
+import com.VOLTSBankApp.util.DatabaseConnection;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DaoMetrics - Per-operation timing, row counts and error counts for every DAO call
+ *
+ * Usage inside a DAO method:
+ * <pre>
+ *     DaoMetrics.Call call = DaoMetrics.begin("AccountDAO.getAccountByNumber");
+ *     try (...) {
+ *         ...
+ *         call.rows(1);
+ *     } catch (SQLException e) {
+ *         call.failed(e);
+ *         ...
+ *     } finally {
+ *         call.end();
+ *     }
+ * </pre>
+ * Calls slower than the slow-query threshold are logged. Everything is exposed over JMX
+ * (com.VOLTSBankApp:type=DaoMetrics) and in Prometheus text format via MetricsHttpServer.
+ */
+public final class DaoMetrics {
+    public static final String OBJECT_NAME = "com.VOLTSBankApp:type=DaoMetrics";
+
+    private static final long DEFAULT_SLOW_QUERY_MILLIS = 250;
+    private static final String UNKNOWN_SQL_STATE = "UNKNOWN";
+
+    private static final Map<String, Operation> OPERATIONS = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> ERRORS_BY_SQL_STATE = new ConcurrentHashMap<>();
+
+    private static volatile long slowQueryNanos =
+            Long.getLong("volts.metrics.slowQueryMillis", DEFAULT_SLOW_QUERY_MILLIS) * 1_000_000L;
+
+    static {
+        registerMBean();
+    }
+
+    private DaoMetrics() {
+    }
+
+    /**
+     * Start timing one call of the named operation
+     */
+    public static Call begin(String operation) {
+        return new Call(OPERATIONS.computeIfAbsent(operation, Operation::new));
+    }
+
+    public static long getSlowQueryMillis() {
+        return slowQueryNanos / 1_000_000L;
+    }
+
+    public static void setSlowQueryMillis(long millis) {
+        slowQueryNanos = millis * 1_000_000L;
+    }
+
+    /**
+     * Metrics for one operation, or null if it has never been called
+     */
+    public static Operation getOperation(String operation) {
+        return OPERATIONS.get(operation);
+    }
+
+    /**
+     * Snapshot of all operations, sorted by name
+     */
+    public static Map<String, Operation> getOperations() {
+        return new TreeMap<>(OPERATIONS);
+    }
+
+    /**
+     * Error counts keyed by SQLState, sorted
+     */
+    public static Map<String, Long> getErrorsBySqlState() {
+        Map<String, Long> errors = new TreeMap<>();
+        ERRORS_BY_SQL_STATE.forEach((state, count) -> errors.put(state, count.sum()));
+        return errors;
+    }
+
+    public static void reset() {
+        OPERATIONS.values().forEach(Operation::reset);
+        ERRORS_BY_SQL_STATE.clear();
+    }
+
+    /**
+     * Human-readable table of every operation
+     */
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-44s %9s %7s %10s %10s %10s %10s%n",
+                "Operation", "Calls", "Errors", "Rows", "p50 ms", "p99 ms", "max ms"));
+        for (Operation op : getOperations().values()) {
+            sb.append(String.format("%-44s %9d %7d %10d %10.2f %10.2f %10.2f%n",
+                    op.getName(), op.getCalls(), op.getErrors(), op.getRows(),
+                    op.getPercentileMillis(0.50), op.getPercentileMillis(0.99), op.getMaxMillis()));
+        }
+        Map<String, Long> errors = getErrorsBySqlState();
+        if (!errors.isEmpty()) {
+            sb.append("Errors by SQLState: ").append(errors).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * All metrics in the Prometheus text exposition format (version 0.0.4)
+     */
+    public static String toPrometheusText() {
+        StringBuilder sb = new StringBuilder(4096);
+        Map<String, Operation> operations = getOperations();
+
+        sb.append("# HELP volts_dao_call_duration_seconds Latency of DAO calls\n");
+        sb.append("# TYPE volts_dao_call_duration_seconds histogram\n");
+        for (Operation op : operations.values()) {
+            String label = "operation=\"" + escape(op.getName()) + "\"";
+            long[] counts = op.latency.getBucketCounts();
+            long cumulative = 0;
+            for (int i = 0; i < LatencyHistogram.BOUNDS_NANOS.length; i++) {
+                cumulative += counts[i];
+                sb.append("volts_dao_call_duration_seconds_bucket{").append(label)
+                        .append(",le=\"").append(seconds(LatencyHistogram.BOUNDS_NANOS[i])).append("\"} ")
+                        .append(cumulative).append('\n');
+            }
+            cumulative += counts[LatencyHistogram.BOUNDS_NANOS.length];
+            sb.append("volts_dao_call_duration_seconds_bucket{").append(label).append(",le=\"+Inf\"} ")
+                    .append(cumulative).append('\n');
+            sb.append("volts_dao_call_duration_seconds_sum{").append(label).append("} ")
+                    .append(seconds(op.latency.getSumNanos())).append('\n');
+            sb.append("volts_dao_call_duration_seconds_count{").append(label).append("} ")
+                    .append(cumulative).append('\n');
+        }
+
+        sb.append("# HELP volts_dao_rows_total Rows returned or affected by DAO calls\n");
+        sb.append("# TYPE volts_dao_rows_total counter\n");
+        for (Operation op : operations.values()) {
+            sb.append("volts_dao_rows_total{operation=\"").append(escape(op.getName())).append("\"} ")
+                    .append(op.getRows()).append('\n');
+        }
+
+        sb.append("# HELP volts_dao_errors_total Failed DAO calls\n");
+        sb.append("# TYPE volts_dao_errors_total counter\n");
+        for (Operation op : operations.values()) {
+            sb.append("volts_dao_errors_total{operation=\"").append(escape(op.getName())).append("\"} ")
+                    .append(op.getErrors()).append('\n');
+        }
+
+        sb.append("# HELP volts_dao_slow_calls_total DAO calls slower than the slow-query threshold\n");
+        sb.append("# TYPE volts_dao_slow_calls_total counter\n");
+        for (Operation op : operations.values()) {
+            sb.append("volts_dao_slow_calls_total{operation=\"").append(escape(op.getName())).append("\"} ")
+                    .append(op.getSlowCalls()).append('\n');
+        }
+
+        sb.append("# HELP volts_sql_errors_total SQL errors by SQLState\n");
+        sb.append("# TYPE volts_sql_errors_total counter\n");
+        getErrorsBySqlState().forEach((state, count) ->
+                sb.append("volts_sql_errors_total{sqlstate=\"").append(escape(state)).append("\"} ")
+                        .append(count).append('\n'));
+
+        ConnectionPool.Stats pool = DatabaseConnection.getPoolStats();
+        sb.append("# HELP volts_pool_connections Pooled connections by state\n");
+        sb.append("# TYPE volts_pool_connections gauge\n");
+        sb.append("volts_pool_connections{state=\"borrowed\"} ").append(pool.getBorrowed()).append('\n');
+        sb.append("volts_pool_connections{state=\"idle\"} ").append(pool.getIdle()).append('\n');
+        sb.append("# HELP volts_pool_waiting_threads Threads waiting for a pooled connection\n");
+        sb.append("# TYPE volts_pool_waiting_threads gauge\n");
+        sb.append("volts_pool_waiting_threads ").append(pool.getWaiting()).append('\n');
+        sb.append("# HELP volts_pool_timeouts_total Borrow attempts that timed out\n");
+        sb.append("# TYPE volts_pool_timeouts_total counter\n");
+        sb.append("volts_pool_timeouts_total ").append(pool.getTimeouts()).append('\n');
+        return sb.toString();
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / 1_000_000_000.0);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static void registerMBean() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new Jmx(), name);
+            }
+        } catch (Exception e) {
+            System.err.println("Error registering DAO metrics MBean");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Metrics for one named DAO operation
+     */
+    public static final class Operation {
+        private final String name;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder slowCalls = new LongAdder();
+
+        Operation(String name) {
+            this.name = name;
+        }
+
+        public String getName() { return name; }
+        public long getCalls() { return latency.getCount(); }
+        public long getRows() { return rows.sum(); }
+        public long getErrors() { return errors.sum(); }
+        public long getSlowCalls() { return slowCalls.sum(); }
+
+        public double getPercentileMillis(double quantile) {
+            return latency.getPercentileNanos(quantile) / 1_000_000.0;
+        }
+
+        public double getMeanMillis() {
+            long calls = latency.getCount();
+            return calls == 0 ? 0.0 : latency.getSumNanos() / (double) calls / 1_000_000.0;
+        }
+
+        public double getMaxMillis() {
+            return latency.getMaxNanos() / 1_000_000.0;
+        }
+
+        void reset() {
+            latency.reset();
+            rows.reset();
+            errors.reset();
+            slowCalls.reset();
+        }
+    }
+
+    /**
+     * One in-flight call; end() must run exactly once, normally from a finally block
+     */
+    public static final class Call {
+        private final Operation operation;
+        private final long startNanos;
+        private long rows;
+        private boolean ended;
+
+        Call(Operation operation) {
+            this.operation = operation;
+            this.startNanos = System.nanoTime();
+        }
+
+        /**
+         * Count rows returned or affected by this call
+         */
+        public void rows(long count) {
+            rows += count;
+        }
+
+        public void failed(SQLException e) {
+            operation.errors.increment();
+            String state = e.getSQLState() != null ? e.getSQLState() : UNKNOWN_SQL_STATE;
+            ERRORS_BY_SQL_STATE.computeIfAbsent(state, s -> new LongAdder()).increment();
+        }
+
+        public void end() {
+            if (ended) {
+                return;
+            }
+            ended = true;
+            long elapsed = System.nanoTime() - startNanos;
+            operation.latency.record(elapsed);
+            operation.rows.add(rows);
+            if (elapsed > slowQueryNanos) {
+                operation.slowCalls.increment();
+                System.err.println("Slow query: " + operation.name + " took " +
+                        String.format("%.1f ms", elapsed / 1_000_000.0) + " (" + rows + " rows)");
+            }
+        }
+    }
+
+    /**
+     * JMX view of the metrics
+     */
+    private static final class Jmx implements DaoMetricsMXBean {
+        @Override
+        public String[] getOperationNames() {
+            return getOperations().keySet().toArray(new String[0]);
+        }
+
+        @Override
+        public long getTotalCalls() {
+            return OPERATIONS.values().stream().mapToLong(Operation::getCalls).sum();
+        }
+
+        @Override
+        public long getTotalErrors() {
+            return OPERATIONS.values().stream().mapToLong(Operation::getErrors).sum();
+        }
+
+        @Override
+        public Map<String, Long> getErrorsBySqlState() {
+            return DaoMetrics.getErrorsBySqlState();
+        }
+
+        @Override
+        public long getSlowQueryThresholdMillis() {
+            return getSlowQueryMillis();
+        }
+
+        @Override
+        public void setSlowQueryThresholdMillis(long millis) {
+            setSlowQueryMillis(millis);
+        }
+
+        @Override
+        public String getReport() {
+            return report();
+        }
+
+        @Override
+        public String getPrometheusText() {
+            return toPrometheusText();
+        }
+
+        @Override
+        public double getPercentileMillis(String operation, double quantile) {
+            Operation op = OPERATIONS.get(operation);
+            return op == null ? 0.0 : op.getPercentileMillis(quantile);
+        }
+
+        @Override
+        public void reset() {
+            DaoMetrics.reset();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.VOLTSBankApp.metrics;
+
+import java.util.Map;
+
+/**
+ * DaoMetricsMXBean - JMX management interface for DaoMetrics
+ */
+public interface DaoMetricsMXBean {
+    String[] getOperationNames();
+
+    long getTotalCalls();
+
+    long getTotalErrors();
+
+    Map<String, Long> getErrorsBySqlState();
+
+    long getSlowQueryThresholdMillis();
+
+    void setSlowQueryThresholdMillis(long millis);
+
+    String getReport();
+
+    String getPrometheusText();
+
+    /**
+     * Estimated latency of one operation at a quantile such as 0.99
+     */
+    double getPercentileMillis(String operation, double quantile);
+
+    void reset();
+}
@@ -0,0 +1,104 @@
+package com.VOLTSBankApp.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram - Lock-free fixed-bucket latency histogram
+ * Buckets follow a 1-2.5-5 progression from 100us to 10s plus an overflow bucket, which is
+ * enough resolution to tell a 2ms p99 from a 20ms one. Percentiles are interpolated
+ * within the bucket they fall in.
+ */
+public class LatencyHistogram {
+    /** Bucket upper bounds in nanoseconds (inclusive); the last bucket is unbounded */
+    static final long[] BOUNDS_NANOS = {
+            100_000L, 250_000L, 500_000L,
+            1_000_000L, 2_500_000L, 5_000_000L,
+            10_000_000L, 25_000_000L, 50_000_000L,
+            100_000_000L, 250_000_000L, 500_000_000L,
+            1_000_000_000L, 2_500_000_000L, 5_000_000_000L,
+            10_000_000_000L
+    };
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_NANOS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        int bucket = 0;
+        while (bucket < BOUNDS_NANOS.length && nanos > BOUNDS_NANOS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        count.increment();
+        sumNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSumNanos() {
+        return sumNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Per-bucket counts (not cumulative); index BOUNDS_NANOS.length is the overflow bucket
+     */
+    public long[] getBucketCounts() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * Estimated latency at the given quantile (0.0 - 1.0), in nanoseconds
+     */
+    public long getPercentileNanos(double quantile) {
+        long[] counts = getBucketCounts();
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long max = getMaxNanos();
+        double rank = Math.max(1.0, Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (seen + counts[i] >= rank) {
+                long lower = i == 0 ? 0 : BOUNDS_NANOS[i - 1];
+                long upper = i < BOUNDS_NANOS.length ? Math.min(BOUNDS_NANOS[i], max) : max;
+                double fraction = (rank - seen) / counts[i];
+                return lower + (long) ((upper - lower) * fraction);
+            }
+            seen += counts[i];
+        }
+        return max;
+    }
+
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        sumNanos.reset();
+        maxNanos.set(0);
+    }
+}
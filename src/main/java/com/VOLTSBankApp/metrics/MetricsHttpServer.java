@@ -0,0 +1,91 @@
+package com.VOLTSBankApp.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * MetricsHttpServer - Local scrape endpoint for DaoMetrics
+ * Binds to the loopback interface only. GET /metrics returns Prometheus text format,
+ * GET /metrics/report the human-readable table. The port comes from the
+ * volts.metrics.port system property; 0 disables the endpoint.
+ */
+public final class MetricsHttpServer {
+    public static final int DEFAULT_PORT = 9464;
+
+    private static HttpServer server;
+
+    private MetricsHttpServer() {
+    }
+
+    /**
+     * Start the endpoint on the configured port; failures are logged, never fatal
+     */
+    public static synchronized void start() {
+        start(Integer.getInteger("volts.metrics.port", DEFAULT_PORT));
+    }
+
+    public static synchronized void start(int port) {
+        if (server != null || port <= 0) {
+            return;
+        }
+        try {
+            HttpServer http = HttpServer.create(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            http.createContext("/metrics", MetricsHttpServer::handle);
+            http.setExecutor(Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "volts-metrics-http");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            http.start();
+            server = http;
+            System.out.println("Metrics available at http://localhost:" + port + "/metrics");
+        } catch (IOException e) {
+            System.err.println("Error starting metrics endpoint on port " + port + ": " + e.getMessage());
+        }
+    }
+
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            String body;
+            if (path.equals("/metrics")) {
+                body = DaoMetrics.toPrometheusText();
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            } else if (path.equals("/metrics/report")) {
+                body = DaoMetrics.report();
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -2,9 +2,15 @@ package com.VOLTSBankApp.model;
 
 import java.time.LocalDateTime;
 
+/**
+ * Balance changes are atomic per account object: they run under the object's own
+ * monitor, so the dashboard and background jobs can share Account objects. Separate
+ * copies of the same account each keep their own balance and their own lock.
+ */
 public abstract class Account {
     private String accountNumber;
-    private double balance;
+    private volatile long balance; // thebe, written only under balanceLock()
+    private final Object balanceLock = new Object();
     private String branch;
     private LocalDateTime dateOpened;
     private Customer customer;
@@ -12,7 +18,7 @@ public abstract class Account {
 
     public Account() {
         this.dateOpened = LocalDateTime.now();
-        this.balance = 0.0;
+        this.balance = 0;
     }
 
     public Account(String accountNumber, String branch, Customer customer, AccountType accountType) {
@@ -21,19 +27,44 @@ public abstract class Account {
         this.customer = customer;
         this.accountType = accountType;
         this.dateOpened = LocalDateTime.now();
-        this.balance = 0.0;
+        this.balance = 0;
     }
 
     // Deposit method - common to all accounts
-    public boolean deposit(double amount) {
-        if (amount <= 0) {
+    public boolean deposit(Money amount) {
+        if (!amount.isPositive()) {
             return false;
         }
-        this.balance += amount;
+        synchronized (balanceLock()) {
+            this.balance = Math.addExact(this.balance, amount.getThebe());
+        }
         return true;
     }
 
-    public abstract double getAvailableBalance();
+    /**
+     * Take the amount off the balance if it is covered, as one atomic step
+     */
+    protected boolean debit(Money amount) {
+        if (!amount.isPositive()) {
+            return false;
+        }
+        synchronized (balanceLock()) {
+            if (amount.getThebe() > this.balance) {
+                return false;
+            }
+            this.balance -= amount.getThebe();
+        }
+        return true;
+    }
+
+    /**
+     * Monitor that guards this account's balance (and subclass fields that change with it)
+     */
+    protected final Object balanceLock() {
+        return balanceLock;
+    }
+
+    public abstract Money getAvailableBalance();
 
     // Abstract method - must be implemented by subclasses
     public abstract String getAccountDetails();
@@ -42,8 +73,12 @@ public abstract class Account {
     public String getAccountNumber() { return accountNumber; }
     public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
 
-    public double getBalance() { return balance; }
-    public void setBalance(double balance) { this.balance = balance; }
+    public Money getBalance() { return Money.ofThebe(balance); }
+    public void setBalance(Money balance) {
+        synchronized (balanceLock()) {
+            this.balance = balance.getThebe();
+        }
+    }
 
     public String getBranch() { return branch; }
     public void setBranch(String branch) { this.branch = branch; }
@@ -61,7 +96,7 @@ public abstract class Account {
     public String toString() {
         return "Account{" +
                 "accountNumber='" + accountNumber + '\'' +
-                ", balance=" + String.format("%.2f", balance) +
+                ", balance=" + Money.format(balance) +
                 ", type=" + accountType.getDisplayName() +
                 '}';
     }
@@ -19,16 +19,12 @@ public class ChequeAccount extends Account implements Withdrawable {
     }
 
     @Override
-    public boolean withdraw(double amount) {
-        if (amount <= 0 || amount > getBalance()) {
-            return false;
-        }
-        setBalance(getBalance() - amount);
-        return true;
+    public boolean withdraw(Money amount) {
+        return debit(amount);
     }
 
     @Override
-    public double getAvailableBalance() {
+    public Money getAvailableBalance() {
         return getBalance();
     }
 
@@ -40,7 +36,7 @@ public class ChequeAccount extends Account implements Withdrawable {
 
     @Override
     public String getAccountDetails() {
-        return String.format("Cheque Account\nAccount Number: %s\nBalance: BWP %.2f\n" +
+        return String.format("Cheque Account\nAccount Number: %s\nBalance: BWP %s\n" +
                         "Employer: %s\nEmployer Address: %s\nDeposits & Withdrawals: Allowed",
                 getAccountNumber(), getBalance(), employerName, employerAddress);
     }
@@ -4,61 +4,66 @@ import com.VOLTSBankApp.interfaces.InterestBearing;
 import com.VOLTSBankApp.interfaces.Withdrawable;
 
 public class InvestmentAccount extends Account implements InterestBearing, Withdrawable {
-    private static final double INTEREST_RATE = 0.05; // 5% monthly
-    private static final double MINIMUM_OPENING_BALANCE = 500.00;
-    private double accruedInterest;
+    private static final long INTEREST_RATE_PPM = 50_000; // 5% monthly
+    private static final Money MINIMUM_OPENING_BALANCE = Money.ofPula(500);
+    private volatile long accruedInterest; // thebe, written under balanceLock()
 
     public InvestmentAccount() {
         super();
         setAccountType(AccountType.INVESTMENT);
     }
 
-    public InvestmentAccount(String accountNumber, String branch, Customer customer, double initialDeposit) {
+    public InvestmentAccount(String accountNumber, String branch, Customer customer, Money initialDeposit) {
         super(accountNumber, branch, customer, AccountType.INVESTMENT);
-        this.accruedInterest = 0.0;
-        if (initialDeposit >= MINIMUM_OPENING_BALANCE) {
+        this.accruedInterest = 0;
+        if (initialDeposit.compareTo(MINIMUM_OPENING_BALANCE) >= 0) {
             deposit(initialDeposit);
         }
     }
 
     @Override
-    public void calculateInterest() {
-        double interest = getBalance() * INTEREST_RATE;
-        this.accruedInterest += interest;
-        setBalance(getBalance() + interest);
+    public Money calculateInterest() {
+        synchronized (balanceLock()) {
+            Money interest = getBalance().timesPpm(INTEREST_RATE_PPM);
+            this.accruedInterest = Math.addExact(this.accruedInterest, interest.getThebe());
+            setBalance(getBalance().plus(interest));
+            return interest;
+        }
     }
 
     @Override
     public double getInterestRate() {
-        return INTEREST_RATE;
+        return INTEREST_RATE_PPM / 1_000_000.0;
     }
 
     @Override
-    public boolean withdraw(double amount) {
-        if (amount <= 0 || amount > getBalance()) {
-            return false;
-        }
-        setBalance(getBalance() - amount);
-        return true;
+    public boolean withdraw(Money amount) {
+        return debit(amount);
     }
 
     @Override
-    public double getAvailableBalance() {
+    public Money getAvailableBalance() {
         return getBalance();
     }
 
-    public static double getMinimumOpeningBalance() {
+    public static Money getMinimumOpeningBalance() {
         return MINIMUM_OPENING_BALANCE;
     }
 
-    public double getAccruedInterest() {
-        return accruedInterest;
+    public Money getAccruedInterest() {
+        return Money.ofThebe(accruedInterest);
+    }
+
+    public void setAccruedInterest(Money accruedInterest) {
+        synchronized (balanceLock()) {
+            this.accruedInterest = accruedInterest.getThebe();
+        }
     }
 
     @Override
     public String getAccountDetails() {
-        return String.format("Investment Account\nAccount Number: %s\nBalance: BWP %.2f\n" +
-                        "Interest Rate: %.1f%%\nAccrued Interest: BWP %.2f\nWithdrawals: Allowed",
-                getAccountNumber(), getBalance(), getInterestRate() * 100, accruedInterest);
+        return String.format("Investment Account\nAccount Number: %s\nBalance: BWP %s\n" +
+                        "Interest Rate: %.1f%%\nAccrued Interest: BWP %s\nWithdrawals: Allowed",
+                getAccountNumber(), getBalance(), getInterestRate() * 100, getAccruedInterest());
     }
 }
@@ -0,0 +1,156 @@
+package com.VOLTSBankApp.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money - Immutable BWP amount held as a whole number of thebe (1 BWP = 100 thebe)
+ * Arithmetic is exact long arithmetic; BigDecimal is only used at the JDBC and input boundary.
+ */
+public final class Money implements Comparable<Money> {
+    public static final String CURRENCY = "BWP";
+    public static final Money ZERO = new Money(0);
+
+    private static final int SCALE = 2;
+    private static final long THEBE_PER_PULA = 100;
+    private static final long PPM = 1_000_000;
+
+    private final long thebe;
+
+    private Money(long thebe) {
+        this.thebe = thebe;
+    }
+
+    public static Money ofThebe(long thebe) {
+        return thebe == 0 ? ZERO : new Money(thebe);
+    }
+
+    public static Money ofPula(long pula) {
+        return ofThebe(Math.multiplyExact(pula, THEBE_PER_PULA));
+    }
+
+    /**
+     * Convert a DECIMAL column value or user input; null reads as zero
+     */
+    public static Money fromDecimal(BigDecimal amount) {
+        if (amount == null) {
+            return ZERO;
+        }
+        return ofThebe(amount.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Parse an amount such as "1250.5" or "1250.50"
+     */
+    public static Money parse(String amount) {
+        return fromDecimal(new BigDecimal(amount.trim()));
+    }
+
+    public long getThebe() {
+        return thebe;
+    }
+
+    public BigDecimal toDecimal() {
+        return BigDecimal.valueOf(thebe, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return ofThebe(Math.addExact(thebe, other.thebe));
+    }
+
+    public Money minus(Money other) {
+        return ofThebe(Math.subtractExact(thebe, other.thebe));
+    }
+
+    public Money negate() {
+        return ofThebe(Math.negateExact(thebe));
+    }
+
+    /**
+     * Multiply by a rate given in parts per million, rounding half-even to the nearest thebe
+     */
+    public Money timesPpm(long ratePpm) {
+        return ofThebe(timesPpm(thebe, ratePpm));
+    }
+
+    /**
+     * Primitive form of {@link #timesPpm(long)} for hot loops
+     */
+    public static long timesPpm(long thebe, long ratePpm) {
+        long product = Math.multiplyExact(thebe, ratePpm);
+        long quotient = product / PPM;
+        long remainder = Math.abs(product % PPM);
+        long twice = remainder * 2;
+        if (twice > PPM || (twice == PPM && (quotient & 1) != 0)) {
+            quotient += Long.signum(product);
+        }
+        return quotient;
+    }
+
+    public boolean isZero() {
+        return thebe == 0;
+    }
+
+    public boolean isPositive() {
+        return thebe > 0;
+    }
+
+    public boolean isNegative() {
+        return thebe < 0;
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return thebe > other.thebe;
+    }
+
+    public boolean isLessThan(Money other) {
+        return thebe < other.thebe;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(thebe, other.thebe);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).thebe == thebe;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(thebe);
+    }
+
+    /**
+     * Plain two-decimal amount, e.g. "1250.50"
+     */
+    @Override
+    public String toString() {
+        return format(thebe);
+    }
+
+    /**
+     * Amount with currency tag, e.g. "BWP 1250.50"
+     */
+    public String toDisplayString() {
+        return CURRENCY + " " + format(thebe);
+    }
+
+    /**
+     * Format thebe as a two-decimal amount without going through String.format
+     */
+    public static String format(long thebe) {
+        StringBuilder sb = new StringBuilder(24);
+        if (thebe < 0) {
+            sb.append('-');
+        }
+        long pula = Math.abs(thebe / THEBE_PER_PULA);
+        long cents = Math.abs(thebe % THEBE_PER_PULA);
+        sb.append(pula).append('.');
+        if (cents < 10) {
+            sb.append('0');
+        }
+        return sb.append(cents).toString();
+    }
+}
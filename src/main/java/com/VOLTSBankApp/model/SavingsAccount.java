@@ -3,8 +3,8 @@ package com.VOLTSBankApp.model;
 import com.VOLTSBankApp.interfaces.InterestBearing;
 
 public class SavingsAccount extends Account implements InterestBearing {
-    private static final double INTEREST_RATE = 0.0005; // 0.05% monthly
-    private double accruedInterest;
+    private static final long INTEREST_RATE_PPM = 500; // 0.05% monthly
+    private volatile long accruedInterest; // thebe, written under balanceLock()
 
     public SavingsAccount() {
         super();
@@ -12,35 +12,44 @@ public class SavingsAccount extends Account implements InterestBearing {
     }
 
     @Override
-    public double getAvailableBalance() {
-        return 0;
+    public Money getAvailableBalance() {
+        return Money.ZERO;
     }
 
     public SavingsAccount(String accountNumber, String branch, Customer customer) {
         super(accountNumber, branch, customer, AccountType.SAVINGS);
-        this.accruedInterest = 0.0;
+        this.accruedInterest = 0;
     }
 
     @Override
-    public void calculateInterest() {
-        double interest = getBalance() * INTEREST_RATE;
-        this.accruedInterest += interest;
-        setBalance(getBalance() + interest);
+    public Money calculateInterest() {
+        synchronized (balanceLock()) {
+            Money interest = getBalance().timesPpm(INTEREST_RATE_PPM);
+            this.accruedInterest = Math.addExact(this.accruedInterest, interest.getThebe());
+            setBalance(getBalance().plus(interest));
+            return interest;
+        }
     }
 
     @Override
     public double getInterestRate() {
-        return INTEREST_RATE;
+        return INTEREST_RATE_PPM / 1_000_000.0;
     }
 
-    public double getAccruedInterest() {
-        return accruedInterest;
+    public Money getAccruedInterest() {
+        return Money.ofThebe(accruedInterest);
+    }
+
+    public void setAccruedInterest(Money accruedInterest) {
+        synchronized (balanceLock()) {
+            this.accruedInterest = accruedInterest.getThebe();
+        }
     }
 
     @Override
     public String getAccountDetails() {
-        return String.format("Savings Account\nAccount Number: %s\nBalance: BWP %.2f\n" +
-                        "Interest Rate: %.3f%%\nAccrued Interest: BWP %.2f\nNote: No withdrawals allowed",
-                getAccountNumber(), getBalance(), getInterestRate() * 100, accruedInterest);
+        return String.format("Savings Account\nAccount Number: %s\nBalance: BWP %s\n" +
+                        "Interest Rate: %.3f%%\nAccrued Interest: BWP %s\nNote: No withdrawals allowed",
+                getAccountNumber(), getBalance(), getInterestRate() * 100, getAccruedInterest());
     }
 }
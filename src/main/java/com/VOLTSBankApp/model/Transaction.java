@@ -7,8 +7,8 @@ package com.VOLTSBankApp.model;
         private int transactionId;
         private String accountNumber;
         private String transactionType;
-        private double amount;
-        private double balanceAfter;
+        private Money amount;
+        private Money balanceAfter;
         private LocalDateTime transactionDate;
         private String description;
 
@@ -16,8 +16,8 @@ package com.VOLTSBankApp.model;
             this.transactionDate = LocalDateTime.now();
         }
 
-        public Transaction(String accountNumber, String transactionType, double amount,
-                           double balanceAfter, String description) {
+        public Transaction(String accountNumber, String transactionType, Money amount,
+                           Money balanceAfter, String description) {
             this.accountNumber = accountNumber;
             this.transactionType = transactionType;
             this.amount = amount;
@@ -26,6 +26,13 @@ package com.VOLTSBankApp.model;
             this.transactionDate = LocalDateTime.now();
         }
 
+        /**
+         * True for transaction types that take money out of the account
+         */
+        public static boolean isDebitType(String transactionType) {
+            return "WITHDRAWAL".equals(transactionType) || "TRANSFER_OUT".equals(transactionType);
+        }
+
         // Getters and Setters
         public int getTransactionId() { return transactionId; }
         public void setTransactionId(int transactionId) { this.transactionId = transactionId; }
@@ -36,11 +43,11 @@ package com.VOLTSBankApp.model;
         public String getTransactionType() { return transactionType; }
         public void setTransactionType(String transactionType) { this.transactionType = transactionType; }
 
-        public double getAmount() { return amount; }
-        public void setAmount(double amount) { this.amount = amount; }
+        public Money getAmount() { return amount; }
+        public void setAmount(Money amount) { this.amount = amount; }
 
-        public double getBalanceAfter() { return balanceAfter; }
-        public void setBalanceAfter(double balanceAfter) { this.balanceAfter = balanceAfter; }
+        public Money getBalanceAfter() { return balanceAfter; }
+        public void setBalanceAfter(Money balanceAfter) { this.balanceAfter = balanceAfter; }
 
         public LocalDateTime getTransactionDate() { return transactionDate; }
         public void setTransactionDate(LocalDateTime transactionDate) { this.transactionDate = transactionDate; }
@@ -53,7 +60,7 @@ package com.VOLTSBankApp.model;
             return "Transaction{" +
                     "id=" + transactionId +
                     ", type='" + transactionType + '\'' +
-                    ", amount=" + String.format("%.2f", amount) +
+                    ", amount=" + amount +
                     ", date=" + transactionDate +
                     '}';
         }
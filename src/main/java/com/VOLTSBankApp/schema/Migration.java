@@ -0,0 +1,42 @@
+package com.VOLTSBankApp.schema;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Migration - One numbered schema change, applied at most once per database
+ * Steps must tolerate objects that already exist, since databases created before the
+ * migrations were introduced already have some of them.
+ */
+public final class Migration {
+
+    /**
+     * The DDL of one migration, run on the migrator's connection
+     */
+    @FunctionalInterface
+    public interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    private final int version;
+    private final String description;
+    private final Step step;
+
+    public Migration(int version, String description, Step step) {
+        this.version = version;
+        this.description = description;
+        this.step = step;
+    }
+
+    public int getVersion() { return version; }
+    public String getDescription() { return description; }
+
+    void apply(Connection conn) throws SQLException {
+        step.apply(conn);
+    }
+
+    @Override
+    public String toString() {
+        return "V" + version + " " + description;
+    }
+}
@@ -0,0 +1,276 @@
+package com.VOLTSBankApp.schema;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Migrations - Every schema change the application needs, oldest first
+ * Append new migrations with the next version number; never edit one that has shipped.
+ */
+public final class Migrations {
+    // Wide enough for PasswordHasher output with room for a stronger algorithm later
+    private static final int PASSWORD_COLUMN_LENGTH = 255;
+
+    private static final List<Migration> ALL = List.of(
+            new Migration(1, "Create customers, accounts and transactions", Migrations::createCoreTables),
+            new Migration(2, "Hash-sized password column and customer search indexes",
+                    Migrations::prepareCustomerLogin),
+            new Migration(3, "Covering indexes for account and transaction queries",
+                    Migrations::createCoveringIndexes),
+            new Migration(4, "Account-number blocks, interest run progress and daily balances",
+                    Migrations::createServiceTables),
+            new Migration(5, "Monthly partitions on transactions and the transaction archive catalog",
+                    Migrations::partitionTransactions)
+    );
+
+    private Migrations() {
+    }
+
+    public static List<Migration> all() {
+        return ALL;
+    }
+
+    private static void createCoreTables(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS customers (" +
+                    "customer_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "first_name VARCHAR(100) NOT NULL, " +
+                    "surname VARCHAR(100) NOT NULL, " +
+                    "email VARCHAR(150) NOT NULL UNIQUE, " +
+                    "phone_number VARCHAR(20), " +
+                    "address VARCHAR(255), " +
+                    "password VARCHAR(" + PASSWORD_COLUMN_LENGTH + ") NOT NULL)");
+            stmt.execute("CREATE TABLE IF NOT EXISTS accounts (" +
+                    "account_number VARCHAR(20) PRIMARY KEY, " +
+                    "customer_id INT NOT NULL, " +
+                    "account_type VARCHAR(20) NOT NULL, " +
+                    "balance DECIMAL(15,2) NOT NULL DEFAULT 0, " +
+                    "branch VARCHAR(100), " +
+                    "accrued_interest DECIMAL(15,2) NOT NULL DEFAULT 0, " +
+                    "employer_name VARCHAR(150), " +
+                    "employer_address VARCHAR(255), " +
+                    "date_opened TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "FOREIGN KEY (customer_id) REFERENCES customers (customer_id) ON DELETE CASCADE)");
+            stmt.execute("CREATE TABLE IF NOT EXISTS transactions (" +
+                    "transaction_id INT AUTO_INCREMENT PRIMARY KEY, " +
+                    "account_number VARCHAR(20) NOT NULL, " +
+                    "transaction_type VARCHAR(20) NOT NULL, " +
+                    "amount DECIMAL(15,2) NOT NULL, " +
+                    "balance_after DECIMAL(15,2) NOT NULL, " +
+                    "description VARCHAR(255), " +
+                    "transaction_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "FOREIGN KEY (account_number) REFERENCES accounts (account_number) ON DELETE CASCADE)");
+        }
+    }
+
+    private static void prepareCustomerLogin(Connection conn) throws SQLException {
+        String columnSql = "SELECT CHARACTER_MAXIMUM_LENGTH, IS_NULLABLE FROM information_schema.COLUMNS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'customers' AND COLUMN_NAME = 'password'";
+        try (Statement stmt = conn.createStatement()) {
+            long passwordLength = PASSWORD_COLUMN_LENGTH;
+            boolean nullable = false;
+            try (ResultSet rs = stmt.executeQuery(columnSql)) {
+                if (rs.next()) {
+                    passwordLength = rs.getLong(1);
+                    nullable = "YES".equals(rs.getString(2));
+                }
+            }
+            if (passwordLength < PASSWORD_COLUMN_LENGTH) {
+                // Keep the column's existing nullability
+                stmt.executeUpdate("ALTER TABLE customers MODIFY password VARCHAR(" +
+                        PASSWORD_COLUMN_LENGTH + ")" + (nullable ? " NULL" : " NOT NULL"));
+            }
+        }
+
+        // Logins seek on the unique email index; earlier builds added an (email, password)
+        // index, which only put another copy of every password hash in the index pages.
+        // The admin list's prefix search seeks on each searchable column.
+        dropIndex(conn, "customers", "idx_customers_login");
+        createIndex(conn, "customers", "idx_customers_first_name", "first_name");
+        createIndex(conn, "customers", "idx_customers_surname", "surname");
+    }
+
+    private static void createCoveringIndexes(Connection conn) throws SQLException {
+        // Account summaries and the per-customer account count read only this index
+        createIndex(conn, "accounts", "idx_accounts_customer",
+                "customer_id, account_number, account_type, branch, balance");
+        // The interest run streams interest-bearing accounts in account-number order
+        createIndex(conn, "accounts", "idx_accounts_type", "account_type, account_number, balance");
+        // History, recent activity and keyset pages; InnoDB appends transaction_id,
+        // which breaks ties in (transaction_date, transaction_id) order
+        createIndex(conn, "transactions", "idx_transactions_history", "account_number, transaction_date");
+        // Per-type totals for statements and summaries without touching the rows
+        createIndex(conn, "transactions", "idx_transactions_summary",
+                "account_number, transaction_type, transaction_date, amount");
+    }
+
+    private static void createServiceTables(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS account_number_blocks (" +
+                    "sequence_name VARCHAR(32) NOT NULL PRIMARY KEY, " +
+                    "next_value BIGINT NOT NULL)");
+            stmt.execute("CREATE TABLE IF NOT EXISTS interest_run_chunks (" +
+                    "run_id VARCHAR(32) NOT NULL, " +
+                    "first_account VARCHAR(20) NOT NULL, " +
+                    "last_account VARCHAR(20) NOT NULL, " +
+                    "accounts_paid INT NOT NULL, " +
+                    "completed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                    "PRIMARY KEY (run_id, first_account))");
+            stmt.execute("CREATE TABLE IF NOT EXISTS daily_balances (" +
+                    "account_number VARCHAR(20) NOT NULL, " +
+                    "balance_date DATE NOT NULL, " +
+                    "closing_balance DECIMAL(15,2) NOT NULL, " +
+                    "last_transaction_id INT NOT NULL, " +
+                    "PRIMARY KEY (account_number, balance_date))");
+            stmt.execute("CREATE TABLE IF NOT EXISTS daily_balance_progress (" +
+                    "id TINYINT NOT NULL PRIMARY KEY, " +
+                    "last_transaction_id INT NOT NULL)");
+            stmt.executeUpdate("INSERT IGNORE INTO daily_balance_progress (id, last_transaction_id) VALUES (1, 0)");
+        }
+    }
+
+    private static void partitionTransactions(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS transaction_archive (" +
+                    "archive_month DATE NOT NULL PRIMARY KEY, " +
+                    "file_name VARCHAR(255) NOT NULL, " +
+                    "row_count INT NOT NULL, " +
+                    "first_transaction_id INT NOT NULL, " +
+                    "last_transaction_id INT NOT NULL, " +
+                    "first_date DATETIME(6) NULL, " +
+                    "last_date DATETIME(6) NULL, " +
+                    "file_crc BIGINT NOT NULL, " +
+                    "archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        }
+        if (TransactionPartitions.isPartitioned(conn)) {
+            return;
+        }
+        // Before any change, so a table it cannot date is left as it was
+        backfillTransactionDates(conn);
+
+        // Partitioned InnoDB tables cannot take part in foreign keys, so deleting an account
+        // no longer deletes its ledger rows; they are kept and archived like any other month
+        String foreignKeysSql = "SELECT CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS " +
+                "WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'transactions'";
+        List<String> foreignKeys = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(foreignKeysSql)) {
+            while (rs.next()) {
+                foreignKeys.add(rs.getString(1));
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            for (String foreignKey : foreignKeys) {
+                stmt.executeUpdate("ALTER TABLE transactions DROP FOREIGN KEY " + foreignKey);
+            }
+            // Every unique key must contain the partitioning column; transaction_id stays
+            // first so AUTO_INCREMENT and lookups by id keep using the primary key
+            stmt.executeUpdate("ALTER TABLE transactions " +
+                    "MODIFY transaction_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+                    "DROP PRIMARY KEY, ADD PRIMARY KEY (transaction_id, transaction_date)");
+        }
+        TransactionPartitions.partitionByMonth(conn);
+    }
+
+    /**
+     * Date the rows transaction_date was left NULL on from the nearest dated row before them
+     * by id, or after them for the oldest; ids are handed out in posting order, so that is
+     * when they were posted to within the neighbours' dates. Fails listing the ids when no
+     * row has a date to go by.
+     */
+    private static void backfillTransactionDates(Connection conn) throws SQLException {
+        List<Integer> undated = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT transaction_id FROM transactions " +
+                     "WHERE transaction_date IS NULL ORDER BY transaction_id")) {
+            while (rs.next()) {
+                undated.add(rs.getInt(1));
+            }
+        }
+        if (undated.isEmpty()) {
+            return;
+        }
+
+        String earlierSql = "SELECT transaction_date FROM transactions WHERE transaction_id < ? " +
+                "AND transaction_date IS NOT NULL ORDER BY transaction_id DESC LIMIT 1";
+        String laterSql = "SELECT transaction_date FROM transactions WHERE transaction_id > ? " +
+                "AND transaction_date IS NOT NULL ORDER BY transaction_id LIMIT 1";
+        String updateSql = "UPDATE transactions SET transaction_date = ? " +
+                "WHERE transaction_id = ? AND transaction_date IS NULL";
+        List<Integer> unresolved = new ArrayList<>();
+        try (PreparedStatement earlier = conn.prepareStatement(earlierSql);
+             PreparedStatement later = conn.prepareStatement(laterSql);
+             PreparedStatement update = conn.prepareStatement(updateSql)) {
+            for (int transactionId : undated) {
+                Timestamp date = neighbourDate(earlier, transactionId);
+                if (date == null) {
+                    date = neighbourDate(later, transactionId);
+                }
+                if (date == null) {
+                    unresolved.add(transactionId);
+                    continue;
+                }
+                update.setTimestamp(1, date);
+                update.setInt(2, transactionId);
+                update.executeUpdate();
+            }
+        }
+        if (!unresolved.isEmpty()) {
+            throw new SQLException("Cannot partition transactions: no dated row to backfill transaction_date " +
+                    "from for transaction ids " + unresolved + "; set their dates and run the migration again");
+        }
+        System.out.println("✅ Backfilled transaction_date on " + undated.size() + " transactions");
+    }
+
+    private static Timestamp neighbourDate(PreparedStatement pstmt, int transactionId) throws SQLException {
+        pstmt.setInt(1, transactionId);
+        try (ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getTimestamp(1) : null;
+        }
+    }
+
+    /**
+     * CREATE INDEX unless an index with that name is already on the table
+     */
+    private static void createIndex(Connection conn, String table, String name, String columns)
+            throws SQLException {
+        if (indexExists(conn, table, name)) {
+            return;
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("CREATE INDEX " + name + " ON " + table + " (" + columns + ")");
+        }
+        System.out.println("✅ Created index " + name);
+    }
+
+    /**
+     * DROP INDEX if an index with that name is on the table
+     */
+    private static void dropIndex(Connection conn, String table, String name) throws SQLException {
+        if (!indexExists(conn, table, name)) {
+            return;
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DROP INDEX " + name + " ON " + table);
+        }
+        System.out.println("✅ Dropped index " + name);
+    }
+
+    private static boolean indexExists(Connection conn, String table, String name) throws SQLException {
+        String existsSql = "SELECT 1 FROM information_schema.STATISTICS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND INDEX_NAME = ?";
+        try (PreparedStatement exists = conn.prepareStatement(existsSql)) {
+            exists.setString(1, table);
+            exists.setString(2, name);
+            try (ResultSet rs = exists.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
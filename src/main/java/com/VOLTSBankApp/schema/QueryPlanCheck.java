@@ -0,0 +1,166 @@
+package com.VOLTSBankApp.schema;
+
+import com.VOLTSBankApp.util.DatabaseConnection;
+import com.VOLTSBankApp.util.StatementRegistry;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * QueryPlanCheck - EXPLAINs the registered DAO statements at startup and reports full scans
+ *
+ * Each statement is explained with placeholder values of its columns' types; a plan step of type ALL (table scan)
+ * or index (full index scan) on a real table is reported unless the statement was
+ * registered with defineScan(). INSERTs are skipped. The volts.schema.planCheck system
+ * property picks what happens: warn (default) prints the findings, fail stops startup,
+ * off skips the check.
+ */
+public final class QueryPlanCheck {
+    public static final String MODE_PROPERTY = "volts.schema.planCheck";
+
+    public enum Mode { OFF, WARN, FAIL }
+
+    // The column a placeholder is compared with, e.g. "a.transaction_date >= " or "email IN ("
+    private static final Pattern COMPARED_COLUMN = Pattern.compile(
+            "([A-Za-z_][A-Za-z0-9_]*)\\s*(=|<>|!=|<=|>=|<|>|\\bLIKE|\\bIN\\s*\\()\\s*$",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final String COLUMN_TYPES_SQL =
+            "SELECT COLUMN_NAME, DATA_TYPE FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE()";
+
+    private QueryPlanCheck() {
+    }
+
+    /**
+     * Check the statements in the configured mode; returns the findings
+     * Throws IllegalStateException in fail mode when any statement would scan.
+     */
+    public static List<String> run(Collection<String> statements) throws SQLException {
+        Mode mode = Mode.valueOf(System.getProperty(MODE_PROPERTY, "warn").toUpperCase(Locale.ROOT));
+        if (mode == Mode.OFF) {
+            return new ArrayList<>();
+        }
+
+        List<String> findings = check(statements);
+        if (findings.isEmpty()) {
+            System.out.println("✅ Query plans checked: " + statements.size() + " statements, no full scans");
+            return findings;
+        }
+        for (String finding : findings) {
+            System.err.println("⚠️ Full scan: " + finding);
+        }
+        if (mode == Mode.FAIL) {
+            throw new IllegalStateException(findings.size() + " DAO statement(s) would scan a whole table; " +
+                    "run the schema migrations or set -D" + MODE_PROPERTY + "=warn");
+        }
+        return findings;
+    }
+
+    /**
+     * EXPLAIN each statement and describe every plan step that scans a whole table or index
+     */
+    public static List<String> check(Collection<String> statements) throws SQLException {
+        List<String> findings = new ArrayList<>();
+        // Client-side statements, so the EXPLAINs stay out of the pooled statement caches
+        try (Connection conn = DatabaseConnection.openUnpooled(false)) {
+            Map<String, String> columnTypes = columnTypes(conn);
+            for (String sql : statements) {
+                if (sql.trim().toUpperCase(Locale.ROOT).startsWith("INSERT") || StatementRegistry.isScan(sql)) {
+                    continue;
+                }
+                try (PreparedStatement explain = conn.prepareStatement("EXPLAIN " + sql)) {
+                    bindPlaceholders(explain, sql, columnTypes);
+                    try (ResultSet rs = explain.executeQuery()) {
+                        while (rs.next()) {
+                            String table = rs.getString("table");
+                            String type = rs.getString("type");
+                            // Derived tables and unions (<derived2>, <union1,2>) are built by the query itself
+                            if (table == null || table.startsWith("<")) {
+                                continue;
+                            }
+                            if ("ALL".equals(type) || "index".equals(type)) {
+                                findings.add(table + " (" + type + ", ~" + rs.getLong("rows") + " rows): " + sql);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return findings;
+    }
+
+    /**
+     * Bind each ? outside string literals to a value of the type of the column it is compared
+     * with, so the optimizer plans a date range as a date range; integers after LIMIT/OFFSET,
+     * the previous placeholder's type after a comma (IN lists, row values), and a string when
+     * the column is not known
+     */
+    private static void bindPlaceholders(PreparedStatement explain, String sql, Map<String, String> columnTypes)
+            throws SQLException {
+        int index = 1;
+        boolean quoted = false;
+        String type = null;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '?' && !quoted) {
+                String before = sql.substring(0, i).trim();
+                String upper = before.toUpperCase(Locale.ROOT);
+                if (upper.endsWith("LIMIT") || upper.endsWith("OFFSET")) {
+                    type = "int";
+                } else if (!before.endsWith(",")) {
+                    Matcher column = COMPARED_COLUMN.matcher(before);
+                    type = column.find() ? columnTypes.get(column.group(1).toLowerCase(Locale.ROOT)) : null;
+                }
+                bind(explain, index++, type);
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement explain, int index, String type) throws SQLException {
+        if ("datetime".equals(type) || "timestamp".equals(type)) {
+            explain.setTimestamp(index, Timestamp.valueOf(LocalDateTime.now()));
+        } else if ("date".equals(type)) {
+            explain.setDate(index, Date.valueOf(LocalDate.now()));
+        } else if (type != null && type.endsWith("int")) {
+            explain.setInt(index, 1);
+        } else if ("decimal".equals(type)) {
+            explain.setBigDecimal(index, BigDecimal.ONE);
+        } else {
+            explain.setString(index, "1");
+        }
+    }
+
+    /**
+     * DATA_TYPE of every column in the schema by lower-case name; a name shared by several
+     * tables has the same type in each of this schema's tables
+     */
+    private static Map<String, String> columnTypes(Connection conn) throws SQLException {
+        Map<String, String> types = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(COLUMN_TYPES_SQL)) {
+            while (rs.next()) {
+                types.putIfAbsent(rs.getString(1).toLowerCase(Locale.ROOT),
+                        rs.getString(2).toLowerCase(Locale.ROOT));
+            }
+        }
+        return types;
+    }
+}
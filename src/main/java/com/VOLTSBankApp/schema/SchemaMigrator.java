@@ -0,0 +1,124 @@
+package com.VOLTSBankApp.schema;
+
+import com.VOLTSBankApp.util.DatabaseConnection;
+
+import java.sql.*;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * SchemaMigrator - Brings the database up to the latest Migrations version
+ *
+ * Applied versions are recorded in schema_version. Pending migrations run in version order
+ * under a MySQL named lock, so two instances starting together apply each one exactly once.
+ * MySQL commits DDL implicitly, so each migration is recorded as soon as it finishes and a
+ * failed start resumes from the migration that failed. Every run also splits off the
+ * transactions partitions for the months ahead, so a monthly restart or archive run keeps
+ * new rows out of the overflow partition.
+ */
+public final class SchemaMigrator {
+    private static final String LOCK_NAME = "volts_schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+    private static final String VERSION_TABLE_SQL =
+            "CREATE TABLE IF NOT EXISTS schema_version (" +
+                    "version INT NOT NULL PRIMARY KEY, " +
+                    "description VARCHAR(200) NOT NULL, " +
+                    "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)";
+
+    private static final String APPLIED_SQL = "SELECT version FROM schema_version";
+
+    private static final String RECORD_SQL =
+            "INSERT INTO schema_version (version, description) VALUES (?, ?)";
+
+    private static volatile boolean migrated;
+
+    private SchemaMigrator() {
+    }
+
+    /**
+     * Apply every pending migration; returns how many ran
+     */
+    public static synchronized int migrate() throws SQLException {
+        List<Migration> migrations = Migrations.all();
+        int applied = 0;
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(VERSION_TABLE_SQL);
+            }
+            acquireLock(conn);
+            try {
+                Set<Integer> done = loadApplied(conn);
+                for (Migration migration : migrations) {
+                    if (done.contains(migration.getVersion())) {
+                        continue;
+                    }
+                    System.out.println("🔧 Applying schema migration " + migration);
+                    migration.apply(conn);
+                    try (PreparedStatement record = conn.prepareStatement(RECORD_SQL)) {
+                        record.setInt(1, migration.getVersion());
+                        record.setString(2, migration.getDescription());
+                        record.executeUpdate();
+                    }
+                    applied++;
+                }
+                if (TransactionPartitions.isPartitioned(conn)) {
+                    int added = TransactionPartitions.addMonthsAhead(conn, TransactionPartitions.MONTHS_AHEAD);
+                    if (added > 0) {
+                        System.out.println("✅ Added " + added + " monthly transaction partition(s)");
+                    }
+                }
+            } finally {
+                releaseLock(conn);
+            }
+        }
+
+        migrated = true;
+        if (applied > 0) {
+            System.out.println("✅ Schema at version " + migrations.get(migrations.size() - 1).getVersion());
+        }
+        return applied;
+    }
+
+    /**
+     * Migrate once per process; for code that needs its tables but may run without Main,
+     * such as the batch services and benchmarks
+     */
+    public static void ensureMigrated() throws SQLException {
+        if (!migrated) {
+            migrate();
+        }
+    }
+
+    private static Set<Integer> loadApplied(Connection conn) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(APPLIED_SQL)) {
+            while (rs.next()) {
+                versions.add(rs.getInt(1));
+            }
+        }
+        return versions;
+    }
+
+    private static void acquireLock(Connection conn) throws SQLException {
+        try (PreparedStatement lock = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            lock.setString(1, LOCK_NAME);
+            lock.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = lock.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for another instance to finish migrating");
+                }
+            }
+        }
+    }
+
+    private static void releaseLock(Connection conn) throws SQLException {
+        try (PreparedStatement unlock = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            unlock.setString(1, LOCK_NAME);
+            unlock.executeQuery().close();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.VOLTSBankApp.schema;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TransactionPartitions - Monthly RANGE partitions on the transactions table
+ *
+ * Partition pYYYYMM holds the rows dated before the first of the following month that no
+ * earlier partition holds, so the oldest partition also keeps anything older than its month.
+ * pmax catches rows past the newest month; addMonthsAhead() splits it before those months
+ * start, while it is still empty. Bounds go through UNIX_TIMESTAMP, so like the TIMESTAMP
+ * column itself they follow the server time zone.
+ */
+public final class TransactionPartitions {
+    // Months created ahead of the current one, so inserts never land in pmax
+    public static final int MONTHS_AHEAD = 3;
+
+    private static final String OVERFLOW_PARTITION = "pmax";
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private static final String PARTITIONS_SQL =
+            "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+                    "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transactions' " +
+                    "AND PARTITION_NAME IS NOT NULL ORDER BY PARTITION_ORDINAL_POSITION";
+
+    private TransactionPartitions() {
+    }
+
+    public static String partitionName(YearMonth month) {
+        return month.format(NAME_FORMAT);
+    }
+
+    /**
+     * Whether transactions is already partitioned, by this class or by hand
+     */
+    public static boolean isPartitioned(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(PARTITIONS_SQL)) {
+            return rs.next();
+        }
+    }
+
+    /**
+     * Months that currently have a partition, oldest first; pmax is left out
+     */
+    public static List<YearMonth> months(Connection conn) throws SQLException {
+        List<YearMonth> months = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(PARTITIONS_SQL)) {
+            while (rs.next()) {
+                String name = rs.getString(1);
+                if (!OVERFLOW_PARTITION.equals(name)) {
+                    months.add(YearMonth.parse(name, NAME_FORMAT));
+                }
+            }
+        }
+        return months;
+    }
+
+    /**
+     * Partition an unpartitioned transactions table, one partition per month from the
+     * oldest row through MONTHS_AHEAD months from now
+     * The primary key must already include transaction_date.
+     */
+    static void partitionByMonth(Connection conn) throws SQLException {
+        YearMonth current = YearMonth.now();
+        YearMonth first = current;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MIN(transaction_date) FROM transactions")) {
+            if (rs.next()) {
+                Timestamp oldest = rs.getTimestamp(1);
+                if (oldest != null) {
+                    first = YearMonth.from(oldest.toLocalDateTime());
+                }
+            }
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("ALTER TABLE transactions PARTITION BY RANGE (UNIX_TIMESTAMP(transaction_date)) (" +
+                    partitionList(first, current.plusMonths(MONTHS_AHEAD)) + ")");
+        }
+    }
+
+    /**
+     * Split pmax so every month up to monthsAhead from now has its own partition
+     * Returns how many partitions were added.
+     */
+    public static int addMonthsAhead(Connection conn, int monthsAhead) throws SQLException {
+        List<YearMonth> months = months(conn);
+        if (months.isEmpty()) {
+            throw new SQLException("transactions is not partitioned; run the schema migrations first");
+        }
+        YearMonth first = months.get(months.size() - 1).plusMonths(1);
+        YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+        if (first.isAfter(last)) {
+            return 0;
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("ALTER TABLE transactions REORGANIZE PARTITION " + OVERFLOW_PARTITION +
+                    " INTO (" + partitionList(first, last) + ")");
+        }
+        return (int) first.until(last, ChronoUnit.MONTHS) + 1;
+    }
+
+    /**
+     * Number of rows in one month's partition
+     */
+    public static long countRows(Connection conn, YearMonth month) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT COUNT(*) FROM transactions PARTITION (" + partitionName(month) + ")");
+             ResultSet rs = pstmt.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * InnoDB's estimate of the bytes one month's rows and indexes take
+     */
+    public static long storedBytes(Connection conn, YearMonth month) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT DATA_LENGTH + INDEX_LENGTH FROM information_schema.PARTITIONS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transactions' AND PARTITION_NAME = ?")) {
+            pstmt.setString(1, partitionName(month));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Drop one month's partition and every row in it
+     */
+    public static void dropMonth(Connection conn, YearMonth month) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("ALTER TABLE transactions DROP PARTITION " + partitionName(month));
+        }
+    }
+
+    /**
+     * Partition definitions for first..last followed by pmax
+     */
+    private static String partitionList(YearMonth first, YearMonth last) {
+        StringBuilder partitions = new StringBuilder();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            partitions.append("PARTITION ").append(partitionName(month))
+                    .append(" VALUES LESS THAN (UNIX_TIMESTAMP('")
+                    .append(month.plusMonths(1).atDay(1)).append(" 00:00:00')), ");
+        }
+        return partitions.append("PARTITION ").append(OVERFLOW_PARTITION)
+                .append(" VALUES LESS THAN MAXVALUE").toString();
+    }
+}
@@ -0,0 +1,195 @@
+package com.VOLTSBankApp.service;
+
+import com.VOLTSBankApp.model.AccountType;
+import com.VOLTSBankApp.schema.SchemaMigrator;
+import com.VOLTSBankApp.storage.LedgerStore;
+import com.VOLTSBankApp.storage.Storage;
+import com.VOLTSBankApp.util.DatabaseConnection;
+
+import java.sql.*;
+
+/**
+ * AccountNumberGenerator - Unique account numbers without a DB round trip per number
+ *
+ * Numbers look like SAV000001234 + check digit: a type prefix, a 9-digit sequence value
+ * and a Luhn check digit over the sequence. The sequence stops below 100,000,000, so the
+ * digit after the prefix is always 0. That keeps them apart from the older numbers built as
+ * prefix + customer id (%03d) + 5 digits: those are 13 characters long only for customer ids
+ * 10000-99999, which never start with 0. Sequence values come from a hi-lo allocator: each
+ * instance reserves a block of values from the account_number_blocks table in one short
+ * transaction and hands them out from memory. Blocks never overlap, so numbers stay
+ * unique across several app instances; within one instance they are strictly increasing.
+ */
+public class AccountNumberGenerator {
+    public static final int DEFAULT_BLOCK_SIZE = 100;
+
+    private static final String SEQUENCE_NAME = "account_number";
+    private static final int SEQUENCE_DIGITS = 9;
+    // Keeps the leading sequence digit 0; see the class comment
+    private static final long MAX_SEQUENCE = 99_999_999L;
+
+    private static final String INIT_SEQUENCE_SQL =
+            "INSERT IGNORE INTO account_number_blocks (sequence_name, next_value) VALUES (?, 1)";
+
+    private static final String LOCK_SEQUENCE_SQL =
+            "SELECT next_value FROM account_number_blocks WHERE sequence_name = ? FOR UPDATE";
+
+    private static final String ADVANCE_SEQUENCE_SQL =
+            "UPDATE account_number_blocks SET next_value = ? WHERE sequence_name = ?";
+
+    private static final AccountNumberGenerator INSTANCE = new AccountNumberGenerator(DEFAULT_BLOCK_SIZE);
+
+    private final int blockSize;
+    private boolean sequenceReady;
+    private long next;
+    private long limit;   // exclusive end of the current block
+
+    public AccountNumberGenerator(int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be positive");
+        }
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Shared generator, so every caller in this JVM draws from the same block
+     */
+    public static AccountNumberGenerator getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Next account number for the given type, e.g. "SAV0000012348"
+     */
+    public String nextAccountNumber(AccountType type) throws SQLException {
+        return format(prefixFor(type), nextSequenceValue());
+    }
+
+    /**
+     * Next raw sequence value; only touches the database when the block is used up
+     */
+    public synchronized long nextSequenceValue() throws SQLException {
+        if (next >= limit) {
+            allocateBlock();
+        }
+        return next++;
+    }
+
+    /**
+     * Check the prefix, length and check digit of a generated account number
+     */
+    public static boolean isValid(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() != 3 + SEQUENCE_DIGITS + 1) {
+            return false;
+        }
+        String prefix = accountNumber.substring(0, 3);
+        if (!prefix.equals("SAV") && !prefix.equals("INV") && !prefix.equals("CHQ")) {
+            return false;
+        }
+        String digits = accountNumber.substring(3);
+        for (int i = 0; i < digits.length(); i++) {
+            if (!Character.isDigit(digits.charAt(i))) {
+                return false;
+            }
+        }
+        if (digits.charAt(0) != '0') {
+            return false;
+        }
+        String sequence = digits.substring(0, SEQUENCE_DIGITS);
+        return checkDigit(sequence) == digits.charAt(SEQUENCE_DIGITS) - '0';
+    }
+
+    public static String prefixFor(AccountType type) {
+        switch (type) {
+            case SAVINGS:
+                return "SAV";
+            case INVESTMENT:
+                return "INV";
+            case CHEQUE:
+                return "CHQ";
+            default:
+                throw new IllegalArgumentException("Unknown account type: " + type);
+        }
+    }
+
+    static String format(String prefix, long sequenceValue) {
+        if (sequenceValue > MAX_SEQUENCE) {
+            throw new IllegalStateException("Account number sequence exhausted");
+        }
+        StringBuilder sb = new StringBuilder(3 + SEQUENCE_DIGITS + 1).append(prefix);
+        String value = Long.toString(sequenceValue);
+        for (int i = value.length(); i < SEQUENCE_DIGITS; i++) {
+            sb.append('0');
+        }
+        sb.append(value);
+        return sb.append(checkDigit(sb.substring(3))).toString();
+    }
+
+    /**
+     * Luhn (mod 10) check digit, catches single-digit typos and most transpositions
+     */
+    static int checkDigit(String digits) {
+        int sum = 0;
+        boolean doubleIt = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int d = digits.charAt(i) - '0';
+            if (doubleIt) {
+                d *= 2;
+                if (d > 9) {
+                    d -= 9;
+                }
+            }
+            sum += d;
+            doubleIt = !doubleIt;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Reserve [next, next + blockSize) under a row lock on the sequence
+     */
+    private void allocateBlock() throws SQLException {
+        LedgerStore store = Storage.getStore();
+        if (store != null) {
+            next = store.reserveSequenceBlock(SEQUENCE_NAME, blockSize);
+            limit = next + blockSize;
+            return;
+        }
+
+        SchemaMigrator.ensureMigrated();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (!sequenceReady) {
+                try (PreparedStatement init = conn.prepareStatement(INIT_SEQUENCE_SQL)) {
+                    init.setString(1, SEQUENCE_NAME);
+                    init.executeUpdate();
+                }
+                sequenceReady = true;
+            }
+
+            conn.setAutoCommit(false);
+            try (PreparedStatement lock = conn.prepareStatement(LOCK_SEQUENCE_SQL);
+                 PreparedStatement advance = conn.prepareStatement(ADVANCE_SEQUENCE_SQL)) {
+
+                lock.setString(1, SEQUENCE_NAME);
+                long start;
+                try (ResultSet rs = lock.executeQuery()) {
+                    if (!rs.next()) {
+                        throw new SQLException("Sequence row missing: " + SEQUENCE_NAME);
+                    }
+                    start = rs.getLong(1);
+                }
+
+                advance.setLong(1, start + blockSize);
+                advance.setString(2, SEQUENCE_NAME);
+                advance.executeUpdate();
+                conn.commit();
+
+                next = start;
+                limit = start + blockSize;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+}
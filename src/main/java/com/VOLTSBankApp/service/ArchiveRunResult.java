@@ -0,0 +1,61 @@
+package com.VOLTSBankApp.service;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * ArchiveRunResult - Months moved to the transaction archive by one archive run
+ * The partitions of months it archives are dropped by a later run; monthsDropped are those
+ * this run dropped for earlier ones.
+ */
+public class ArchiveRunResult {
+    private final List<YearMonth> monthsArchived;
+    private final List<YearMonth> monthsDropped;
+    private final long rowsArchived;
+    private final long archiveBytes;
+    private final long liveBytesFreed;
+    private final long elapsedNanos;
+
+    public ArchiveRunResult(List<YearMonth> monthsArchived, List<YearMonth> monthsDropped, long rowsArchived, long archiveBytes,
+                            long liveBytesFreed, long elapsedNanos) {
+        this.monthsArchived = monthsArchived;
+        this.monthsDropped = monthsDropped;
+        this.rowsArchived = rowsArchived;
+        this.archiveBytes = archiveBytes;
+        this.liveBytesFreed = liveBytesFreed;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public List<YearMonth> getMonthsArchived() { return monthsArchived; }
+    public List<YearMonth> getMonthsDropped() { return monthsDropped; }
+    public long getRowsArchived() { return rowsArchived; }
+    public long getArchiveBytes() { return archiveBytes; }
+    public long getLiveBytesFreed() { return liveBytesFreed; }
+
+    public double getElapsedSeconds() {
+        return elapsedNanos / 1_000_000_000.0;
+    }
+
+    /**
+     * Archive file size as a fraction of the InnoDB space the same rows took
+     */
+    public double getCompressionRatio() {
+        return liveBytesFreed > 0 ? (double) archiveBytes / liveBytesFreed : 0.0;
+    }
+
+    public boolean isEmpty() {
+        return monthsArchived.isEmpty() && monthsDropped.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ArchiveRunResult{" +
+                "monthsArchived=" + monthsArchived +
+                ", monthsDropped=" + monthsDropped +
+                ", rowsArchived=" + rowsArchived +
+                ", archiveBytes=" + archiveBytes +
+                ", liveBytesFreed=" + liveBytesFreed +
+                ", elapsedSeconds=" + String.format("%.2f", getElapsedSeconds()) +
+                '}';
+    }
+}
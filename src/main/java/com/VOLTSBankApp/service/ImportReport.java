@@ -0,0 +1,54 @@
+package com.VOLTSBankApp.service;
+
+/**
+ * ImportReport - Outcome and throughput of one onboarding import
+ */
+public class ImportReport {
+    private final long rowsRead;
+    private final long customersCreated;
+    private final long accountsCreated;
+    private final long rowsRejected;
+    private final int batchesCommitted;
+    private final int batchesFailed;
+    private final long elapsedNanos;
+
+    public ImportReport(long rowsRead, long customersCreated, long accountsCreated, long rowsRejected,
+                        int batchesCommitted, int batchesFailed, long elapsedNanos) {
+        this.rowsRead = rowsRead;
+        this.customersCreated = customersCreated;
+        this.accountsCreated = accountsCreated;
+        this.rowsRejected = rowsRejected;
+        this.batchesCommitted = batchesCommitted;
+        this.batchesFailed = batchesFailed;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getRowsRead() { return rowsRead; }
+    public long getCustomersCreated() { return customersCreated; }
+    public long getAccountsCreated() { return accountsCreated; }
+    public long getRowsRejected() { return rowsRejected; }
+    public int getBatchesCommitted() { return batchesCommitted; }
+    public int getBatchesFailed() { return batchesFailed; }
+
+    public double getElapsedSeconds() {
+        return elapsedNanos / 1_000_000_000.0;
+    }
+
+    public double getRowsPerSecond() {
+        double seconds = getElapsedSeconds();
+        return seconds > 0 ? rowsRead / seconds : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportReport{" +
+                "rowsRead=" + rowsRead +
+                ", customersCreated=" + customersCreated +
+                ", accountsCreated=" + accountsCreated +
+                ", rowsRejected=" + rowsRejected +
+                ", batchesCommitted=" + batchesCommitted +
+                ", batchesFailed=" + batchesFailed +
+                ", rowsPerSecond=" + String.format("%.1f", getRowsPerSecond()) +
+                '}';
+    }
+}
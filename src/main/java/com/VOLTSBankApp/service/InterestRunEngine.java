@@ -0,0 +1,318 @@
+package com.VOLTSBankApp.service;
+
+import com.VOLTSBankApp.dao.AccountDAO;
+import com.VOLTSBankApp.dao.BalanceSnapshotDAO;
+import com.VOLTSBankApp.interfaces.InterestBearing;
+import com.VOLTSBankApp.model.Account;
+import com.VOLTSBankApp.model.AccountType;
+import com.VOLTSBankApp.model.InvestmentAccount;
+import com.VOLTSBankApp.model.Money;
+import com.VOLTSBankApp.model.SavingsAccount;
+import com.VOLTSBankApp.schema.SchemaMigrator;
+import com.VOLTSBankApp.util.DatabaseConnection;
+import com.VOLTSBankApp.util.StatementRegistry;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * InterestRunEngine - Pays month-end interest to every interest-bearing account
+ * Accounts are streamed in account_number order and cut into chunks; each chunk is
+ * locked, paid and recorded in one DB transaction on a worker thread. Committed chunks
+ * are logged per run so an interrupted run can be restarted without paying twice.
+ * When the run id names a month that has already ended (e.g. "2025-10"), interest is
+ * worked out on each account's month-end balance from the daily balance snapshots,
+ * so deposits made after the month closed do not earn it.
+ */
+public class InterestRunEngine {
+    public static final int DEFAULT_WORKERS = 4;
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private static final String STREAM_SQL = StatementRegistry.defineScan(
+            "SELECT account_number FROM accounts " +
+                    "WHERE account_type IN ('SAVINGS', 'INVESTMENT') ORDER BY account_number");
+
+    private static final String LOCK_CHUNK_SQL = StatementRegistry.define(
+            "SELECT account_number, account_type, balance FROM accounts " +
+                    "WHERE account_type IN ('SAVINGS', 'INVESTMENT') " +
+                    "AND account_number BETWEEN ? AND ? ORDER BY account_number FOR UPDATE");
+
+    private static final String UPDATE_SQL = StatementRegistry.define(
+            "UPDATE accounts SET balance = ?, accrued_interest = accrued_interest + ? " +
+                    "WHERE account_number = ?");
+
+    private static final String INSERT_TRANSACTION_SQL = StatementRegistry.define(
+            "INSERT INTO transactions (account_number, transaction_type, amount, " +
+                    "balance_after, description) VALUES (?, 'INTEREST', ?, ?, ?)");
+
+    private static final String INSERT_PROGRESS_SQL = StatementRegistry.define(
+            "INSERT INTO interest_run_chunks (run_id, first_account, last_account, accounts_paid) " +
+                    "VALUES (?, ?, ?, ?)");
+
+    private static final String COMPLETED_CHUNKS_SQL = StatementRegistry.define(
+            "SELECT first_account, last_account FROM interest_run_chunks WHERE run_id = ?");
+
+    // Transaction description per account type; the rate is fixed per type
+    private static final Map<AccountType, String> DESCRIPTIONS = new EnumMap<>(AccountType.class);
+
+    static {
+        for (AccountType type : new AccountType[]{AccountType.SAVINGS, AccountType.INVESTMENT}) {
+            DESCRIPTIONS.put(type, String.format("Monthly interest payment - %.2f%%",
+                    ((InterestBearing) newInterestAccount(type)).getInterestRate() * 100));
+        }
+    }
+
+    private final int workers;
+    private final int chunkSize;
+    private final BalanceSnapshotDAO snapshots = new BalanceSnapshotDAO();
+
+    public InterestRunEngine() {
+        this(DEFAULT_WORKERS, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * workers is capped at one less than the connection pool, since the account stream
+     * holds a connection for the whole run and each worker needs one more
+     */
+    public InterestRunEngine(int workers, int chunkSize) {
+        if (workers < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("workers and chunkSize must be positive");
+        }
+        this.workers = Math.min(workers, DatabaseConnection.MAX_POOL_SIZE - 1);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Run (or resume) the interest payment identified by runId, e.g. "2025-10"
+     */
+    public InterestRunResult run(String runId) throws SQLException {
+        long start = System.nanoTime();
+        SchemaMigrator.ensureMigrated();
+        TreeMap<String, String> completed = loadCompletedChunks(runId);
+        LocalDate monthEnd = endedMonthEnd(runId);
+        if (monthEnd != null) {
+            snapshots.refresh();
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread thread = new Thread(r, "volts-interest-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Bounds chunks queued ahead of the workers while the cursor is still open
+        Semaphore inFlight = new Semaphore(workers * 2);
+
+        RunProgress progress = new RunProgress();
+        int accountsSkipped = 0;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(STREAM_SQL,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            // Connector/J streams row by row instead of buffering the whole result
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<String> chunk = new ArrayList<>(chunkSize);
+                while (rs.next()) {
+                    String accountNumber = rs.getString(1);
+                    if (isCompleted(completed, accountNumber)) {
+                        // Never let a chunk range span accounts an earlier attempt already paid
+                        if (!chunk.isEmpty()) {
+                            submit(pool, inFlight, runId, monthEnd, chunk, progress);
+                            chunk = new ArrayList<>(chunkSize);
+                        }
+                        accountsSkipped++;
+                        continue;
+                    }
+                    chunk.add(accountNumber);
+                    if (chunk.size() == chunkSize) {
+                        submit(pool, inFlight, runId, monthEnd, chunk, progress);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    submit(pool, inFlight, runId, monthEnd, chunk, progress);
+                }
+            }
+        } finally {
+            pool.shutdown();
+            try {
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                pool.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+            // Balances were updated behind the account cache's back
+            AccountDAO.invalidateCache();
+        }
+
+        return new InterestRunResult(runId, progress.accountsPaid.get(), accountsSkipped,
+                progress.chunksCommitted.get(), progress.chunksFailed.get(),
+                Money.ofThebe(progress.interestPaidThebe.get()), System.nanoTime() - start);
+    }
+
+    private void submit(ExecutorService pool, Semaphore inFlight, String runId, LocalDate monthEnd,
+                        List<String> chunk, RunProgress progress) throws SQLException {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("interest run interrupted", e);
+        }
+
+        String first = chunk.get(0);
+        String last = chunk.get(chunk.size() - 1);
+        pool.execute(() -> {
+            try {
+                long[] paid = payChunk(runId, monthEnd, first, last);
+                progress.accountsPaid.addAndGet(paid[0]);
+                progress.interestPaidThebe.addAndGet(paid[1]);
+                progress.chunksCommitted.incrementAndGet();
+            } catch (SQLException e) {
+                progress.chunksFailed.incrementAndGet();
+                System.err.println("Error paying interest for chunk " + first + ".." + last);
+                e.printStackTrace();
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    /**
+     * Lock, pay and log one chunk in a single transaction
+     * Interest is computed on the month-end balance when monthEnd is set, else on the current one.
+     * Returns {accounts paid, interest paid in thebe}
+     */
+    private long[] payChunk(String runId, LocalDate monthEnd, String first, String last) throws SQLException {
+        // Past balances never change, so they can be read before taking the row locks
+        Map<String, Money> closingBalances = monthEnd == null ? null
+                : snapshots.getClosingBalances(first, last, monthEnd);
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement lock = conn.prepareStatement(LOCK_CHUNK_SQL);
+                 PreparedStatement update = conn.prepareStatement(UPDATE_SQL);
+                 PreparedStatement insert = conn.prepareStatement(INSERT_TRANSACTION_SQL);
+                 PreparedStatement progress = conn.prepareStatement(INSERT_PROGRESS_SQL)) {
+
+                lock.setString(1, first);
+                lock.setString(2, last);
+
+                int accounts = 0;
+                long totalThebe = 0;
+                try (ResultSet rs = lock.executeQuery()) {
+                    while (rs.next()) {
+                        String accountNumber = rs.getString(1);
+                        AccountType type = AccountType.valueOf(rs.getString(2));
+                        Account account = newInterestAccount(type);
+                        Money currentBalance = Money.fromDecimal(rs.getBigDecimal(3));
+                        account.setBalance(closingBalances == null ? currentBalance
+                                : closingBalances.getOrDefault(accountNumber, Money.ZERO));
+
+                        InterestBearing interestAccount = (InterestBearing) account;
+                        Money interest = interestAccount.calculateInterest();
+                        Money newBalance = currentBalance.plus(interest);
+                        if (!interest.isPositive()) {
+                            continue;
+                        }
+
+                        update.setBigDecimal(1, newBalance.toDecimal());
+                        update.setBigDecimal(2, interest.toDecimal());
+                        update.setString(3, accountNumber);
+                        update.addBatch();
+
+                        insert.setString(1, accountNumber);
+                        insert.setBigDecimal(2, interest.toDecimal());
+                        insert.setBigDecimal(3, newBalance.toDecimal());
+                        insert.setString(4, DESCRIPTIONS.get(type));
+                        insert.addBatch();
+
+                        accounts++;
+                        totalThebe += interest.getThebe();
+                    }
+                }
+
+                update.executeBatch();
+                insert.executeBatch();
+
+                progress.setString(1, runId);
+                progress.setString(2, first);
+                progress.setString(3, last);
+                progress.setInt(4, accounts);
+                progress.executeUpdate();
+
+                conn.commit();
+                return new long[]{accounts, totalThebe};
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Last day of the month the run id names, or null if it is not a month that has ended
+     */
+    private LocalDate endedMonthEnd(String runId) {
+        try {
+            LocalDate monthEnd = YearMonth.parse(runId).atEndOfMonth();
+            return monthEnd.isBefore(LocalDate.now()) ? monthEnd : null;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static Account newInterestAccount(AccountType type) {
+        switch (type) {
+            case SAVINGS:
+                return new SavingsAccount();
+            case INVESTMENT:
+                return new InvestmentAccount();
+            default:
+                throw new IllegalArgumentException("Account type does not earn interest: " + type);
+        }
+    }
+
+    private boolean isCompleted(TreeMap<String, String> completed, String accountNumber) {
+        Map.Entry<String, String> range = completed.floorEntry(accountNumber);
+        return range != null && accountNumber.compareTo(range.getValue()) <= 0;
+    }
+
+    private TreeMap<String, String> loadCompletedChunks(String runId) throws SQLException {
+        TreeMap<String, String> completed = new TreeMap<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(COMPLETED_CHUNKS_SQL)) {
+            pstmt.setString(1, runId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    completed.put(rs.getString(1), rs.getString(2));
+                }
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * Counters shared by the worker threads of one run
+     */
+    private static final class RunProgress {
+        private final AtomicInteger chunksCommitted = new AtomicInteger();
+        private final AtomicInteger chunksFailed = new AtomicInteger();
+        private final AtomicLong accountsPaid = new AtomicLong();
+        private final AtomicLong interestPaidThebe = new AtomicLong();
+    }
+}
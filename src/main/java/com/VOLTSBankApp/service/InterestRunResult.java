@@ -0,0 +1,60 @@
+package com.VOLTSBankApp.service;
+
+import com.VOLTSBankApp.model.Money;
+
+/**
+ * InterestRunResult - Outcome and throughput of one interest run
+ */
+public class InterestRunResult {
+    private final String runId;
+    private final long accountsPaid;
+    private final int accountsSkipped;
+    private final int chunksCommitted;
+    private final int chunksFailed;
+    private final Money interestPaid;
+    private final long elapsedNanos;
+
+    public InterestRunResult(String runId, long accountsPaid, int accountsSkipped, int chunksCommitted,
+                             int chunksFailed, Money interestPaid, long elapsedNanos) {
+        this.runId = runId;
+        this.accountsPaid = accountsPaid;
+        this.accountsSkipped = accountsSkipped;
+        this.chunksCommitted = chunksCommitted;
+        this.chunksFailed = chunksFailed;
+        this.interestPaid = interestPaid;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getRunId() { return runId; }
+    public long getAccountsPaid() { return accountsPaid; }
+    public int getAccountsSkipped() { return accountsSkipped; }
+    public int getChunksCommitted() { return chunksCommitted; }
+    public int getChunksFailed() { return chunksFailed; }
+    public Money getInterestPaid() { return interestPaid; }
+
+    public double getElapsedSeconds() {
+        return elapsedNanos / 1_000_000_000.0;
+    }
+
+    public double getAccountsPerSecond() {
+        double seconds = getElapsedSeconds();
+        return seconds > 0 ? accountsPaid / seconds : 0.0;
+    }
+
+    public boolean isComplete() {
+        return chunksFailed == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "InterestRunResult{" +
+                "runId='" + runId + '\'' +
+                ", accountsPaid=" + accountsPaid +
+                ", accountsSkipped=" + accountsSkipped +
+                ", chunksCommitted=" + chunksCommitted +
+                ", chunksFailed=" + chunksFailed +
+                ", interestPaid=" + interestPaid +
+                ", accountsPerSecond=" + String.format("%.1f", getAccountsPerSecond()) +
+                '}';
+    }
+}
@@ -0,0 +1,77 @@
+package com.VOLTSBankApp.service;
+
+import com.VOLTSBankApp.model.Customer;
+
+/**
+ * LoginResult - Outcome of one LoginService.authenticate call
+ */
+public class LoginResult {
+
+    public enum Status {
+        SUCCESS,
+        INVALID_CREDENTIALS,
+        // Too many recent failures for this email
+        THROTTLED,
+        // The hashing pool is saturated or the database is unreachable
+        UNAVAILABLE
+    }
+
+    private final Status status;
+    private final Customer customer;
+    private final long retryAfterSeconds;
+
+    private LoginResult(Status status, Customer customer, long retryAfterSeconds) {
+        this.status = status;
+        this.customer = customer;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    static LoginResult success(Customer customer) {
+        return new LoginResult(Status.SUCCESS, customer, 0);
+    }
+
+    static LoginResult invalid() {
+        return new LoginResult(Status.INVALID_CREDENTIALS, null, 0);
+    }
+
+    static LoginResult throttled(long retryAfterSeconds) {
+        return new LoginResult(Status.THROTTLED, null, retryAfterSeconds);
+    }
+
+    static LoginResult unavailable() {
+        return new LoginResult(Status.UNAVAILABLE, null, 0);
+    }
+
+    public Status getStatus() { return status; }
+    public Customer getCustomer() { return customer; }
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+
+    public boolean isSuccess() {
+        return status == Status.SUCCESS;
+    }
+
+    /**
+     * Message suitable for the login screen; deliberately vague about which field was wrong
+     */
+    public String getMessage() {
+        switch (status) {
+            case SUCCESS:
+                return "Login successful";
+            case THROTTLED:
+                return "Too many failed attempts. Please try again in " + retryAfterSeconds + " seconds.";
+            case UNAVAILABLE:
+                return "Login is busy right now. Please try again shortly.";
+            default:
+                return "Invalid email or password. Please try again.";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LoginResult{" +
+                "status=" + status +
+                (customer != null ? ", customerId=" + customer.getCustomerId() : "") +
+                (retryAfterSeconds > 0 ? ", retryAfter=" + retryAfterSeconds + "s" : "") +
+                '}';
+    }
+}
@@ -0,0 +1,298 @@
+package com.VOLTSBankApp.service;
+
+import com.VOLTSBankApp.dao.CustomerCredentials;
+import com.VOLTSBankApp.dao.CustomerDAO;
+import com.VOLTSBankApp.model.Customer;
+import com.VOLTSBankApp.util.BoundedCache;
+import com.VOLTSBankApp.util.PasswordHasher;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LoginService - Throttled, cached credential checks for interactive logins
+ *
+ * A login reads only (customer_id, password) for the email, releases the connection,
+ * and verifies the salted hash on a small fixed pool so a burst of logins can only
+ * occupy that many cores; callers beyond the pool's backlog are turned away instead
+ * of queueing without bound. Emails with repeated failures are locked out for a while
+ * without touching the database, and unknown emails are remembered briefly so retries
+ * of a mistyped address skip the lookup. An unknown email still has its password checked
+ * against a dummy hash, so it takes as long to reject as a wrong password and the timing
+ * does not tell which emails are registered. The full customer row is read only on success.
+ */
+public class LoginService {
+    public static final int DEFAULT_HASH_WORKERS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    static final int MAX_FAILURES = 5;
+    static final long FAILURE_WINDOW_NANOS = TimeUnit.MINUTES.toNanos(5);
+    static final long LOCKOUT_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final long BACKLOG_WAIT_MILLIS = 2_000;
+    private static final int MAX_TRACKED_EMAILS = 10_000;
+    // Re-put on every failure, so an entry outlives both its window and any lockout it started
+    private static final long ATTEMPTS_TTL_MILLIS =
+            TimeUnit.NANOSECONDS.toMillis(FAILURE_WINDOW_NANOS + LOCKOUT_NANOS);
+    // Short, because a registration in another process cannot invalidate it
+    private static final long UNKNOWN_EMAIL_TTL_MILLIS = 15_000;
+
+    // Same work factor as real hashes; the password behind it is thrown away
+    private static final String DUMMY_HASH = PasswordHasher.hash(UUID.randomUUID().toString());
+
+    private static volatile LoginService instance;
+
+    private final CustomerDAO customerDAO;
+    private final ExecutorService hashPool;
+    private final Semaphore backlog;
+    private final BoundedCache<String, Attempts> attempts =
+            new BoundedCache<>(MAX_TRACKED_EMAILS, ATTEMPTS_TTL_MILLIS);
+    private final BoundedCache<String, Boolean> unknownEmails =
+            new BoundedCache<>(MAX_TRACKED_EMAILS, UNKNOWN_EMAIL_TTL_MILLIS);
+
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder unavailable = new LongAdder();
+    private final LongAdder rehashed = new LongAdder();
+
+    /**
+     * Shared service used by the login screen
+     */
+    public static LoginService getInstance() {
+        LoginService current = instance;
+        if (current != null) {
+            return current;
+        }
+        synchronized (LoginService.class) {
+            if (instance == null) {
+                instance = new LoginService(new CustomerDAO(), DEFAULT_HASH_WORKERS);
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * Stop the shared hashing pool on application shutdown
+     */
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance.hashPool.shutdownNow();
+            instance = null;
+        }
+    }
+
+    public LoginService(CustomerDAO customerDAO, int hashWorkers) {
+        if (hashWorkers < 1) {
+            throw new IllegalArgumentException("hashWorkers must be positive");
+        }
+        this.customerDAO = customerDAO;
+        this.hashPool = Executors.newFixedThreadPool(hashWorkers, r -> {
+            Thread thread = new Thread(r, "volts-login-hasher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Running plus queued verifications
+        this.backlog = new Semaphore(hashWorkers * 4);
+    }
+
+    /**
+     * Check an email and password; blocks the calling thread, so never call it on the FX thread
+     */
+    public LoginResult authenticate(String email, String password) {
+        String key = email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+
+        Attempts recent = attempts.get(key);
+        long lockedFor = recent == null ? 0 : recent.lockedForNanos(System.nanoTime());
+        if (lockedFor > 0) {
+            throttled.increment();
+            return LoginResult.throttled(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(lockedFor + 999_999_999L)));
+        }
+
+        CustomerCredentials credentials = null;
+        if (unknownEmails.get(key) == null) {
+            long stamp = unknownEmails.stamp();
+            try {
+                credentials = customerDAO.findCredentials(key);
+            } catch (SQLException e) {
+                System.err.println("Error looking up login for " + key);
+                e.printStackTrace();
+                unavailable.increment();
+                return LoginResult.unavailable();
+            }
+            if (credentials == null) {
+                unknownEmails.putIfFresh(key, Boolean.TRUE, stamp);
+            }
+        }
+        if (credentials == null) {
+            // Hash anyway, so an unknown email is no faster to reject than a wrong password
+            if (verifyOnPool(password, DUMMY_HASH) == null) {
+                unavailable.increment();
+                return LoginResult.unavailable();
+            }
+            return failed(key);
+        }
+
+        Verification verification = verifyOnPool(password, credentials.getPasswordHash());
+        if (verification == null) {
+            unavailable.increment();
+            return LoginResult.unavailable();
+        }
+        if (!verification.matched) {
+            return failed(key);
+        }
+
+        if (verification.upgradedHash != null
+                && customerDAO.updatePasswordHash(credentials.getCustomerId(), verification.upgradedHash)) {
+            rehashed.increment();
+        }
+
+        Customer customer = customerDAO.getCustomerById(credentials.getCustomerId());
+        if (customer == null) {
+            // Deleted between the two reads
+            return failed(key);
+        }
+        attempts.invalidate(key);
+        successes.increment();
+        return LoginResult.success(customer);
+    }
+
+    /**
+     * Forget cached state for an email; called when an email is registered or a customer's
+     * email changes, so the new address is not still cached as unknown
+     */
+    public void forget(String email) {
+        String key = email.trim().toLowerCase(Locale.ROOT);
+        unknownEmails.invalidate(key);
+        attempts.invalidate(key);
+    }
+
+    public long getSuccesses() { return successes.sum(); }
+    public long getFailures() { return failures.sum(); }
+    public long getThrottled() { return throttled.sum(); }
+    public long getUnavailable() { return unavailable.sum(); }
+    public long getRehashed() { return rehashed.sum(); }
+
+    public BoundedCache.Stats getUnknownEmailCacheStats() {
+        return unknownEmails.getStats();
+    }
+
+    @Override
+    public String toString() {
+        return "LoginService{" +
+                "successes=" + getSuccesses() +
+                ", failures=" + getFailures() +
+                ", throttled=" + getThrottled() +
+                ", unavailable=" + getUnavailable() +
+                ", rehashed=" + getRehashed() +
+                ", unknownEmails=" + getUnknownEmailCacheStats() +
+                '}';
+    }
+
+    /**
+     * Verify on the hashing pool; null if the pool's backlog stayed full
+     */
+    private Verification verifyOnPool(String password, String stored) {
+        try {
+            if (!backlog.tryAcquire(BACKLOG_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+
+        Future<Verification> pending;
+        try {
+            pending = hashPool.submit(() -> {
+                try {
+                    boolean matched = PasswordHasher.verify(password, stored);
+                    String upgraded = matched && PasswordHasher.needsRehash(stored)
+                            ? PasswordHasher.hash(password) : null;
+                    return new Verification(matched, upgraded);
+                } finally {
+                    backlog.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            // Pool already shut down
+            backlog.release();
+            return null;
+        }
+
+        try {
+            return pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.cancel(true);
+            return null;
+        } catch (ExecutionException e) {
+            System.err.println("Error verifying password");
+            e.getCause().printStackTrace();
+            return null;
+        }
+    }
+
+    private LoginResult failed(String key) {
+        failures.increment();
+        long now = System.nanoTime();
+        // BoundedCache methods lock the cache itself, so this makes the read and re-put one step
+        synchronized (attempts) {
+            Attempts recent = attempts.get(key);
+            if (recent == null || recent.isStale(now)) {
+                recent = new Attempts();
+            }
+            recent.recordFailure(now);
+            attempts.put(key, recent);
+        }
+        return LoginResult.invalid();
+    }
+
+    private static final class Verification {
+        private final boolean matched;
+        private final String upgradedHash;
+
+        Verification(boolean matched, String upgradedHash) {
+            this.matched = matched;
+            this.upgradedHash = upgradedHash;
+        }
+    }
+
+    /**
+     * Failures for one email inside the current window
+     */
+    private static final class Attempts {
+        private long windowStart;
+        private int failures;
+        private boolean locked;
+        private long lockedUntil;
+
+        synchronized void recordFailure(long now) {
+            if (failures == 0 || now - windowStart > FAILURE_WINDOW_NANOS) {
+                windowStart = now;
+                failures = 0;
+            }
+            failures++;
+            if (failures >= MAX_FAILURES) {
+                locked = true;
+                lockedUntil = now + LOCKOUT_NANOS;
+                failures = 0;
+            }
+        }
+
+        synchronized long lockedForNanos(long now) {
+            return locked ? Math.max(0, lockedUntil - now) : 0;
+        }
+
+        synchronized boolean isStale(long now) {
+            return lockedForNanos(now) == 0 && now - windowStart > FAILURE_WINDOW_NANOS;
+        }
+    }
+}
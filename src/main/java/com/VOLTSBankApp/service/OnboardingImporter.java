@@ -0,0 +1,838 @@
+package com.VOLTSBankApp.service;
+
+import com.VOLTSBankApp.dao.Statements;
+import com.VOLTSBankApp.metrics.DaoMetrics;
+import com.VOLTSBankApp.model.Account;
+import com.VOLTSBankApp.model.AccountType;
+import com.VOLTSBankApp.model.ChequeAccount;
+import com.VOLTSBankApp.model.Customer;
+import com.VOLTSBankApp.model.InvestmentAccount;
+import com.VOLTSBankApp.model.Money;
+import com.VOLTSBankApp.model.SavingsAccount;
+import com.VOLTSBankApp.util.DatabaseConnection;
+import com.VOLTSBankApp.util.PasswordHasher;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * OnboardingImporter - Bulk-loads customers and their opening accounts from a file
+ *
+ * Input is CSV with a header row, or JSON Lines (one flat object per line, .jsonl/.ndjson/.json),
+ * using these fields:
+ *   first_name, surname, email, phone_number, address, password,
+ *   account_type (SAVINGS/INVESTMENT/CHEQUE, optional), branch, opening_balance,
+ *   employer_name, employer_address
+ * Repeating an email adds another account to the customer created by its first row.
+ *
+ * Three stages run on their own threads, joined by bounded queues so a slow stage holds
+ * the others back instead of buffering the whole file: one reader parses lines, several
+ * validators build model objects, and one writer inserts them in batches with the
+ * fixed-size multi-row INSERTs declared in Statements, one DB transaction per batch. Rejected rows go to a reject file with the reason.
+ * Passwords are hashed by the validators; add validators if hashing limits throughput.
+ * If any stage fails, e.g. the reject file cannot be written, the other stages stop at their
+ * next queue operation and importFile() throws that first failure.
+ */
+public class OnboardingImporter {
+    public static final int DEFAULT_VALIDATORS = 2;
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private static final int QUEUE_CAPACITY = 2_000;
+    // How often a stage blocked on a queue checks whether another stage has failed
+    private static final long QUEUE_POLL_MILLIS = 100;
+    private static final int MIN_PASSWORD_LENGTH = 6;
+
+    private final int validators;
+    private final int batchSize;
+    private final AccountNumberGenerator accountNumbers;
+    private final LoginService loginService;
+
+    public OnboardingImporter() {
+        this(DEFAULT_VALIDATORS, DEFAULT_BATCH_SIZE);
+    }
+
+    public OnboardingImporter(int validators, int batchSize) {
+        if (validators < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("validators and batchSize must be positive");
+        }
+        this.validators = validators;
+        this.batchSize = batchSize;
+        this.accountNumbers = AccountNumberGenerator.getInstance();
+        this.loginService = LoginService.getInstance();
+    }
+
+    /**
+     * Import every row of input; rejected rows are written to rejectFile
+     * Throws the first failure of any stage, after every stage has stopped.
+     */
+    public ImportReport importFile(Path input, Path rejectFile) throws IOException {
+        long start = System.nanoTime();
+        boolean jsonLines = isJsonLines(input);
+
+        BlockingQueue<ImportRow> parsed = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        BlockingQueue<ImportRow> validated = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        Progress progress = new Progress();
+        Pipeline pipeline = new Pipeline();
+
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             RejectWriter rejects = new RejectWriter(rejectFile, progress)) {
+
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < validators; i++) {
+                threads.add(startStage("volts-import-validate-" + (i + 1), pipeline,
+                        () -> validateStage(parsed, validated, rejects, pipeline)));
+            }
+            threads.add(startStage("volts-import-write", pipeline,
+                    () -> writeStage(validated, rejects, progress, pipeline)));
+
+            try {
+                readStage(reader, jsonLines, parsed, rejects, progress, pipeline);
+            } catch (IOException | RuntimeException | Error e) {
+                pipeline.fail(e);
+            } finally {
+                // One end marker per validator; each validator forwards one to the writer
+                for (int i = 0; i < validators; i++) {
+                    pipeline.put(parsed, ImportRow.END);
+                }
+                for (Thread thread : threads) {
+                    joinUninterruptibly(thread);
+                }
+            }
+            pipeline.rethrowFailure();
+        }
+
+        return new ImportReport(progress.rowsRead.get(), progress.customersCreated.get(),
+                progress.accountsCreated.get(), progress.rowsRejected.get(),
+                (int) progress.batchesCommitted.get(), (int) progress.batchesFailed.get(),
+                System.nanoTime() - start);
+    }
+
+    // ---------------------------------------------------------------- stage 1: parse
+
+    private void readStage(BufferedReader reader, boolean jsonLines, BlockingQueue<ImportRow> parsed,
+                           RejectWriter rejects, Progress progress, Pipeline pipeline) throws IOException {
+        String[] header = null;
+        String line;
+        long lineNumber = 0;
+        while (!pipeline.isFailed() && (line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (!jsonLines && header == null) {
+                header = parseCsvLine(line).toArray(new String[0]);
+                for (int i = 0; i < header.length; i++) {
+                    header[i] = header[i].trim().toLowerCase(Locale.ROOT);
+                }
+                continue;
+            }
+
+            progress.rowsRead.incrementAndGet();
+            ImportRow row = new ImportRow(lineNumber, line);
+            try {
+                row.fields = jsonLines ? parseJsonLine(line) : toFields(header, parseCsvLine(line));
+            } catch (IllegalArgumentException e) {
+                rejects.reject(row, "unparseable: " + e.getMessage());
+                continue;
+            }
+            // Blocks when the validators fall behind
+            if (!pipeline.put(parsed, row)) {
+                return;
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- stage 2: validate
+
+    private void validateStage(BlockingQueue<ImportRow> parsed, BlockingQueue<ImportRow> validated,
+                               RejectWriter rejects, Pipeline pipeline) {
+        try {
+            while (true) {
+                ImportRow row = pipeline.take(parsed);
+                if (row == null || row == ImportRow.END) {
+                    return;
+                }
+                String problem = validate(row);
+                if (problem != null) {
+                    rejects.reject(row, problem);
+                } else if (!pipeline.put(validated, row)) {
+                    return;
+                }
+            }
+        } finally {
+            // Sent even if this validator fails, so the writer's count of running validators stays right
+            pipeline.put(validated, ImportRow.END);
+        }
+    }
+
+    /**
+     * Build the row's Customer and Account; returns the rejection reason, or null if valid
+     */
+    private String validate(ImportRow row) {
+        Map<String, String> f = row.fields;
+        String firstName = f.getOrDefault("first_name", "");
+        String surname = f.getOrDefault("surname", "");
+        String email = f.getOrDefault("email", "");
+        String password = f.getOrDefault("password", "");
+
+        if (firstName.isEmpty() || surname.isEmpty() || email.isEmpty() || password.isEmpty()) {
+            return "first_name, surname, email and password are required";
+        }
+        int at = email.indexOf('@');
+        if (at < 1 || email.indexOf('.', at) < 0 || email.length() > 100) {
+            return "invalid email: " + email;
+        }
+        if (password.length() < MIN_PASSWORD_LENGTH) {
+            return "password must be at least " + MIN_PASSWORD_LENGTH + " characters";
+        }
+
+        // Hash here so the slow part runs on the parallel validators, not the single writer
+        Customer customer = new Customer(firstName, surname, f.getOrDefault("address", ""),
+                f.getOrDefault("phone_number", ""), email, PasswordHasher.hash(password));
+        row.customer = customer;
+        row.emailKey = email.toLowerCase(Locale.ROOT);
+
+        String type = f.getOrDefault("account_type", "");
+        if (type.isEmpty()) {
+            return null; // customer only
+        }
+
+        Money openingBalance;
+        try {
+            String amount = f.getOrDefault("opening_balance", "");
+            openingBalance = amount.isEmpty() ? Money.ZERO : Money.parse(amount);
+        } catch (NumberFormatException | ArithmeticException e) {
+            return "invalid opening_balance: " + f.get("opening_balance");
+        }
+        if (openingBalance.isNegative()) {
+            return "opening_balance cannot be negative";
+        }
+
+        String branch = f.getOrDefault("branch", "");
+        if (branch.isEmpty()) {
+            return "branch is required for an account";
+        }
+
+        AccountType accountType;
+        try {
+            accountType = AccountType.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return "unknown account_type: " + type;
+        }
+
+        switch (accountType) {
+            case SAVINGS:
+                SavingsAccount savings = new SavingsAccount(null, branch, customer);
+                savings.setBalance(openingBalance);
+                row.account = savings;
+                break;
+            case INVESTMENT:
+                if (openingBalance.isLessThan(InvestmentAccount.getMinimumOpeningBalance())) {
+                    return "investment accounts need at least BWP " +
+                            InvestmentAccount.getMinimumOpeningBalance();
+                }
+                row.account = new InvestmentAccount(null, branch, customer, openingBalance);
+                break;
+            case CHEQUE:
+                String employerName = f.getOrDefault("employer_name", "");
+                if (employerName.isEmpty()) {
+                    return "employer_name is required for a cheque account";
+                }
+                ChequeAccount cheque = new ChequeAccount(null, branch, customer,
+                        employerName, f.getOrDefault("employer_address", ""));
+                cheque.setBalance(openingBalance);
+                row.account = cheque;
+                break;
+        }
+        return null;
+    }
+
+    // ---------------------------------------------------------------- stage 3: write
+
+    private void writeStage(BlockingQueue<ImportRow> validated, RejectWriter rejects, Progress progress,
+                            Pipeline pipeline) {
+        // email -> customer_id for customers created by this import
+        Map<String, Integer> knownCustomers = new HashMap<>();
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        int running = validators;
+
+        while (running > 0) {
+            ImportRow row = pipeline.take(validated);
+            if (row == null) {
+                return;
+            }
+            if (row == ImportRow.END) {
+                running--;
+                continue;
+            }
+            batch.add(row);
+            if (batch.size() == batchSize) {
+                writeBatch(batch, knownCustomers, rejects, progress);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch, knownCustomers, rejects, progress);
+        }
+    }
+
+    /**
+     * Insert one batch in a single transaction; on failure every row in it is rejected
+     */
+    private void writeBatch(List<ImportRow> batch, Map<String, Integer> knownCustomers,
+                            RejectWriter rejects, Progress progress) {
+        Map<ImportRow, String> batchRejects = new LinkedHashMap<>();
+        Map<String, Integer> createdCustomers = new HashMap<>();
+        int accounts = 0;
+
+        DaoMetrics.Call call = DaoMetrics.begin("OnboardingImporter.writeBatch");
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<ImportRow> accepted = insertCustomers(conn, batch, knownCustomers,
+                        createdCustomers, batchRejects);
+                accounts = insertAccounts(conn, accepted);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            call.rows(batch.size());
+        } catch (SQLException e) {
+            call.failed(e);
+            failBatch(batch, batchRejects, e, rejects, progress);
+            return;
+        } catch (RuntimeException e) {
+            // e.g. account number sequence exhausted; the writer must keep draining its queue
+            failBatch(batch, batchRejects, e, rejects, progress);
+            return;
+        } finally {
+            call.end();
+        }
+
+        knownCustomers.putAll(createdCustomers);
+        createdCustomers.keySet().forEach(loginService::forget);
+        progress.customersCreated.addAndGet(createdCustomers.size());
+        progress.accountsCreated.addAndGet(accounts);
+        progress.batchesCommitted.incrementAndGet();
+        batchRejects.forEach(rejects::reject);
+    }
+
+    private void failBatch(List<ImportRow> batch, Map<ImportRow, String> batchRejects, Exception e,
+                           RejectWriter rejects, Progress progress) {
+        System.err.println("Error importing batch starting at line " + batch.get(0).lineNumber);
+        e.printStackTrace();
+        progress.batchesFailed.incrementAndGet();
+        for (ImportRow row : batch) {
+            rejects.reject(row, batchRejects.getOrDefault(row, "batch failed: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Resolve each row's customer id, inserting new customers with multi-row INSERTs.
+     * Returns the rows that can go on to have their account created.
+     */
+    private List<ImportRow> insertCustomers(Connection conn, List<ImportRow> batch,
+                                            Map<String, Integer> knownCustomers,
+                                            Map<String, Integer> createdCustomers,
+                                            Map<ImportRow, String> batchRejects) throws SQLException {
+        // First row per new email creates the customer
+        Map<String, ImportRow> newCustomers = new LinkedHashMap<>();
+        for (ImportRow row : batch) {
+            if (!knownCustomers.containsKey(row.emailKey)) {
+                newCustomers.putIfAbsent(row.emailKey, row);
+            }
+        }
+
+        List<String> alreadyRegistered = findExistingEmails(conn, newCustomers.keySet());
+        for (String email : alreadyRegistered) {
+            newCustomers.remove(email);
+        }
+
+        List<ImportRow> creators = new ArrayList<>(newCustomers.values());
+        int done = 0;
+        while (done < creators.size()) {
+            int rows = Statements.IMPORT_CUSTOMERS_INSERT.rowsFor(creators.size() - done);
+            List<ImportRow> chunk = creators.subList(done, done + rows);
+            try (PreparedStatement insert = conn.prepareStatement(Statements.IMPORT_CUSTOMERS_INSERT.sql(rows),
+                    Statement.RETURN_GENERATED_KEYS)) {
+                int p = 1;
+                for (ImportRow row : chunk) {
+                    Customer c = row.customer;
+                    insert.setString(p++, c.getFirstName());
+                    insert.setString(p++, c.getSurname());
+                    insert.setString(p++, c.getEmail());
+                    insert.setString(p++, c.getPhoneNumber());
+                    insert.setString(p++, c.getAddress());
+                    insert.setString(p++, c.getPassword());
+                }
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    for (ImportRow row : chunk) {
+                        if (!keys.next()) {
+                            throw new SQLException("missing generated customer id");
+                        }
+                        createdCustomers.put(row.emailKey, keys.getInt(1));
+                    }
+                }
+            }
+            done += rows;
+        }
+
+        List<ImportRow> accepted = new ArrayList<>(batch.size());
+        for (ImportRow row : batch) {
+            Integer customerId = knownCustomers.get(row.emailKey);
+            if (customerId == null) {
+                customerId = createdCustomers.get(row.emailKey);
+            }
+            if (customerId == null) {
+                batchRejects.put(row, "email already registered: " + row.customer.getEmail());
+                continue;
+            }
+            row.customer.setCustomerId(customerId);
+            accepted.add(row);
+        }
+        return accepted;
+    }
+
+    private List<String> findExistingEmails(Connection conn, Collection<String> emails)
+            throws SQLException {
+        List<String> existing = new ArrayList<>();
+        List<String> pending = new ArrayList<>(emails);
+        int done = 0;
+        while (done < pending.size()) {
+            int rows = Statements.CUSTOMER_EMAILS_IN.rowsFor(pending.size() - done);
+            try (PreparedStatement pstmt = conn.prepareStatement(Statements.CUSTOMER_EMAILS_IN.sql(rows))) {
+                int p = 1;
+                for (String email : pending.subList(done, done + rows)) {
+                    pstmt.setString(p++, email);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        existing.add(rs.getString(1));
+                    }
+                }
+            }
+            done += rows;
+        }
+        return existing;
+    }
+
+    /**
+     * Insert the accounts and their OPENING transactions; returns accounts created
+     */
+    private int insertAccounts(Connection conn, List<ImportRow> rows) throws SQLException {
+        List<Account> accounts = new ArrayList<>(rows.size());
+        List<Account> funded = new ArrayList<>();
+        for (ImportRow row : rows) {
+            Account account = row.account;
+            if (account == null) {
+                continue;
+            }
+            // Numbers come from the in-memory block; only an exhausted block costs a round trip
+            account.setAccountNumber(accountNumbers.nextAccountNumber(account.getAccountType()));
+            accounts.add(account);
+            if (account.getBalance().isPositive()) {
+                funded.add(account);
+            }
+        }
+        if (accounts.isEmpty()) {
+            return 0;
+        }
+
+        int done = 0;
+        while (done < accounts.size()) {
+            int count = Statements.IMPORT_ACCOUNTS_INSERT.rowsFor(accounts.size() - done);
+            insertAccountChunk(conn, accounts.subList(done, done + count));
+            done += count;
+        }
+
+        done = 0;
+        while (done < funded.size()) {
+            int count = Statements.TRANSACTION_ROWS_INSERT.rowsFor(funded.size() - done);
+            try (PreparedStatement insert = conn.prepareStatement(Statements.TRANSACTION_ROWS_INSERT.sql(count))) {
+                int p = 1;
+                for (Account account : funded.subList(done, done + count)) {
+                    insert.setString(p++, account.getAccountNumber());
+                    insert.setString(p++, "OPENING");
+                    insert.setBigDecimal(p++, account.getBalance().toDecimal());
+                    insert.setBigDecimal(p++, account.getBalance().toDecimal());
+                    insert.setString(p++, "Account opening deposit");
+                }
+                insert.executeUpdate();
+            }
+            done += count;
+        }
+        return accounts.size();
+    }
+
+    /**
+     * One multi-row INSERT of accounts, at one of the registered row counts
+     */
+    private static void insertAccountChunk(Connection conn, List<Account> accounts) throws SQLException {
+        String sql = Statements.IMPORT_ACCOUNTS_INSERT.sql(accounts.size());
+        try (PreparedStatement insert = conn.prepareStatement(sql)) {
+            int p = 1;
+            for (Account account : accounts) {
+                insert.setString(p++, account.getAccountNumber());
+                insert.setInt(p++, account.getCustomer().getCustomerId());
+                insert.setString(p++, account.getAccountType().name());
+                insert.setBigDecimal(p++, account.getBalance().toDecimal());
+                insert.setString(p++, account.getBranch());
+                insert.setBigDecimal(p++, Money.ZERO.toDecimal());
+                if (account instanceof ChequeAccount) {
+                    insert.setString(p++, ((ChequeAccount) account).getEmployerName());
+                    insert.setString(p++, ((ChequeAccount) account).getEmployerAddress());
+                } else {
+                    insert.setNull(p++, Types.VARCHAR);
+                    insert.setNull(p++, Types.VARCHAR);
+                }
+            }
+            insert.executeUpdate();
+        }
+    }
+
+    // ---------------------------------------------------------------- parsing
+
+    private static boolean isJsonLines(Path input) {
+        String name = input.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json");
+    }
+
+    private static Map<String, String> toFields(String[] header, List<String> values) {
+        if (values.size() != header.length) {
+            throw new IllegalArgumentException("expected " + header.length + " columns, found " + values.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            fields.put(header[i], values.get(i).trim());
+        }
+        return fields;
+    }
+
+    /**
+     * Split one CSV line; supports double-quoted values with "" escapes
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quote");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    /**
+     * Parse one flat JSON object of string, number, boolean or null values
+     */
+    static Map<String, String> parseJsonLine(String line) {
+        Map<String, String> fields = new HashMap<>();
+        int[] pos = {skipWhitespace(line, 0)};
+        expect(line, pos, '{');
+        pos[0] = skipWhitespace(line, pos[0]);
+        if (pos[0] < line.length() && line.charAt(pos[0]) == '}') {
+            return fields;
+        }
+        while (true) {
+            pos[0] = skipWhitespace(line, pos[0]);
+            String key = readJsonString(line, pos).toLowerCase(Locale.ROOT);
+            pos[0] = skipWhitespace(line, pos[0]);
+            expect(line, pos, ':');
+            pos[0] = skipWhitespace(line, pos[0]);
+
+            String value;
+            if (pos[0] < line.length() && line.charAt(pos[0]) == '"') {
+                value = readJsonString(line, pos);
+            } else {
+                int end = pos[0];
+                while (end < line.length() && ",} \t".indexOf(line.charAt(end)) < 0) {
+                    end++;
+                }
+                value = line.substring(pos[0], end);
+                pos[0] = end;
+                if (value.isEmpty()) {
+                    throw new IllegalArgumentException("missing value for " + key);
+                }
+                if (value.equals("null")) {
+                    value = "";
+                }
+            }
+            fields.put(key, value.trim());
+
+            pos[0] = skipWhitespace(line, pos[0]);
+            if (pos[0] < line.length() && line.charAt(pos[0]) == ',') {
+                pos[0]++;
+                continue;
+            }
+            expect(line, pos, '}');
+            return fields;
+        }
+    }
+
+    private static String readJsonString(String line, int[] pos) {
+        expect(line, pos, '"');
+        StringBuilder sb = new StringBuilder();
+        while (pos[0] < line.length()) {
+            char c = line.charAt(pos[0]++);
+            if (c == '"') {
+                return sb.toString();
+            }
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (pos[0] >= line.length()) {
+                break;
+            }
+            char escaped = line.charAt(pos[0]++);
+            switch (escaped) {
+                case 'n': sb.append('\n'); break;
+                case 't': sb.append('\t'); break;
+                case 'r': sb.append('\r'); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'u':
+                    if (pos[0] + 4 > line.length()) {
+                        throw new IllegalArgumentException("bad unicode escape");
+                    }
+                    sb.append((char) Integer.parseInt(line.substring(pos[0], pos[0] + 4), 16));
+                    pos[0] += 4;
+                    break;
+                default: sb.append(escaped);
+            }
+        }
+        throw new IllegalArgumentException("unterminated string");
+    }
+
+    private static void expect(String line, int[] pos, char expected) {
+        if (pos[0] >= line.length() || line.charAt(pos[0]) != expected) {
+            throw new IllegalArgumentException("expected '" + expected + "' at column " + (pos[0] + 1));
+        }
+        pos[0]++;
+    }
+
+    private static int skipWhitespace(String line, int pos) {
+        while (pos < line.length() && Character.isWhitespace(line.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    // ---------------------------------------------------------------- plumbing
+
+    private static Thread startStage(String name, Pipeline pipeline, Runnable stage) {
+        Thread thread = new Thread(() -> {
+            try {
+                stage.run();
+            } catch (RuntimeException | Error e) {
+                System.err.println("Error in import stage " + name);
+                e.printStackTrace();
+                pipeline.fail(e);
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void joinUninterruptibly(Thread thread) {
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * One input line on its way through the pipeline
+     */
+    private static final class ImportRow {
+        static final ImportRow END = new ImportRow(-1, null);
+
+        final long lineNumber;
+        final String raw;
+        Map<String, String> fields;
+        Customer customer;
+        Account account;
+        String emailKey;
+
+        ImportRow(long lineNumber, String raw) {
+            this.lineNumber = lineNumber;
+            this.raw = raw;
+        }
+    }
+
+    /**
+     * Counters shared by the pipeline stages
+     */
+    /**
+     * First failure of any stage, and queue operations that give up once there is one
+     */
+    private static final class Pipeline {
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        void fail(Throwable e) {
+            failure.compareAndSet(null, e);
+        }
+
+        boolean isFailed() {
+            return failure.get() != null;
+        }
+
+        /**
+         * Queue an item, waiting for room; false if a stage failed first
+         */
+        <T> boolean put(BlockingQueue<T> queue, T item) {
+            boolean interrupted = false;
+            try {
+                while (!isFailed()) {
+                    try {
+                        if (queue.offer(item, QUEUE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                            return true;
+                        }
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                return false;
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        /**
+         * Take the next item, waiting for one; null if a stage failed first
+         */
+        <T> T take(BlockingQueue<T> queue) {
+            boolean interrupted = false;
+            try {
+                while (!isFailed()) {
+                    try {
+                        T item = queue.poll(QUEUE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                        if (item != null) {
+                            return item;
+                        }
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                return null;
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        void rethrowFailure() throws IOException {
+            Throwable e = failure.get();
+            if (e == null) {
+                return;
+            }
+            if (e instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e).getCause();
+            }
+            if (e instanceof IOException) {
+                throw (IOException) e;
+            }
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            throw (Error) e;
+        }
+    }
+
+    private static final class Progress {
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsRejected = new AtomicLong();
+        private final AtomicLong customersCreated = new AtomicLong();
+        private final AtomicLong accountsCreated = new AtomicLong();
+        private final AtomicLong batchesCommitted = new AtomicLong();
+        private final AtomicLong batchesFailed = new AtomicLong();
+    }
+
+    /**
+     * Thread-safe reject file: line number, reason and the original line, tab separated
+     */
+    private static final class RejectWriter implements AutoCloseable {
+        private final BufferedWriter writer;
+        private final Progress progress;
+
+        RejectWriter(Path rejectFile, Progress progress) throws IOException {
+            this.writer = Files.newBufferedWriter(rejectFile, StandardCharsets.UTF_8);
+            this.progress = progress;
+            writer.write("line\treason\trow");
+            writer.newLine();
+        }
+
+        synchronized void reject(ImportRow row, String reason) {
+            progress.rowsRejected.incrementAndGet();
+            try {
+                writer.write(Long.toString(row.lineNumber));
+                writer.write('\t');
+                writer.write(reason.replace('\t', ' ').replace('\n', ' '));
+                writer.write('\t');
+                writer.write(row.raw);
+                writer.newLine();
+            } catch (IOException e) {
+                // A rejected row must not go unrecorded; this stops the import
+                throw new UncheckedIOException("Error writing reject file", e);
+            }
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.VOLTSBankApp.service;
+
+import com.VOLTSBankApp.dao.BalanceSnapshotDAO;
+import com.VOLTSBankApp.dao.TransactionArchive;
+import com.VOLTSBankApp.dao.TransactionArchive.ArchivedMonth;
+import com.VOLTSBankApp.metrics.DaoMetrics;
+import com.VOLTSBankApp.model.Money;
+import com.VOLTSBankApp.model.Transaction;
+import com.VOLTSBankApp.util.DatabaseConnection;
+import com.VOLTSBankApp.util.StatementRegistry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * StatementGenerator - Writes account statements as CSV straight from a JDBC cursor
+ * Rows are formatted and written one at a time while opening/closing balances and
+ * running totals are accumulated, so memory does not grow with the length of history.
+ * Opening balances come from the daily balance snapshots rather than a history scan.
+ * The part of a period TransactionArchiver has already moved out is read from the
+ * archive, one decoded month at a time, before the live rows.
+ * Month-end runs refresh the snapshots once, then fan the accounts out to a small worker pool.
+ */
+public class StatementGenerator {
+    public static final int DEFAULT_WORKERS = 4;
+
+    private static final int WRITE_BUFFER_CHARS = 64 * 1024;
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String STATEMENT_SQL = StatementRegistry.define(
+            "SELECT transaction_id, transaction_date, transaction_type, description, amount, balance_after " +
+                    "FROM transactions WHERE account_number = ? " +
+                    "AND transaction_date >= ? AND transaction_date < ? " +
+                    "ORDER BY transaction_date, transaction_id");
+
+    private static final String ACCOUNTS_SQL = StatementRegistry.defineScan(
+            "SELECT account_number FROM accounts ORDER BY account_number");
+
+    private final int workers;
+    private final BalanceSnapshotDAO snapshots = new BalanceSnapshotDAO();
+
+    public StatementGenerator() {
+        this(DEFAULT_WORKERS);
+    }
+
+    public StatementGenerator(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be positive");
+        }
+        this.workers = workers;
+    }
+
+    /**
+     * Write the statement for from..to (both inclusive) to the given file
+     * The file is written under a temporary name and moved into place once complete.
+     * Archived months in the period are read from TransactionArchive, like the history views.
+     */
+    public StatementResult generate(String accountNumber, LocalDate from, LocalDate to, Path file)
+            throws SQLException, IOException {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Statement period ends before it starts");
+        }
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path partial = parent.resolve(file.getFileName() + ".part");
+
+        DaoMetrics.Call call = DaoMetrics.begin("StatementGenerator.generate");
+        try {
+            // Looked up before taking a connection of our own, since the lookups borrow one too
+            Money opening = snapshots.getBalanceAsOf(accountNumber, from.minusDays(1));
+            TransactionArchive archive = TransactionArchive.getInstance();
+            LocalDateTime liveFrom = archive.getLiveFrom();
+            List<ArchivedMonth> archived = start.isBefore(liveFrom)
+                    ? archive.getMonths() : Collections.emptyList();
+            LocalDateTime archivedEnd = end.isBefore(liveFrom) ? end : liveFrom;
+            LocalDateTime liveStart = start.isBefore(liveFrom) ? liveFrom : start;
+
+            long[] totals;
+            long bytes;
+            try (Connection conn = DatabaseConnection.getConnection();
+                 FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE,
+                         StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 BufferedWriter out = new BufferedWriter(
+                         Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), -1),
+                         WRITE_BUFFER_CHARS)) {
+
+                totals = writeStatement(conn, out, accountNumber, archive, archived, start, archivedEnd,
+                        liveStart, end, from, to, opening);
+                call.rows(totals[0]);
+                out.flush();
+                channel.force(false);
+                bytes = channel.size();
+            }
+
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new StatementResult(accountNumber, file, totals[0], opening, Money.ofThebe(totals[1]),
+                    Money.ofThebe(totals[2]), Money.ofThebe(totals[3]), bytes);
+        } catch (SQLException e) {
+            call.failed(e);
+            Files.deleteIfExists(partial);
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        } finally {
+            call.end();
+        }
+    }
+
+    /**
+     * Write one statement per account for the month into outputDir, several at a time
+     */
+    public StatementRunResult generateMonthEnd(YearMonth month, Path outputDir) throws SQLException, IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(outputDir);
+        snapshots.refresh();
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.atEndOfMonth();
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread thread = new Thread(r, "volts-statement-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Bounds accounts queued ahead of the workers while the cursor is still open
+        Semaphore inFlight = new Semaphore(workers * 2);
+
+        RunProgress progress = new RunProgress();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(ACCOUNTS_SQL,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            // Connector/J streams row by row instead of buffering the whole result
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String accountNumber = rs.getString(1);
+                    Path file = outputDir.resolve(accountNumber + "-" + month + ".csv");
+                    submit(pool, inFlight, accountNumber, from, to, file, progress);
+                }
+            }
+        } finally {
+            pool.shutdown();
+            try {
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                pool.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        return new StatementRunResult(month.toString(), progress.written.get(), progress.failed.get(),
+                progress.unreconciled.get(), progress.transactions.get(), System.nanoTime() - start);
+    }
+
+    private void submit(ExecutorService pool, Semaphore inFlight, String accountNumber, LocalDate from,
+                        LocalDate to, Path file, RunProgress progress) throws SQLException {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("statement run interrupted", e);
+        }
+
+        pool.execute(() -> {
+            try {
+                StatementResult result = generate(accountNumber, from, to, file);
+                progress.written.incrementAndGet();
+                progress.transactions.addAndGet(result.getTransactionCount());
+                if (!result.isReconciled()) {
+                    progress.unreconciled.incrementAndGet();
+                    System.err.println("Statement does not reconcile: " + result);
+                }
+            } catch (SQLException | IOException | RuntimeException e) {
+                progress.failed.incrementAndGet();
+                System.err.println("Error generating statement for account " + accountNumber);
+                e.printStackTrace();
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    /**
+     * Write the archived rows from start to archivedEnd one month at a time, oldest first, then
+     * stream the live rows from liveStart on, keeping only running totals in memory
+     * Returns {transactions, credits, debits, closing balance}, amounts in thebe
+     */
+    private long[] writeStatement(Connection conn, Writer out, String accountNumber, TransactionArchive archive,
+                                  List<ArchivedMonth> archived, LocalDateTime start, LocalDateTime archivedEnd,
+                                  LocalDateTime liveStart, LocalDateTime end, LocalDate from, LocalDate to,
+                                  Money opening) throws SQLException, IOException {
+        out.write("Statement," + csv(accountNumber) + "\n");
+        out.write("Period," + from + "," + to + "\n");
+        out.write("Opening Balance," + opening + "\n");
+        out.write("\n");
+        out.write("Transaction ID,Date,Type,Description,Credit,Debit,Balance\n");
+
+        // {transactions, credits, debits, closing balance}
+        long[] totals = {0, 0, 0, opening.getThebe()};
+        StringBuilder line = new StringBuilder(128);
+        // The catalog lists newest first; each month is written and dropped before the next
+        for (int i = archived.size() - 1; i >= 0; i--) {
+            for (Transaction transaction : archive.readMonth(archived.get(i), accountNumber, start, archivedEnd)) {
+                writeLine(out, line, totals, transaction.getTransactionId(), transaction.getTransactionDate(),
+                        transaction.getTransactionType(), transaction.getDescription(),
+                        transaction.getAmount().getThebe(), transaction.getBalanceAfter().getThebe());
+            }
+        }
+
+        if (liveStart.isBefore(end)) {
+            writeLiveRows(conn, out, line, totals, accountNumber, liveStart, end);
+        }
+
+        out.write("\n");
+        out.write("Total Credits," + Money.format(totals[1]) + "\n");
+        out.write("Total Debits," + Money.format(totals[2]) + "\n");
+        out.write("Closing Balance," + Money.format(totals[3]) + "\n");
+        out.write("Transactions," + totals[0] + "\n");
+
+        return totals;
+    }
+
+    private void writeLiveRows(Connection conn, Writer out, StringBuilder line, long[] totals,
+                               String accountNumber, LocalDateTime start, LocalDateTime end)
+            throws SQLException, IOException {
+        try (PreparedStatement pstmt = conn.prepareStatement(STATEMENT_SQL,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // Connector/J streams row by row instead of buffering the whole result
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+            pstmt.setString(1, accountNumber);
+            pstmt.setTimestamp(2, Timestamp.valueOf(start));
+            pstmt.setTimestamp(3, Timestamp.valueOf(end));
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Timestamp date = rs.getTimestamp(2);
+                    writeLine(out, line, totals, rs.getInt(1), date == null ? null : date.toLocalDateTime(),
+                            rs.getString(3), rs.getString(4), thebe(rs.getBigDecimal(5)),
+                            thebe(rs.getBigDecimal(6)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Format one transaction row and add it to the running totals
+     */
+    private static void writeLine(Writer out, StringBuilder line, long[] totals, int transactionId,
+                                  LocalDateTime date, String type, String description, long amount,
+                                  long balanceAfter) throws IOException {
+        boolean debit = Transaction.isDebitType(type);
+        totals[0]++;
+        totals[debit ? 2 : 1] += amount;
+        totals[3] = balanceAfter;
+
+        line.setLength(0);
+        line.append(transactionId).append(',')
+                .append(date == null ? "" : DATE_TIME.format(date)).append(',')
+                .append(type).append(',')
+                .append(csv(description)).append(',')
+                .append(debit ? "" : Money.format(amount)).append(',')
+                .append(debit ? Money.format(amount) : "").append(',')
+                .append(Money.format(balanceAfter)).append('\n');
+        out.append(line);
+    }
+
+    private static long thebe(BigDecimal amount) {
+        return Money.fromDecimal(amount).getThebe();
+    }
+
+    /**
+     * Quote a CSV field only when it needs it
+     */
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Counters shared by the worker threads of one run
+     */
+    private static final class RunProgress {
+        private final AtomicInteger written = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger unreconciled = new AtomicInteger();
+        private final AtomicLong transactions = new AtomicLong();
+    }
+}
@@ -0,0 +1,60 @@
+package com.VOLTSBankApp.service;
+
+import com.VOLTSBankApp.model.Money;
+
+import java.nio.file.Path;
+
+/**
+ * StatementResult - Balances and totals of one exported statement
+ */
+public class StatementResult {
+    private final String accountNumber;
+    private final Path file;
+    private final long transactionCount;
+    private final Money openingBalance;
+    private final Money totalCredits;
+    private final Money totalDebits;
+    private final Money closingBalance;
+    private final long bytesWritten;
+
+    public StatementResult(String accountNumber, Path file, long transactionCount, Money openingBalance,
+                           Money totalCredits, Money totalDebits, Money closingBalance, long bytesWritten) {
+        this.accountNumber = accountNumber;
+        this.file = file;
+        this.transactionCount = transactionCount;
+        this.openingBalance = openingBalance;
+        this.totalCredits = totalCredits;
+        this.totalDebits = totalDebits;
+        this.closingBalance = closingBalance;
+        this.bytesWritten = bytesWritten;
+    }
+
+    public String getAccountNumber() { return accountNumber; }
+    public Path getFile() { return file; }
+    public long getTransactionCount() { return transactionCount; }
+    public Money getOpeningBalance() { return openingBalance; }
+    public Money getTotalCredits() { return totalCredits; }
+    public Money getTotalDebits() { return totalDebits; }
+    public Money getClosingBalance() { return closingBalance; }
+    public long getBytesWritten() { return bytesWritten; }
+
+    /**
+     * True when opening balance plus the period's movements matches the recorded closing balance
+     */
+    public boolean isReconciled() {
+        return openingBalance.plus(totalCredits).minus(totalDebits).equals(closingBalance);
+    }
+
+    @Override
+    public String toString() {
+        return "StatementResult{" +
+                "account='" + accountNumber + '\'' +
+                ", transactions=" + transactionCount +
+                ", opening=" + openingBalance +
+                ", credits=" + totalCredits +
+                ", debits=" + totalDebits +
+                ", closing=" + closingBalance +
+                ", reconciled=" + isReconciled() +
+                '}';
+    }
+}
@@ -0,0 +1,54 @@
+package com.VOLTSBankApp.service;
+
+/**
+ * StatementRunResult - Outcome and throughput of one month-end statement run
+ */
+public class StatementRunResult {
+    private final String period;
+    private final int statementsWritten;
+    private final int statementsFailed;
+    private final int statementsUnreconciled;
+    private final long transactionsWritten;
+    private final long elapsedNanos;
+
+    public StatementRunResult(String period, int statementsWritten, int statementsFailed,
+                              int statementsUnreconciled, long transactionsWritten, long elapsedNanos) {
+        this.period = period;
+        this.statementsWritten = statementsWritten;
+        this.statementsFailed = statementsFailed;
+        this.statementsUnreconciled = statementsUnreconciled;
+        this.transactionsWritten = transactionsWritten;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getPeriod() { return period; }
+    public int getStatementsWritten() { return statementsWritten; }
+    public int getStatementsFailed() { return statementsFailed; }
+    public int getStatementsUnreconciled() { return statementsUnreconciled; }
+    public long getTransactionsWritten() { return transactionsWritten; }
+
+    public double getElapsedSeconds() {
+        return elapsedNanos / 1_000_000_000.0;
+    }
+
+    public double getStatementsPerSecond() {
+        double seconds = getElapsedSeconds();
+        return seconds > 0 ? statementsWritten / seconds : 0.0;
+    }
+
+    public boolean isComplete() {
+        return statementsFailed == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "StatementRunResult{" +
+                "period='" + period + '\'' +
+                ", statementsWritten=" + statementsWritten +
+                ", statementsFailed=" + statementsFailed +
+                ", statementsUnreconciled=" + statementsUnreconciled +
+                ", transactionsWritten=" + transactionsWritten +
+                ", statementsPerSecond=" + String.format("%.1f", getStatementsPerSecond()) +
+                '}';
+    }
+}
@@ -0,0 +1,219 @@
+package com.VOLTSBankApp.service;
+
+import com.VOLTSBankApp.dao.BalanceSnapshotDAO;
+import com.VOLTSBankApp.dao.RowMappers;
+import com.VOLTSBankApp.dao.TransactionArchive;
+import com.VOLTSBankApp.schema.SchemaMigrator;
+import com.VOLTSBankApp.schema.TransactionPartitions;
+import com.VOLTSBankApp.storage.Storage;
+import com.VOLTSBankApp.storage.TransactionArchiveFile;
+import com.VOLTSBankApp.util.DatabaseConnection;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * TransactionArchiver - Moves closed months older than the horizon out of transactions
+ *
+ * Months go oldest first. Each month's partition is streamed in archive order into a
+ * TransactionArchiveFile, which is read back and checked against the partition's row count
+ * before the month is catalogued. A catalogued month's partition is dropped by a later run,
+ * once every instance's cached catalog has expired (TransactionArchive.CATALOG_TTL_MILLIS)
+ * since it was catalogued, so a reader still going by the old catalog finds the rows live
+ * and no run has to wait that out. A run that stops part way leaves either a stray file,
+ * rewritten by the next run, or a catalogued month whose partition the next run drops. Daily balance snapshots are refreshed first and a month is only archived
+ * once they cover it, so as-of balances never need archived rows.
+ * The horizon comes from -Dvolts.archive.horizonMonths (default 12).
+ */
+public class TransactionArchiver {
+    public static final String HORIZON_PROPERTY = "volts.archive.horizonMonths";
+    public static final int DEFAULT_HORIZON_MONTHS = 12;
+
+    private static final String LOCK_NAME = "volts_transaction_archive";
+    // Covers a catalog read that started just before the month was registered
+    private static final long CATALOG_TTL_MARGIN_MILLIS = 5_000;
+
+    // Catalogued long enough ago that no instance still goes by a catalog without them
+    private static final String SETTLED_MONTHS_SQL =
+            "SELECT archive_month FROM transaction_archive WHERE archived_at < NOW() - INTERVAL ? SECOND";
+
+    private static final String SNAPSHOT_WATERMARK_SQL =
+            "SELECT last_transaction_id FROM daily_balance_progress WHERE id = 1";
+
+    private final int horizonMonths;
+    private final BalanceSnapshotDAO snapshots = new BalanceSnapshotDAO();
+    private final TransactionArchive archive = TransactionArchive.getInstance();
+
+    public TransactionArchiver() {
+        this(Integer.getInteger(HORIZON_PROPERTY, DEFAULT_HORIZON_MONTHS));
+    }
+
+    public TransactionArchiver(int horizonMonths) {
+        if (horizonMonths < 1) {
+            throw new IllegalArgumentException("horizonMonths must be positive");
+        }
+        this.horizonMonths = horizonMonths;
+    }
+
+    public int getHorizonMonths() {
+        return horizonMonths;
+    }
+
+    /**
+     * Archive every month that ended more than horizonMonths ago
+     * Only one instance archives at a time; others wait for it.
+     */
+    public ArchiveRunResult run() throws SQLException, IOException {
+        if (Storage.isInMemory()) {
+            throw new IllegalStateException("The in-memory ledger has no partitions to archive");
+        }
+        long start = System.nanoTime();
+        // Also splits off partitions for the months ahead
+        SchemaMigrator.migrate();
+        snapshots.refresh();
+
+        Path directory = TransactionArchive.getDirectory();
+        Files.createDirectories(directory);
+        YearMonth horizon = YearMonth.now().minusMonths(horizonMonths);
+
+        List<YearMonth> archived = new ArrayList<>();
+        List<YearMonth> dropped = new ArrayList<>();
+        long rows = 0;
+        long archiveBytes = 0;
+        long liveBytes = 0;
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            acquireLock(conn);
+            try {
+                archive.invalidate();
+                Set<YearMonth> catalogued = new HashSet<>();
+                for (TransactionArchive.ArchivedMonth month : archive.getMonths()) {
+                    catalogued.add(month.getMonth());
+                }
+                Set<YearMonth> settled = settledMonths(conn);
+                long snapshotWatermark = snapshotWatermark(conn);
+
+                for (YearMonth month : TransactionPartitions.months(conn)) {
+                    if (!month.isBefore(horizon)) {
+                        break;
+                    }
+                    if (catalogued.contains(month)) {
+                        // Catalogued by an earlier run; a recent one keeps its partition until the next
+                        if (settled.contains(month)) {
+                            TransactionPartitions.dropMonth(conn, month);
+                            dropped.add(month);
+                        }
+                        continue;
+                    }
+
+                    long monthBytes = TransactionPartitions.storedBytes(conn, month);
+                    TransactionArchive.ArchivedMonth written = writeMonth(conn, directory, month);
+                    if (written.getLastTransactionId() > snapshotWatermark) {
+                        Files.deleteIfExists(directory.resolve(written.getFileName()));
+                        System.err.println("Error archiving " + month + ": daily balance snapshots do not " +
+                                "cover it yet; run the archive again once they are refreshed");
+                        break;
+                    }
+
+                    archive.register(conn, written);
+
+                    archived.add(month);
+                    rows += written.getRowCount();
+                    archiveBytes += Files.size(directory.resolve(written.getFileName()));
+                    liveBytes += monthBytes;
+                }
+            } finally {
+                releaseLock(conn);
+            }
+        }
+
+        return new ArchiveRunResult(archived, dropped, rows, archiveBytes, liveBytes, System.nanoTime() - start);
+    }
+
+    /**
+     * Stream one month's partition into its archive file and verify it
+     */
+    private TransactionArchive.ArchivedMonth writeMonth(Connection conn, Path directory, YearMonth month)
+            throws SQLException, IOException {
+        String sql = "SELECT " + RowMappers.TRANSACTION.columns() + " FROM transactions PARTITION (" +
+                TransactionPartitions.partitionName(month) + ") " +
+                "ORDER BY account_number, transaction_date DESC, transaction_id DESC";
+
+        TransactionArchiveFile.Writer writer = new TransactionArchiveFile.Writer();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // Connector/J streams row by row instead of buffering the whole month
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    writer.add(RowMappers.TRANSACTION.map(rs));
+                }
+            }
+        }
+
+        String fileName = TransactionArchive.fileName(month);
+        Path file = directory.resolve(fileName);
+        long crc = writer.write(file);
+
+        // Nothing is dropped unless the file reads back whole and still matches the partition
+        int readBack = TransactionArchiveFile.read(file, crc).size();
+        long liveRows = TransactionPartitions.countRows(conn, month);
+        if (readBack != writer.size() || liveRows != writer.size()) {
+            Files.deleteIfExists(file);
+            throw new IOException("Archive of " + month + " has " + readBack + " rows but the partition has " +
+                    liveRows + "; nothing was dropped");
+        }
+
+        return new TransactionArchive.ArchivedMonth(month, fileName, writer.size(), writer.getMinId(),
+                writer.getMaxId(), writer.getFirstDate(), writer.getLastDate(), crc);
+    }
+
+    /**
+     * Catalogued months every instance has re-read the catalog since, so none reads them from
+     * the live table after their partitions are dropped
+     */
+    private static Set<YearMonth> settledMonths(Connection conn) throws SQLException {
+        Set<YearMonth> months = new HashSet<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(SETTLED_MONTHS_SQL)) {
+            pstmt.setLong(1, (TransactionArchive.CATALOG_TTL_MILLIS + CATALOG_TTL_MARGIN_MILLIS + 999) / 1000);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    months.add(YearMonth.from(rs.getDate(1).toLocalDate()));
+                }
+            }
+        }
+        return months;
+    }
+
+    private long snapshotWatermark(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SNAPSHOT_WATERMARK_SQL)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private static void acquireLock(Connection conn) throws SQLException {
+        try (PreparedStatement lock = conn.prepareStatement("SELECT GET_LOCK(?, -1)")) {
+            lock.setString(1, LOCK_NAME);
+            try (ResultSet rs = lock.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Could not take the transaction archive lock");
+                }
+            }
+        }
+    }
+
+    private static void releaseLock(Connection conn) throws SQLException {
+        try (PreparedStatement unlock = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            unlock.setString(1, LOCK_NAME);
+            unlock.executeQuery().close();
+        }
+    }
+}
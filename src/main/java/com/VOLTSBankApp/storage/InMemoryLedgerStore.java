@@ -0,0 +1,624 @@
+package com.VOLTSBankApp.storage;
+
+import com.VOLTSBankApp.dao.CustomerCredentials;
+import com.VOLTSBankApp.dao.TransactionSummary;
+import com.VOLTSBankApp.dao.TransferReceipt;
+import com.VOLTSBankApp.model.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * InMemoryLedgerStore - Heap-only LedgerStore for tests, demos and load rigs
+ *
+ * Customers and accounts live in int-keyed tables (customer id, account slot) with a
+ * concurrent index from email / account number to the key. Each account's balance is
+ * guarded by its own row monitor, so operations on different accounts never contend;
+ * the only shared lock is the short append into the transaction columns.
+ * Nothing is persisted: the ledger is gone when the JVM exits.
+ */
+public class InMemoryLedgerStore implements LedgerStore {
+    private final IntTable<CustomerRow> customers = new IntTable<>();
+    private final ConcurrentHashMap<String, Integer> customerIdsByEmail = new ConcurrentHashMap<>();
+    private final AtomicInteger nextCustomerId = new AtomicInteger(1);
+
+    private final IntTable<AccountRow> accountsBySlot = new IntTable<>();
+    private final ConcurrentHashMap<String, AccountRow> accountsByNumber = new ConcurrentHashMap<>();
+    private final AtomicInteger nextAccountSlot = new AtomicInteger();
+
+    private final TransactionColumns transactions = new TransactionColumns();
+    private final Set<Integer> deletedTransactionIds = ConcurrentHashMap.newKeySet();
+
+    private final ConcurrentHashMap<String, AtomicLong> sequences = new ConcurrentHashMap<>();
+
+    // ===== Customers =====
+
+    @Override
+    public boolean createCustomer(Customer customer) {
+        int customerId = nextCustomerId.getAndIncrement();
+        if (customerIdsByEmail.putIfAbsent(emailKey(customer.getEmail()), customerId) != null) {
+            return false;
+        }
+
+        // Same name handling as CustomerDAO.createCustomer
+        String[] nameParts = customer.getFirstName().split(" ", 2);
+        Customer stored = new Customer(nameParts[0], nameParts.length > 1 ? nameParts[1] : "",
+                customer.getAddress(), customer.getPhoneNumber(), customer.getEmail(), customer.getPassword());
+        stored.setCustomerId(customerId);
+
+        customers.put(customerId, new CustomerRow(stored));
+        customer.setCustomerId(customerId);
+        return true;
+    }
+
+    @Override
+    public Customer findCustomer(int customerId) {
+        CustomerRow row = customers.get(customerId);
+        return row == null ? null : copyCustomer(row.data);
+    }
+
+    @Override
+    public CustomerCredentials findCredentials(String email) {
+        Integer customerId = customerIdsByEmail.get(emailKey(email));
+        if (customerId == null) {
+            return null;
+        }
+        CustomerRow row = customers.get(customerId);
+        return row == null ? null : new CustomerCredentials(customerId, row.data.getPassword());
+    }
+
+    @Override
+    public boolean updatePasswordHash(int customerId, String passwordHash) {
+        CustomerRow row = customers.get(customerId);
+        if (row == null) {
+            return false;
+        }
+        synchronized (row) {
+            Customer updated = copyCustomer(row.data);
+            updated.setPassword(passwordHash);
+            row.data = updated;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean updateCustomer(Customer customer) {
+        CustomerRow row = customers.get(customer.getCustomerId());
+        if (row == null) {
+            return false;
+        }
+        synchronized (row) {
+            String oldKey = emailKey(row.data.getEmail());
+            String newKey = emailKey(customer.getEmail());
+            if (!oldKey.equals(newKey)) {
+                if (customerIdsByEmail.putIfAbsent(newKey, row.customerId) != null) {
+                    return false;
+                }
+                customerIdsByEmail.remove(oldKey, row.customerId);
+            }
+            Customer updated = new Customer(customer.getFirstName(), customer.getSurname(),
+                    customer.getAddress(), customer.getPhoneNumber(), customer.getEmail(),
+                    row.data.getPassword());
+            updated.setCustomerId(row.customerId);
+            row.data = updated;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean deleteCustomer(int customerId) {
+        CustomerRow row = customers.get(customerId);
+        if (row == null || !customers.remove(customerId, row)) {
+            return false;
+        }
+        customerIdsByEmail.remove(emailKey(row.data.getEmail()), customerId);
+        for (String accountNumber : row.accountNumbers) {
+            deleteAccount(accountNumber);
+        }
+        return true;
+    }
+
+    @Override
+    public List<Customer> listCustomers() {
+        List<Customer> list = new ArrayList<>();
+        int last = nextCustomerId.get();
+        for (int customerId = 1; customerId < last; customerId++) {
+            CustomerRow row = customers.get(customerId);
+            if (row != null) {
+                list.add(copyCustomer(row.data));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public List<Customer> findCustomers(String prefix, int afterCustomerId, int limit) {
+        String lowered = prefix == null ? null : prefix.toLowerCase(Locale.ROOT);
+        List<Customer> list = new ArrayList<>(limit);
+        int last = nextCustomerId.get();
+        for (int customerId = Math.max(1, afterCustomerId + 1); customerId < last && list.size() < limit; customerId++) {
+            CustomerRow row = customers.get(customerId);
+            if (row == null || (lowered != null && !matchesPrefix(row.data, lowered))) {
+                continue;
+            }
+            list.add(copyCustomer(row.data));
+        }
+        return list;
+    }
+
+    private static boolean matchesPrefix(Customer customer, String lowered) {
+        for (String value : new String[]{customer.getEmail(), customer.getFirstName(), customer.getSurname()}) {
+            if (value != null && value.toLowerCase(Locale.ROOT).startsWith(lowered)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ===== Accounts =====
+
+    @Override
+    public boolean createAccount(Account account) {
+        if (account.getCustomer() == null) {
+            return false;
+        }
+        CustomerRow owner = customers.get(account.getCustomer().getCustomerId());
+        if (owner == null) {
+            return false;
+        }
+
+        AccountRow row = new AccountRow(nextAccountSlot.getAndIncrement(), account, owner.customerId);
+        synchronized (row) {
+            if (accountsByNumber.putIfAbsent(row.accountNumber, row) != null) {
+                return false;
+            }
+            accountsBySlot.put(row.slot, row);
+            owner.accountNumbers.add(row.accountNumber);
+            if (row.balance > 0) {
+                row.lastTransaction = transactions.append(row.slot, row.lastTransaction, "OPENING",
+                        row.balance, row.balance, "Account opening deposit");
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Account findAccount(String accountNumber) {
+        AccountRow row = accountsByNumber.get(accountNumber);
+        return row == null ? null : toAccount(row);
+    }
+
+    @Override
+    public List<Account> findAccountsByCustomer(int customerId) {
+        List<Account> accounts = new ArrayList<>();
+        CustomerRow owner = customers.get(customerId);
+        if (owner == null) {
+            return accounts;
+        }
+        for (String accountNumber : owner.accountNumbers) {
+            AccountRow row = accountsByNumber.get(accountNumber);
+            if (row != null) {
+                accounts.add(toAccount(row));
+            }
+        }
+        accounts.sort(Comparator.comparing(Account::getAccountNumber));
+        return accounts;
+    }
+
+    @Override
+    public boolean setBalance(String accountNumber, Money balance) {
+        AccountRow row = accountsByNumber.get(accountNumber);
+        if (row == null) {
+            return false;
+        }
+        synchronized (row) {
+            if (row.deleted) {
+                return false;
+            }
+            row.balance = balance.getThebe();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean setBalanceAndInterest(String accountNumber, Money balance, Money accruedInterest) {
+        AccountRow row = accountsByNumber.get(accountNumber);
+        if (row == null) {
+            return false;
+        }
+        synchronized (row) {
+            if (row.deleted) {
+                return false;
+            }
+            row.balance = balance.getThebe();
+            row.accruedInterest = accruedInterest.getThebe();
+        }
+        return true;
+    }
+
+    @Override
+    public Transaction applyBalanceChange(String accountNumber, Money amount, boolean debit,
+                                          String transactionType, String description) {
+        if (!amount.isPositive()) {
+            return null;
+        }
+        AccountRow row = accountsByNumber.get(accountNumber);
+        if (row == null) {
+            return null;
+        }
+
+        long amountThebe = amount.getThebe();
+        int index;
+        long balanceAfter;
+        synchronized (row) {
+            if (row.deleted) {
+                return null;
+            }
+            if (debit) {
+                if (row.type == AccountType.SAVINGS || row.balance < amountThebe) {
+                    return null;
+                }
+                balanceAfter = row.balance - amountThebe;
+            } else {
+                balanceAfter = Math.addExact(row.balance, amountThebe);
+            }
+            index = transactions.append(row.slot, row.lastTransaction, transactionType,
+                    amountThebe, balanceAfter, description);
+            row.balance = balanceAfter;
+            row.lastTransaction = index;
+        }
+        return toTransaction(index, row.accountNumber);
+    }
+
+    @Override
+    public TransferReceipt transfer(String fromAccount, String toAccount, Money amount, String description) {
+        if (!amount.isPositive()) {
+            return null;
+        }
+        AccountRow from = accountsByNumber.get(fromAccount);
+        AccountRow to = accountsByNumber.get(toAccount);
+        if (from == null || to == null || from == to) {
+            return null;
+        }
+
+        // Take both row monitors in account-number order so opposite transfers cannot deadlock
+        AccountRow first = from.accountNumber.compareTo(to.accountNumber) < 0 ? from : to;
+        AccountRow second = first == from ? to : from;
+        long amountThebe = amount.getThebe();
+        int outIndex;
+        int inIndex;
+        synchronized (first) {
+            synchronized (second) {
+                if (from.deleted || to.deleted || from.type == AccountType.SAVINGS || from.balance < amountThebe) {
+                    return null;
+                }
+                long fromAfter = from.balance - amountThebe;
+                long toAfter = Math.addExact(to.balance, amountThebe);
+                boolean described = description != null && !description.isBlank();
+                outIndex = transactions.append(from.slot, from.lastTransaction, "TRANSFER_OUT", amountThebe,
+                        fromAfter, described ? description : "Transfer to " + to.accountNumber);
+                inIndex = transactions.append(to.slot, to.lastTransaction, "TRANSFER_IN", amountThebe,
+                        toAfter, described ? description : "Transfer from " + from.accountNumber);
+                from.balance = fromAfter;
+                from.lastTransaction = outIndex;
+                to.balance = toAfter;
+                to.lastTransaction = inIndex;
+            }
+        }
+        return new TransferReceipt(toTransaction(outIndex, from.accountNumber), toTransaction(inIndex, to.accountNumber));
+    }
+
+    @Override
+    public boolean deleteAccount(String accountNumber) {
+        AccountRow row = accountsByNumber.remove(accountNumber);
+        if (row == null) {
+            return false;
+        }
+        synchronized (row) {
+            row.deleted = true;
+        }
+        CustomerRow owner = customers.get(row.customerId);
+        if (owner != null) {
+            owner.accountNumbers.remove(accountNumber);
+        }
+        return true;
+    }
+
+    @Override
+    public long reserveSequenceBlock(String sequenceName, int size) {
+        return sequences.computeIfAbsent(sequenceName, name -> new AtomicLong(1)).getAndAdd(size);
+    }
+
+    // ===== Transactions =====
+
+    @Override
+    public boolean appendTransaction(Transaction transaction) {
+        AccountRow row = accountsByNumber.get(transaction.getAccountNumber());
+        if (row == null) {
+            return false;
+        }
+        int index;
+        synchronized (row) {
+            if (row.deleted) {
+                return false;
+            }
+            index = transactions.append(row.slot, row.lastTransaction, transaction.getTransactionType(),
+                    transaction.getAmount().getThebe(), transaction.getBalanceAfter().getThebe(),
+                    transaction.getDescription());
+            row.lastTransaction = index;
+        }
+        transaction.setTransactionId(index + 1);
+        transaction.setTransactionDate(transactions.date(index));
+        return true;
+    }
+
+    @Override
+    public Transaction findTransaction(int transactionId) {
+        int index = transactionId - 1;
+        if (index < 0 || index >= transactions.size() || deletedTransactionIds.contains(transactionId)) {
+            return null;
+        }
+        AccountRow row = accountsBySlot.get(transactions.accountSlot(index));
+        if (row == null || row.deleted) {
+            return null;
+        }
+        return toTransaction(index, row.accountNumber);
+    }
+
+    @Override
+    public boolean deleteTransaction(int transactionId) {
+        return findTransaction(transactionId) != null && deletedTransactionIds.add(transactionId);
+    }
+
+    @Override
+    public List<Transaction> findTransactions(String accountNumber, String transactionType, LocalDateTime from,
+                                              LocalDateTime to, Transaction after, int limit) {
+        List<Transaction> result = new ArrayList<>(limit > 0 ? Math.min(limit, 1024) : 16);
+        AccountRow row = accountsByNumber.get(accountNumber);
+        if (row == null) {
+            return result;
+        }
+
+        long fromMicros = from == null ? Long.MIN_VALUE : TransactionColumns.toMicros(from);
+        long toMicros = to == null ? Long.MAX_VALUE : TransactionColumns.toMicros(to);
+        int index = seekStart(row, after);
+
+        while (index != TransactionColumns.NONE && (limit <= 0 || result.size() < limit)) {
+            long micros = transactions.micros(index);
+            if (micros < fromMicros) {
+                break; // rows only get older from here
+            }
+            if (micros < toMicros && isLive(index)
+                    && (transactionType == null || transactionType.equals(transactions.type(index)))) {
+                result.add(toTransaction(index, accountNumber));
+            }
+            index = transactions.previous(index);
+        }
+        return result;
+    }
+
+    @Override
+    public TransactionSummary summarize(String accountNumber, LocalDateTime from, LocalDateTime to) {
+        TransactionSummary summary = new TransactionSummary();
+        AccountRow row = accountsByNumber.get(accountNumber);
+        if (row == null) {
+            return summary;
+        }
+
+        long fromMicros = from == null ? Long.MIN_VALUE : TransactionColumns.toMicros(from);
+        long toMicros = to == null ? Long.MAX_VALUE : TransactionColumns.toMicros(to);
+        for (int index = row.lastTransaction; index != TransactionColumns.NONE;
+             index = transactions.previous(index)) {
+            long micros = transactions.micros(index);
+            if (micros < fromMicros) {
+                break;
+            }
+            if (micros < toMicros && isLive(index)) {
+                summary.add(transactions.type(index), 1, Money.ofThebe(transactions.amount(index)));
+            }
+        }
+        return summary;
+    }
+
+    @Override
+    public Stream<Transaction> streamTransactions(String accountNumber) {
+        AccountRow row = accountsByNumber.get(accountNumber);
+        int head = row == null ? TransactionColumns.NONE : row.lastTransaction;
+
+        Spliterator<Transaction> spliterator = new Spliterators.AbstractSpliterator<Transaction>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private int next = head;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Transaction> action) {
+                while (next != TransactionColumns.NONE) {
+                    int index = next;
+                    next = transactions.previous(index);
+                    if (isLive(index)) {
+                        action.accept(toTransaction(index, accountNumber));
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    // ===== Introspection for load rigs =====
+
+    public int getTransactionCount() {
+        return transactions.size() - deletedTransactionIds.size();
+    }
+
+    public long getTransactionColumnBytes() {
+        return transactions.allocatedBytes();
+    }
+
+    /**
+     * Sum of all live account balances, for conservation checks
+     */
+    public Money getTotalBalance() {
+        long total = 0;
+        for (AccountRow row : accountsByNumber.values()) {
+            synchronized (row) {
+                total = Math.addExact(total, row.balance);
+            }
+        }
+        return Money.ofThebe(total);
+    }
+
+    // ===== Helpers =====
+
+    /**
+     * First row to visit: the account's newest row, or the row just older than the cursor
+     */
+    private int seekStart(AccountRow row, Transaction after) {
+        int head = row.lastTransaction;
+        if (after == null) {
+            return head;
+        }
+        int afterIndex = after.getTransactionId() - 1;
+        if (afterIndex >= 0 && afterIndex <= head && transactions.accountSlot(afterIndex) == row.slot) {
+            return transactions.previous(afterIndex);
+        }
+        // Cursor from another account or store; fall back to walking past it
+        int index = head;
+        while (index != TransactionColumns.NONE && index >= afterIndex) {
+            index = transactions.previous(index);
+        }
+        return index;
+    }
+
+    private boolean isLive(int index) {
+        return deletedTransactionIds.isEmpty() || !deletedTransactionIds.contains(index + 1);
+    }
+
+    private Transaction toTransaction(int index, String accountNumber) {
+        Transaction transaction = new Transaction(accountNumber, transactions.type(index),
+                Money.ofThebe(transactions.amount(index)), Money.ofThebe(transactions.balanceAfter(index)),
+                transactions.description(index));
+        transaction.setTransactionId(index + 1);
+        transaction.setTransactionDate(transactions.date(index));
+        return transaction;
+    }
+
+    private Account toAccount(AccountRow row) {
+        Account account;
+        switch (row.type) {
+            case SAVINGS:
+                account = new SavingsAccount();
+                break;
+            case INVESTMENT:
+                account = new InvestmentAccount();
+                break;
+            case CHEQUE:
+                ChequeAccount chequeAccount = new ChequeAccount();
+                chequeAccount.setEmployerName(row.employerName);
+                chequeAccount.setEmployerAddress(row.employerAddress);
+                account = chequeAccount;
+                break;
+            default:
+                throw new IllegalStateException("Unknown account type: " + row.type);
+        }
+        account.setAccountNumber(row.accountNumber);
+        account.setBranch(row.branch);
+        account.setDateOpened(row.dateOpened);
+
+        long balance;
+        long accruedInterest;
+        synchronized (row) {
+            balance = row.balance;
+            accruedInterest = row.accruedInterest;
+        }
+        account.setBalance(Money.ofThebe(balance));
+        if (account instanceof SavingsAccount) {
+            ((SavingsAccount) account).setAccruedInterest(Money.ofThebe(accruedInterest));
+        } else if (account instanceof InvestmentAccount) {
+            ((InvestmentAccount) account).setAccruedInterest(Money.ofThebe(accruedInterest));
+        }
+        return account;
+    }
+
+    /**
+     * Copies handed out never carry the password, like the JDBC customer projection
+     */
+    private Customer copyCustomer(Customer source) {
+        Customer copy = new Customer(source.getFirstName(), source.getSurname(), source.getAddress(),
+                source.getPhoneNumber(), source.getEmail(), null);
+        copy.setCustomerId(source.getCustomerId());
+        return copy;
+    }
+
+    /**
+     * Emails compare case-insensitively, as under MySQL's default collation
+     */
+    private static String emailKey(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class CustomerRow {
+        private final int customerId;
+        private final Set<String> accountNumbers = ConcurrentHashMap.newKeySet();
+        private volatile Customer data;
+
+        CustomerRow(Customer data) {
+            this.customerId = data.getCustomerId();
+            this.data = data;
+        }
+    }
+
+    /**
+     * Mutable account state; balance, accruedInterest and deleted are guarded by the row monitor
+     */
+    private static final class AccountRow {
+        private final int slot;
+        private final String accountNumber;
+        private final AccountType type;
+        private final int customerId;
+        private final String branch;
+        private final String employerName;
+        private final String employerAddress;
+        private final LocalDateTime dateOpened;
+
+        private long balance;
+        private long accruedInterest;
+        private boolean deleted;
+        private volatile int lastTransaction = TransactionColumns.NONE;
+
+        AccountRow(int slot, Account account, int customerId) {
+            this.slot = slot;
+            this.accountNumber = account.getAccountNumber();
+            this.type = account.getAccountType();
+            this.customerId = customerId;
+            this.branch = account.getBranch();
+            this.dateOpened = LocalDateTime.now();
+            this.balance = account.getBalance().getThebe();
+
+            if (account instanceof ChequeAccount) {
+                this.employerName = ((ChequeAccount) account).getEmployerName();
+                this.employerAddress = ((ChequeAccount) account).getEmployerAddress();
+            } else {
+                this.employerName = null;
+                this.employerAddress = null;
+            }
+            if (account instanceof SavingsAccount) {
+                this.accruedInterest = ((SavingsAccount) account).getAccruedInterest().getThebe();
+            } else if (account instanceof InvestmentAccount) {
+                this.accruedInterest = ((InvestmentAccount) account).getAccruedInterest().getThebe();
+            }
+        }
+    }
+}
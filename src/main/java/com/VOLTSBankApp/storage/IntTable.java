@@ -0,0 +1,81 @@
+package com.VOLTSBankApp.storage;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * IntTable - Concurrent map from a dense non-negative int key to a value
+ * Keys index straight into fixed-size chunks, so lookups neither hash nor box.
+ * Reads are lock-free; only growing the chunk directory takes a lock.
+ */
+final class IntTable<V> {
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private volatile AtomicReferenceArray<V>[] chunks = newDirectory(16);
+
+    V get(int key) {
+        AtomicReferenceArray<V> chunk = chunkFor(key);
+        return chunk == null ? null : chunk.get(key & CHUNK_MASK);
+    }
+
+    void put(int key, V value) {
+        ensureChunk(key).set(key & CHUNK_MASK, value);
+    }
+
+    /**
+     * Remove the value only if it is still the given one
+     */
+    boolean remove(int key, V expected) {
+        AtomicReferenceArray<V> chunk = chunkFor(key);
+        return chunk != null && chunk.compareAndSet(key & CHUNK_MASK, expected, null);
+    }
+
+    /**
+     * Exclusive upper bound of keys that may hold a value
+     */
+    int capacity() {
+        return chunks.length << CHUNK_BITS;
+    }
+
+    private AtomicReferenceArray<V> chunkFor(int key) {
+        if (key < 0) {
+            return null;
+        }
+        AtomicReferenceArray<V>[] directory = chunks;
+        int index = key >>> CHUNK_BITS;
+        return index < directory.length ? directory[index] : null;
+    }
+
+    private AtomicReferenceArray<V> ensureChunk(int key) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Negative key: " + key);
+        }
+        AtomicReferenceArray<V> chunk = chunkFor(key);
+        if (chunk != null) {
+            return chunk;
+        }
+        synchronized (this) {
+            int index = key >>> CHUNK_BITS;
+            AtomicReferenceArray<V>[] directory = chunks;
+            if (index >= directory.length) {
+                AtomicReferenceArray<V>[] grown = newDirectory(Math.max(directory.length * 2, index + 1));
+                System.arraycopy(directory, 0, grown, 0, directory.length);
+                directory = grown;
+            }
+            if (directory[index] == null) {
+                directory[index] = new AtomicReferenceArray<>(CHUNK_SIZE);
+            }
+            // Publish after the chunk is in place
+            chunks = directory;
+            return directory[index];
+        }
+    }
+
+    private static <V> AtomicReferenceArray<V>[] newDirectory(int size) {
+        // Java cannot create a generic array; every slot only ever holds an AtomicReferenceArray<V>
+        @SuppressWarnings("unchecked")
+        AtomicReferenceArray<V>[] directory = (AtomicReferenceArray<V>[]) new AtomicReferenceArray<?>[size];
+        return directory;
+    }
+}
@@ -0,0 +1,113 @@
+package com.VOLTSBankApp.storage;
+
+import com.VOLTSBankApp.dao.CustomerCredentials;
+import com.VOLTSBankApp.dao.TransactionSummary;
+import com.VOLTSBankApp.dao.TransferReceipt;
+import com.VOLTSBankApp.model.Account;
+import com.VOLTSBankApp.model.Customer;
+import com.VOLTSBankApp.model.Money;
+import com.VOLTSBankApp.model.Transaction;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * LedgerStore - Storage engine the DAOs delegate to when not talking to MySQL
+ * Methods mirror the DAO contracts: lookups return null or an empty list when nothing
+ * matches, mutations return false (or null) instead of throwing, and every returned
+ * model object is a private copy the caller may modify.
+ */
+public interface LedgerStore {
+
+    // Customers
+
+    /**
+     * Insert a customer and set its generated id; false if the email is already taken
+     */
+    boolean createCustomer(Customer customer);
+
+    Customer findCustomer(int customerId);
+
+    /**
+     * Id and stored password hash for an email, or null if it is not registered
+     */
+    CustomerCredentials findCredentials(String email);
+
+    boolean updatePasswordHash(int customerId, String passwordHash);
+
+    boolean updateCustomer(Customer customer);
+
+    /**
+     * Delete a customer together with their accounts
+     */
+    boolean deleteCustomer(int customerId);
+
+    List<Customer> listCustomers();
+
+    /**
+     * Up to limit customers with customer_id > afterCustomerId, in id order, without passwords
+     * prefix is optional and matches the start of the email, first name or surname, ignoring case.
+     */
+    List<Customer> findCustomers(String prefix, int afterCustomerId, int limit);
+
+    // Accounts
+
+    /**
+     * Insert an account for its customer, recording an OPENING transaction for a positive balance
+     */
+    boolean createAccount(Account account);
+
+    Account findAccount(String accountNumber);
+
+    List<Account> findAccountsByCustomer(int customerId);
+
+    boolean setBalance(String accountNumber, Money balance);
+
+    boolean setBalanceAndInterest(String accountNumber, Money balance, Money accruedInterest);
+
+    /**
+     * Credit or debit an account and record the transaction atomically
+     * Debits are refused for savings accounts and when they would overdraw, as in AccountDAO.withdraw.
+     */
+    Transaction applyBalanceChange(String accountNumber, Money amount, boolean debit,
+                                   String transactionType, String description);
+
+    /**
+     * Debit one account, credit another and record the TRANSFER_OUT/TRANSFER_IN pair atomically
+     * Refused under the same rules as a debit, and when both numbers name the same account.
+     */
+    TransferReceipt transfer(String fromAccount, String toAccount, Money amount, String description);
+
+    boolean deleteAccount(String accountNumber);
+
+    /**
+     * Reserve [start, start + size) from a named sequence and return start
+     */
+    long reserveSequenceBlock(String sequenceName, int size);
+
+    // Transactions
+
+    /**
+     * Append a transaction row and set its id and date
+     */
+    boolean appendTransaction(Transaction transaction);
+
+    Transaction findTransaction(int transactionId);
+
+    boolean deleteTransaction(int transactionId);
+
+    /**
+     * An account's transactions newest first, seeking past the keyset cursor `after`
+     * transactionType, from (inclusive), to (exclusive) and after are optional; limit <= 0 means all rows.
+     */
+    List<Transaction> findTransactions(String accountNumber, String transactionType, LocalDateTime from,
+                                       LocalDateTime to, Transaction after, int limit);
+
+    TransactionSummary summarize(String accountNumber, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * An account's transactions newest first, read lazily
+     */
+    Stream<Transaction> streamTransactions(String accountNumber);
+}
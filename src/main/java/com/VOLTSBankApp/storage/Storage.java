@@ -0,0 +1,46 @@
+package com.VOLTSBankApp.storage;
+
+/**
+ * Storage - Chooses the engine behind the DAOs
+ *
+ * By default the DAOs talk to MySQL through DatabaseConnection. Starting the JVM with
+ * -Dvolts.storage=memory, or calling useInMemory() before the first DAO is created,
+ * switches every DAO to an InMemoryLedgerStore so controllers and load rigs can run
+ * without a database. DAOs read the engine once, when they are constructed.
+ */
+public final class Storage {
+    public static final String PROPERTY = "volts.storage";
+
+    private static volatile LedgerStore store =
+            "memory".equalsIgnoreCase(System.getProperty(PROPERTY)) ? new InMemoryLedgerStore() : null;
+
+    private Storage() {
+    }
+
+    /**
+     * The engine new DAOs should use, or null when they should use MySQL
+     */
+    public static LedgerStore getStore() {
+        return store;
+    }
+
+    public static boolean isInMemory() {
+        return store != null;
+    }
+
+    /**
+     * Switch to a fresh in-memory engine and return it
+     */
+    public static synchronized InMemoryLedgerStore useInMemory() {
+        InMemoryLedgerStore memory = new InMemoryLedgerStore();
+        store = memory;
+        return memory;
+    }
+
+    /**
+     * Switch back to MySQL for DAOs created from now on
+     */
+    public static synchronized void useJdbc() {
+        store = null;
+    }
+}
@@ -0,0 +1,416 @@
+package com.VOLTSBankApp.storage;
+
+import com.VOLTSBankApp.dao.TransactionSummary;
+import com.VOLTSBankApp.model.Money;
+import com.VOLTSBankApp.model.Transaction;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * TransactionArchiveFile - One archived month of transactions as a compressed columnar file
+ *
+ * Rows are grouped by account, newest first within an account, and written column by column:
+ * account names once per account, types and descriptions as dictionary codes, and ids, dates
+ * and balances as deltas from the previous row. Neighbouring values are alike, so GZIP packs a
+ * month into a fraction of its InnoDB size. Files are immutable; read() decodes one into
+ * primitive arrays, where each account's rows are a contiguous slice.
+ */
+public final class TransactionArchiveFile {
+    private static final int MAGIC = 0x56544131; // "VTA1"
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final Map<String, Integer> accountIndex;
+    private final int[] accountStart;
+    private final String[] typeNames;
+    private final byte[] types;
+    private final int[] ids;
+    private final long[] micros;
+    private final long[] amounts;
+    private final long[] balances;
+    private final String[] descriptionNames;
+    private final int[] descriptions;
+
+    private TransactionArchiveFile(Map<String, Integer> accountIndex, int[] accountStart, String[] typeNames,
+                                   byte[] types, int[] ids, long[] micros, long[] amounts, long[] balances,
+                                   String[] descriptionNames, int[] descriptions) {
+        this.accountIndex = accountIndex;
+        this.accountStart = accountStart;
+        this.typeNames = typeNames;
+        this.types = types;
+        this.ids = ids;
+        this.micros = micros;
+        this.amounts = amounts;
+        this.balances = balances;
+        this.descriptionNames = descriptionNames;
+        this.descriptions = descriptions;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * One account's rows, newest first, like TransactionDAO.getTransactionPage
+     * transactionType, from (inclusive), to (exclusive) and the after cursor are optional;
+     * limit 0 returns every match.
+     */
+    public List<Transaction> find(String accountNumber, String transactionType, LocalDateTime from,
+                                  LocalDateTime to, Transaction after, int limit) {
+        List<Transaction> rows = new ArrayList<>();
+        Integer account = accountIndex.get(accountNumber);
+        if (account == null) {
+            return rows;
+        }
+
+        long fromMicros = from == null ? Long.MIN_VALUE : TransactionColumns.toMicros(from);
+        long toMicros = to == null ? Long.MAX_VALUE : TransactionColumns.toMicros(to);
+        long afterMicros = after == null ? Long.MAX_VALUE : TransactionColumns.toMicros(after.getTransactionDate());
+        int afterId = after == null ? Integer.MAX_VALUE : after.getTransactionId();
+
+        for (int row = accountStart[account]; row < accountStart[account + 1]; row++) {
+            long date = micros[row];
+            if (date < fromMicros) {
+                break;
+            }
+            if (date >= toMicros || date > afterMicros || (date == afterMicros && ids[row] >= afterId)) {
+                continue;
+            }
+            if (transactionType != null && !transactionType.equals(typeNames[types[row]])) {
+                continue;
+            }
+            rows.add(toTransaction(accountNumber, row));
+            if (rows.size() == limit) {
+                break;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Add one account's per-type counts and totals for from..to (both optional) to summary
+     */
+    public void summarize(String accountNumber, LocalDateTime from, LocalDateTime to, TransactionSummary summary) {
+        Integer account = accountIndex.get(accountNumber);
+        if (account == null) {
+            return;
+        }
+
+        long fromMicros = from == null ? Long.MIN_VALUE : TransactionColumns.toMicros(from);
+        long toMicros = to == null ? Long.MAX_VALUE : TransactionColumns.toMicros(to);
+        long[] counts = new long[typeNames.length];
+        long[] totals = new long[typeNames.length];
+        for (int row = accountStart[account]; row < accountStart[account + 1]; row++) {
+            if (micros[row] < fromMicros) {
+                break;
+            }
+            if (micros[row] < toMicros) {
+                counts[types[row]]++;
+                totals[types[row]] += amounts[row];
+            }
+        }
+        for (int type = 0; type < typeNames.length; type++) {
+            if (counts[type] > 0) {
+                summary.add(typeNames[type], counts[type], Money.ofThebe(totals[type]));
+            }
+        }
+    }
+
+    /**
+     * The row with this id, or null; ids are only ordered within an account, so this scans
+     */
+    public Transaction findById(int transactionId) {
+        for (Map.Entry<String, Integer> account : accountIndex.entrySet()) {
+            int slot = account.getValue();
+            for (int row = accountStart[slot]; row < accountStart[slot + 1]; row++) {
+                if (ids[row] == transactionId) {
+                    return toTransaction(account.getKey(), row);
+                }
+            }
+        }
+        return null;
+    }
+
+    private Transaction toTransaction(String accountNumber, int row) {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(ids[row]);
+        transaction.setAccountNumber(accountNumber);
+        transaction.setTransactionType(typeNames[types[row]]);
+        transaction.setAmount(Money.ofThebe(amounts[row]));
+        transaction.setBalanceAfter(Money.ofThebe(balances[row]));
+        transaction.setDescription(descriptions[row] == 0 ? null : descriptionNames[descriptions[row] - 1]);
+        transaction.setTransactionDate(TransactionColumns.fromMicros(micros[row]));
+        return transaction;
+    }
+
+    /**
+     * Decode an archive file, checking that its CRC32 matches expectedCrc
+     */
+    public static TransactionArchiveFile read(Path file, long expectedCrc) throws IOException {
+        CRC32 crc = new CRC32();
+        TransactionArchiveFile archive;
+        try (InputStream raw = new CheckedInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_BYTES), crc);
+             DataInputStream in = new DataInputStream(new GZIPInputStream(raw, BUFFER_BYTES))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not a transaction archive");
+            }
+            int rowCount = in.readInt();
+
+            int accountCount = in.readInt();
+            Map<String, Integer> accountIndex = new HashMap<>(accountCount * 2);
+            int[] accountStart = new int[accountCount + 1];
+            for (int account = 0; account < accountCount; account++) {
+                accountIndex.put(in.readUTF(), account);
+                accountStart[account + 1] = accountStart[account] + readVarInt(in);
+            }
+            if (accountStart[accountCount] != rowCount) {
+                throw new IOException(file + " is corrupt: account slices do not add up to " + rowCount + " rows");
+            }
+
+            String[] typeNames = readStrings(in);
+            byte[] types = new byte[rowCount];
+            in.readFully(types);
+
+            int[] ids = new int[rowCount];
+            long previous = 0;
+            for (int row = 0; row < rowCount; row++) {
+                previous += readVarLong(in);
+                ids[row] = (int) previous;
+            }
+            long[] micros = readDeltas(in, rowCount);
+            long[] amounts = new long[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                amounts[row] = readVarLong(in);
+            }
+            long[] balances = readDeltas(in, rowCount);
+
+            String[] descriptionNames = readStrings(in);
+            int[] descriptions = new int[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                descriptions[row] = readVarInt(in);
+            }
+
+            archive = new TransactionArchiveFile(accountIndex, accountStart, typeNames, types, ids, micros,
+                    amounts, balances, descriptionNames, descriptions);
+            // Drain the GZIP trailer so the checksum covers the whole file
+            while (in.read() >= 0) {
+                // nothing after the last column
+            }
+        }
+        if (crc.getValue() != expectedCrc) {
+            throw new IOException(file + " is corrupt: CRC32 " + crc.getValue() + ", expected " + expectedCrc);
+        }
+        return archive;
+    }
+
+    private static String[] readStrings(DataInputStream in) throws IOException {
+        String[] strings = new String[in.readInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = in.readUTF();
+        }
+        return strings;
+    }
+
+    private static long[] readDeltas(DataInputStream in, int rowCount) throws IOException {
+        long[] values = new long[rowCount];
+        long previous = 0;
+        for (int row = 0; row < rowCount; row++) {
+            previous += readVarLong(in);
+            values[row] = previous;
+        }
+        return values;
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    // Zigzag varint: small magnitudes of either sign take one or two bytes
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (value >>> 1) ^ -(value & 1);
+            }
+        }
+    }
+
+    /**
+     * Collects one month's rows in archive order, then writes them as a file
+     * Rows must arrive grouped by account and newest first within each account.
+     */
+    public static final class Writer {
+        private final List<String> accounts = new ArrayList<>();
+        private final Map<String, Integer> accountRows = new HashMap<>();
+        private final Map<String, Byte> typeCodes = new HashMap<>();
+        private final Map<String, Integer> descriptionCodes = new HashMap<>();
+
+        private byte[] types = new byte[1024];
+        private int[] ids = new int[1024];
+        private long[] micros = new long[1024];
+        private long[] amounts = new long[1024];
+        private long[] balances = new long[1024];
+        private int[] descriptions = new int[1024];
+        private int size;
+
+        private String currentAccount;
+        private int minId = Integer.MAX_VALUE;
+        private int maxId = Integer.MIN_VALUE;
+        private long minMicros = Long.MAX_VALUE;
+        private long maxMicros = Long.MIN_VALUE;
+
+        public void add(Transaction transaction) {
+            String accountNumber = transaction.getAccountNumber();
+            long date = TransactionColumns.toMicros(transaction.getTransactionDate());
+            if (!accountNumber.equals(currentAccount)) {
+                if (accountRows.containsKey(accountNumber)) {
+                    throw new IllegalArgumentException("Rows for account " + accountNumber + " are not grouped");
+                }
+                accounts.add(accountNumber);
+                accountRows.put(accountNumber, 0);
+                currentAccount = accountNumber;
+            } else if (date > micros[size - 1]
+                    || (date == micros[size - 1] && transaction.getTransactionId() > ids[size - 1])) {
+                throw new IllegalArgumentException("Rows for account " + accountNumber + " are not newest first");
+            }
+            if (size == ids.length) {
+                grow();
+            }
+
+            Byte type = typeCodes.get(transaction.getTransactionType());
+            if (type == null) {
+                if (typeCodes.size() == Byte.MAX_VALUE) {
+                    throw new IllegalArgumentException("Too many transaction types for one archive");
+                }
+                type = (byte) typeCodes.size();
+                typeCodes.put(transaction.getTransactionType(), type);
+            }
+            String description = transaction.getDescription();
+
+            types[size] = type;
+            ids[size] = transaction.getTransactionId();
+            micros[size] = date;
+            amounts[size] = transaction.getAmount().getThebe();
+            balances[size] = transaction.getBalanceAfter().getThebe();
+            descriptions[size] = description == null ? 0
+                    : descriptionCodes.computeIfAbsent(description, d -> descriptionCodes.size() + 1);
+            size++;
+            accountRows.merge(accountNumber, 1, Integer::sum);
+
+            minId = Math.min(minId, transaction.getTransactionId());
+            maxId = Math.max(maxId, transaction.getTransactionId());
+            minMicros = Math.min(minMicros, date);
+            maxMicros = Math.max(maxMicros, date);
+        }
+
+        public int size() { return size; }
+        public int getMinId() { return size == 0 ? 0 : minId; }
+        public int getMaxId() { return size == 0 ? 0 : maxId; }
+        public LocalDateTime getFirstDate() { return size == 0 ? null : TransactionColumns.fromMicros(minMicros); }
+        public LocalDateTime getLastDate() { return size == 0 ? null : TransactionColumns.fromMicros(maxMicros); }
+
+        /**
+         * Write the rows to file and return its CRC32
+         * The file is written under a temporary name and moved into place once complete.
+         */
+        public long write(Path file) throws IOException {
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            CRC32 crc = new CRC32();
+            try (OutputStream raw = new CheckedOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_BYTES), crc);
+                 DataOutputStream out = new DataOutputStream(new GZIPOutputStream(raw, BUFFER_BYTES))) {
+                out.writeInt(MAGIC);
+                out.writeInt(size);
+
+                out.writeInt(accounts.size());
+                for (String account : accounts) {
+                    out.writeUTF(account);
+                    writeVarLong(out, accountRows.get(account));
+                }
+
+                writeStrings(out, typeCodes.size(), typeCodes, 0);
+                out.write(types, 0, size);
+
+                long previous = 0;
+                for (int row = 0; row < size; row++) {
+                    writeVarLong(out, ids[row] - previous);
+                    previous = ids[row];
+                }
+                writeDeltas(out, micros);
+                for (int row = 0; row < size; row++) {
+                    writeVarLong(out, amounts[row]);
+                }
+                writeDeltas(out, balances);
+
+                writeStrings(out, descriptionCodes.size(), descriptionCodes, 1);
+                for (int row = 0; row < size; row++) {
+                    writeVarLong(out, descriptions[row]);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return crc.getValue();
+        }
+
+        /**
+         * Write a dictionary as its strings in code order; codes start at firstCode
+         */
+        private static void writeStrings(DataOutputStream out, int count, Map<String, ? extends Number> codes,
+                                         int firstCode) throws IOException {
+            String[] strings = new String[count];
+            for (Map.Entry<String, ? extends Number> entry : codes.entrySet()) {
+                strings[entry.getValue().intValue() - firstCode] = entry.getKey();
+            }
+            out.writeInt(count);
+            for (String string : strings) {
+                out.writeUTF(string);
+            }
+        }
+
+        private void writeDeltas(DataOutputStream out, long[] values) throws IOException {
+            long previous = 0;
+            for (int row = 0; row < size; row++) {
+                writeVarLong(out, values[row] - previous);
+                previous = values[row];
+            }
+        }
+
+        private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+            long zigzag = (value << 1) ^ (value >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                out.writeByte((int) ((zigzag & 0x7F) | 0x80));
+                zigzag >>>= 7;
+            }
+            out.writeByte((int) zigzag);
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            types = Arrays.copyOf(types, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            micros = Arrays.copyOf(micros, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            balances = Arrays.copyOf(balances, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.VOLTSBankApp.storage;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * TransactionColumns - Append-only columnar store for transaction rows
+ *
+ * Each column is a primitive array cut into fixed-size chunks, so a row costs about
+ * 40 bytes plus its description and appending never copies earlier rows. Row index + 1
+ * is the transaction id. Every row links to the previous row of the same account, which
+ * makes newest-first history walks and keyset seeks O(rows returned).
+ *
+ * Appends are serialized; readers are lock-free and may read any row below size(),
+ * or any row index they obtained from a volatile field written after the append.
+ */
+final class TransactionColumns {
+    static final int NONE = -1;
+
+    private static final int CHUNK_BITS = 14;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private volatile Chunk[] chunks = new Chunk[16];
+    private volatile int size;
+    private long lastMicros;
+
+    // Transaction types are a handful of strings; rows store a one-byte code
+    private final Map<String, Byte> typeCodes = new HashMap<>();
+    private volatile String[] typeNames = new String[0];
+
+    /**
+     * Append a row and return its index
+     * Rows get strictly increasing timestamps, so append order is also date order.
+     */
+    synchronized int append(int accountSlot, int previous, String type, long amountThebe,
+                            long balanceAfterThebe, String description) {
+        int index = size;
+        if (index == Integer.MAX_VALUE - 1) {
+            throw new IllegalStateException("Transaction store is full");
+        }
+        Chunk chunk = chunkForAppend(index);
+        int offset = index & CHUNK_MASK;
+
+        long now = toMicros(LocalDateTime.now());
+        lastMicros = Math.max(now, lastMicros + 1);
+
+        chunk.accountSlot[offset] = accountSlot;
+        chunk.previous[offset] = previous;
+        chunk.type[offset] = typeCode(type);
+        chunk.amount[offset] = amountThebe;
+        chunk.balanceAfter[offset] = balanceAfterThebe;
+        chunk.micros[offset] = lastMicros;
+        chunk.description[offset] = description;
+
+        // Publishes the row to lock-free readers
+        size = index + 1;
+        return index;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int accountSlot(int index) {
+        return chunk(index).accountSlot[index & CHUNK_MASK];
+    }
+
+    int previous(int index) {
+        return chunk(index).previous[index & CHUNK_MASK];
+    }
+
+    String type(int index) {
+        return typeNames[chunk(index).type[index & CHUNK_MASK]];
+    }
+
+    long amount(int index) {
+        return chunk(index).amount[index & CHUNK_MASK];
+    }
+
+    long balanceAfter(int index) {
+        return chunk(index).balanceAfter[index & CHUNK_MASK];
+    }
+
+    long micros(int index) {
+        return chunk(index).micros[index & CHUNK_MASK];
+    }
+
+    LocalDateTime date(int index) {
+        return fromMicros(micros(index));
+    }
+
+    String description(int index) {
+        return chunk(index).description[index & CHUNK_MASK];
+    }
+
+    /**
+     * Column footprint in bytes, not counting description strings
+     */
+    long allocatedBytes() {
+        Chunk[] directory = chunks;
+        long allocated = 0;
+        for (Chunk chunk : directory) {
+            if (chunk != null) {
+                allocated += (long) CHUNK_SIZE * (4 + 4 + 1 + 8 + 8 + 8 + 4);
+            }
+        }
+        return allocated;
+    }
+
+    static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private Chunk chunk(int index) {
+        return chunks[index >>> CHUNK_BITS];
+    }
+
+    private Chunk chunkForAppend(int index) {
+        int chunkIndex = index >>> CHUNK_BITS;
+        Chunk[] directory = chunks;
+        if (chunkIndex >= directory.length) {
+            Chunk[] grown = new Chunk[directory.length * 2];
+            System.arraycopy(directory, 0, grown, 0, directory.length);
+            directory = grown;
+        }
+        if (directory[chunkIndex] == null) {
+            directory[chunkIndex] = new Chunk();
+        }
+        chunks = directory;
+        return directory[chunkIndex];
+    }
+
+    private byte typeCode(String type) {
+        Byte code = typeCodes.get(type);
+        if (code != null) {
+            return code;
+        }
+        if (typeCodes.size() == Byte.MAX_VALUE) {
+            throw new IllegalStateException("Too many transaction types");
+        }
+        byte next = (byte) typeCodes.size();
+        String[] names = Arrays.copyOf(typeNames, next + 1);
+        names[next] = type;
+        typeNames = names;
+        typeCodes.put(type, next);
+        return next;
+    }
+
+    private static final class Chunk {
+        private final int[] accountSlot = new int[CHUNK_SIZE];
+        private final int[] previous = new int[CHUNK_SIZE];
+        private final byte[] type = new byte[CHUNK_SIZE];
+        private final long[] amount = new long[CHUNK_SIZE];
+        private final long[] balanceAfter = new long[CHUNK_SIZE];
+        private final long[] micros = new long[CHUNK_SIZE];
+        private final String[] description = new String[CHUNK_SIZE];
+    }
+}
@@ -0,0 +1,415 @@
+package com.VOLTSBankApp.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ConnectionPool - Bounded pool of physical JDBC connections
+ * Connections handed out are proxies; calling close() returns them to the pool
+ */
+public class ConnectionPool {
+    // Connections used more recently than this are trusted without a ping
+    private static final long VALIDATION_BYPASS_MILLIS = 500;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long HOUSEKEEPING_INTERVAL_MILLIS = 30_000;
+
+    private final String url;
+    private final Properties connectionProperties;
+    private final int maxSize;
+    private final int minIdle;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long leakThresholdMillis;
+
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    private final AtomicLong totalBorrows = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong connectionsCreated = new AtomicLong();
+    private final AtomicLong connectionsDestroyed = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong borrowTimeouts = new AtomicLong();
+    private final AtomicLong leaksDetected = new AtomicLong();
+
+    public ConnectionPool(String url, String user, String password, int maxSize, int minIdle,
+                          long borrowTimeoutMillis, long idleTimeoutMillis, long leakThresholdMillis) {
+        this(url, user, password, new Properties(), maxSize, minIdle,
+                borrowTimeoutMillis, idleTimeoutMillis, leakThresholdMillis);
+    }
+
+    /**
+     * Pool whose physical connections are opened with extra driver properties
+     */
+    public ConnectionPool(String url, String user, String password, Properties driverProperties,
+                          int maxSize, int minIdle, long borrowTimeoutMillis, long idleTimeoutMillis,
+                          long leakThresholdMillis) {
+        this.url = url;
+        this.connectionProperties = new Properties();
+        connectionProperties.putAll(driverProperties);
+        connectionProperties.setProperty("user", user);
+        connectionProperties.setProperty("password", password);
+        this.maxSize = maxSize;
+        this.minIdle = minIdle;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "volts-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep,
+                HOUSEKEEPING_INTERVAL_MILLIS, HOUSEKEEPING_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection, waiting up to the borrow timeout when the pool is exhausted
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                borrowTimeouts.incrementAndGet();
+                throw new SQLException("timed out after " + borrowTimeoutMillis +
+                        "ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("interrupted while waiting for a database connection", e);
+        }
+
+        PooledConnection pooled;
+        try {
+            pooled = takeValidConnection();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+
+        long waited = System.nanoTime() - start;
+        totalBorrows.incrementAndGet();
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+        pooled.borrowedAt = System.currentTimeMillis();
+        pooled.borrowSite = new Exception("connection borrowed here");
+        pooled.leakReported = false;
+        borrowed.add(pooled);
+        return pooled.newHandle();
+    }
+
+    /**
+     * Reuse the most recently returned idle connection, or open a new one
+     */
+    private PooledConnection takeValidConnection() throws SQLException {
+        while (true) {
+            PooledConnection candidate;
+            synchronized (idle) {
+                candidate = idle.pollFirst();
+            }
+            if (candidate == null) {
+                return open();
+            }
+            if (isUsable(candidate)) {
+                return candidate;
+            }
+            validationFailures.incrementAndGet();
+            destroy(candidate);
+        }
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        if (System.currentTimeMillis() - pooled.lastReturnedAt < VALIDATION_BYPASS_MILLIS) {
+            return true;
+        }
+        try {
+            return pooled.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection conn = DriverManager.getConnection(url, connectionProperties);
+        if (conn == null) {
+            throw new SQLException("failed to connect to database");
+        }
+        connectionsCreated.incrementAndGet();
+        return new PooledConnection(conn);
+    }
+
+    /**
+     * Return a connection to the pool, resetting any state the borrower left behind
+     */
+    private void release(PooledConnection pooled) {
+        if (!borrowed.remove(pooled)) {
+            return;
+        }
+
+        try {
+            boolean healthy = !closed && !pooled.physical.isClosed();
+            if (healthy && !pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+            if (healthy) {
+                pooled.lastReturnedAt = System.currentTimeMillis();
+                pooled.borrowSite = null;
+                synchronized (idle) {
+                    idle.addFirst(pooled);
+                }
+            } else {
+                destroy(pooled);
+            }
+        } catch (SQLException e) {
+            destroy(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void destroy(PooledConnection pooled) {
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            // Connection is being discarded anyway
+        }
+        connectionsDestroyed.incrementAndGet();
+    }
+
+    /**
+     * Evict connections idle past the timeout and report borrowers holding one past the leak deadline
+     */
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        synchronized (idle) {
+            // Oldest entries sit at the tail because returns go to the head
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && idle.size() > minIdle) {
+                PooledConnection pooled = it.next();
+                if (now - pooled.lastReturnedAt > idleTimeoutMillis) {
+                    it.remove();
+                    destroy(pooled);
+                }
+            }
+        }
+
+        for (PooledConnection pooled : borrowed) {
+            if (!pooled.leakReported && now - pooled.borrowedAt > leakThresholdMillis) {
+                pooled.leakReported = true;
+                leaksDetected.incrementAndGet();
+                System.err.println("Possible connection leak: connection held for " +
+                        (now - pooled.borrowedAt) + "ms");
+                Exception site = pooled.borrowSite;
+                if (site != null) {
+                    site.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Check that a connection can be borrowed and answers a ping
+     */
+    public boolean isHealthy() {
+        try (Connection conn = borrow()) {
+            return conn.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            System.err.println("Connection pool health check failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Close idle connections now; borrowed connections are closed as they are returned
+     */
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        synchronized (idle) {
+            for (PooledConnection pooled : idle) {
+                destroy(pooled);
+            }
+            idle.clear();
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public Stats getStats() {
+        int idleCount;
+        synchronized (idle) {
+            idleCount = idle.size();
+        }
+        return new Stats(maxSize, borrowed.size(), idleCount, permits.getQueueLength(),
+                totalBorrows.get(), totalWaitNanos.get(), maxWaitNanos.get(),
+                connectionsCreated.get(), connectionsDestroyed.get(), validationFailures.get(),
+                borrowTimeouts.get(), leaksDetected.get());
+    }
+
+    /**
+     * One physical connection and its borrow bookkeeping
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private volatile long borrowedAt;
+        private volatile long lastReturnedAt;
+        private volatile Exception borrowSite;
+        private volatile boolean leakReported;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.lastReturnedAt = System.currentTimeMillis();
+        }
+
+        Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new Handle(this));
+        }
+    }
+
+    /**
+     * Borrower-facing view of a pooled connection; close() hands it back exactly once
+     */
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean returned;
+
+        Handle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    if (returned) {
+                        throw new SQLException("connection has already been returned to the pool");
+                    }
+                    try {
+                        return method.invoke(pooled.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+
+    /**
+     * Point-in-time pool metrics
+     */
+    public static final class Stats {
+        private final int maxSize;
+        private final int borrowed;
+        private final int idle;
+        private final int waiting;
+        private final long totalBorrows;
+        private final long totalWaitNanos;
+        private final long maxWaitNanos;
+        private final long created;
+        private final long destroyed;
+        private final long validationFailures;
+        private final long timeouts;
+        private final long leaks;
+
+        Stats(int maxSize, int borrowed, int idle, int waiting, long totalBorrows,
+              long totalWaitNanos, long maxWaitNanos, long created, long destroyed,
+              long validationFailures, long timeouts, long leaks) {
+            this.maxSize = maxSize;
+            this.borrowed = borrowed;
+            this.idle = idle;
+            this.waiting = waiting;
+            this.totalBorrows = totalBorrows;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+            this.created = created;
+            this.destroyed = destroyed;
+            this.validationFailures = validationFailures;
+            this.timeouts = timeouts;
+            this.leaks = leaks;
+        }
+
+        public int getMaxSize() { return maxSize; }
+        public int getBorrowed() { return borrowed; }
+        public int getIdle() { return idle; }
+        public int getWaiting() { return waiting; }
+        public long getTotalBorrows() { return totalBorrows; }
+        public long getCreated() { return created; }
+        public long getDestroyed() { return destroyed; }
+        public long getValidationFailures() { return validationFailures; }
+        public long getTimeouts() { return timeouts; }
+        public long getLeaks() { return leaks; }
+
+        public double getAverageWaitMillis() {
+            return totalBorrows == 0 ? 0.0 : totalWaitNanos / (double) totalBorrows / 1_000_000.0;
+        }
+
+        public double getMaxWaitMillis() {
+            return maxWaitNanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return "PoolStats{" +
+                    "borrowed=" + borrowed +
+                    ", idle=" + idle +
+                    ", max=" + maxSize +
+                    ", waiting=" + waiting +
+                    ", borrows=" + totalBorrows +
+                    ", avgWaitMs=" + String.format("%.3f", getAverageWaitMillis()) +
+                    ", maxWaitMs=" + String.format("%.3f", getMaxWaitMillis()) +
+                    ", created=" + created +
+                    ", destroyed=" + destroyed +
+                    ", validationFailures=" + validationFailures +
+                    ", timeouts=" + timeouts +
+                    ", leaks=" + leaks +
+                    '}';
+        }
+    }
+}
@@ -1,29 +1,92 @@
 package com.VOLTSBankApp.util;
 
+import com.VOLTSBankApp.metrics.DaoMetrics;
+
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Properties;
 
 public class DatabaseConnection {
     private static final String URL = "jdbc:mysql://localhost:3306/volts_bank_db";
     private static final String USER = "root";
     private static final String PASSWORD = "";
 
+    // Pool sizing
+    public static final int MAX_POOL_SIZE = 10;
+    private static final int MIN_IDLE = 2;
+    private static final long BORROW_TIMEOUT_MILLIS = 5_000;
+    private static final long IDLE_TIMEOUT_MILLIS = 10 * 60_000;
+    private static final long LEAK_THRESHOLD_MILLIS = 60_000;
+
+    private static volatile ConnectionPool pool;
+
+    private static ConnectionPool getPool() {
+        ConnectionPool current = pool;
+        if (current != null && !current.isClosed()) {
+            return current;
+        }
+        synchronized (DatabaseConnection.class) {
+            if (pool == null || pool.isClosed()) {
+                // Pooled connections live long, so each one keeps its prepared statements
+                pool = new ConnectionPool(URL, USER, PASSWORD,
+                        StatementRegistry.driverProperties(StatementRegistry.isEnabled()),
+                        MAX_POOL_SIZE, MIN_IDLE, BORROW_TIMEOUT_MILLIS, IDLE_TIMEOUT_MILLIS,
+                        LEAK_THRESHOLD_MILLIS);
+            }
+            return pool;
+        }
+    }
+
+    /**
+     * Borrow a pooled connection; closing it returns it to the pool
+     */
     public static Connection getConnection() throws SQLException {
-        Connection conn = DriverManager.getConnection(URL, USER, PASSWORD);
-        if (conn == null) {
-            throw new SQLException("failed to connect to database");
+        // Acquire time is tracked separately so pool waits show up on their own
+        DaoMetrics.Call call = DaoMetrics.begin("DatabaseConnection.getConnection");
+        try {
+            return getPool().borrow();
+        } catch (SQLException e) {
+            call.failed(e);
+            throw e;
+        } finally {
+            call.end();
         }
-        return conn;
+    }
 
+    /**
+     * Open a physical connection outside the pool, with statement caching on or off
+     * For benchmarks comparing the two; the caller must close it.
+     */
+    public static Connection openUnpooled(boolean statementCache) throws SQLException {
+        Properties properties = StatementRegistry.driverProperties(statementCache);
+        properties.setProperty("user", USER);
+        properties.setProperty("password", PASSWORD);
+        return DriverManager.getConnection(URL, properties);
     }
 
+    /**
+     * Check that the pool can hand out a live connection
+     */
     public static boolean testConnection() {
-
-        return true;
+        return getPool().isHealthy();
     }
 
-    public static void closeConnection() {
+    /**
+     * Get current pool metrics (borrowed, idle, wait times)
+     */
+    public static ConnectionPool.Stats getPoolStats() {
+        return getPool().getStats();
+    }
 
+    /**
+     * Drain the pool on application shutdown
+     */
+    public static synchronized void closeConnection() {
+        if (pool != null) {
+            System.out.println("Closing connection pool: " + pool.getStats());
+            pool.close();
+            pool = null;
+        }
     }
 }
@@ -0,0 +1,70 @@
+package com.VOLTSBankApp.util;
+
+import java.util.Arrays;
+
+/**
+ * MultiRowStatement - A multi-row INSERT or IN (...) list registered at a few fixed row counts
+ *
+ * Building the SQL for whatever number of rows is at hand gives every batch size its own
+ * statement text, which crowds the registered statements out of the driver's cache and soon
+ * grows past the length it caches at all. Instead each row count is defined once, and a
+ * batch is written as the largest counts that fit, e.g. 64 + 16 + 4 + 1 + 1 for 86 rows.
+ */
+public final class MultiRowStatement {
+    private final int[] sizes;
+    private final String[] statements;
+
+    /**
+     * Register prefix + row, row, ... + suffix for each size; the sizes must include 1
+     */
+    public MultiRowStatement(String prefix, String row, String suffix, int... sizes) {
+        int[] sorted = sizes.clone();
+        Arrays.sort(sorted);
+        if (sorted.length == 0 || sorted[0] != 1) {
+            throw new IllegalArgumentException("Row counts must include 1");
+        }
+        this.sizes = new int[sorted.length];
+        this.statements = new String[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            // Largest first
+            int rows = sorted[sorted.length - 1 - i];
+            StringBuilder sql = new StringBuilder(prefix);
+            for (int r = 0; r < rows; r++) {
+                if (r > 0) {
+                    sql.append(", ");
+                }
+                sql.append(row);
+            }
+            this.sizes[i] = rows;
+            this.statements[i] = StatementRegistry.define(sql.append(suffix).toString());
+        }
+    }
+
+    /**
+     * Rows the next statement should take when this many are left
+     */
+    public int rowsFor(int remaining) {
+        for (int size : sizes) {
+            if (size <= remaining) {
+                return size;
+            }
+        }
+        throw new IllegalArgumentException("No rows left: " + remaining);
+    }
+
+    /**
+     * The registered SQL for one of the declared row counts
+     */
+    public String sql(int rows) {
+        for (int i = 0; i < sizes.length; i++) {
+            if (sizes[i] == rows) {
+                return statements[i];
+            }
+        }
+        throw new IllegalArgumentException("No statement declared for " + rows + " rows");
+    }
+
+    public int getMaxRows() {
+        return sizes[0];
+    }
+}
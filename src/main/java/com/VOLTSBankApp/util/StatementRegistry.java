@@ -0,0 +1,106 @@
+package com.VOLTSBankApp.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * StatementRegistry - The fixed SQL the DAOs run, declared once, and the driver settings that reuse it
+ *
+ * Each statement is declared with define() and prepared by that same string on every call.
+ * Pooled connections are opened with Connector/J's server-side prepared statements and its
+ * per-connection statement cache: the first prepare of a statement on a physical connection
+ * parses it on the server, and close() hands the statement back to the cache instead of
+ * deallocating it, so every later prepare of the same SQL on that connection is a lookup.
+ * Start with -Dvolts.db.statementCache=false to fall back to plain client-side statements.
+ */
+public final class StatementRegistry {
+    public static final String ENABLED_PROPERTY = "volts.db.statementCache";
+
+    // Per physical connection: every registered statement plus room for the ones DAOs
+    // build at run time (search filters, page queries), which the driver caches the same way
+    private static final int CACHE_SIZE = 256;
+    private static final int CACHE_SQL_LIMIT = 2048;
+
+    private static final Set<String> STATEMENTS = ConcurrentHashMap.newKeySet();
+    private static final Set<String> SCANS = ConcurrentHashMap.newKeySet();
+
+    private StatementRegistry() {
+    }
+
+    /**
+     * Register a statement and return its SQL for the caller's constant
+     */
+    public static String define(String sql) {
+        if (sql.length() > CACHE_SQL_LIMIT) {
+            // The driver would silently prepare it from scratch on every call
+            throw new IllegalArgumentException("Statement longer than " + CACHE_SQL_LIMIT +
+                    " characters cannot be cached: " + sql.substring(0, 60) + "...");
+        }
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    /**
+     * Register a statement that reads its whole table by design, e.g. an unpaged export
+     * The startup plan check does not report these.
+     */
+    public static String defineScan(String sql) {
+        SCANS.add(define(sql));
+        return sql;
+    }
+
+    /**
+     * Initialize each class so the statements its static fields define are registered
+     * Startup calls this before the plan check, when most DAOs and services have not run yet.
+     */
+    public static void load(Class<?>... owners) {
+        for (Class<?> owner : owners) {
+            try {
+                Class.forName(owner.getName(), true, owner.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Cannot load " + owner.getName(), e);
+            }
+        }
+    }
+
+    public static boolean isDefined(String sql) {
+        return STATEMENTS.contains(sql);
+    }
+
+    public static boolean isScan(String sql) {
+        return SCANS.contains(sql);
+    }
+
+    /**
+     * Every statement registered so far, in no particular order
+     */
+    public static List<String> statements() {
+        return Collections.unmodifiableList(new ArrayList<>(STATEMENTS));
+    }
+
+    public static int size() {
+        return STATEMENTS.size();
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+    }
+
+    /**
+     * Connector/J properties for a new physical connection, with statement caching on or off
+     */
+    public static Properties driverProperties(boolean cached) {
+        Properties properties = new Properties();
+        properties.setProperty("useServerPrepStmts", String.valueOf(cached));
+        properties.setProperty("cachePrepStmts", String.valueOf(cached));
+        if (cached) {
+            properties.setProperty("prepStmtCacheSize", String.valueOf(CACHE_SIZE));
+            properties.setProperty("prepStmtCacheSqlLimit", String.valueOf(CACHE_SQL_LIMIT));
+        }
+        return properties;
+    }
+}
@@ -1,5 +1,6 @@
 package com.VOLTSBankApp.view;
 
+import com.VOLTSBankApp.dao.AccountSummary;
 import com.VOLTSBankApp.model.Account;
 import com.VOLTSBankApp.model.Transaction;
 import com.VOLTSBankApp.model.SavingsAccount;
@@ -27,7 +28,8 @@ public class AccountView {
         System.out.println("║ 4. Pay Interest                    ║");
         System.out.println("║ 5. View Account Transactions       ║");
         System.out.println("║ 6. Delete Account                  ║");
-        System.out.println("║ 7. Back to Main Menu               ║");
+        System.out.println("║ 7. Month-End Interest Run          ║");
+        System.out.println("║ 8. Back to Main Menu               ║");
         System.out.println("╚════════════════════════════════════╝");
     }
 
@@ -41,7 +43,7 @@ public class AccountView {
         System.out.printf("║ Account Number : %-33s ║%n", account.getAccountNumber());
         System.out.printf("║ Account Type   : %-33s ║%n", account.getAccountType().getDisplayName());
         System.out.printf("║ Branch         : %-33s ║%n", account.getBranch());
-        System.out.printf("║ Balance        : BWP %-28s ║%n", String.format("%.2f", account.getBalance()));
+        System.out.printf("║ Balance        : BWP %-28s ║%n", account.getBalance());
         System.out.printf("║ Date Opened    : %-33s ║%n",
                 account.getDateOpened() != null ? account.getDateOpened().format(DATE_FORMATTER) : "N/A");
 
@@ -51,16 +53,16 @@ public class AccountView {
             System.out.printf("║ Interest Rate  : %-33s ║%n",
                     String.format("%.3f%% monthly", savingsAccount.getInterestRate() * 100));
             System.out.printf("║ Accrued Int.   : BWP %-28s ║%n",
-                    String.format("%.2f", savingsAccount.getAccruedInterest()));
+                    savingsAccount.getAccruedInterest());
             System.out.printf("║ Withdrawals    : %-33s ║%n", "Not Allowed");
         } else if (account instanceof InvestmentAccount) {
             InvestmentAccount investmentAccount = (InvestmentAccount) account;
             System.out.printf("║ Interest Rate  : %-33s ║%n",
                     String.format("%.1f%% monthly", investmentAccount.getInterestRate() * 100));
             System.out.printf("║ Accrued Int.   : BWP %-28s ║%n",
-                    String.format("%.2f", investmentAccount.getAccruedInterest()));
+                    investmentAccount.getAccruedInterest());
             System.out.printf("║ Min. Opening   : BWP %-28s ║%n",
-                    String.format("%.2f", InvestmentAccount.getMinimumOpeningBalance()));
+                    InvestmentAccount.getMinimumOpeningBalance());
             System.out.printf("║ Withdrawals    : %-33s ║%n", "Allowed");
         } else if (account instanceof ChequeAccount) {
             ChequeAccount chequeAccount = (ChequeAccount) account;
@@ -77,13 +79,13 @@ public class AccountView {
     /**
      * Display list of accounts in table format
      */
-    public void displayAccountList(List<Account> accounts) {
+    public void displayAccountList(List<AccountSummary> accounts) {
         System.out.println("\n╔═══════════════╦══════════════════════╦════════════════════╦═══════════════╗");
         System.out.println("║ Account Number║    Account Type      ║      Branch        ║    Balance    ║");
         System.out.println("╠═══════════════╬══════════════════════╬════════════════════╬═══════════════╣");
 
-        for (Account account : accounts) {
-            System.out.printf("║ %-13s ║ %-20s ║ %-18s ║ BWP %9.2f ║%n",
+        for (AccountSummary account : accounts) {
+            System.out.printf("║ %-13s ║ %-20s ║ %-18s ║ BWP %9s ║%n",
                     account.getAccountNumber(),
                     account.getAccountType().getDisplayName(),
                     truncate(account.getBranch(), 18),
@@ -103,7 +105,7 @@ public class AccountView {
         System.out.println("╠═════╬══════════════╬═════════════╬══════════════╬═════════════════════╣");
 
         for (Transaction transaction : transactions) {
-            System.out.printf("║ %-3d ║ %-12s ║ BWP %7.2f ║ BWP %8.2f ║ %-19s ║%n",
+            System.out.printf("║ %-3d ║ %-12s ║ BWP %7s ║ BWP %8s ║ %-19s ║%n",
                     transaction.getTransactionId(),
                     transaction.getTransactionType(),
                     transaction.getAmount(),
@@ -1,5 +1,6 @@
 package com.VOLTSBankApp.view;
 
+import com.VOLTSBankApp.dao.CustomerPage;
 import com.VOLTSBankApp.model.Customer;
 import java.util.List;
 
@@ -21,7 +22,8 @@ public class CustomerView {
         System.out.println("║ 3. Update Customer Information     ║");
         System.out.println("║ 4. Delete Customer                 ║");
         System.out.println("║ 5. View All Customers              ║");
-        System.out.println("║ 6. Back to Main Menu               ║");
+        System.out.println("║ 6. Bulk Import (CSV/JSON)          ║");
+        System.out.println("║ 7. Back to Main Menu               ║");
         System.out.println("╚════════════════════════════════════╝");
     }
 
@@ -65,6 +67,26 @@ public class CustomerView {
         System.out.println("Total Customers: " + customers.size());
     }
 
+    /**
+     * Display one page of the customer list in table format
+     */
+    public void displayCustomerPage(CustomerPage page, int pageNumber) {
+        System.out.println("\n╔═════╦═══════════════════════════╦════════════════════════════════╦═══════════════╗");
+        System.out.println("║ ID  ║         Name              ║            Email               ║   Accounts    ║");
+        System.out.println("╠═════╬═══════════════════════════╬════════════════════════════════╬═══════════════╣");
+
+        for (Customer customer : page.getCustomers()) {
+            System.out.printf("║ %-3d ║ %-25s ║ %-30s ║      %-8d ║%n",
+                    customer.getCustomerId(),
+                    truncate(customer.getFullName(), 25),
+                    truncate(customer.getEmail(), 30),
+                    page.getAccountCount(customer));
+        }
+
+        System.out.println("╚═════╩═══════════════════════════╩════════════════════════════════╩═══════════════╝");
+        System.out.println("Page " + pageNumber + (page.hasMore() ? " (more follow)" : " (last page)"));
+    }
+
     /**
      * Display success message
      */
@@ -1,5 +1,7 @@
 package com.VOLTSBankApp.view;
 
+import com.VOLTSBankApp.dao.TransactionSummary;
+import com.VOLTSBankApp.model.Money;
 import com.VOLTSBankApp.model.Transaction;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -20,7 +22,12 @@ public class TransactionView {
         System.out.println("║ 2. Withdraw Funds                  ║");
         System.out.println("║ 3. View Transactions               ║");
         System.out.println("║ 4. Transaction Report              ║");
-        System.out.println("║ 5. Back to Main Menu               ║");
+        System.out.println("║ 5. Export Statement                ║");
+        System.out.println("║ 6. Month-End Statements            ║");
+        System.out.println("║ 7. Transfer Funds                  ║");
+        System.out.println("║ 8. Balance As Of Date              ║");
+        System.out.println("║ 9. Archive Old Transactions        ║");
+        System.out.println("║ 10. Back to Main Menu              ║");
         System.out.println("╚════════════════════════════════════╝");
     }
 
@@ -35,9 +42,9 @@ public class TransactionView {
         System.out.printf("║ Account Number : %-33s ║%n", transaction.getAccountNumber());
         System.out.printf("║ Type           : %-33s ║%n", transaction.getTransactionType());
         System.out.printf("║ Amount         : BWP %-28s ║%n",
-                String.format("%.2f", transaction.getAmount()));
+                transaction.getAmount());
         System.out.printf("║ Balance After  : BWP %-28s ║%n",
-                String.format("%.2f", transaction.getBalanceAfter()));
+                transaction.getBalanceAfter());
         System.out.printf("║ Date           : %-33s ║%n",
                 transaction.getTransactionDate().format(DATE_FORMATTER));
         System.out.printf("║ Description    : %-33s ║%n",
@@ -54,7 +61,7 @@ public class TransactionView {
         System.out.println("╠═════╬══════════════╬═════════════╬══════════════╬═════════════════════╬══════════════════════╣");
 
         for (Transaction transaction : transactions) {
-            System.out.printf("║ %-3d ║ %-12s ║ BWP %7.2f ║ BWP %8.2f ║ %-19s ║ %-20s ║%n",
+            System.out.printf("║ %-3d ║ %-12s ║ BWP %7s ║ BWP %8s ║ %-19s ║ %-20s ║%n",
                     transaction.getTransactionId(),
                     transaction.getTransactionType(),
                     transaction.getAmount(),
@@ -74,80 +81,56 @@ public class TransactionView {
     /**
      * Display transaction summary
      */
-    public void displayTransactionSummary(List<Transaction> transactions) {
-        if (transactions.isEmpty()) {
+    public void displayTransactionSummary(TransactionSummary summary) {
+        if (summary.isEmpty()) {
             System.out.println("\nNo transactions to summarize.");
             return;
         }
 
-        int totalCount = transactions.size();
-        double totalDeposits = 0;
-        double totalWithdrawals = 0;
-        double totalInterest = 0;
-        int depositCount = 0;
-        int withdrawalCount = 0;
-        int interestCount = 0;
-
-        for (Transaction t : transactions) {
-            switch (t.getTransactionType()) {
-                case "DEPOSIT":
-                case "OPENING":
-                    totalDeposits += t.getAmount();
-                    depositCount++;
-                    break;
-                case "WITHDRAWAL":
-                    totalWithdrawals += t.getAmount();
-                    withdrawalCount++;
-                    break;
-                case "INTEREST":
-                    totalInterest += t.getAmount();
-                    interestCount++;
-                    break;
-            }
-        }
-
         System.out.println("\n╔════════════════════════════════════════════════════╗");
         System.out.println("║           TRANSACTION SUMMARY                      ║");
         System.out.println("╠════════════════════════════════════════════════════╣");
-        System.out.printf("║ Total Transactions : %-29d ║%n", totalCount);
+        System.out.printf("║ Total Transactions : %-29d ║%n", summary.getTotalCount());
         System.out.println("╠════════════════════════════════════════════════════╣");
         System.out.printf("║ Deposits           : %-5d (BWP %16s) ║%n",
-                depositCount, String.format("%.2f", totalDeposits));
+                summary.getDepositCount(), summary.getDepositTotal());
         System.out.printf("║ Withdrawals        : %-5d (BWP %16s) ║%n",
-                withdrawalCount, String.format("%.2f", totalWithdrawals));
+                summary.getWithdrawalCount(), summary.getWithdrawalTotal());
         System.out.printf("║ Interest Payments  : %-5d (BWP %16s) ║%n",
-                interestCount, String.format("%.2f", totalInterest));
+                summary.getInterestCount(), summary.getInterestTotal());
+        System.out.printf("║ Transfers In       : %-5d (BWP %16s) ║%n",
+                summary.getTransferInCount(), summary.getTransferInTotal());
+        System.out.printf("║ Transfers Out      : %-5d (BWP %16s) ║%n",
+                summary.getTransferOutCount(), summary.getTransferOutTotal());
         System.out.println("╠════════════════════════════════════════════════════╣");
-
-        double netChange = totalDeposits + totalInterest - totalWithdrawals;
         System.out.printf("║ Net Change         : BWP %-26s ║%n",
-                String.format("%.2f", netChange));
+                summary.getNetChange());
         System.out.println("╚════════════════════════════════════════════════════╝");
     }
 
     /**
      * Display deposit confirmation
      */
-    public void displayDepositConfirmation(String accountNumber, double amount, double newBalance) {
+    public void displayDepositConfirmation(String accountNumber, Money amount, Money newBalance) {
         System.out.println("\n╔════════════════════════════════════════════════════╗");
         System.out.println("║           DEPOSIT CONFIRMATION                     ║");
         System.out.println("╠════════════════════════════════════════════════════╣");
         System.out.printf("║ Account Number : %-33s ║%n", accountNumber);
-        System.out.printf("║ Amount         : BWP %-28s ║%n", String.format("%.2f", amount));
-        System.out.printf("║ New Balance    : BWP %-28s ║%n", String.format("%.2f", newBalance));
+        System.out.printf("║ Amount         : BWP %-28s ║%n", amount);
+        System.out.printf("║ New Balance    : BWP %-28s ║%n", newBalance);
         System.out.println("╚════════════════════════════════════════════════════╝");
     }
 
     /**
      * Display withdrawal confirmation
      */
-    public void displayWithdrawalConfirmation(String accountNumber, double amount, double newBalance) {
+    public void displayWithdrawalConfirmation(String accountNumber, Money amount, Money newBalance) {
         System.out.println("\n╔════════════════════════════════════════════════════╗");
         System.out.println("║           WITHDRAWAL CONFIRMATION                  ║");
         System.out.println("╠════════════════════════════════════════════════════╣");
         System.out.printf("║ Account Number : %-33s ║%n", accountNumber);
-        System.out.printf("║ Amount         : BWP %-28s ║%n", String.format("%.2f", amount));
-        System.out.printf("║ New Balance    : BWP %-28s ║%n", String.format("%.2f", newBalance));
+        System.out.printf("║ Amount         : BWP %-28s ║%n", amount);
+        System.out.printf("║ New Balance    : BWP %-28s ║%n", newBalance);
         System.out.println("╚════════════════════════════════════════════════════╝");
     }
 
@@ -0,0 +1,162 @@
+package com.VOLTSBankApp.dao;
+
+import com.VOLTSBankApp.model.ChequeAccount;
+import com.VOLTSBankApp.model.Customer;
+import com.VOLTSBankApp.model.Money;
+import com.VOLTSBankApp.model.SavingsAccount;
+import com.VOLTSBankApp.storage.InMemoryLedgerStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AccountTransferTest - Transfer lock order, deadlock retry, and both legs on the in-memory ledger
+ */
+class AccountTransferTest {
+    private static final Money OPENING_BALANCE = Money.ofPula(1_000);
+
+    private InMemoryLedgerStore store;
+    private AccountDAO accounts;
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryLedgerStore();
+        accounts = new AccountDAO(store);
+        customer = new Customer("Test", "User", "1 Main St", "0100000000", "transfer@example.com", "secret1");
+        assertTrue(store.createCustomer(customer));
+    }
+
+    @Test
+    void lockOrderIsTheSameWhicheverWayMoneyMoves() {
+        assertArrayEquals(new String[]{"CHQ1", "CHQ2"}, AccountDAO.lockOrder("CHQ1", "CHQ2"));
+        assertArrayEquals(new String[]{"CHQ1", "CHQ2"}, AccountDAO.lockOrder("CHQ2", "CHQ1"));
+    }
+
+    @Test
+    void deadlockVictimIsRetried() throws SQLException {
+        AtomicInteger calls = new AtomicInteger();
+        TransferReceipt receipt = new TransferReceipt(null, null);
+        assertSame(receipt, AccountDAO.retryIfDeadlocked(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new SQLTransactionRollbackException("Deadlock found", "40001", 1213);
+            }
+            return receipt;
+        }));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void retriesStopAfterThreeAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+        SQLException thrown = assertThrows(SQLException.class, () -> AccountDAO.retryIfDeadlocked(() -> {
+            calls.incrementAndGet();
+            throw new SQLTransactionRollbackException("Deadlock found", "40001", 1213);
+        }));
+        assertEquals("40001", thrown.getSQLState());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void otherErrorsAreNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+        assertThrows(SQLException.class, () -> AccountDAO.retryIfDeadlocked(() -> {
+            calls.incrementAndGet();
+            throw new SQLException("Lock wait timeout exceeded", "HY000", 1205);
+        }));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void transferRecordsBothLegs() {
+        cheque("CHQ1");
+        cheque("CHQ2");
+
+        TransferReceipt receipt = accounts.transfer("CHQ2", "CHQ1", Money.parse("250.75"), null);
+        assertNotNull(receipt);
+        assertEquals("TRANSFER_OUT", receipt.getDebit().getTransactionType());
+        assertEquals("CHQ2", receipt.getDebit().getAccountNumber());
+        assertEquals(Money.parse("749.25"), receipt.getDebit().getBalanceAfter());
+        assertEquals("Transfer to CHQ1", receipt.getDebit().getDescription());
+        assertEquals("TRANSFER_IN", receipt.getCredit().getTransactionType());
+        assertEquals(Money.parse("1250.75"), receipt.getCredit().getBalanceAfter());
+        assertEquals("Transfer from CHQ2", receipt.getCredit().getDescription());
+
+        assertEquals(Money.parse("749.25"), store.findAccount("CHQ2").getBalance());
+        assertEquals(Money.parse("1250.75"), store.findAccount("CHQ1").getBalance());
+        TransactionSummary summary = store.summarize("CHQ2", null, null);
+        assertEquals(1, summary.getTransferOutCount());
+        assertEquals(Money.parse("250.75"), summary.getTransferOutTotal());
+    }
+
+    @Test
+    void rejectedTransfersMoveNothing() {
+        cheque("CHQ1");
+        SavingsAccount savings = new SavingsAccount("SAV1", "Gaborone Main", customer);
+        savings.setBalance(OPENING_BALANCE);
+        assertTrue(store.createAccount(savings));
+
+        assertNull(accounts.transfer("CHQ1", "CHQ1", Money.ofPula(1), null));
+        assertNull(accounts.transfer("CHQ1", "NOPE", Money.ofPula(1), null));
+        assertNull(accounts.transfer("CHQ1", "SAV1", Money.ZERO, null));
+        assertNull(accounts.transfer("CHQ1", "SAV1", OPENING_BALANCE.plus(Money.ofThebe(1)), null));
+        // Savings accounts are deposit-only
+        assertNull(accounts.transfer("SAV1", "CHQ1", Money.ofPula(1), null));
+
+        assertEquals(OPENING_BALANCE, store.findAccount("CHQ1").getBalance());
+        assertEquals(OPENING_BALANCE, store.findAccount("SAV1").getBalance());
+    }
+
+    @Test
+    void oppositeTransfersNeitherDeadlockNorLoseMoney() throws InterruptedException {
+        cheque("CHQ1");
+        cheque("CHQ2");
+        LongAdder moved = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            boolean forward = t % 2 == 0;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 20_000; i++) {
+                    if (forward && accounts.transfer("CHQ1", "CHQ2", Money.ofThebe(7), null) != null) {
+                        moved.add(7);
+                    } else if (!forward && accounts.transfer("CHQ2", "CHQ1", Money.ofThebe(7), null) != null) {
+                        moved.add(-7);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(30_000);
+            assertFalse(thread.isAlive(), "transfers deadlocked");
+        }
+
+        long chq1 = store.findAccount("CHQ1").getBalance().getThebe();
+        long chq2 = store.findAccount("CHQ2").getBalance().getThebe();
+        assertEquals(2 * OPENING_BALANCE.getThebe(), chq1 + chq2);
+        assertEquals(OPENING_BALANCE.getThebe() - moved.sum(), chq1);
+    }
+
+    private void cheque(String accountNumber) {
+        ChequeAccount account = new ChequeAccount(accountNumber, "Gaborone Main", customer, "Employer", "Plot 1");
+        account.setBalance(OPENING_BALANCE);
+        assertTrue(store.createAccount(account));
+    }
+}
@@ -0,0 +1,60 @@
+package com.VOLTSBankApp.dao;
+
+import com.VOLTSBankApp.model.ChequeAccount;
+import com.VOLTSBankApp.model.Customer;
+import com.VOLTSBankApp.model.Money;
+import com.VOLTSBankApp.model.Transaction;
+import com.VOLTSBankApp.storage.InMemoryLedgerStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BalanceSnapshotTest - As-of balances replayed from the in-memory ledger
+ */
+class BalanceSnapshotTest {
+    private static final String ACCOUNT = "CHQ0000000017";
+
+    private InMemoryLedgerStore store;
+    private BalanceSnapshotDAO snapshots;
+    private Transaction last;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryLedgerStore();
+        snapshots = new BalanceSnapshotDAO(store);
+        Customer customer = new Customer("Test", "User", "1 Main St", "0100000000", "asof@example.com", "secret1");
+        assertTrue(store.createCustomer(customer));
+        ChequeAccount account = new ChequeAccount(ACCOUNT, "Gaborone Main", customer, "Employer", "Plot 1");
+        account.setBalance(Money.ofPula(100));
+        assertTrue(store.createAccount(account));
+
+        store.appendTransaction(new Transaction(ACCOUNT, "DEPOSIT", Money.ofPula(50), Money.ofPula(150), "Deposit"));
+        last = new Transaction(ACCOUNT, "WITHDRAWAL", Money.ofPula(30), Money.ofPula(120), "Withdrawal");
+        store.appendTransaction(last);
+    }
+
+    @Test
+    void balanceAtTheEndOfTheDayIsTheNewestRow() throws SQLException {
+        LocalDate today = last.getTransactionDate().toLocalDate();
+        assertEquals(Money.ofPula(120), snapshots.getBalanceAsOf(ACCOUNT, today));
+        assertEquals(Money.ofPula(120), snapshots.getBalanceAsOf(ACCOUNT, today.plusDays(30)));
+    }
+
+    @Test
+    void balanceBeforeTheFirstRowIsZero() throws SQLException {
+        LocalDate today = last.getTransactionDate().toLocalDate();
+        assertEquals(Money.ZERO, snapshots.getBalanceAsOf(ACCOUNT, today.minusDays(1)));
+        assertEquals(Money.ZERO, snapshots.getBalanceAsOf("CHQ0000000025", today));
+    }
+
+    @Test
+    void deletedRowIsNotReplayed() throws SQLException {
+        assertTrue(store.deleteTransaction(last.getTransactionId()));
+        assertEquals(Money.ofPula(150), snapshots.getBalanceAsOf(ACCOUNT, last.getTransactionDate().toLocalDate()));
+    }
+}
@@ -0,0 +1,87 @@
+package com.VOLTSBankApp.dao;
+
+import com.VOLTSBankApp.service.InterestRunEngine;
+import com.VOLTSBankApp.service.StatementGenerator;
+import com.VOLTSBankApp.util.MultiRowStatement;
+import com.VOLTSBankApp.util.StatementRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * StatementsTest - Every query shape the DAOs build is registered for caching and the plan check
+ */
+class StatementsTest {
+
+    @Test
+    void everyTransactionPageShapeIsRegisteredAndDistinct() {
+        Set<String> shapes = new HashSet<>();
+        for (boolean typed : new boolean[]{false, true}) {
+            for (boolean bounded : new boolean[]{false, true}) {
+                for (boolean seeking : new boolean[]{false, true}) {
+                    String sql = Statements.transactionPage(typed, bounded, seeking);
+                    assertTrue(StatementRegistry.isDefined(sql), sql);
+                    assertEquals(typed, sql.contains("transaction_type = ?"), sql);
+                    assertEquals(seeking, sql.contains("transaction_id < ?"), sql);
+                    shapes.add(sql);
+                }
+            }
+        }
+        assertEquals(8, shapes.size());
+    }
+
+    @Test
+    void pageAndSummaryStatementsAreRegistered() {
+        for (String sql : List.of(Statements.CUSTOMER_PAGE, Statements.CUSTOMER_SEARCH_PAGE,
+                Statements.TRANSACTION_SUMMARY, Statements.TRANSACTION_SUMMARY_UNTIL)) {
+            assertTrue(StatementRegistry.isDefined(sql), sql);
+        }
+    }
+
+    @Test
+    void journalBatchesUseOnlyRegisteredChunks() {
+        Set<String> shapes = new HashSet<>();
+        for (int batch = 1; batch <= TransactionJournal.DEFAULT_MAX_BATCH_SIZE; batch++) {
+            int written = 0;
+            while (written < batch) {
+                int rows = Statements.TRANSACTION_ROWS_INSERT.rowsFor(batch - written);
+                String sql = Statements.TRANSACTION_ROWS_INSERT.sql(rows);
+                assertTrue(StatementRegistry.isDefined(sql), sql);
+                assertEquals(rows, sql.split("\\(\\?", -1).length - 1);
+                shapes.add(sql);
+                written += rows;
+            }
+            assertEquals(batch, written);
+        }
+        assertEquals(4, shapes.size());
+    }
+
+    @Test
+    void importStatementsAreRegisteredAtEveryRowCount() {
+        for (MultiRowStatement statement : List.of(Statements.CUSTOMER_EMAILS_IN,
+                Statements.IMPORT_CUSTOMERS_INSERT, Statements.IMPORT_ACCOUNTS_INSERT)) {
+            for (int rows : new int[]{64, 16, 4, 1}) {
+                assertTrue(StatementRegistry.isDefined(statement.sql(rows)));
+            }
+            assertEquals(64, statement.getMaxRows());
+            assertEquals(16, statement.rowsFor(63));
+        }
+    }
+
+    @Test
+    void loadRegistersStatementsOutsideStatements() {
+        StatementRegistry.load(DashboardDAO.class, BalanceSnapshotDAO.class,
+                InterestRunEngine.class, StatementGenerator.class);
+        List<String> all = Statements.all();
+        assertTrue(all.stream().anyMatch(sql -> sql.contains("LEFT JOIN LATERAL")), "dashboard snapshot");
+        assertTrue(all.stream().anyMatch(sql -> sql.contains("FROM daily_balances")), "balance snapshots");
+        assertTrue(all.stream().anyMatch(sql -> sql.startsWith("INSERT INTO daily_balances")), "snapshot upsert");
+        assertTrue(all.stream().anyMatch(sql -> sql.contains("FOR UPDATE") && sql.contains("BETWEEN")),
+                "interest chunk lock");
+        assertTrue(all.stream().anyMatch(StatementRegistry::isScan), "scans are still registered");
+    }
+}
@@ -0,0 +1,152 @@
+package com.VOLTSBankApp.dao;
+
+import com.VOLTSBankApp.model.Money;
+import com.VOLTSBankApp.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TransactionJournalTest - Group commit, per-row retry and close() without a database
+ */
+class TransactionJournalTest {
+
+    /**
+     * Stands in for the multi-row INSERT, numbering rows the way AUTO_INCREMENT would
+     */
+    private static final class RecordingWriter implements TransactionJournal.BatchWriter {
+        private final AtomicInteger nextId = new AtomicInteger(1);
+        private final List<Integer> batchSizes = new ArrayList<>();
+
+        @Override
+        public synchronized void write(List<Transaction> batch) throws SQLException {
+            for (Transaction transaction : batch) {
+                if ("BAD".equals(transaction.getAccountNumber())) {
+                    throw new SQLException("Unknown account");
+                }
+            }
+            batchSizes.add(batch.size());
+            for (Transaction transaction : batch) {
+                transaction.setTransactionId(nextId.getAndIncrement());
+            }
+        }
+
+        synchronized List<Integer> getBatchSizes() {
+            return new ArrayList<>(batchSizes);
+        }
+    }
+
+    private static Transaction row(String accountNumber) {
+        return new Transaction(accountNumber, "DEPOSIT", Money.ofPula(1), Money.ofPula(1), "Journal test");
+    }
+
+    @Test
+    void concurrentAppendsShareCommits() throws Exception {
+        RecordingWriter writer = new RecordingWriter();
+        TransactionJournal journal = new TransactionJournal(64, 50_000, writer);
+        try {
+            List<CompletableFuture<Transaction>> futures = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                futures.add(journal.append(row("ACC-1")));
+            }
+            for (CompletableFuture<Transaction> future : futures) {
+                assertTrue(future.get(5, TimeUnit.SECONDS).getTransactionId() > 0);
+            }
+
+            List<Integer> sizes = writer.getBatchSizes();
+            assertEquals(500, sizes.stream().mapToInt(Integer::intValue).sum());
+            assertTrue(sizes.size() < 500, "rows were not grouped: " + sizes);
+            assertTrue(sizes.stream().allMatch(size -> size <= 64), "batch over the limit: " + sizes);
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Test
+    void badRowFailsAloneAfterRetry() throws Exception {
+        RecordingWriter writer = new RecordingWriter();
+        TransactionJournal journal = new TransactionJournal(16, 50_000, writer);
+        try {
+            CompletableFuture<Transaction> good = journal.append(row("ACC-1"));
+            CompletableFuture<Transaction> bad = journal.append(row("BAD"));
+            CompletableFuture<Transaction> alsoGood = journal.append(row("ACC-2"));
+
+            assertTrue(good.get(5, TimeUnit.SECONDS).getTransactionId() > 0);
+            assertTrue(alsoGood.get(5, TimeUnit.SECONDS).getTransactionId() > 0);
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> bad.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(SQLException.class, failure.getCause());
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Test
+    void closeWritesQueuedRowsAndRejectsLaterOnes() throws Exception {
+        RecordingWriter writer = new RecordingWriter();
+        // A long delay keeps rows queued until close() flushes them
+        TransactionJournal journal = new TransactionJournal(1_000, TimeUnit.SECONDS.toMicros(10), writer);
+        List<CompletableFuture<Transaction>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(journal.append(row("ACC-1")));
+        }
+        journal.close();
+
+        for (CompletableFuture<Transaction> future : futures) {
+            assertTrue(future.isDone());
+            assertTrue(future.join().getTransactionId() > 0);
+        }
+        CompletableFuture<Transaction> late = journal.append(row("ACC-1"));
+        assertTrue(late.isCompletedExceptionally());
+        assertEquals(0, journal.getPendingCount());
+
+        // A second close() is a no-op
+        journal.close();
+    }
+
+    @Test
+    void appendRacingCloseIsEitherWrittenOrRejected() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            RecordingWriter writer = new RecordingWriter();
+            TransactionJournal journal = new TransactionJournal(32, 100, writer);
+            List<CompletableFuture<Transaction>> futures = new ArrayList<>();
+            CountDownLatch started = new CountDownLatch(4);
+            List<Thread> appenders = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread appender = new Thread(() -> {
+                    started.countDown();
+                    for (int i = 0; i < 200; i++) {
+                        CompletableFuture<Transaction> future = journal.append(row("ACC-1"));
+                        synchronized (futures) {
+                            futures.add(future);
+                        }
+                    }
+                });
+                appenders.add(appender);
+                appender.start();
+            }
+            started.await();
+            journal.close();
+            for (Thread appender : appenders) {
+                appender.join();
+            }
+
+            // Nothing may be stranded in the queue after close() returns
+            for (CompletableFuture<Transaction> future : futures) {
+                assertTrue(future.isDone(), "row left pending after close()");
+                if (!future.isCompletedExceptionally()) {
+                    assertTrue(future.join().getTransactionId() > 0);
+                }
+            }
+            assertEquals(0, journal.getPendingCount());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.VOLTSBankApp.dao;
+
+import com.VOLTSBankApp.model.ChequeAccount;
+import com.VOLTSBankApp.model.Customer;
+import com.VOLTSBankApp.model.Money;
+import com.VOLTSBankApp.model.Transaction;
+import com.VOLTSBankApp.storage.InMemoryLedgerStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TransactionPagingTest - Keyset pages on the in-memory ledger: no gaps, no repeats, exact last page
+ */
+class TransactionPagingTest {
+    private static final String ACCOUNT = "CHQ0000000017";
+    private static final int ROWS = 50;
+
+    private InMemoryLedgerStore store;
+    private TransactionDAO transactions;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryLedgerStore();
+        transactions = new TransactionDAO(store);
+        Customer customer = new Customer("Test", "User", "1 Main St", "0100000000", "paging@example.com", "secret1");
+        assertTrue(store.createCustomer(customer));
+        assertTrue(store.createAccount(new ChequeAccount(ACCOUNT, "Gaborone Main", customer, "Employer", "Plot 1")));
+
+        long balance = 0;
+        for (int i = 1; i <= ROWS; i++) {
+            String type = i % 3 == 0 ? "WITHDRAWAL" : "DEPOSIT";
+            balance += type.equals("DEPOSIT") ? 100L * i : -100L * i;
+            assertTrue(store.appendTransaction(new Transaction(ACCOUNT, type, Money.ofThebe(100L * i),
+                    Money.ofThebe(balance), "Row " + i)));
+        }
+    }
+
+    @Test
+    void pagesCoverTheHistoryOnceNewestFirst() {
+        for (int pageSize : new int[]{1, 7, 10, ROWS - 1, ROWS, ROWS + 1}) {
+            List<Integer> ids = pageIds(null, pageSize);
+            assertEquals(allIds(), ids, "page size " + pageSize);
+        }
+    }
+
+    @Test
+    void lastPageKnowsItIsLast() {
+        // 50 rows in pages of 10: the fifth page is full and must not promise a sixth
+        Transaction cursor = null;
+        for (int page = 1; page <= 5; page++) {
+            TransactionPage result = transactions.getTransactionPage(ACCOUNT, cursor, 10);
+            assertEquals(10, result.getTransactions().size());
+            assertEquals(page < 5, result.hasMore(), "page " + page);
+            cursor = result.getLast();
+        }
+        TransactionPage past = transactions.getTransactionPage(ACCOUNT, cursor, 10);
+        assertTrue(past.isEmpty());
+        assertFalse(past.hasMore());
+        assertNull(past.getLast());
+    }
+
+    @Test
+    void typeFilterPagesOnlyMatchingRows() {
+        List<Integer> withdrawals = pageIds("WITHDRAWAL", 4);
+        List<Integer> expected;
+        try (Stream<Transaction> history = store.streamTransactions(ACCOUNT)) {
+            expected = history.filter(t -> t.getTransactionType().equals("WITHDRAWAL"))
+                    .map(Transaction::getTransactionId).collect(Collectors.toList());
+        }
+        assertEquals(ROWS / 3, withdrawals.size());
+        assertEquals(expected, withdrawals);
+    }
+
+    @Test
+    void deletedCursorRowStillSeeksPastIt() {
+        TransactionPage first = transactions.getTransactionPage(ACCOUNT, null, 5);
+        Transaction cursor = first.getLast();
+        assertTrue(transactions.deleteTransaction(cursor.getTransactionId()));
+
+        TransactionPage second = transactions.getTransactionPage(ACCOUNT, cursor, 5);
+        assertEquals(cursor.getTransactionId() - 1, second.getTransactions().get(0).getTransactionId());
+    }
+
+    @Test
+    void unknownAccountHasOneEmptyPage() {
+        TransactionPage page = transactions.getTransactionPage("CHQ0000000025", null, 10);
+        assertTrue(page.isEmpty());
+        assertFalse(page.hasMore());
+    }
+
+    private List<Integer> pageIds(String transactionType, int pageSize) {
+        List<Integer> ids = new ArrayList<>();
+        Transaction cursor = null;
+        TransactionPage page;
+        do {
+            page = transactions.getTransactionPage(ACCOUNT, transactionType, null, null, cursor, pageSize);
+            assertTrue(page.getTransactions().size() <= pageSize);
+            assertFalse(page.hasMore() && page.getTransactions().size() < pageSize, "short page with more to come");
+            page.getTransactions().forEach(t -> ids.add(t.getTransactionId()));
+            cursor = page.getLast();
+        } while (page.hasMore());
+        return ids;
+    }
+
+    private List<Integer> allIds() {
+        try (Stream<Transaction> history = store.streamTransactions(ACCOUNT)) {
+            return history.map(Transaction::getTransactionId).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.VOLTSBankApp.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AccountConcurrencyTest - Shared Account objects hammered from many threads lose no updates
+ *
+ * Each scenario starts all threads at once and checks an invariant a lost update would
+ * break: the final balance equals the opening balance plus every credit that succeeded
+ * minus every debit that succeeded, plus interest, which must also match accrued interest.
+ */
+class AccountConcurrencyTest {
+    private static final long SEED = 20251001L;
+    private static final Money OPENING_BALANCE = Money.ofPula(10_000);
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final int OPERATIONS_PER_THREAD = 100_000;
+
+    @Test
+    void depositsAndWithdrawalsOnOneAccount() throws InterruptedException {
+        ChequeAccount account = new ChequeAccount("STRESS-CHQ", "Stress", null, "Stress", "Stress");
+        account.setBalance(OPENING_BALANCE);
+        LongAdder net = new LongAdder();
+
+        runThreads(worker -> {
+            SplittableRandom random = new SplittableRandom(SEED + worker);
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                Money amount = Money.ofThebe(1 + random.nextInt(10_000));
+                if (random.nextBoolean()) {
+                    account.deposit(amount);
+                    net.add(amount.getThebe());
+                } else if (account.withdraw(amount)) {
+                    net.add(-amount.getThebe());
+                }
+            }
+        });
+
+        assertEquals(OPENING_BALANCE.getThebe() + net.sum(), account.getBalance().getThebe());
+        assertFalse(account.getBalance().getThebe() < 0, "overdrawn");
+    }
+
+    @Test
+    void interestRacingDeposits() throws InterruptedException {
+        InvestmentAccount account = new InvestmentAccount("STRESS-INV", "Stress", null, OPENING_BALANCE);
+        LongAdder deposits = new LongAdder();
+        LongAdder interest = new LongAdder();
+
+        runThreads(worker -> {
+            SplittableRandom random = new SplittableRandom(SEED + worker);
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                if (worker == 0 && i % 1_000 == 0) {
+                    interest.add(account.calculateInterest().getThebe());
+                } else {
+                    Money amount = Money.ofThebe(1 + random.nextInt(100));
+                    account.deposit(amount);
+                    deposits.add(amount.getThebe());
+                }
+            }
+        });
+
+        assertTrue(interest.sum() > 0);
+        assertEquals(OPENING_BALANCE.getThebe() + deposits.sum() + interest.sum(), account.getBalance().getThebe());
+        assertEquals(interest.sum(), account.getAccruedInterest().getThebe());
+    }
+
+    @Test
+    void accountsWithoutNumbersDoNotShareState() throws InterruptedException {
+        // Unnumbered accounts (e.g. before the DAO assigns one) must still be independent
+        List<Account> accounts = new ArrayList<>(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            accounts.add(new ChequeAccount(null, "Stress", null, "Stress", "Stress"));
+        }
+        Money amount = Money.ofThebe(1);
+
+        runThreads(worker -> {
+            Account account = accounts.get(worker);
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                account.deposit(amount);
+            }
+        });
+
+        for (Account account : accounts) {
+            assertEquals(OPERATIONS_PER_THREAD, account.getBalance().getThebe());
+        }
+    }
+
+    @Test
+    void renumberingUnderLoadKeepsTheBalance() throws InterruptedException {
+        ChequeAccount account = new ChequeAccount("STRESS-OLD", "Stress", null, "Stress", "Stress");
+        Money amount = Money.ofThebe(1);
+
+        runThreads(worker -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                if (worker == 0 && i % 100 == 0) {
+                    account.setAccountNumber("STRESS-" + i);
+                }
+                account.deposit(amount);
+            }
+        });
+
+        assertEquals((long) THREADS * OPERATIONS_PER_THREAD, account.getBalance().getThebe());
+    }
+
+    /**
+     * Start every worker at once and wait for all of them; rethrows the first worker failure
+     */
+    private static void runThreads(Worker body) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> workers = new ArrayList<>(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            int worker = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    body.run(worker);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }, "volts-stress-" + t);
+            workers.add(thread);
+            thread.start();
+        }
+
+        start.countDown();
+        for (Thread thread : workers) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            fail("worker failed", failure.get());
+        }
+    }
+
+    private interface Worker {
+        void run(int worker) throws InterruptedException;
+    }
+}
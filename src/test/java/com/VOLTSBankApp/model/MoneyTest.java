@@ -0,0 +1,63 @@
+package com.VOLTSBankApp.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MoneyTest - Half-even rounding to the thebe, formatting and overflow
+ */
+class MoneyTest {
+
+    @Test
+    void inputRoundsHalfEvenToTheThebe() {
+        assertEquals(12, Money.parse("0.125").getThebe());
+        assertEquals(14, Money.parse("0.135").getThebe());
+        assertEquals(-12, Money.parse("-0.125").getThebe());
+        assertEquals(125050, Money.parse(" 1250.5 ").getThebe());
+        assertEquals(Money.ZERO, Money.fromDecimal(null));
+    }
+
+    @Test
+    void timesPpmRoundsHalfEven() {
+        // 0.5 thebe exactly: round to the even neighbour
+        assertEquals(0, Money.timesPpm(1, 500_000));
+        assertEquals(2, Money.timesPpm(3, 500_000));
+        assertEquals(-2, Money.timesPpm(-3, 500_000));
+        assertEquals(1, Money.timesPpm(1, 500_001));
+        assertEquals(-1, Money.timesPpm(-1, 500_001));
+    }
+
+    @Test
+    void timesPpmMatchesBigDecimal() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long thebe = random.nextInt(2_000_000_001) - 1_000_000_000L;
+            long ratePpm = random.nextInt(200_001);
+            long expected = BigDecimal.valueOf(thebe).multiply(BigDecimal.valueOf(ratePpm))
+                    .divide(BigDecimal.valueOf(1_000_000), 0, RoundingMode.HALF_EVEN).longValueExact();
+            assertEquals(expected, Money.timesPpm(thebe, ratePpm), thebe + " x " + ratePpm);
+        }
+    }
+
+    @Test
+    void formatsTwoDecimals() {
+        assertEquals("0.05", Money.ofThebe(5).toString());
+        assertEquals("-0.05", Money.ofThebe(-5).toString());
+        assertEquals("-12.30", Money.ofThebe(-1230).toString());
+        assertEquals("BWP 1250.50", Money.parse("1250.5").toDisplayString());
+        assertEquals(0, Money.parse("1250.50").toDecimal().compareTo(new BigDecimal("1250.5")));
+    }
+
+    @Test
+    void overflowThrowsInsteadOfWrapping() {
+        Money max = Money.ofThebe(Long.MAX_VALUE);
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofThebe(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofPula(Long.MAX_VALUE / 10));
+        assertThrows(ArithmeticException.class, () -> Money.timesPpm(Long.MAX_VALUE / 2, 3));
+    }
+}
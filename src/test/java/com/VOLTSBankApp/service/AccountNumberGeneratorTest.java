@@ -0,0 +1,69 @@
+package com.VOLTSBankApp.service;
+
+import com.VOLTSBankApp.model.AccountType;
+import com.VOLTSBankApp.storage.Storage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AccountNumberGeneratorTest - Generated numbers are unique, valid and never look like older ones
+ */
+class AccountNumberGeneratorTest {
+
+    @BeforeEach
+    void useInMemoryStore() {
+        Storage.useInMemory();
+    }
+
+    @AfterEach
+    void restoreJdbc() {
+        Storage.useJdbc();
+    }
+
+    @Test
+    void numbersAreUniqueAndValidAcrossBlocks() throws Exception {
+        AccountNumberGenerator generator = new AccountNumberGenerator(7);
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            String number = generator.nextAccountNumber(AccountType.SAVINGS);
+            assertTrue(AccountNumberGenerator.isValid(number), number);
+            assertEquals(13, number.length());
+            assertTrue(seen.add(number), number);
+        }
+    }
+
+    @Test
+    void checkDigitCatchesATypo() {
+        String number = AccountNumberGenerator.format("CHQ", 1234);
+        char last = number.charAt(number.length() - 1);
+        String typo = number.substring(0, 3) + "000001244" + last;
+        assertTrue(AccountNumberGenerator.isValid(number));
+        assertFalse(AccountNumberGenerator.isValid(typo));
+    }
+
+    @Test
+    void olderNumbersNeverPassAsGenerated() {
+        // The old format was prefix + %03d customer id + 5 digits of the clock
+        for (String prefix : new String[]{"SAV", "INV", "CHQ"}) {
+            for (int customerId = 10_000; customerId < 100_000; customerId += 97) {
+                for (int stamp = 0; stamp < 100_000; stamp += 997) {
+                    String legacy = String.format("%s%03d%05d", prefix, customerId, stamp);
+                    assertEquals(13, legacy.length());
+                    assertFalse(AccountNumberGenerator.isValid(legacy), legacy);
+                }
+            }
+        }
+    }
+
+    @Test
+    void sequenceStopsBeforeTheLeadingDigitChanges() {
+        assertTrue(AccountNumberGenerator.isValid(AccountNumberGenerator.format("INV", 99_999_999L)));
+        assertThrows(IllegalStateException.class, () -> AccountNumberGenerator.format("INV", 100_000_000L));
+    }
+}
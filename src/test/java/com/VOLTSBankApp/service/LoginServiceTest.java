@@ -0,0 +1,81 @@
+package com.VOLTSBankApp.service;
+
+import com.VOLTSBankApp.dao.CustomerDAO;
+import com.VOLTSBankApp.model.Customer;
+import com.VOLTSBankApp.storage.InMemoryLedgerStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LoginServiceTest - Lockout after repeated failures, and forget() for newly registered emails
+ */
+class LoginServiceTest {
+    private CustomerDAO customers;
+    private LoginService logins;
+
+    @BeforeEach
+    void setUp() {
+        customers = new CustomerDAO(new InMemoryLedgerStore());
+        logins = new LoginService(customers, 1);
+    }
+
+    @Test
+    void locksOutAfterRepeatedFailures() {
+        register("ada@example.com", "correct horse");
+        for (int i = 0; i < LoginService.MAX_FAILURES; i++) {
+            assertEquals(LoginResult.Status.INVALID_CREDENTIALS,
+                    logins.authenticate("ada@example.com", "wrong").getStatus());
+        }
+        assertEquals(LoginResult.Status.THROTTLED,
+                logins.authenticate("ADA@example.com ", "correct horse").getStatus());
+
+        logins.forget("ada@example.com");
+        assertTrue(logins.authenticate("ada@example.com", "correct horse").isSuccess());
+    }
+
+    @Test
+    void registeredEmailIsNoLongerCachedAsUnknown() {
+        assertEquals(LoginResult.Status.INVALID_CREDENTIALS,
+                logins.authenticate("new@example.com", "secret1").getStatus());
+        register("new@example.com", "secret1");
+        logins.forget("new@example.com");
+        assertTrue(logins.authenticate("new@example.com", "secret1").isSuccess());
+    }
+
+    @Test
+    void successClearsEarlierFailures() {
+        register("bo@example.com", "secret1");
+        for (int i = 0; i < LoginService.MAX_FAILURES - 1; i++) {
+            logins.authenticate("bo@example.com", "wrong");
+        }
+        assertTrue(logins.authenticate("bo@example.com", "secret1").isSuccess());
+        assertEquals(LoginResult.Status.INVALID_CREDENTIALS,
+                logins.authenticate("bo@example.com", "wrong").getStatus());
+        assertTrue(logins.authenticate("bo@example.com", "secret1").isSuccess());
+    }
+
+    @Test
+    void unknownEmailIsRejectedNoFasterThanAWrongPassword() {
+        register("known@example.com", "secret1");
+        long known = Long.MAX_VALUE;
+        long unknown = Long.MAX_VALUE;
+        // Fastest of a few tries each, and under the lockout threshold
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            assertFalse(logins.authenticate("known@example.com", "wrong").isSuccess());
+            known = Math.min(known, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            assertFalse(logins.authenticate("unknown" + i + "@example.com", "wrong").isSuccess());
+            unknown = Math.min(unknown, System.nanoTime() - start);
+        }
+        assertTrue(unknown * 2 > known, "unknown " + unknown + " ns vs known " + known + " ns");
+    }
+
+    private void register(String email, String password) {
+        assertTrue(customers.createCustomer(new Customer("Test", "User", "1 Main St", "0100000000",
+                email, password)));
+    }
+}
@@ -0,0 +1,43 @@
+package com.VOLTSBankApp.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * OnboardingImporterTest - A failing stage ends the import with its error instead of hanging it
+ */
+class OnboardingImporterTest {
+
+    @Test
+    @Timeout(30)
+    void rejectFileWriteFailureStopsTheImport(@TempDir Path dir) throws IOException {
+        // Every write to /dev/full fails with "No space left on device"
+        Path full = Paths.get("/dev/full");
+        assumeTrue(Files.isWritable(full), "needs /dev/full");
+
+        List<String> lines = new ArrayList<>();
+        lines.add("first_name,surname,email,phone_number,address,password");
+        for (int i = 0; i < 20_000; i++) {
+            // Invalid email, so every row is rejected without touching the database
+            lines.add("Ada,Lovelace,not-an-email-" + i + ",0100000000,1 Main St,secret1");
+        }
+        Path input = dir.resolve("customers.csv");
+        Files.write(input, lines, StandardCharsets.UTF_8);
+
+        IOException thrown = assertThrows(IOException.class,
+                () -> new OnboardingImporter(2, 100).importFile(input, full));
+        assertNotNull(thrown.getMessage());
+    }
+}
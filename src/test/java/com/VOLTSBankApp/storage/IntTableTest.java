@@ -0,0 +1,65 @@
+package com.VOLTSBankApp.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * IntTableTest - Keys across chunk and directory growth, conditional remove, concurrent puts
+ */
+class IntTableTest {
+
+    @Test
+    void keysBeyondTheFirstDirectoryAreKept() {
+        IntTable<String> table = new IntTable<>();
+        int[] keys = {0, 1, 4_095, 4_096, 65_535, 65_536, 1_000_000};
+        for (int key : keys) {
+            table.put(key, "v" + key);
+        }
+        for (int key : keys) {
+            assertEquals("v" + key, table.get(key));
+        }
+        assertNull(table.get(2));
+        assertNull(table.get(5_000_000));
+        assertTrue(table.capacity() > 1_000_000);
+    }
+
+    @Test
+    void removeOnlyTakesTheExpectedValue() {
+        IntTable<String> table = new IntTable<>();
+        table.put(7, "a");
+        assertFalse(table.remove(7, "b"));
+        assertEquals("a", table.get(7));
+        assertTrue(table.remove(7, "a"));
+        assertNull(table.get(7));
+        assertFalse(table.remove(9_999_999, "a"));
+    }
+
+    @Test
+    void concurrentPutsWhileTheDirectoryGrows() throws InterruptedException {
+        IntTable<Integer> table = new IntTable<>();
+        int threads = 4;
+        int perThread = 50_000;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            Thread worker = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    int key = i * threads + offset;
+                    table.put(key, key);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        for (int key = 0; key < threads * perThread; key++) {
+            assertEquals(key, table.get(key));
+        }
+    }
+}